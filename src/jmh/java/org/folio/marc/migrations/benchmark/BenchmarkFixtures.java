@@ -0,0 +1,164 @@
+package org.folio.marc.migrations.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.experimental.UtilityClass;
+import org.folio.marc.migrations.domain.entities.MarcRecord;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.domain.entities.types.RecordState;
+import org.folio.marc.migrations.services.batch.support.MappingMetadataProvider;
+import org.folio.marc.migrations.services.batch.support.MappingMetadataProvider.MappingData;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+import org.folio.spring.FolioExecutionContext;
+
+/**
+ * Synthetic MARC bib/authority records and cached mapping metadata for the mapping benchmarks.
+ *
+ * <p>Records are generated from a fixed seed so that runs are comparable. Mapping rules are the same ones the
+ * integration tests serve through WireMock ({@code mappings/*MappingMetadata.json}).
+ */
+@UtilityClass
+public class BenchmarkFixtures {
+
+  private static final long SEED = 20_240_709L;
+  private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+                                      + "incididunt ut labore et dolore magna aliqua. ";
+
+  public static MappingData mappingData(EntityType entityType) {
+    var resource = entityType == EntityType.AUTHORITY
+                   ? "/mappings/marcAuthorityMappingMetadata.json"
+                   : "/mappings/marcBibMappingMetadata.json";
+    var body = new JsonObject(readResource(resource))
+      .getJsonArray("mappings").getJsonObject(0)
+      .getJsonObject("response").getString("body");
+    var metadata = new JsonObject(body);
+    return new MappingData(new JsonObject(metadata.getString("mappingRules")),
+      new JsonObject(metadata.getString("mappingParams")).mapTo(MappingParameters.class));
+  }
+
+  /**
+   * Provider stub that always returns already parsed metadata, as the cached provider does in a running job.
+   */
+  public static MappingMetadataProvider cachedMetadataProvider(EntityType entityType) {
+    var provider = mock(MappingMetadataProvider.class, withSettings().stubOnly());
+    when(provider.getMappingData(entityType)).thenReturn(mappingData(entityType));
+    return provider;
+  }
+
+  /**
+   * Metrics backed by an in-memory registry, so that benchmarks include the cost of stage instrumentation.
+   */
+  public static MigrationMetrics metrics() {
+    return new MigrationMetrics(new SimpleMeterRegistry(), noOp(FolioExecutionContext.class));
+  }
+
+  public static <T> T noOp(Class<T> type) {
+    return mock(type, withSettings().stubOnly());
+  }
+
+  public static List<MarcRecord> records(EntityType entityType, int count) {
+    var random = new Random(SEED);
+    return IntStream.range(0, count)
+      .mapToObj(i -> new MarcRecord(uuid(random), uuid(random),
+        entityType == EntityType.AUTHORITY ? authorityContent(random, i) : bibContent(random, i),
+        RecordState.ACTUAL, 1))
+      .toList();
+  }
+
+  private static byte[] bibContent(Random random, int index) {
+    var fields = new JsonArray()
+      .add(controlField("001", "in%011d".formatted(index)))
+      .add(controlField("005", "20240709120107.9"))
+      .add(controlField("008", "240709s2024    nyu           000 0 eng d"))
+      .add(dataField("020", " ", " ", "a", "978%010d".formatted(random.nextInt(1_000_000_000))))
+      .add(dataField("035", " ", " ", "a", "(OCoLC)%09d".formatted(random.nextInt(1_000_000_000))))
+      .add(dataField("040", " ", " ", "a", "DLC", "b", "eng", "e", "rda", "c", "DLC"))
+      .add(dataField("100", "1", " ", "a", "Author, Synthetic %d,".formatted(index), "e", "author."))
+      .add(dataField("245", "1", "0", "a", "Synthetic title %d :".formatted(index), "b", text(random, 1), "c",
+        "by Synthetic Author."))
+      .add(dataField("250", " ", " ", "a", "First edition."))
+      .add(dataField("264", " ", "1", "a", "New York :", "b", "Benchmark Press,", "c", "2024."))
+      .add(dataField("300", " ", " ", "a", "xii, 345 pages :", "b", "illustrations ;", "c", "24 cm"))
+      .add(dataField("336", " ", " ", "a", "text", "b", "txt", "2", "rdacontent"))
+      .add(dataField("490", "1", " ", "a", "Benchmark series ;", "v", String.valueOf(index)));
+    // big 5xx notes are what makes real bib records heavy
+    IntStream.range(0, 2 + random.nextInt(4))
+      .forEach(i -> fields.add(dataField("500", " ", " ", "a", text(random, 8 + random.nextInt(24)))));
+    fields.add(dataField("520", " ", " ", "a", text(random, 16 + random.nextInt(48))));
+    IntStream.range(0, 3 + random.nextInt(5))
+      .forEach(i -> fields.add(dataField("650", " ", "0", "a", "Subject %d".formatted(random.nextInt(1000)),
+        "x", "History.")));
+    fields.add(dataField("700", "1", " ", "a", "Contributor, Synthetic,", "e", "editor."))
+      .add(dataField("856", "4", "0", "u", "https://example.org/%d".formatted(index)))
+      .add(dataField("999", "f", "f", "i", uuid(random).toString(), "s", uuid(random).toString()));
+    return marcRecord("01750cam a2200397 i 4500", fields);
+  }
+
+  private static byte[] authorityContent(Random random, int index) {
+    var fields = new JsonArray()
+      .add(controlField("001", "n%08d".formatted(index)))
+      .add(controlField("005", "20231214160818.2"))
+      .add(controlField("008", "940103n| azannaabn          |a aaa      "))
+      .add(dataField("010", " ", " ", "a", "n  %08d ".formatted(index)))
+      .add(dataField("035", " ", " ", "a", "(OCoLC)oca%08d".formatted(random.nextInt(100_000_000))))
+      .add(dataField("040", " ", " ", "a", "DLC", "b", "eng", "e", "rda", "c", "DLC"))
+      .add(dataField("100", "1", " ", "a", "Person, Synthetic %d,".formatted(index), "d", "1900-1990"));
+    IntStream.range(0, 2 + random.nextInt(6))
+      .forEach(i -> fields.add(dataField("400", "1", " ", "a", "Person, S. %d-%d".formatted(index, i))));
+    fields.add(dataField("500", "1", " ", "w", "r", "a", "Related, Synthetic"));
+    IntStream.range(0, 1 + random.nextInt(4))
+      .forEach(i -> fields.add(dataField("670", " ", " ", "a", "Source %d:".formatted(i), "b",
+        text(random, 2 + random.nextInt(6)))));
+    fields.add(dataField("999", "f", "f", "i", uuid(random).toString(), "s", uuid(random).toString()));
+    return marcRecord("00869cz  a2200217n  4500", fields);
+  }
+
+  private static byte[] marcRecord(String leader, JsonArray fields) {
+    return new JsonObject().put("fields", fields).put("leader", leader).encode().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static JsonObject controlField(String tag, String value) {
+    return new JsonObject().put(tag, value);
+  }
+
+  private static JsonObject dataField(String tag, String ind1, String ind2, String... subfieldPairs) {
+    var subfields = new JsonArray();
+    for (int i = 0; i < subfieldPairs.length; i += 2) {
+      subfields.add(new JsonObject().put(subfieldPairs[i], subfieldPairs[i + 1]));
+    }
+    return new JsonObject().put(tag, new JsonObject().put("ind1", ind1).put("ind2", ind2).put("subfields", subfields));
+  }
+
+  private static String text(Random random, int sentences) {
+    var offset = random.nextInt(LOREM.length() / 2);
+    return (LOREM.substring(offset) + LOREM.repeat(sentences)).trim();
+  }
+
+  private static UUID uuid(Random random) {
+    return new UUID(random.nextLong(), random.nextLong());
+  }
+
+  private static String readResource(String name) {
+    try (var stream = BenchmarkFixtures.class.getResourceAsStream(name)) {
+      if (stream == null) {
+        throw new IllegalStateException("Benchmark resource not found: " + name);
+      }
+      return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
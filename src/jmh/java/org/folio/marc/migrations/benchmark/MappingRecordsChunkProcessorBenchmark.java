@@ -0,0 +1,98 @@
+package org.folio.marc.migrations.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.MarcRecord;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.services.batch.mapping.MappingRecordsChunkProcessor;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
+import org.folio.marc.migrations.services.domain.MappingComposite;
+import org.folio.marc.migrations.services.domain.MappingResult;
+import org.folio.marc.migrations.services.domain.RecordsMappingData;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Chunk-level cost of {@link MappingRecordsChunkProcessor#process}, with database access stubbed out.
+ *
+ * <p>Chunk sizes match the defaults of {@code folio.migration.chunk-size}. Throughput is reported both in chunks
+ * and in records ({@code records} secondary metric), sample-time mode reports latency percentiles per chunk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MappingRecordsChunkProcessorBenchmark {
+
+  @Param({"AUTHORITY", "INSTANCE"})
+  private EntityType entityType;
+
+  @Param({"50", "500"})
+  private int chunkSize;
+
+  @Param({"1", "4"})
+  private int recordsMappingParallelism;
+
+  private ForkJoinPool recordsMappingPool;
+  private MappingRecordsChunkProcessor processor;
+  private MappingComposite<MarcRecord> composite;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var objectMapper = JsonMapper.builder()
+      .changeDefaultPropertyInclusion(inclusion -> inclusion.withValueInclusion(JsonInclude.Include.NON_EMPTY))
+      .build();
+    recordsMappingPool = new ForkJoinPool(recordsMappingParallelism);
+    processor = new MappingRecordsChunkProcessor(objectMapper,
+      BenchmarkFixtures.cachedMetadataProvider(entityType),
+      BenchmarkFixtures.noOp(OperationProgressCounters.class),
+      recordsMappingPool,
+      new MigrationProperties(),
+      BenchmarkFixtures.metrics());
+    processor.setEntityType(entityType);
+    var mappingData = new RecordsMappingData(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+      "entity", chunkSize, "entity_error", "error");
+    composite = new MappingComposite<>(mappingData, BenchmarkFixtures.records(entityType, chunkSize));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    recordsMappingPool.shutdown();
+  }
+
+  @Benchmark
+  public MappingComposite<MappingResult> processChunk(RecordCounters counters) {
+    counters.records += chunkSize;
+    return processor.process(composite);
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class RecordCounters {
+
+    public long records;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      records = 0;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+package org.folio.marc.migrations.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.MarcRecord;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.services.batch.mapping.MappingRecordsWriter;
+import org.folio.marc.migrations.services.batch.support.ChunkFilesUploader;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
+import org.folio.marc.migrations.services.domain.MappingComposite;
+import org.folio.marc.migrations.services.domain.MappingResult;
+import org.folio.marc.migrations.services.domain.RecordsMappingData;
+import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
+import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.JobInstance;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.infrastructure.item.Chunk;
+
+/**
+ * Local disk cost of {@link MappingRecordsWriter#write} for one operation chunk: mapped records, invalid records
+ * and error causes written to the chunk files, with database access stubbed out.
+ *
+ * <p>{@code bufferSize} 0 writes files with a buffered writer per file, other values with the partition's file
+ * channel writer. Written files are deleted after each invocation. Throughput is reported both in chunks and in
+ * bytes ({@code bytes} secondary metric).
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MappingRecordsWriterBenchmark {
+
+  private static final long JOB_INSTANCE_ID = 1L;
+
+  @Param({"50", "500"})
+  private int chunkSize;
+
+  @Param({"0", "1048576"})
+  private int bufferSize;
+
+  private Path localPath;
+  private MappingRecordsWriter writer;
+  private StepExecution stepExecution;
+  private Chunk<MappingComposite<MappingResult>> chunk;
+  private long chunkBytes;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    localPath = Files.createTempDirectory("mapping-writer-benchmark");
+    var props = new MigrationProperties();
+    props.setS3LocalSubPath(localPath.toString());
+    props.setMappingFilesBufferSize(bufferSize);
+    writer = new MappingRecordsWriter(props, BenchmarkFixtures.noOp(ChunkJdbcService.class),
+      BenchmarkFixtures.noOp(ChunkStepJdbcService.class), BenchmarkFixtures.noOp(ChunkFilesUploader.class),
+      BenchmarkFixtures.metrics(), BenchmarkFixtures.noOp(OperationProgressCounters.class));
+    stepExecution = new StepExecution(0L, "benchmark",
+      new JobExecution(1L, new JobInstance(JOB_INSTANCE_ID, "benchmark"), new JobParameters()));
+    writer.prepareFilesPath(stepExecution);
+
+    var results = new ArrayList<MappingResult>(chunkSize);
+    for (var marcRecord : BenchmarkFixtures.records(EntityType.INSTANCE, chunkSize)) {
+      results.add(mappingResult(marcRecord, results.size()));
+      chunkBytes += marcRecord.marc().length;
+    }
+    var mappingData = new RecordsMappingData(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+      "path/entity", chunkSize, "path/entityError", "path/error");
+    chunk = new Chunk<>(List.of(new MappingComposite<>(mappingData, results)));
+  }
+
+  @TearDown(Level.Invocation)
+  public void deleteChunkFiles() throws IOException {
+    FileUtils.cleanDirectory(localPath.resolve(String.valueOf(JOB_INSTANCE_ID)).toFile());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    writer.releaseFileWriter(stepExecution);
+    FileUtils.deleteDirectory(localPath.toFile());
+  }
+
+  @Benchmark
+  public void writeChunk(ByteCounters counters) throws Exception {
+    writer.write(chunk);
+    counters.bytes += chunkBytes;
+  }
+
+  /**
+   * Every tenth record is reported as failed, so that all three chunk files are written.
+   */
+  private static MappingResult mappingResult(MarcRecord marcRecord, int index) {
+    return index % 10 == 0
+           ? new MappingResult(null, marcRecord.content(), "Failed to map record " + marcRecord.marcId())
+           : new MappingResult(marcRecord.content(), null, null);
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class ByteCounters {
+
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package org.folio.marc.migrations.benchmark;
+
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.folio.marc.migrations.domain.entities.MarcRecord;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.services.batch.support.MappingMetadataProvider.MappingData;
+import org.folio.processing.mapping.defaultmapper.MarcToAuthorityMapper;
+import org.folio.processing.mapping.defaultmapper.MarcToInstanceMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Per-record cost of the mapping hot path: decoding of the raw MARC content and the data-import-processing-core
+ * mappers.
+ *
+ * <p>Allocation per record is reported by {@code -prof gc} as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class MarcRecordMappingBenchmark {
+
+  private static final int RECORDS_POOL_SIZE = 500;
+  private static final TypeReference<Map<String, Object>> MARC_CONTENT_TYPE = new TypeReference<>() { };
+
+  @Param({"AUTHORITY", "INSTANCE"})
+  private EntityType entityType;
+
+  private final ObjectMapper objectMapper = JsonMapper.builder().build();
+  private MappingData mappingData;
+  private List<MarcRecord> records;
+  private int cursor;
+
+  @Setup
+  public void setUp() {
+    mappingData = BenchmarkFixtures.mappingData(entityType);
+    records = BenchmarkFixtures.records(entityType, RECORDS_POOL_SIZE);
+  }
+
+  @Benchmark
+  public JsonObject parseMarc() {
+    return parse(nextRecord());
+  }
+
+  @Benchmark
+  public Object parseAndMapRecord() {
+    var marcSource = parse(nextRecord());
+    return entityType == EntityType.AUTHORITY
+           ? new MarcToAuthorityMapper()
+             .mapRecord(marcSource, mappingData.mappingParameters(), mappingData.mappingRules())
+           : new MarcToInstanceMapper()
+             .mapRecord(marcSource, mappingData.mappingParameters(), mappingData.mappingRules());
+  }
+
+  private JsonObject parse(MarcRecord marcRecord) {
+    return new JsonObject(objectMapper.readValue(marcRecord.marc(), MARC_CONTENT_TYPE));
+  }
+
+  private MarcRecord nextRecord() {
+    var marcRecord = records.get(cursor);
+    cursor = (cursor + 1) % RECORDS_POOL_SIZE;
+    return marcRecord;
+  }
+}
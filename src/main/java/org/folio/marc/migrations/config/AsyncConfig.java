@@ -1,6 +1,16 @@
 package org.folio.marc.migrations.config;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.folio.marc.migrations.services.FolioExecutor;
+import org.folio.marc.migrations.services.TenantFairExecutor;
+import org.folio.spring.FolioExecutionContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,12 +18,77 @@ import org.springframework.context.annotation.Configuration;
 public class AsyncConfig {
 
   /**
-   * Async executor for Completable futures.
-   * Values set prevent parallel execution of multiple migrations in parallel because parallel execution get contexts
-   * mixed.
+   * Async executor for Completable futures running migration operations.
+   * Operations of different tenants run in parallel taking free slots in turns, each in the context it was submitted
+   * in. Operations of one tenant are limited separately, by default they run one at a time.
    * */
-  @Bean("remappingExecutor")
-  public FolioExecutor remappingExecutor() {
-    return new FolioExecutor(0, 1);
+  @Bean(name = "remappingExecutor", destroyMethod = "shutdown")
+  public TenantFairExecutor remappingExecutor(MigrationProperties props, FolioExecutionContext context) {
+    return new TenantFairExecutor(props.getMigrationConcurrency(), props.getMigrationTenantConcurrency(), context);
+  }
+
+  /**
+   * Async executor for chunks preparation running in parallel with mapping of already prepared chunks.
+   * Sized by the number of operations running at the same time, so that chunks of every running operation are
+   * prepared right away and its mapping does not wait for preparation of other operations.
+   * */
+  @Bean(name = "chunksPreparationExecutor", destroyMethod = "shutdown")
+  public FolioExecutor chunksPreparationExecutor(MigrationProperties props) {
+    var threads = props.getMigrationConcurrency();
+    return new FolioExecutor(threads, threads);
+  }
+
+  /**
+   * Pool for mapping records of one chunk in parallel.
+   * Sized separately from chunks processing as records mapping is CPU bound and does not use database connections.
+   * */
+  @Bean(name = "recordsMappingPool", destroyMethod = "shutdown")
+  public ForkJoinPool recordsMappingPool(MigrationProperties props) {
+    return new ForkJoinPool(props.getRecordsMappingParallelism());
+  }
+
+  /**
+   * Pool for uploading chunk files to S3 while mapping is running.
+   * Queue is bounded, so when it is full a partition uploads its files itself and local files do not pile up.
+   * */
+  @Bean(name = "chunkFilesUploadExecutor", destroyMethod = "shutdown")
+  public ExecutorService chunkFilesUploadExecutor(MigrationProperties props) {
+    var threads = Math.max(props.getChunkFilesUploadConcurrency(), 1);
+    var executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+      new ArrayBlockingQueue<>(props.getChunkFilesUploadQueueCapacity()), new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Pool for uploading local files of operations to S3 when mapping step is finished.
+   * Bounds the number of parallel uploads of all operations.
+   * */
+  @Bean(name = "filesUploadExecutor", destroyMethod = "shutdown")
+  public ExecutorService filesUploadExecutor(MigrationProperties props) {
+    var threads = props.getFilesUploadConcurrency();
+    var executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Pool for loading error files of failed chunk steps into error reports.
+   * Bounds the number of parallel loads of all reports, so that they do not hold many database connections.
+   * */
+  @Bean(name = "errorReportExecutor", destroyMethod = "shutdown")
+  public ExecutorService errorReportExecutor(MigrationProperties props) {
+    var threads = props.getErrorReportConcurrency();
+    var executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Single thread sending heartbeats and polling for operations to join in distributed worker mode.
+   * */
+  @Bean(name = "workerScheduler", destroyMethod = "shutdown")
+  public ScheduledExecutorService workerScheduler() {
+    return Executors.newSingleThreadScheduledExecutor();
   }
 }
@@ -27,15 +27,150 @@ public class MigrationProperties {
   @Min(1)
   private int chunkPersistCount = 1_000;
   /**
-   * Represents the "maximum" thread pool size for chunks processing.
+   * Enables preparation of chunks by a single database statement, without fetching record ids to the module.
+   * */
+  private boolean chunkServerSidePreparation = false;
+  /**
+   * Enables mapping of chunks as soon as they are persisted, while the rest of chunks is still being prepared.
+   * Not applied when chunks are prepared server side.
+   * */
+  private boolean chunkPreparationPipelined = false;
+  /**
+   * Represents the "maximum" thread pool size for chunks processing of one operation.
    * */
   @Min(1)
   private int chunkProcessingMaxParallelism = 4;
+  /**
+   * Provides the maximum number of operations running at the same time across all tenants.
+   * */
+  @Min(1)
+  private int migrationConcurrency = 2;
+  /**
+   * Provides the maximum number of operations of one tenant running at the same time.
+   * */
+  @Min(1)
+  private int migrationTenantConcurrency = 1;
+  /**
+   * Represents the number of operation chunks processed in one transaction by a partition worker.
+   * Statuses of these chunks and their steps are updated in one batch.
+   * */
+  @Min(1)
+  private int chunkCommitInterval = 1;
+  /**
+   * Enables claiming of not yet processed chunks by partition workers, {@code chunkCommitInterval} chunks at a time,
+   * instead of splitting chunks into fixed id ranges. Not applied to pipelined mapping and retry jobs.
+   * */
+  private boolean chunkClaimingEnabled = false;
+  /**
+   * Enables distributed worker mode: every module instance claims chunks of running operations with a lease
+   * extended by heartbeats, and chunks of instances that stopped heartbeating are claimed again.
+   * */
+  private boolean distributedWorkersEnabled = false;
+  /**
+   * Represents id of the module instance in distributed worker mode. A random id is used when blank.
+   * */
+  private String workerInstanceId;
+  /**
+   * Represents time in ms since the last heartbeat of an instance after which its claimed chunks are claimed again.
+   * */
+  @Min(1000)
+  private long workerLeaseMs = 60000;
+  /**
+   * Represents interval in ms of heartbeats and of polling for operations to join in distributed worker mode.
+   * */
+  @Min(100)
+  private long workerPollIntervalMs = 5000;
+  /**
+   * Represents the thread pool size for mapping records of one chunk in parallel. 1 means sequential mapping.
+   * */
+  @Min(1)
+  private int recordsMappingParallelism = 1;
   /**
     * Provides the maximum number of chunk IDs for retrying.
    * */
   @Min(1)
   private int chunkRetryingMaxIdsCount = 1000;
+  /**
+   * Enables streaming of chunk records from a database cursor into mapping instead of loading whole chunk at once.
+   * */
+  private boolean recordsStreamingEnabled = false;
+  /**
+   * Provides number of records fetched per database round trip when records streaming is enabled.
+   * */
+  @Min(1)
+  private int recordsStreamingFetchSize = 100;
+  /**
+   * Enables capturing of records to migrate into a per-operation snapshot table before chunks preparation.
+   * Chunks preparation and mapping then read records by the snapshot instead of the entity views.
+   * */
+  private boolean recordsSnapshotEnabled = false;
+  /**
+   * Provides the interval of adding accumulated numbers of mapped and saved records to the operation.
+   * 0 means numbers are added on every processed chunk.
+   * */
+  @Min(0)
+  private long progressFlushIntervalMs = 0;
+  /**
+   * Provides the size in bytes of the buffer a partition reuses to write mapped records and errors to chunk files
+   * through a file channel. 0 means chunk files are written by a buffered writer opened per file.
+   * */
+  @Min(0)
+  private int mappingFilesBufferSize = 0;
+  /**
+   * Provides the number of threads uploading chunk files to S3 as soon as chunks are mapped.
+   * 0 means chunk files are uploaded when mapping step is finished.
+   * */
+  @Min(0)
+  private int chunkFilesUploadConcurrency = 0;
+  /**
+   * Provides the number of chunk files waiting for upload, after which mapping partitions upload their files
+   * themselves.
+   * */
+  @Min(1)
+  private int chunkFilesUploadQueueCapacity = 32;
+  /**
+   * Provides the number of threads uploading local files of an operation to S3 when mapping step is finished.
+   * */
+  @Min(1)
+  private int filesUploadConcurrency = 1;
+  /**
+   * Provides the file size in bytes above which a file is uploaded to S3 in parts. 0 disables multipart upload.
+   * */
+  @Min(0)
+  private long multipartUploadThreshold = 0;
+  /**
+   * Provides the size in bytes of parts of multipart uploads. S3 requires parts of at least 5 MB.
+   * */
+  @Min(5_242_880)
+  private long multipartUploadPartSize = 16_777_216;
+  /**
+   * Provides the maximum number of parallel bulk save requests per entity type the adaptive limiter can grow to.
+   * 0 means bulk save requests are not limited.
+   * */
+  @Min(0)
+  private int bulkSaveMaxConcurrency = 0;
+  /**
+   * Provides the duration in milliseconds of a bulk save request above which the adaptive limiter backs off.
+   * 0 means only failed requests make the limiter back off.
+   * */
+  @Min(0)
+  private long bulkSaveSlowCallMs = 30_000;
+  /**
+   * Provides the number of threads loading error files of failed chunk steps into error reports.
+   * */
+  @Min(1)
+  private int errorReportConcurrency = 2;
+  /**
+   * Provides number of error report entries fetched per database round trip when the error report is exported.
+   * */
+  @Min(1)
+  private int errorReportExportFetchSize = 1000;
+  /**
+   * Provides the time window of the current throughput of a running operation. Should be a few times longer than
+   * the progress flush interval and the interval the operation is polled with.
+   * */
+  @Min(1000)
+  private long progressRateWindowMs = 60_000;
   /**
    * Provides the S3 local sub path for Authority and Marc bib files during migration.
    */
@@ -3,19 +3,28 @@ package org.folio.marc.migrations.config;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.DistributedWorkerService;
 import org.folio.marc.migrations.services.batch.MappingRangePartitioner;
 import org.folio.marc.migrations.services.batch.RetryListPartitioner;
+import org.folio.marc.migrations.services.batch.mapping.ClaimingChunkReader;
 import org.folio.marc.migrations.services.batch.mapping.MappingChunkEntityReader;
 import org.folio.marc.migrations.services.batch.mapping.MappingChunksRetryEntityReader;
 import org.folio.marc.migrations.services.batch.mapping.MappingRecordsFileUploadStepListener;
 import org.folio.marc.migrations.services.batch.mapping.MappingRecordsWriter;
+import org.folio.marc.migrations.services.batch.mapping.PreparedChunksQueueReader;
+import org.folio.marc.migrations.services.batch.saving.MappingSavingRecordsWriter;
+import org.folio.marc.migrations.services.batch.saving.MappingSavingStepListener;
 import org.folio.marc.migrations.services.batch.saving.SavingRecordsChunkProcessor;
 import org.folio.marc.migrations.services.batch.saving.SavingRecordsStepListener;
 import org.folio.marc.migrations.services.batch.saving.SavingRecordsWriter;
 import org.folio.marc.migrations.services.batch.saving.SavingRetryRecordsChunkProcessor;
+import org.folio.marc.migrations.services.batch.support.PreparedChunksQueueRegistry;
 import org.folio.marc.migrations.services.domain.DataSavingResult;
 import org.folio.marc.migrations.services.domain.MappingComposite;
 import org.folio.marc.migrations.services.domain.MappingResult;
@@ -28,6 +37,7 @@ import org.springframework.batch.core.partition.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.Step;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
 import org.springframework.batch.infrastructure.item.ItemReader;
 import org.springframework.batch.infrastructure.item.support.CompositeItemProcessor;
@@ -38,6 +48,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Log4j2
 @Configuration
@@ -47,13 +59,16 @@ public class SpringBatchConfig {
    * Pooled, configurable TaskExecutor for partition-handler concurrency.
    * Decorates each task with the current FolioExecutionContext so tenant-scoped beans
    * are available inside partition worker threads.
+   * Shared by operations running at the same time, so sized for partitions of all of them.
    */
   @Bean("chunksProcessingExecutor")
   public AsyncTaskExecutor chunksProcessingExecutor(MigrationProperties migrationProperties) {
+    var poolSize = migrationProperties.getChunkProcessingMaxParallelism()
+      * migrationProperties.getMigrationConcurrency();
     var executor = new ThreadPoolTaskExecutor();
     executor.setThreadGroupName("chunksProcessing");
-    executor.setCorePoolSize(migrationProperties.getChunkProcessingMaxParallelism());
-    executor.setMaxPoolSize(migrationProperties.getChunkProcessingMaxParallelism());
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
     executor.setTaskDecorator(FolioExecutionScopeExecutionContextManager::getRunnableWithCurrentFolioContext);
     executor.afterPropertiesSet();
     executor.setVirtualThreads(true);
@@ -64,16 +79,20 @@ public class SpringBatchConfig {
   // MAPPING — normal job
   // ---------------------------------------------------------------------------
 
-  /** Worker: single-threaded chunk(1) step, one per partition. No taskExecutor, no listener. */
+  /**
+   * Worker: single-threaded step, one per partition, committing every {@code chunkCommitInterval} operation chunks.
+   * No taskExecutor, no listener.
+   */
   @Bean("remapRecordsWorkerStep")
   public Step remapRecordsWorkerStep(JobRepository jobRepository,
                                      PlatformTransactionManager transactionManager,
+                                     MigrationProperties migrationProperties,
                                      @Qualifier("partitionMappingReader") ItemReader<OperationChunk> reader,
                                      @Qualifier("remappingStepProcessor")
                                      ItemProcessor<OperationChunk, MappingComposite<MappingResult>> processor,
                                      MappingRecordsWriter writer) {
     return new StepBuilder("remapRecordsWorker", jobRepository)
-      .<OperationChunk, MappingComposite<MappingResult>>chunk(1)
+      .<OperationChunk, MappingComposite<MappingResult>>chunk(migrationProperties.getChunkCommitInterval())
       .transactionManager(transactionManager)
       .reader(reader)
       .processor(processor)
@@ -106,6 +125,52 @@ public class SpringBatchConfig {
       .build();
   }
 
+  // ---------------------------------------------------------------------------
+  // MAPPING — pipelined job, runs while chunks are being prepared
+  // ---------------------------------------------------------------------------
+
+  /** Worker: same as the normal mapping worker, but takes chunks from the shared prepared chunks queue. */
+  @Bean("remapRecordsPipelinedWorkerStep")
+  public Step remapRecordsPipelinedWorkerStep(JobRepository jobRepository,
+                                              PlatformTransactionManager transactionManager,
+                                              MigrationProperties migrationProperties,
+                                              @Qualifier("partitionQueueReader") ItemReader<OperationChunk> reader,
+                                              @Qualifier("remappingStepProcessor")
+                                              ItemProcessor<OperationChunk, MappingComposite<MappingResult>> processor,
+                                              MappingRecordsWriter writer) {
+    return new StepBuilder("remapRecordsPipelinedWorker", jobRepository)
+      .<OperationChunk, MappingComposite<MappingResult>>chunk(migrationProperties.getChunkCommitInterval())
+      .transactionManager(transactionManager)
+      .reader(reader)
+      .processor(processor)
+      .writer(writer)
+      .build();
+  }
+
+  @Bean("remapRecordsPipelinedStep")
+  public Step remapRecordsPipelinedStep(JobRepository jobRepository,
+                                        @Qualifier("remapRecordsPipelinedWorkerStep") Step workerStep,
+                                        @Qualifier("preparedChunksPartitioner") Partitioner partitioner,
+                                        MappingRecordsFileUploadStepListener listener,
+                                        MigrationProperties migrationProperties,
+                                        @Qualifier("chunksProcessingExecutor") AsyncTaskExecutor executor) {
+    return new StepBuilder("remapRecordsPipelined", jobRepository)
+      .partitioner("remapRecordsPipelinedWorker", partitioner)
+      .step(workerStep)
+      .gridSize(migrationProperties.getChunkProcessingMaxParallelism())
+      .taskExecutor(executor)
+      .listener(listener)
+      .build();
+  }
+
+  @Bean("remappingPipelinedJob")
+  public Job remappingPipelinedJob(JobRepository jobRepository,
+                                   @Qualifier("remapRecordsPipelinedStep") Step remapRecordsPipelinedStep) {
+    return new JobBuilder("remappingPipelined", jobRepository)
+      .start(remapRecordsPipelinedStep)
+      .build();
+  }
+
   // ---------------------------------------------------------------------------
   // SAVING — normal job
   // ---------------------------------------------------------------------------
@@ -113,11 +178,12 @@ public class SpringBatchConfig {
   @Bean("remapSaveRecordsWorkerStep")
   public Step remapSaveRecordsWorkerStep(JobRepository jobRepository,
                                          PlatformTransactionManager transactionManager,
-                                         @Qualifier("partitionMappingReader") ItemReader<OperationChunk> reader,
+                                         MigrationProperties migrationProperties,
+                                         @Qualifier("partitionSavingReader") ItemReader<OperationChunk> reader,
                                          SavingRecordsChunkProcessor processor,
                                          SavingRecordsWriter writer) {
     return new StepBuilder("remapSaveRecordsWorker", jobRepository)
-      .<OperationChunk, DataSavingResult>chunk(1)
+      .<OperationChunk, DataSavingResult>chunk(migrationProperties.getChunkCommitInterval())
       .transactionManager(transactionManager)
       .reader(reader)
       .processor(processor)
@@ -149,6 +215,52 @@ public class SpringBatchConfig {
       .build();
   }
 
+  // ---------------------------------------------------------------------------
+  // MAPPING AND SAVING — one pass job, saves every chunk right after it is mapped
+  // ---------------------------------------------------------------------------
+
+  /** Worker: maps operation chunks, uploads their files and saves mapped records by the bulk API. */
+  @Bean("remapAndSaveRecordsWorkerStep")
+  public Step remapAndSaveRecordsWorkerStep(JobRepository jobRepository,
+                                            PlatformTransactionManager transactionManager,
+                                            MigrationProperties migrationProperties,
+                                            @Qualifier("partitionMappingReader") ItemReader<OperationChunk> reader,
+                                            @Qualifier("remappingStepProcessor")
+                                            ItemProcessor<OperationChunk, MappingComposite<MappingResult>> processor,
+                                            MappingSavingRecordsWriter writer) {
+    return new StepBuilder("remapAndSaveRecordsWorker", jobRepository)
+      .<OperationChunk, MappingComposite<MappingResult>>chunk(migrationProperties.getChunkCommitInterval())
+      .transactionManager(transactionManager)
+      .reader(reader)
+      .processor(processor)
+      .writer(writer)
+      .build();
+  }
+
+  @Bean("remapAndSaveRecordsStep")
+  public Step remapAndSaveRecordsStep(JobRepository jobRepository,
+                                      @Qualifier("remapAndSaveRecordsWorkerStep") Step workerStep,
+                                      @Qualifier("mappingRangePartitioner") Partitioner partitioner,
+                                      MappingSavingStepListener listener,
+                                      MigrationProperties migrationProperties,
+                                      @Qualifier("chunksProcessingExecutor") AsyncTaskExecutor executor) {
+    return new StepBuilder("remapAndSaveRecords", jobRepository)
+      .partitioner("remapAndSaveRecordsWorker", partitioner)
+      .step(workerStep)
+      .gridSize(migrationProperties.getChunkProcessingMaxParallelism())
+      .taskExecutor(executor)
+      .listener(listener)
+      .build();
+  }
+
+  @Bean("remappingAndSaveJob")
+  public Job remappingAndSaveJob(JobRepository jobRepository,
+                                 @Qualifier("remapAndSaveRecordsStep") Step remapAndSaveRecordsStep) {
+    return new JobBuilder("remappingAndSave", jobRepository)
+      .start(remapAndSaveRecordsStep)
+      .build();
+  }
+
   // ---------------------------------------------------------------------------
   // MAPPING — retry job
   // ---------------------------------------------------------------------------
@@ -156,12 +268,13 @@ public class SpringBatchConfig {
   @Bean("remapRetryRecordsWorkerStep")
   public Step remapRetryRecordsWorkerStep(JobRepository jobRepository,
                                           PlatformTransactionManager transactionManager,
+                                          MigrationProperties migrationProperties,
                                           @Qualifier("partitionRetryReader") ItemReader<OperationChunk> reader,
                                           @Qualifier("remappingStepProcessor")
                                           ItemProcessor<OperationChunk, MappingComposite<MappingResult>> processor,
                                           MappingRecordsWriter writer) {
     return new StepBuilder("remapRetryRecordsWorker", jobRepository)
-      .<OperationChunk, MappingComposite<MappingResult>>chunk(1)
+      .<OperationChunk, MappingComposite<MappingResult>>chunk(migrationProperties.getChunkCommitInterval())
       .transactionManager(transactionManager)
       .reader(reader)
       .processor(processor)
@@ -200,11 +313,12 @@ public class SpringBatchConfig {
   @Bean("remapRetrySaveRecordsWorkerStep")
   public Step remapRetrySaveRecordsWorkerStep(JobRepository jobRepository,
                                               PlatformTransactionManager transactionManager,
+                                              MigrationProperties migrationProperties,
                                               @Qualifier("partitionRetryReader") ItemReader<OperationChunk> reader,
                                               SavingRetryRecordsChunkProcessor processor,
                                               SavingRecordsWriter writer) {
     return new StepBuilder("remapRetrySaveRecordsWorker", jobRepository)
-      .<OperationChunk, DataSavingResult>chunk(1)
+      .<OperationChunk, DataSavingResult>chunk(migrationProperties.getChunkCommitInterval())
       .transactionManager(transactionManager)
       .reader(reader)
       .processor(processor)
@@ -267,12 +381,74 @@ public class SpringBatchConfig {
     @Value("#{stepExecutionContext['" + MappingRangePartitioner.FROM_ID_KEY + "']}") String fromIdStr,
     @Value("#{stepExecutionContext['" + MappingRangePartitioner.TO_ID_KEY + "']}") String toIdStr,
     @Value("#{jobParameters['operationId']}") String operationId,
-    MigrationProperties properties, ChunkJdbcService jdbcService) {
+    MigrationProperties properties, ChunkJdbcService jdbcService, DistributedWorkerService workerService,
+    PlatformTransactionManager transactionManager) {
+    if (isChunkClaiming(properties)) {
+      return claimingReader(operationId, List.of(OperationStatusType.NEW), OperationStatusType.DATA_MAPPING,
+        properties, jdbcService, workerService, transactionManager);
+    }
+    return rangeReader(fromIdStr, toIdStr, operationId, properties, jdbcService);
+  }
+
+  /**
+   * Same as {@code partitionMappingReader}, but claims chunks that are not yet saved. Used by save step.
+   */
+  @Bean("partitionSavingReader")
+  @StepScope
+  public ItemReader<OperationChunk> partitionSavingReader(
+    @Value("#{stepExecutionContext['" + MappingRangePartitioner.FROM_ID_KEY + "']}") String fromIdStr,
+    @Value("#{stepExecutionContext['" + MappingRangePartitioner.TO_ID_KEY + "']}") String toIdStr,
+    @Value("#{jobParameters['operationId']}") String operationId,
+    MigrationProperties properties, ChunkJdbcService jdbcService, DistributedWorkerService workerService,
+    PlatformTransactionManager transactionManager) {
+    if (isChunkClaiming(properties)) {
+      var notSavedStatuses = List.of(OperationStatusType.NEW, OperationStatusType.DATA_MAPPING,
+        OperationStatusType.DATA_MAPPING_COMPLETED, OperationStatusType.DATA_MAPPING_FAILED);
+      return claimingReader(operationId, notSavedStatuses, OperationStatusType.DATA_SAVING, properties, jdbcService,
+        workerService, transactionManager);
+    }
+    return rangeReader(fromIdStr, toIdStr, operationId, properties, jdbcService);
+  }
+
+  private static boolean isChunkClaiming(MigrationProperties properties) {
+    return properties.isChunkClaimingEnabled() || properties.isDistributedWorkersEnabled();
+  }
+
+  /**
+   * In distributed worker mode claims are committed in own transactions and leased by the module instance.
+   */
+  private ItemReader<OperationChunk> claimingReader(String operationId, List<OperationStatusType> claimableStatuses,
+                                                    OperationStatusType claimedStatus, MigrationProperties properties,
+                                                    ChunkJdbcService jdbcService,
+                                                    DistributedWorkerService workerService,
+                                                    PlatformTransactionManager transactionManager) {
+    ClaimingChunkReader.Lease lease = null;
+    if (workerService.isEnabled()) {
+      var transactionTemplate = new TransactionTemplate(transactionManager);
+      transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+      lease = new ClaimingChunkReader.Lease(workerService.getInstanceId(), properties.getWorkerLeaseMs(),
+        properties.getWorkerPollIntervalMs(), transactionTemplate);
+    }
+    return new ClaimingChunkReader(operationId, claimableStatuses, claimedStatus, properties.getChunkCommitInterval(),
+      jdbcService, lease);
+  }
+
+  private ItemReader<OperationChunk> rangeReader(String fromIdStr, String toIdStr, String operationId,
+                                                 MigrationProperties properties, ChunkJdbcService jdbcService) {
     var fromId = fromIdStr != null ? UUID.fromString(fromIdStr) : null;
     var toId = UUID.fromString(toIdStr);
     return new MappingChunkEntityReader(operationId, fromId, toId, properties, jdbcService);
   }
 
+  /** Takes chunks from the operation's prepared chunks queue. Used by pipelined mapping step. */
+  @Bean("partitionQueueReader")
+  @StepScope
+  public ItemReader<OperationChunk> partitionQueueReader(
+    @Value("#{jobParameters['operationId']}") String operationId,
+    PreparedChunksQueueRegistry queueRegistry) {
+    return new PreparedChunksQueueReader(operationId, queueRegistry.get(operationId));
+  }
+
   /** Reads the partition's sublist of retry chunk ids. Used by both mapping-retry and save-retry steps. */
   @Bean("partitionRetryReader")
   @StepScope
@@ -289,13 +465,23 @@ public class SpringBatchConfig {
   // Partition-scoped partitioners
   // ---------------------------------------------------------------------------
 
-  /** Splits all chunks for an operation into equal id ranges. Used by normal mapping and save jobs. */
+  /**
+   * Splits all chunks for an operation into equal id ranges, or creates partitions claiming chunks when chunk claiming
+   * or distributed worker mode is enabled. Used by normal mapping, save and map and save jobs.
+   */
   @Bean("mappingRangePartitioner")
   @StepScope
   public Partitioner mappingRangePartitioner(
     @Value("#{jobParameters['operationId']}") String operationId,
-    ChunkJdbcService jdbcService) {
-    return new MappingRangePartitioner(operationId, jdbcService);
+    MigrationProperties properties, ChunkJdbcService jdbcService) {
+    return new MappingRangePartitioner(operationId, jdbcService, isChunkClaiming(properties));
+  }
+
+  /** Creates {@code gridSize} partitions sharing the prepared chunks queue. Used by pipelined mapping job. */
+  @Bean("preparedChunksPartitioner")
+  public Partitioner preparedChunksPartitioner() {
+    return gridSize -> IntStream.range(0, gridSize).boxed()
+      .collect(Collectors.toMap(i -> "partition" + i, i -> new ExecutionContext()));
   }
 
   /** Splits a retry chunk-id list round-robin across partitions. Used by retry mapping and save jobs. */
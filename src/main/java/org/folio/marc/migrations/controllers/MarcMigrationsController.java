@@ -4,19 +4,32 @@ import java.util.List;
 import java.util.UUID;
 import org.folio.marc.migrations.controllers.delegates.MarcMigrationsService;
 import org.folio.marc.migrations.domain.dto.EntityType;
+import org.folio.marc.migrations.domain.dto.ErrorReportChunkStatus;
 import org.folio.marc.migrations.domain.dto.ErrorReportCollection;
+import org.folio.marc.migrations.domain.dto.ErrorReportStage;
 import org.folio.marc.migrations.domain.dto.ErrorReportStatus;
 import org.folio.marc.migrations.domain.dto.MigrationOperation;
 import org.folio.marc.migrations.domain.dto.MigrationOperationCollection;
 import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
 import org.folio.marc.migrations.domain.dto.SaveMigrationOperation;
+import org.folio.marc.migrations.exceptions.ApiValidationException;
 import org.folio.marc.migrations.rest.resource.MarcMigrationsApi;
 import org.folio.marc.migrations.services.ExpirationService;
+import org.folio.marc.migrations.services.domain.ErrorReportExportFormat;
+import org.folio.spring.integration.XOkapiHeaders;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @RestController
@@ -76,8 +89,34 @@ public class MarcMigrationsController implements MarcMigrationsApi {
 
   @Override
   public ResponseEntity<ErrorReportCollection> getMigrationErrors(UUID operationId, String tenantId, Integer offset,
-                                                                  Integer limit) {
-    return ResponseEntity.ok(migrationsService.getErrorReportEntries(operationId, offset, limit));
+                                                                  Integer limit, String after, ErrorReportStage stage,
+                                                                  ErrorReportChunkStatus chunkStatus) {
+    return ResponseEntity.ok(migrationsService.getErrorReportEntries(operationId, offset, limit, after, stage,
+      chunkStatus));
+  }
+
+  /**
+   * GET /marc-migrations/{operationId}/error-report/errors/export.
+   *
+   * @return All error report entries streamed as NDJSON or CSV (status code 200)
+   *         or Validation error for the request. (status code 422)
+   *         or Not found (status code 404)
+   */
+  @GetMapping("/marc-migrations/{operationId}/error-report/errors/export")
+  public ResponseEntity<StreamingResponseBody> exportMigrationErrors(
+    @PathVariable("operationId") UUID operationId,
+    @RequestHeader(XOkapiHeaders.TENANT) String tenantId,
+    @RequestParam(value = "format", defaultValue = "ndjson") String format,
+    @RequestParam(value = "stage", required = false) ErrorReportStage stage,
+    @RequestParam(value = "chunkStatus", required = false) ErrorReportChunkStatus chunkStatus) {
+    var exportFormat = ErrorReportExportFormat.fromValue(format)
+      .orElseThrow(() -> new ApiValidationException("format", format));
+    var body = migrationsService.exportErrorReportEntries(operationId, tenantId, exportFormat, stage, chunkStatus);
+    var fileName = "%s-errors.%s".formatted(operationId, exportFormat.getFileExtension());
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+      .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+      .body(body);
   }
 
   @Override
@@ -0,0 +1,67 @@
+package org.folio.marc.migrations.controllers.delegates;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.folio.marc.migrations.domain.dto.ErrorReport;
+import org.folio.marc.migrations.services.domain.ErrorReportExportFormat;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Writes error report entries to the export as one line per entry. CSV values are quoted as described in RFC 4180.
+ */
+class ErrorReportExportWriter {
+
+  static final String CSV_HEADER = "operationId,chunkId,stage,chunkStatus,recordId,errorMessage";
+
+  private final Writer writer;
+  private final ErrorReportExportFormat format;
+  private final ObjectMapper objectMapper;
+
+  ErrorReportExportWriter(Writer writer, ErrorReportExportFormat format, ObjectMapper objectMapper) {
+    this.writer = writer;
+    this.format = format;
+    this.objectMapper = objectMapper;
+  }
+
+  void writeHeader() {
+    if (format == ErrorReportExportFormat.CSV) {
+      writeLine(CSV_HEADER);
+    }
+  }
+
+  void write(ErrorReport errorReport) {
+    writeLine(format == ErrorReportExportFormat.NDJSON
+              ? objectMapper.writeValueAsString(errorReport)
+              : toCsvLine(errorReport));
+  }
+
+  private void writeLine(String line) {
+    try {
+      writer.write(line);
+      writer.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String toCsvLine(ErrorReport errorReport) {
+    return Stream.of(errorReport.getOperationId(), errorReport.getChunkId(), errorReport.getStage(),
+        errorReport.getChunkStatus(), errorReport.getRecordId(), errorReport.getErrorMessage())
+      .map(ErrorReportExportWriter::toCsvValue)
+      .collect(Collectors.joining(","));
+  }
+
+  private static String toCsvValue(Object value) {
+    if (value == null) {
+      return "";
+    }
+    var text = value.toString();
+    if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
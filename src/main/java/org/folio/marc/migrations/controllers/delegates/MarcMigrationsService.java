@@ -1,5 +1,10 @@
 package org.folio.marc.migrations.controllers.delegates;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,7 +14,9 @@ import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.controllers.mappers.MarcMigrationMapper;
 import org.folio.marc.migrations.domain.dto.EntityType;
 import org.folio.marc.migrations.domain.dto.ErrorReport;
+import org.folio.marc.migrations.domain.dto.ErrorReportChunkStatus;
 import org.folio.marc.migrations.domain.dto.ErrorReportCollection;
+import org.folio.marc.migrations.domain.dto.ErrorReportStage;
 import org.folio.marc.migrations.domain.dto.ErrorReportStatus;
 import org.folio.marc.migrations.domain.dto.MigrationOperation;
 import org.folio.marc.migrations.domain.dto.MigrationOperationCollection;
@@ -18,15 +25,24 @@ import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
 import org.folio.marc.migrations.domain.dto.OperationType;
 import org.folio.marc.migrations.domain.dto.SaveMigrationOperation;
 import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.domain.entities.OperationError;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.domain.entities.types.OperationStep;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.exceptions.ApiValidationException;
 import org.folio.marc.migrations.services.MigrationOrchestrator;
+import org.folio.marc.migrations.services.TenantContextRunner;
+import org.folio.marc.migrations.services.domain.ErrorReportExportFormat;
+import org.folio.marc.migrations.services.domain.OperationErrorFilter;
 import org.folio.marc.migrations.services.jdbc.OperationErrorJdbcService;
 import org.folio.marc.migrations.services.operations.OperationErrorReportService;
+import org.folio.marc.migrations.services.operations.OperationProgressEstimator;
 import org.folio.marc.migrations.services.operations.OperationsService;
 import org.folio.spring.data.OffsetRequest;
 import org.folio.spring.exception.NotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
 @Log4j2
 @Service
@@ -34,6 +50,7 @@ import org.springframework.stereotype.Service;
 public class MarcMigrationsService {
 
   static final String NOT_FOUND_MSG = "MARC migration operation was not found [id: %s]";
+  private static final int UUID_BYTES = 16;
 
   private final MarcMigrationMapper mapper;
   private final MigrationProperties props;
@@ -41,13 +58,20 @@ public class MarcMigrationsService {
   private final MigrationOrchestrator migrationOrchestrator;
   private final OperationErrorReportService errorReportsService;
   private final OperationErrorJdbcService operationErrorJdbcService;
+  private final OperationProgressEstimator progressEstimator;
+  private final TenantContextRunner tenantContextRunner;
+  private final ObjectMapper objectMapper;
 
   public MigrationOperation createNewMigration(NewMigrationOperation newMigrationOperation) {
     log.debug("createNewMigration::Trying to create new migration operation: {}", newMigrationOperation);
     validateMigrationCreate(newMigrationOperation);
     var operation = mapper.toEntity(newMigrationOperation);
     var newOperation = operationsService.createOperation(operation);
-    migrationOrchestrator.submitMappingTask(newOperation);
+    if (Boolean.TRUE.equals(newMigrationOperation.getMapAndSave())) {
+      migrationOrchestrator.submitMappingAndSavingTask(newOperation, newMigrationOperation.getPublishEvents());
+    } else {
+      migrationOrchestrator.submitMappingTask(newOperation);
+    }
     return mapper.toDto(newOperation);
   }
 
@@ -61,9 +85,10 @@ public class MarcMigrationsService {
 
   public MigrationOperation getMarcMigrationById(UUID operationId) {
     log.debug("getMarcMigrationById::Trying to get migration operation by ID '{}'", operationId);
-    return operationsService.getOperation(operationId)
-      .map(mapper::toDto)
+    var operation = operationsService.getOperation(operationId)
       .orElseThrow(() -> new NotFoundException(NOT_FOUND_MSG.formatted(operationId)));
+    return mapper.toDto(operation)
+      .progress(mapper.toDto(progressEstimator.estimate(operation)));
   }
 
   public MigrationOperationCollection getMarcMigrations(Integer offset, Integer limit, EntityType dtoEntityType) {
@@ -121,19 +146,88 @@ public class MarcMigrationsService {
       .orElseThrow(() -> new NotFoundException(NOT_FOUND_MSG.formatted(operationId)));
   }
 
-  public ErrorReportCollection getErrorReportEntries(UUID operationId, Integer offset, Integer limit) {
+  public ErrorReportCollection getErrorReportEntries(UUID operationId, Integer offset, Integer limit, String after,
+                                                     ErrorReportStage stage, ErrorReportChunkStatus chunkStatus) {
     log.debug("getErrorReportEntries::Trying to get error report entries for operation ID '{}'", operationId);
-    var offsetRequest = new OffsetRequest(offset, limit);
-    var reports = errorReportsService.getErrorReportEntries(operationId, offsetRequest)
-      .stream()
-      .map(operationError -> new ErrorReport(operationError.getReportId(),
-        operationError.getChunkId().toString(),
-        operationError.getOperationStep().name(),
-        operationError.getChunkStatus().name(),
-        operationError.getRecordId(), operationError.getErrorMessage()))
+    var filter = toErrorFilter(stage, chunkStatus);
+    var errors = after == null
+                 ? errorReportsService.getErrorReportEntries(operationId, filter, new OffsetRequest(offset, limit))
+                 : getErrorReportEntriesAfter(operationId, filter, after, offset, limit);
+    var reports = errors.stream()
+      .map(MarcMigrationsService::toErrorReport)
       .toList();
+    var isLastPage = limit == 0 || errors.size() < limit;
     return new ErrorReportCollection()
-      .errorReports(reports);
+      .errorReports(reports)
+      .next(isLastPage ? null : toPageToken(errors.getLast().getId()));
+  }
+
+  /**
+   * Returns the body writing all entries of the error report in the given format while they are read from a database
+   * cursor, so the response is sent in chunks and its size does not affect the server memory.
+   */
+  public StreamingResponseBody exportErrorReportEntries(UUID operationId, String tenantId,
+                                                        ErrorReportExportFormat format, ErrorReportStage stage,
+                                                        ErrorReportChunkStatus chunkStatus) {
+    log.debug("exportErrorReportEntries::Trying to export error report entries for operation ID '{}' as {}",
+      operationId, format);
+    if (errorReportsService.getErrorReport(operationId).isEmpty()) {
+      throw new NotFoundException(NOT_FOUND_MSG.formatted(operationId));
+    }
+    var filter = toErrorFilter(stage, chunkStatus);
+    return outputStream -> {
+      var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      var exportWriter = new ErrorReportExportWriter(writer, format, objectMapper);
+      exportWriter.writeHeader();
+      tenantContextRunner.runInContext(tenantId, () -> errorReportsService.exportErrorReportEntries(operationId,
+        filter, props.getErrorReportExportFetchSize(), error -> exportWriter.write(toErrorReport(error))));
+      writer.flush();
+    };
+  }
+
+  private static OperationErrorFilter toErrorFilter(ErrorReportStage stage, ErrorReportChunkStatus chunkStatus) {
+    return new OperationErrorFilter(stage == null ? null : OperationStep.valueOf(stage.getValue()),
+      chunkStatus == null ? null : StepStatus.valueOf(chunkStatus.getValue()));
+  }
+
+  private static ErrorReport toErrorReport(OperationError operationError) {
+    return new ErrorReport(operationError.getReportId(),
+      operationError.getChunkId().toString(),
+      operationError.getOperationStep().name(),
+      operationError.getChunkStatus().name(),
+      operationError.getRecordId(), operationError.getErrorMessage());
+  }
+
+  private List<OperationError> getErrorReportEntriesAfter(UUID operationId, OperationErrorFilter filter, String after,
+                                                          Integer offset, Integer limit) {
+    if (offset != null && offset > 0) {
+      throw new ApiValidationException("offset", offset.toString());
+    }
+    return errorReportsService.getErrorReportEntriesAfter(operationId, filter, fromPageToken(after), limit);
+  }
+
+  /**
+   * Encodes the id of the last error of a page as an opaque url-safe token.
+   */
+  private static String toPageToken(UUID id) {
+    var bytes = ByteBuffer.allocate(UUID_BYTES)
+      .putLong(id.getMostSignificantBits())
+      .putLong(id.getLeastSignificantBits())
+      .array();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  private static UUID fromPageToken(String token) {
+    try {
+      var bytes = Base64.getUrlDecoder().decode(token);
+      if (bytes.length == UUID_BYTES) {
+        var buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+      }
+    } catch (IllegalArgumentException e) {
+      log.debug("fromPageToken::Invalid page token '{}': {}", token, e.getMessage());
+    }
+    throw new ApiValidationException("after", token);
   }
 
   private void validateMigrationCreate(NewMigrationOperation newMigrationOperation) {
@@ -5,8 +5,10 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import org.folio.marc.migrations.domain.dto.MigrationOperation;
 import org.folio.marc.migrations.domain.dto.MigrationOperationCollection;
+import org.folio.marc.migrations.domain.dto.MigrationOperationProgress;
 import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
 import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.services.domain.OperationProgress;
 import org.folio.marc.migrations.utils.DateUtils;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -34,6 +36,8 @@ public interface MarcMigrationMapper {
 
   MigrationOperation toDto(Operation operation);
 
+  MigrationOperationProgress toDto(OperationProgress progress);
+
   List<MigrationOperation> toDtoList(Iterable<Operation> authorityNoteTypeIterable);
 
   default MigrationOperationCollection toDtoCollection(
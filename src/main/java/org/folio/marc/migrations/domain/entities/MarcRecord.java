@@ -1,7 +1,23 @@
 package org.folio.marc.migrations.domain.entities;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import java.util.UUID;
 import org.folio.marc.migrations.domain.entities.types.RecordState;
 
-public record MarcRecord(UUID marcId, UUID recordId, Object marc, RecordState state, Integer version) {
+/**
+ * MARC record as it is read from SRS.
+ *
+ * @param marc raw UTF-8 json of the parsed record content, exactly as returned by the database
+ */
+public record MarcRecord(UUID marcId, UUID recordId, @JsonIgnore byte[] marc, RecordState state, Integer version) {
+
+  @JsonRawValue
+  @JsonProperty("content")
+  public String content() {
+    return marc == null ? null : new String(marc, UTF_8);
+  }
 }
@@ -14,7 +14,8 @@ public class MarcAuthorityRawMapper extends DataClassRowMapper<MarcRecord> {
   public MarcRecord mapRow(ResultSet rs, int rowNumber) throws SQLException {
     return new MarcRecord(rs.getObject("marc_id", UUID.class),
       rs.getObject("authority_id", UUID.class),
-      rs.getObject("marc"),
+      // jsonb content is taken as raw bytes to be parsed once, without intermediate String
+      rs.getBytes("marc"),
       RecordState.valueOf(rs.getString("state")),
       rs.getObject("version", Integer.class)
     );
@@ -2,20 +2,49 @@ package org.folio.marc.migrations.services;
 
 import static org.folio.marc.migrations.client.BulkClient.EntityBulkType;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.marc.migrations.client.BulkClient;
 import org.folio.marc.migrations.client.BulkClient.BulkRequest;
 import org.folio.marc.migrations.client.BulkClient.BulkResponse;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.services.batch.support.AdaptiveConcurrencyLimiter;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class BulkStorageService {
+
+  static final String BULK_SAVE_METRIC = "marc.migrations.bulk.save";
+
   private final BulkClient bulkClient;
+  private final MigrationMetrics metrics;
+  private final Map<EntityType, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EntityType.class);
+
+  public BulkStorageService(BulkClient bulkClient, MigrationProperties props, MigrationMetrics metrics,
+                            MeterRegistry meterRegistry) {
+    this.bulkClient = bulkClient;
+    this.metrics = metrics;
+    if (props.getBulkSaveMaxConcurrency() > 0) {
+      for (var entityType : EntityType.values()) {
+        limiters.put(entityType, new AdaptiveConcurrencyLimiter(BULK_SAVE_METRIC,
+          Tags.of("entityType", EntityBulkType.valueOf(entityType.name()).toString()),
+          props.getBulkSaveMaxConcurrency(), Duration.ofMillis(props.getBulkSaveSlowCallMs()),
+          BulkStorageService::isOverloadFailure, meterRegistry));
+      }
+    }
+  }
 
   public BulkResponse saveEntities(String remoteRecordsFileName, EntityType entityType, Boolean publishEventsFlag) {
     if (StringUtils.isBlank(remoteRecordsFileName)) {
@@ -26,11 +55,30 @@ public class BulkStorageService {
     bulkRequest.setPublishEvents(publishEventsFlag);
 
     try {
-      return bulkClient.saveBulk(EntityBulkType.mapUri(entityType), bulkRequest);
+      return saveBulk(bulkRequest, entityType);
     } catch (Exception ex) {
       log.warn("Failed to save entities with type {} specified with file path: {}",
           entityType, remoteRecordsFileName, ex);
       return null;
     }
   }
+
+  /**
+   * Times only the bulk request, waiting for a permit of the limiter is measured by the limiter metrics.
+   */
+  private BulkResponse saveBulk(BulkRequest bulkRequest, EntityType entityType) {
+    var uri = EntityBulkType.mapUri(entityType);
+    var stageMetrics = metrics.stage(Stage.BULK_SAVE, entityType);
+    Supplier<BulkResponse> save = () -> stageMetrics.record(() -> bulkClient.saveBulk(uri, bulkRequest));
+    var limiter = limiters.get(entityType);
+    return limiter == null ? save.get() : limiter.execute(save);
+  }
+
+  /**
+   * Client errors other than too many requests are caused by the request, not by load of the storage.
+   */
+  private static boolean isOverloadFailure(Throwable failure) {
+    return !(failure instanceof HttpClientErrorException clientError)
+           || clientError.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+  }
 }
@@ -0,0 +1,101 @@
+package org.folio.marc.migrations.services;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.services.domain.OperationWork;
+import org.folio.marc.migrations.services.jdbc.OperationWorkerJdbcService;
+import org.folio.spring.service.SystemUserScopedExecutionService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends heartbeats of the module instance and joins operation jobs started by other instances in distributed worker
+ * mode. Jobs that lost all their live workers are joined as well, so that their chunks are claimed again.
+ */
+@Log4j2
+@Component
+public class DistributedWorkerScheduler {
+
+  private final MigrationProperties props;
+  private final DistributedWorkerService workerService;
+  private final OperationWorkerJdbcService jdbcService;
+  private final MigrationOrchestrator orchestrator;
+  private final TenantContextRunner tenantContextRunner;
+  private final SystemUserScopedExecutionService systemUserExecutionService;
+  private final ScheduledExecutorService workerScheduler;
+  private final Set<String> joining = ConcurrentHashMap.newKeySet();
+
+  public DistributedWorkerScheduler(MigrationProperties props, DistributedWorkerService workerService,
+                                    OperationWorkerJdbcService jdbcService, MigrationOrchestrator orchestrator,
+                                    TenantContextRunner tenantContextRunner,
+                                    SystemUserScopedExecutionService systemUserExecutionService,
+                                    @Qualifier("workerScheduler") ScheduledExecutorService workerScheduler) {
+    this.props = props;
+    this.workerService = workerService;
+    this.jdbcService = jdbcService;
+    this.orchestrator = orchestrator;
+    this.tenantContextRunner = tenantContextRunner;
+    this.systemUserExecutionService = systemUserExecutionService;
+    this.workerScheduler = workerScheduler;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!workerService.isEnabled()) {
+      return;
+    }
+    log.info("start:: distributed worker mode enabled for instance {}", workerService.getInstanceId());
+    var interval = props.getWorkerPollIntervalMs();
+    workerScheduler.scheduleWithFixedDelay(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Runs on every poll interval. Exceptions are not propagated, as they would cancel next runs.
+   */
+  void tick() {
+    workerService.heartbeat();
+    try {
+      jdbcService.getTenantIds().forEach(this::joinOperationsOfTenant);
+    } catch (Exception ex) {
+      log.warn("tick:: failed to get tenants: {}", ex.getMessage());
+    }
+  }
+
+  private void joinOperationsOfTenant(String tenantId) {
+    try {
+      tenantContextRunner.runInContext(tenantId, () -> joinOperations(tenantId));
+    } catch (Exception ex) {
+      log.warn("tick:: failed to join operations of tenant {}: {}", tenantId, ex.getMessage());
+    }
+  }
+
+  private void joinOperations(String tenantId) {
+    for (var work : jdbcService.getJoinableWork(workerService.getInstanceId(), props.getWorkerLeaseMs())) {
+      var operationId = work.operationId().toString();
+      var key = tenantId + ":" + operationId + ":" + work.jobName();
+      if (workerService.isRegistered(tenantId, operationId, work.jobName()) || !joining.add(key)) {
+        continue;
+      }
+      join(tenantId, work, key);
+    }
+  }
+
+  /**
+   * Joins the job in the context of the module system user, as the job calls other modules.
+   */
+  private void join(String tenantId, OperationWork work, String key) {
+    try {
+      systemUserExecutionService.executeSystemUserScoped(tenantId, () -> orchestrator.joinOperation(work))
+        .whenComplete((unused, throwable) -> joining.remove(key));
+    } catch (Exception ex) {
+      joining.remove(key);
+      throw ex;
+    }
+  }
+}
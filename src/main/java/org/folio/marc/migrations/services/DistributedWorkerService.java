@@ -0,0 +1,114 @@
+package org.folio.marc.migrations.services;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.services.jdbc.OperationWorkerJdbcService;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registers the module instance as a worker of operation jobs in distributed worker mode and keeps its workers alive
+ * by heartbeats. Every instance working on a job marks itself finished when its step ends, and only the last one
+ * finalizes the operation.
+ */
+@Log4j2
+@Service
+public class DistributedWorkerService {
+
+  static final String OTHER_WORKERS_KEY = "otherWorkers";
+
+  private final MigrationProperties props;
+  private final OperationWorkerJdbcService jdbcService;
+  private final TenantContextRunner tenantContextRunner;
+  private final FolioExecutionContext context;
+  private final Set<Participation> participations = ConcurrentHashMap.newKeySet();
+  @Getter
+  private final String instanceId;
+
+  public DistributedWorkerService(MigrationProperties props, OperationWorkerJdbcService jdbcService,
+                                  TenantContextRunner tenantContextRunner, FolioExecutionContext context) {
+    this.props = props;
+    this.jdbcService = jdbcService;
+    this.tenantContextRunner = tenantContextRunner;
+    this.context = context;
+    this.instanceId = StringUtils.isBlank(props.getWorkerInstanceId())
+                      ? UUID.randomUUID().toString()
+                      : props.getWorkerInstanceId();
+  }
+
+  public boolean isEnabled() {
+    return props.isDistributedWorkersEnabled();
+  }
+
+  /**
+   * Registers the instance as a worker of the operation job of the current tenant.
+   */
+  public void register(String operationId, String jobName) {
+    if (!isEnabled()) {
+      return;
+    }
+    jdbcService.registerWorker(operationId, jobName, instanceId);
+    participations.add(new Participation(context.getTenantId(), operationId, jobName));
+  }
+
+  public boolean isRegistered(String tenantId, String operationId, String jobName) {
+    return participations.contains(new Participation(tenantId, operationId, jobName));
+  }
+
+  /**
+   * Marks the instance finished with the job of the step and returns whether the instance must leave finalization of
+   * the operation to other instances, as they still work on the job or the operation is finalized already.
+   * The result is kept in the step execution, so that all listeners of the step get the same one.
+   * Always {@code false} when distributed worker mode is disabled.
+   */
+  public boolean hasOtherWorkers(StepExecution stepExecution, String operationId) {
+    if (!isEnabled()) {
+      return false;
+    }
+    var executionContext = stepExecution.getExecutionContext();
+    if (!executionContext.containsKey(OTHER_WORKERS_KEY)) {
+      var jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
+      participations.remove(new Participation(context.getTenantId(), operationId, jobName));
+      var last = jdbcService.finishWorker(operationId, jobName, instanceId, props.getWorkerLeaseMs());
+      log.info("hasOtherWorkers:: instance {} finished job {} of operation {}, finalizes operation: {}", instanceId,
+        jobName, operationId, last);
+      executionContext.put(OTHER_WORKERS_KEY, !last);
+    }
+    return (boolean) executionContext.get(OTHER_WORKERS_KEY);
+  }
+
+  /**
+   * Marks the instance finished with the job it was not able to run.
+   */
+  public void leave(String operationId, String jobName) {
+    if (!isEnabled()) {
+      return;
+    }
+    participations.remove(new Participation(context.getTenantId(), operationId, jobName));
+    jdbcService.finishWorker(operationId, jobName, instanceId, props.getWorkerLeaseMs());
+  }
+
+  /**
+   * Extends leases of chunks claimed by the instance for all jobs it works on.
+   */
+  public void heartbeat() {
+    for (var participation : participations) {
+      try {
+        tenantContextRunner.runInContext(participation.tenantId(), () -> jdbcService.heartbeat(
+          participation.operationId(), participation.jobName(), instanceId));
+      } catch (Exception ex) {
+        log.warn("heartbeat:: failed for operation {}, job {}: {}", participation.operationId(),
+          participation.jobName(), ex.getMessage());
+      }
+    }
+  }
+
+  private record Participation(String tenantId, String operationId, String jobName) {
+  }
+}
@@ -12,18 +12,24 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.dto.SaveMigrationOperation;
 import org.folio.marc.migrations.domain.entities.Operation;
 import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.batch.support.PreparedChunksQueueRegistry;
 import org.folio.marc.migrations.services.domain.OperationTimeType;
+import org.folio.marc.migrations.services.domain.OperationWork;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
 import org.folio.marc.migrations.services.jdbc.SpringBatchExecutionParamsJdbcService;
 import org.folio.marc.migrations.services.operations.ChunkService;
 import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.JobParameters;
 import org.springframework.batch.core.job.parameters.JobParametersBuilder;
 import org.springframework.batch.core.launch.JobOperator;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -34,13 +40,19 @@ import org.springframework.stereotype.Service;
 public class MigrationOrchestrator {
 
   private static final String ERROR_RUNNING_JOB_MESSAGE = "Error running job for operation {}: {} - {}";
-  private final ExecutorService remappingExecutor;
+  private final Executor remappingExecutor;
+  private final ExecutorService chunksPreparationExecutor;
+  private final MigrationProperties props;
+  private final PreparedChunksQueueRegistry preparedChunksQueueRegistry;
+  private final DistributedWorkerService workerService;
   private final ChunkService chunkService;
   private final OperationJdbcService jdbcService;
   private final SpringBatchExecutionParamsJdbcService executionParamsJdbcService;
   private final JobOperator jobOperator;
   private final Job remappingJob;
+  private final Job remappingPipelinedJob;
   private final Job remappingSaveJob;
+  private final Job remappingAndSaveJob;
   private final Job remappingRetryJob;
   private final Job remappingRetrySaveJob;
 
@@ -48,17 +60,29 @@ public class MigrationOrchestrator {
                                OperationJdbcService jdbcService,
                                SpringBatchExecutionParamsJdbcService executionParamsJdbcService,
                                JobOperator jobOperator,
+                               MigrationProperties props,
+                               PreparedChunksQueueRegistry preparedChunksQueueRegistry,
+                               DistributedWorkerService workerService,
                                @Qualifier("remappingJob") Job remappingJob,
+                               @Qualifier("remappingPipelinedJob") Job remappingPipelinedJob,
                                @Qualifier("remappingSaveJob") Job remappingSaveJob,
+                               @Qualifier("remappingAndSaveJob") Job remappingAndSaveJob,
                                @Qualifier("remappingRetryJob") Job remappingRetryJob,
                                @Qualifier("remappingRetrySaveJob") Job remappingRetrySaveJob,
-                               FolioExecutor remappingExecutor) {
+                               @Qualifier("remappingExecutor") TenantFairExecutor remappingExecutor,
+                               @Qualifier("chunksPreparationExecutor") FolioExecutor chunksPreparationExecutor) {
     this.chunkService = chunkService;
+    this.props = props;
+    this.preparedChunksQueueRegistry = preparedChunksQueueRegistry;
+    this.workerService = workerService;
+    this.remappingPipelinedJob = remappingPipelinedJob;
+    this.chunksPreparationExecutor = chunksPreparationExecutor;
     this.jdbcService = jdbcService;
     this.executionParamsJdbcService = executionParamsJdbcService;
     this.jobOperator = jobOperator;
     this.remappingJob = remappingJob;
     this.remappingSaveJob = remappingSaveJob;
+    this.remappingAndSaveJob = remappingAndSaveJob;
     this.remappingRetryJob = remappingRetryJob;
     this.remappingRetrySaveJob = remappingRetrySaveJob;
     this.remappingExecutor = remappingExecutor;
@@ -74,8 +98,7 @@ public class MigrationOrchestrator {
     log.info("submitMappingTask:: starting for operation {}", operation.getId());
     var future = runAsync(() -> updateOperationStatus(operationId, OperationStatusType.DATA_MAPPING,
       OperationTimeType.MAPPING_START), remappingExecutor)
-      .thenRun(() -> chunkService.prepareChunks(operation))
-      .thenRun(submitProcessChunksTask(operationId, operation.getEntityType(), null))
+      .thenRun(submitPrepareAndProcessChunksTask(operation))
       .handle((unused, throwable) -> {
         if (throwable != null) {
           updateOperationStatus(operationId, OperationStatusType.DATA_MAPPING_FAILED, OperationTimeType.MAPPING_END);
@@ -86,6 +109,30 @@ public class MigrationOrchestrator {
     return future;
   }
 
+  /**
+   * Submits asynchronous remapping task that saves records of every chunk right after the chunk is mapped.
+   * The operation goes to data saving status once chunks are prepared.
+   *
+   * @param operation     represents migration operation to run mapping and saving for.
+   * @param publishEvents a flag that indicates if domain events should be published when records are saved
+   */
+  public CompletableFuture<Void> submitMappingAndSavingTask(Operation operation, Boolean publishEvents) {
+    var operationId = operation.getId().toString();
+    log.info("submitMappingAndSavingTask:: starting for operation {}", operationId);
+    var future = runAsync(() -> updateOperationStatus(operationId, OperationStatusType.DATA_MAPPING,
+      OperationTimeType.MAPPING_START), remappingExecutor)
+      .thenRun(() -> chunkService.prepareChunks(operation))
+      .thenRun(submitProcessAndSaveChunksTask(operationId, operation.getEntityType(), publishEvents))
+      .handle((unused, throwable) -> {
+        if (throwable != null) {
+          updateOperationStatus(operationId, OperationStatusType.DATA_MAPPING_FAILED, OperationTimeType.MAPPING_END);
+        }
+        return unused;
+      });
+    log.info("submitMappingAndSavingTask:: submitted asynchronous execution for operation {}", operationId);
+    return future;
+  }
+
   public CompletableFuture<Void> submitRetryMappingTask(Operation operation, List<UUID> chunkIds) {
     var operationId = operation.getId()
       .toString();
@@ -144,6 +191,66 @@ public class MigrationOrchestrator {
     return future;
   }
 
+  /**
+   * Joins processing of the operation job started by another module instance in distributed worker mode.
+   * The job runs as a separate job instance claiming chunks of the same operation.
+   *
+   * @param work represents the operation and name of the job to join
+   */
+  public CompletableFuture<Void> joinOperation(OperationWork work) {
+    var operationId = work.operationId().toString();
+    var job = Stream.of(remappingJob, remappingSaveJob, remappingAndSaveJob)
+      .filter(candidate -> candidate.getName().equals(work.jobName()))
+      .findFirst()
+      .orElseThrow(() -> new IllegalArgumentException("Job cannot be joined: " + work.jobName()));
+    log.info("joinOperation:: joining job {} of operation {}", work.jobName(), operationId);
+    return runAsync(() -> startJoinedJob(job, operationId), remappingExecutor);
+  }
+
+  private void startJoinedJob(Job job, String operationId) {
+    try {
+      var operation = jdbcService.getOperation(operationId);
+      if (operation.getStatus() != OperationStatusType.DATA_MAPPING
+          && operation.getStatus() != OperationStatusType.DATA_SAVING) {
+        log.info("startJoinedJob:: operation {} is not running anymore", operationId);
+        return;
+      }
+      startJob(job, operationId, joinedJobParameters(operation));
+    } catch (Exception ex) {
+      log.warn(ERROR_RUNNING_JOB_MESSAGE, operationId, ex.getCause(), ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Parameters of a separate job instance of the operation, the timestamp makes them differ from the started one.
+   */
+  private JobParameters joinedJobParameters(Operation operation) {
+    var operationId = operation.getId().toString();
+    var jobParametersBuilder = new JobParametersBuilder()
+      .addString(OPERATION_ID, operationId)
+      .addJobParameter(ENTITY_TYPE, operation.getEntityType(), EntityType.class)
+      .addJobParameter(TIMESTAMP, Timestamp.from(Instant.now()).toString(), String.class);
+    var publishEvents = executionParamsJdbcService.getBatchExecutionParam(PUBLISH_EVENTS_FLAG, operationId);
+    if (StringUtils.isNotEmpty(publishEvents)) {
+      jobParametersBuilder.addJobParameter(PUBLISH_EVENTS_FLAG, Boolean.parseBoolean(publishEvents), Boolean.class);
+    }
+    return jobParametersBuilder.toJobParameters();
+  }
+
+  /**
+   * Starts the job, registering the module instance as its worker in distributed worker mode.
+   */
+  private void startJob(Job job, String operationId, JobParameters jobParameters) throws Exception {
+    workerService.register(operationId, job.getName());
+    try {
+      jobOperator.start(job, jobParameters);
+    } catch (Exception ex) {
+      workerService.leave(operationId, job.getName());
+      throw ex;
+    }
+  }
+
   private void updateOperationStatus(String operationId, OperationStatusType status,
                                      OperationTimeType timeType) {
     jdbcService.updateOperationStatus(operationId, status, timeType, Timestamp.from(Instant.now()));
@@ -161,9 +268,9 @@ public class MigrationOrchestrator {
         var jobParameters = jobParametersBuilder.toJobParameters();
         var currentStatus = jdbcService.getOperation(operationId).getStatus();
         if (currentStatus == OperationStatusType.DATA_MAPPING) {
-          jobOperator.start(remappingJob, jobParameters);
+          startJob(remappingJob, operationId, jobParameters);
         } else if (currentStatus == OperationStatusType.DATA_SAVING) {
-          jobOperator.start(remappingSaveJob, jobParameters);
+          startJob(remappingSaveJob, operationId, jobParameters);
         }
       } catch (Exception ex) {
         log.warn(ERROR_RUNNING_JOB_MESSAGE, operationId, ex.getCause(), ex.getMessage());
@@ -172,6 +279,64 @@ public class MigrationOrchestrator {
     };
   }
 
+  private Runnable submitProcessAndSaveChunksTask(String operationId, EntityType entityType, Boolean publishEvents) {
+    return () -> {
+      try {
+        var jobParameters = new JobParametersBuilder()
+          .addString(OPERATION_ID, operationId)
+          .addJobParameter(ENTITY_TYPE, entityType, EntityType.class)
+          .addJobParameter(PUBLISH_EVENTS_FLAG, publishEvents != null ? publishEvents : Boolean.TRUE, Boolean.class)
+          .toJobParameters();
+        updateOperationStatus(operationId, OperationStatusType.DATA_SAVING, OperationTimeType.SAVING_START);
+        startJob(remappingAndSaveJob, operationId, jobParameters);
+      } catch (Exception ex) {
+        log.warn(ERROR_RUNNING_JOB_MESSAGE, operationId, ex.getCause(), ex.getMessage());
+        throw new IllegalStateException(ex);
+      }
+    };
+  }
+
+  private Runnable submitPrepareAndProcessChunksTask(Operation operation) {
+    if (props.isChunkPreparationPipelined() && !props.isChunkServerSidePreparation() && !workerService.isEnabled()) {
+      return () -> prepareAndProcessChunksPipelined(operation);
+    }
+    var processChunksTask = submitProcessChunksTask(operation.getId().toString(), operation.getEntityType(), null);
+    return () -> {
+      chunkService.prepareChunks(operation);
+      processChunksTask.run();
+    };
+  }
+
+  /**
+   * Prepares chunks in the background and maps them as soon as they are persisted.
+   * The mapping job ends once preparation is finished and all published chunks are mapped.
+   */
+  private void prepareAndProcessChunksPipelined(Operation operation) {
+    var operationId = operation.getId().toString();
+    var queue = preparedChunksQueueRegistry.open(operationId);
+    try {
+      var preparation = runAsync(() -> chunkService.prepareChunks(operation, queue::publish), chunksPreparationExecutor)
+        .whenComplete((unused, throwable) -> {
+          if (throwable != null) {
+            queue.fail(throwable);
+          } else {
+            queue.close();
+          }
+        });
+      var jobParameters = new JobParametersBuilder()
+        .addString(OPERATION_ID, operationId)
+        .addJobParameter(ENTITY_TYPE, operation.getEntityType(), EntityType.class)
+        .toJobParameters();
+      jobOperator.start(remappingPipelinedJob, jobParameters);
+      preparation.join();
+    } catch (Exception ex) {
+      log.warn(ERROR_RUNNING_JOB_MESSAGE, operationId, ex.getCause(), ex.getMessage());
+      throw new IllegalStateException(ex);
+    } finally {
+      preparedChunksQueueRegistry.remove(operationId);
+    }
+  }
+
   private Runnable submitProcessRetryChunksTask(String operationId, EntityType entityType, List<UUID> chunkIds) {
     return () -> {
       try {
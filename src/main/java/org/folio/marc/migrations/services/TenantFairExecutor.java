@@ -0,0 +1,124 @@
+package org.folio.marc.migrations.services;
+
+import static org.folio.spring.scope.FolioExecutionScopeExecutionContextManager.getRunnableWithCurrentFolioContext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.folio.spring.FolioExecutionContext;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides async execution decorated with FolioExecutionContext, fair between tenants.
+ * Tasks are queued per tenant of the submitting context and tenants with queued tasks take free slots in turns,
+ * so that a tenant submitting many operations does not delay operations of other tenants.
+ * Number of running tasks is bounded both in total and per tenant.
+ * */
+@Log4j2
+public class TenantFairExecutor implements Executor {
+
+  private final int maxConcurrency;
+  private final int maxTenantConcurrency;
+  private final FolioExecutionContext context;
+  private final ThreadPoolExecutor workers;
+  private final Map<String, Deque<Runnable>> queues = new HashMap<>();
+  private final Deque<String> tenantsInTurn = new ArrayDeque<>();
+  private final Map<String, Integer> running = new HashMap<>();
+  private int runningTotal;
+
+  public TenantFairExecutor(int maxConcurrency, int maxTenantConcurrency, FolioExecutionContext context) {
+    this.maxConcurrency = maxConcurrency;
+    this.maxTenantConcurrency = maxTenantConcurrency;
+    this.context = context;
+    this.workers = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>());
+    this.workers.allowCoreThreadTimeOut(true);
+  }
+
+  @Override
+  public void execute(@NotNull Runnable command) {
+    if (workers.isShutdown()) {
+      throw new RejectedExecutionException("Executor is shut down");
+    }
+    var tenantId = Objects.requireNonNullElse(context.getTenantId(), "");
+    var task = getRunnableWithCurrentFolioContext(command);
+    synchronized (this) {
+      queues.computeIfAbsent(tenantId, id -> new ArrayDeque<>()).addLast(task);
+      if (!tenantsInTurn.contains(tenantId)) {
+        tenantsInTurn.addLast(tenantId);
+      }
+      log.debug("execute:: queued task [tenant: {}, queued: {}, running: {}]", tenantId,
+        queues.get(tenantId).size(), runningTotal);
+    }
+    dispatch();
+  }
+
+  public void shutdown() {
+    workers.shutdown();
+  }
+
+  synchronized int queuedTasks() {
+    return queues.values().stream().mapToInt(Deque::size).sum();
+  }
+
+  synchronized int runningTasks() {
+    return runningTotal;
+  }
+
+  /**
+   * Starts queued tasks while there are free slots, taking one task of each tenant in turn.
+   * */
+  private synchronized void dispatch() {
+    while (runningTotal < maxConcurrency && !workers.isShutdown()) {
+      var tenantId = nextTenant();
+      if (tenantId == null) {
+        return;
+      }
+      var queue = queues.get(tenantId);
+      var task = queue.pollFirst();
+      if (queue.isEmpty()) {
+        queues.remove(tenantId);
+      } else {
+        tenantsInTurn.addLast(tenantId);
+      }
+      running.merge(tenantId, 1, Integer::sum);
+      runningTotal++;
+      workers.execute(() -> run(tenantId, task));
+    }
+  }
+
+  /**
+   * Removes from the turn and returns the first tenant that is below its limit of running tasks.
+   * */
+  private String nextTenant() {
+    var iterator = tenantsInTurn.iterator();
+    while (iterator.hasNext()) {
+      var tenantId = iterator.next();
+      if (running.getOrDefault(tenantId, 0) < maxTenantConcurrency) {
+        iterator.remove();
+        return tenantId;
+      }
+    }
+    return null;
+  }
+
+  private void run(String tenantId, Runnable task) {
+    try {
+      task.run();
+    } finally {
+      synchronized (this) {
+        running.computeIfPresent(tenantId, (id, count) -> count > 1 ? count - 1 : null);
+        runningTotal--;
+      }
+      dispatch();
+    }
+  }
+}
@@ -3,7 +3,6 @@ package org.folio.marc.migrations.services.batch;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
 import org.springframework.batch.core.partition.Partitioner;
@@ -13,9 +12,9 @@ import org.springframework.batch.infrastructure.item.ExecutionContext;
  * Splits an operation's {@code operation_chunk}s into up to {@code gridSize} contiguous, equally-sized partitions by
  * id order. Each partition is handed an inclusive upper bound ({@link #TO_ID_KEY}) and, for all but the first, an
  * exclusive lower bound ({@link #FROM_ID_KEY}); the worker reader uses these as a keyset window {@code (fromId, toId]}.
+ * When chunks are claimed, partitions are created without bounds, as workers claim chunks of the whole operation.
  */
 @Log4j2
-@RequiredArgsConstructor
 public class MappingRangePartitioner implements Partitioner {
 
   public static final String FROM_ID_KEY = "fromId";
@@ -23,22 +22,35 @@ public class MappingRangePartitioner implements Partitioner {
 
   private final String operationId;
   private final ChunkJdbcService jdbcService;
+  private final boolean chunkClaiming;
+
+  public MappingRangePartitioner(String operationId, ChunkJdbcService jdbcService) {
+    this(operationId, jdbcService, false);
+  }
+
+  public MappingRangePartitioner(String operationId, ChunkJdbcService jdbcService, boolean chunkClaiming) {
+    this.operationId = operationId;
+    this.jdbcService = jdbcService;
+    this.chunkClaiming = chunkClaiming;
+  }
 
   @Override
   public Map<String, ExecutionContext> partition(int gridSize) {
     var boundaries = jdbcService.getChunkRangeBoundaries(operationId, gridSize);
-    log.info("partition:: operation {} split into {} partition(s) (requested gridSize {})",
-      operationId, boundaries.size(), gridSize);
+    log.info("partition:: operation {} split into {} partition(s) (requested gridSize {}, chunk claiming {})",
+      operationId, boundaries.size(), gridSize, chunkClaiming);
 
     var partitions = new HashMap<String, ExecutionContext>();
     UUID fromId = null;
     for (int i = 0; i < boundaries.size(); i++) {
       var toId = boundaries.get(i);
       var context = new ExecutionContext();
-      if (fromId != null) {
-        context.putString(FROM_ID_KEY, fromId.toString());
+      if (!chunkClaiming) {
+        if (fromId != null) {
+          context.putString(FROM_ID_KEY, fromId.toString());
+        }
+        context.putString(TO_ID_KEY, toId.toString());
       }
-      context.putString(TO_ID_KEY, toId.toString());
       partitions.put("partition" + i, context);
       fromId = toId;
     }
@@ -0,0 +1,70 @@
+package org.folio.marc.migrations.services.batch.mapping;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Appends lines to chunk files through a file channel and one direct buffer that is reused for all files written by
+ * a partition, so that a chunk file is written with a few large writes. Lines are encoded in UTF-8 and terminated
+ * with the platform line separator, the same as a buffered writer does.
+ */
+class ChunkFileChannelWriter {
+
+  static final int MIN_BUFFER_SIZE = 8 * 1024;
+
+  private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+    .onMalformedInput(CodingErrorAction.REPLACE)
+    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private final String lineSeparator = System.lineSeparator();
+  private final ByteBuffer buffer;
+
+  ChunkFileChannelWriter(int bufferSize) {
+    this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MIN_BUFFER_SIZE));
+  }
+
+  /**
+   * Appends lines to the file, creating it if needed. All lines are written to the file when the method returns.
+   */
+  void append(Path path, List<String> lines) throws IOException {
+    buffer.clear();
+    try (var channel = FileChannel.open(path, CREATE, WRITE, APPEND)) {
+      for (var line : lines) {
+        encode(channel, line);
+        encode(channel, lineSeparator);
+      }
+      drain(channel);
+    }
+  }
+
+  private void encode(FileChannel channel, String value) throws IOException {
+    var chars = CharBuffer.wrap(value);
+    encoder.reset();
+    var result = encoder.encode(chars, buffer, true);
+    while (result.isOverflow()) {
+      drain(channel);
+      result = encoder.encode(chars, buffer, true);
+    }
+    while (encoder.flush(buffer).isOverflow()) {
+      drain(channel);
+    }
+  }
+
+  private void drain(FileChannel channel) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+}
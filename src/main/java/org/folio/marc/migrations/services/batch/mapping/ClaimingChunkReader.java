@@ -0,0 +1,102 @@
+package org.folio.marc.migrations.services.batch.mapping;
+
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
+import org.springframework.batch.infrastructure.item.ItemReader;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reads chunks by claiming small batches of not yet processed chunks of the operation until none remain.
+ * Partitions claim from the same table, so a partition that finishes its chunks early takes the next ones instead
+ * of staying idle while others work through their ranges.
+ */
+@Log4j2
+public class ClaimingChunkReader implements ItemReader<OperationChunk> {
+
+  private final String operationId;
+  private final List<OperationStatusType> claimableStatuses;
+  private final OperationStatusType claimedStatus;
+  private final int claimCount;
+  private final ChunkJdbcService jdbcService;
+  private final Lease lease;
+
+  private int currentBatchOffset;
+  private List<OperationChunk> currentBatch = List.of();
+
+  /**
+   * Creates the reader.
+   *
+   * @param claimableStatuses statuses of chunks that are not yet processed by the step
+   * @param claimedStatus     status claimed chunks are moved to
+   * @param claimCount        number of chunks claimed at once, the claim is committed with the step transaction
+   *                          reading the first of them
+   */
+  public ClaimingChunkReader(String operationId, List<OperationStatusType> claimableStatuses,
+                             OperationStatusType claimedStatus, int claimCount, ChunkJdbcService jdbcService) {
+    this(operationId, claimableStatuses, claimedStatus, claimCount, jdbcService, null);
+  }
+
+  /**
+   * Creates the reader of a module instance taking part in distributed processing of the operation. Claims are
+   * committed right away and leased by the instance. When there is nothing to claim, the reader waits for chunks
+   * claimed by other instances, so that their chunks are claimed again if their lease expires.
+   */
+  public ClaimingChunkReader(String operationId, List<OperationStatusType> claimableStatuses,
+                             OperationStatusType claimedStatus, int claimCount, ChunkJdbcService jdbcService,
+                             Lease lease) {
+    this.operationId = operationId;
+    this.claimableStatuses = claimableStatuses;
+    this.claimedStatus = claimedStatus;
+    this.claimCount = claimCount;
+    this.jdbcService = jdbcService;
+    this.lease = lease;
+  }
+
+  @Override
+  public OperationChunk read() throws InterruptedException {
+    log.trace("read:: for operation {}.", operationId);
+    if (currentBatchOffset >= currentBatch.size()) {
+      currentBatch = lease == null ? claim() : claimWithLease();
+      log.debug("read:: claimed {} chunk entities for operation {}", currentBatch.size(), operationId);
+      currentBatchOffset = 0;
+    }
+
+    if (currentBatch.isEmpty()) {
+      log.info("read:: no more chunk entities to claim for operation {}.", operationId);
+      return null;
+    }
+    return currentBatch.get(currentBatchOffset++);
+  }
+
+  private List<OperationChunk> claim() {
+    return jdbcService.claimChunks(operationId, claimableStatuses, claimedStatus, claimCount);
+  }
+
+  private List<OperationChunk> claimWithLease() throws InterruptedException {
+    var pendingStatuses = Stream.concat(claimableStatuses.stream(), Stream.of(claimedStatus)).toList();
+    while (true) {
+      var claimed = lease.transactionTemplate().execute(status -> jdbcService.claimChunks(operationId,
+        claimableStatuses, claimedStatus, claimCount, lease.instanceId(), lease.leaseMs()));
+      if (claimed != null && !claimed.isEmpty()) {
+        return claimed;
+      }
+      if (jdbcService.countPendingChunks(operationId, pendingStatuses) == 0) {
+        return List.of();
+      }
+      log.debug("read:: waiting for chunks processed by other instances for operation {}", operationId);
+      Thread.sleep(lease.pollIntervalMs());
+    }
+  }
+
+  /**
+   * Lease of claimed chunks by a module instance.
+   *
+   * @param transactionTemplate template of a new transaction the claim is committed in
+   */
+  public record Lease(String instanceId, long leaseMs, long pollIntervalMs, TransactionTemplate transactionTemplate) {
+  }
+}
@@ -6,10 +6,11 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.entities.ChunkStep;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
@@ -18,12 +19,15 @@ import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
 import org.folio.marc.migrations.services.domain.MappingComposite;
 import org.folio.marc.migrations.services.domain.RecordsMappingData;
 import org.folio.marc.migrations.services.jdbc.AuthorityJdbcService;
 import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
 import org.folio.marc.migrations.services.jdbc.InstanceJdbcService;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.marc.migrations.services.jdbc.RecordsSnapshotJdbcService;
 import org.jspecify.annotations.NonNull;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
@@ -42,7 +46,9 @@ public class MappingRecordsChunkPreProcessor implements ItemProcessor<OperationC
   private final ChunkStepJdbcService chunkStepJdbcService;
   private final InstanceJdbcService instanceJdbcService;
   private final OperationJdbcService operationJdbcService;
+  private final RecordsSnapshotJdbcService recordsSnapshotJdbcService;
   private final MigrationProperties props;
+  private final MigrationMetrics metrics;
 
   @Setter
   @Value("#{jobParameters['entityType']}")
@@ -51,51 +57,109 @@ public class MappingRecordsChunkPreProcessor implements ItemProcessor<OperationC
   @Override
   public MappingComposite<@NonNull MarcRecord> process(OperationChunk chunk) {
     log.trace("process:: for operation {} chunk {}", chunk.getOperationId(), chunk.getId());
+    var bookkeeping = metrics.stage(Stage.BOOKKEEPING, entityType);
+    if (props.isRecordsStreamingEnabled()) {
+      var retriedChunkStep = bookkeeping.record(() -> getRetriedChunkStep(chunk));
+      var chunkStep = retriedChunkStep != null ? retriedChunkStep : bookkeeping.record(() -> createChunkStep(chunk));
+      return new MappingComposite<>(toMappingData(chunk, chunkStep), List.of(),
+        () -> streamRecords(chunk, retriedChunkStep));
+    }
 
-    var records = (entityType == EntityType.AUTHORITY)
-                  ? authorityJdbcService.getAuthoritiesChunk(chunk.getStartRecordId(), chunk.getEndRecordId())
-                  : instanceJdbcService.getInstancesChunk(chunk.getStartRecordId(), chunk.getEndRecordId());
+    var sourceFetch = metrics.stage(Stage.SOURCE_FETCH, entityType);
+    var records = sourceFetch.record(() -> getRecords(chunk));
+    sourceFetch.records(records.size());
     log.debug("process:: retrieved {} records for operation {} chunk {}", records.size(), chunk.getOperationId(),
       chunk.getId());
 
-    var chunkStep = getOrCreateChunkStep(chunk, records);
+    var chunkStep = bookkeeping.record(() -> getOrCreateChunkStep(chunk, records.size()));
 
     if (records.size() != chunk.getNumOfRecords()) {
       log.warn("process:: Wrong number of records [{}] for operation {} chunk {}, step {}; record ids from {} to {},"
                + " expected - [{}].", records.size(), chunk.getOperationId(), chunk.getId(), chunkStep.getId(),
         chunk.getStartRecordId(), chunk.getEndRecordId(), chunk.getNumOfRecords());
     }
+    return new MappingComposite<>(toMappingData(chunk, chunkStep), records);
+  }
+
+  private List<MarcRecord> getRecords(OperationChunk chunk) {
+    if (props.isRecordsSnapshotEnabled()) {
+      return recordsSnapshotJdbcService.getRecordsChunk(chunk.getOperationId(), entityType, chunk.getStartRecordId(),
+        chunk.getEndRecordId());
+    }
+    return (entityType == EntityType.AUTHORITY)
+           ? authorityJdbcService.getAuthoritiesChunk(chunk.getStartRecordId(), chunk.getEndRecordId())
+           : instanceJdbcService.getInstancesChunk(chunk.getStartRecordId(), chunk.getEndRecordId());
+  }
+
+  /**
+   * Counts records while they are streamed. Once the stream is consumed and closed, the real number of records is
+   * checked and used to reduce the mapped number of a retried chunk.
+   */
+  private Stream<MarcRecord> streamRecords(OperationChunk chunk, ChunkStep retriedChunkStep) {
+    var recordsCount = new AtomicInteger();
+    return streamRecords(chunk)
+      .peek(marcRecord -> recordsCount.incrementAndGet())
+      .onClose(() -> finishStreamedRecords(chunk, retriedChunkStep, recordsCount.get()));
+  }
+
+  private void finishStreamedRecords(OperationChunk chunk, ChunkStep retriedChunkStep, int recordsCount) {
+    if (recordsCount != chunk.getNumOfRecords()) {
+      log.warn("process:: Wrong number of streamed records [{}] for operation {} chunk {}; record ids from {} to {},"
+               + " expected - [{}].", recordsCount, chunk.getOperationId(), chunk.getId(), chunk.getStartRecordId(),
+        chunk.getEndRecordId(), chunk.getNumOfRecords());
+    }
+    if (retriedChunkStep != null) {
+      reduceMappedNumOfRecords(chunk, retriedChunkStep.getNumOfErrors(), recordsCount);
+    }
+  }
 
-    var mappingData = new RecordsMappingData(chunk.getOperationId(), chunk.getId(), chunkStep.getId(),
+  private Stream<MarcRecord> streamRecords(OperationChunk chunk) {
+    var fetchSize = props.getRecordsStreamingFetchSize();
+    if (props.isRecordsSnapshotEnabled()) {
+      return recordsSnapshotJdbcService.streamRecordsChunk(chunk.getOperationId(), entityType,
+        chunk.getStartRecordId(), chunk.getEndRecordId(), fetchSize);
+    }
+    return (entityType == EntityType.AUTHORITY)
+           ? authorityJdbcService.streamAuthoritiesChunk(chunk.getStartRecordId(), chunk.getEndRecordId(), fetchSize)
+           : instanceJdbcService.streamInstancesChunk(chunk.getStartRecordId(), chunk.getEndRecordId(), fetchSize);
+  }
+
+  private RecordsMappingData toMappingData(OperationChunk chunk, ChunkStep chunkStep) {
+    return new RecordsMappingData(chunk.getOperationId(), chunk.getId(), chunkStep.getId(),
       chunk.getEntityChunkFileName(), chunk.getNumOfRecords(), chunkStep.getEntityErrorChunkFileName(),
       chunkStep.getErrorChunkFileName());
-    return new MappingComposite<>(mappingData, records);
   }
 
-  private ChunkStep getOrCreateChunkStep(OperationChunk chunk, List<MarcRecord> records) {
-    ChunkStep chunkStep;
-    if (!OperationStatusType.NEW.equals(chunk.getStatus())) {
-      chunkStep = chunkStepJdbcService.getChunkStepByChunkIdAndOperationStep(chunk.getId(), OperationStep.DATA_MAPPING);
-      if (chunkStep != null) {
-        log.debug("process:: Updating existing chunk step for operation {} chunk {}", chunk.getOperationId(),
-          chunk.getId());
-        chunkStepJdbcService.updateChunkStep(chunkStep.getId(), StepStatus.IN_PROGRESS, Timestamp.from(Instant.now()));
-        reduceMappedNumOfRecords(chunk, chunkStep.getNumOfErrors(), records);
-      } else {
-        log.debug("process:: Creating new chunk step for operation {} chunk {}", chunk.getOperationId(), chunk.getId());
-        chunkStep = createChunkStep(chunk);
-      }
-    } else {
-      log.debug("process:: Creating new chunk step for operation {} chunk {}", chunk.getOperationId(), chunk.getId());
-      chunkStep = createChunkStep(chunk);
+  private ChunkStep getOrCreateChunkStep(OperationChunk chunk, int recordsCount) {
+    var chunkStep = getRetriedChunkStep(chunk);
+    if (chunkStep == null) {
+      return createChunkStep(chunk);
+    }
+    reduceMappedNumOfRecords(chunk, chunkStep.getNumOfErrors(), recordsCount);
+    return chunkStep;
+  }
+
+  /**
+   * Returns the existing mapping step of a chunk that is mapped again, set in progress, or null for a new chunk.
+   */
+  private ChunkStep getRetriedChunkStep(OperationChunk chunk) {
+    if (OperationStatusType.NEW.equals(chunk.getStatus())) {
+      return null;
+    }
+    var chunkStep = chunkStepJdbcService.getChunkStepByChunkIdAndOperationStep(chunk.getId(),
+      OperationStep.DATA_MAPPING);
+    if (chunkStep != null) {
+      log.debug("process:: Updating existing chunk step for operation {} chunk {}", chunk.getOperationId(),
+        chunk.getId());
+      chunkStepJdbcService.updateChunkStep(chunkStep.getId(), StepStatus.IN_PROGRESS, Timestamp.from(Instant.now()));
     }
     return chunkStep;
   }
 
-  private void reduceMappedNumOfRecords(OperationChunk chunk, Integer numOfErrors, List<MarcRecord> records) {
-    if (CollectionUtils.isNotEmpty(records)) {
+  private void reduceMappedNumOfRecords(OperationChunk chunk, Integer numOfErrors, int recordsCount) {
+    if (recordsCount > 0) {
       var errorCount = numOfErrors != null ? numOfErrors : 0;
-      var reducedMappedNumOfRecords = records.size() - errorCount;
+      var reducedMappedNumOfRecords = recordsCount - errorCount;
       if (reducedMappedNumOfRecords > 0) {
         operationJdbcService.updateOperationMappedNumber(chunk.getOperationId(), reducedMappedNumOfRecords);
       }
@@ -103,6 +167,7 @@ public class MappingRecordsChunkPreProcessor implements ItemProcessor<OperationC
   }
 
   private ChunkStep createChunkStep(OperationChunk chunk) {
+    log.debug("process:: Creating new chunk step for operation {} chunk {}", chunk.getOperationId(), chunk.getId());
     var stepId = UUID.randomUUID();
     var s3SubPath = props.getS3SubPath();
     var chunkStep = ChunkStep.builder()
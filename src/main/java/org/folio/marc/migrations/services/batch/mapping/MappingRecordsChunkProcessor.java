@@ -2,34 +2,39 @@ package org.folio.marc.migrations.services.batch.mapping;
 
 import static java.lang.String.format;
 
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Streams;
 import io.vertx.core.json.JsonObject;
-import java.sql.Timestamp;
-import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.folio.Authority;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.marc.migrations.domain.entities.types.EntityType;
-import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
-import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.services.batch.support.MappingMetadataProvider;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.StageMetrics;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
 import org.folio.marc.migrations.services.domain.MappingComposite;
 import org.folio.marc.migrations.services.domain.MappingResult;
-import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
-import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
-import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
 import org.folio.processing.mapping.defaultmapper.MarcToAuthorityMapper;
 import org.folio.processing.mapping.defaultmapper.MarcToInstanceMapper;
 import org.jspecify.annotations.NonNull;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.type.TypeReference;
 import tools.jackson.databind.ObjectMapper;
 
 @Log4j2
@@ -41,11 +46,14 @@ public class MappingRecordsChunkProcessor
 
   private static final String NO_MARC_RECORD_JSON =
     "{\"marcId\": \"%s\", \"recordId\": \"%s\", \"state\": \"%s\", \"version\": %s}";
+  private static final TypeReference<Map<String, Object>> MARC_CONTENT_TYPE = new TypeReference<>() { };
   private final ObjectMapper objectMapper;
   private final MappingMetadataProvider mappingMetadataProvider;
-  private final OperationJdbcService jdbcService;
-  private final ChunkJdbcService chunkJdbcService;
-  private final ChunkStepJdbcService chunkStepJdbcService;
+  private final OperationProgressCounters progressCounters;
+  @Qualifier("recordsMappingPool")
+  private final ForkJoinPool recordsMappingPool;
+  private final MigrationProperties props;
+  private final MigrationMetrics metrics;
   @Setter
   @Value("#{jobParameters['entityType']}")
   private EntityType entityType;
@@ -55,38 +63,66 @@ public class MappingRecordsChunkProcessor
     var mappingData = composite.mappingData();
     log.debug("process:: for operation {}, chunk {}, step {}",
       mappingData.operationId(), mappingData.chunkId(), mappingData.stepId());
-    var mappingResults = getRecordMappingResults(composite.records());
+    var mapping = metrics.stage(Stage.MAPPING, entityType);
+    var recordMapping = getRecordMapping();
+    if (composite.isStreamed()) {
+      return new MappingComposite<>(mappingData, List.of(),
+        () -> mapRecords(composite.recordsStream().get(), recordMapping, mapping));
+    }
+    var mappingResults = mapping.record(() -> mapRecords(composite.records(), recordMapping));
+    mapping.records(mappingResults.size());
     var mappedRecordsCount = (int) mappingResults.stream()
       .map(MappingResult::mappedRecord)
       .filter(Objects::nonNull)
       .count();
-    var numOfErrors = mappingResults.size() - mappedRecordsCount;
-    var mappingSucceeded = numOfErrors == 0;
     if (mappedRecordsCount != 0) {
-      jdbcService.addProcessedOperationRecords(mappingData.operationId(), mappedRecordsCount, 0);
+      progressCounters.addProcessedRecords(mappingData.operationId(), mappedRecordsCount, 0);
     }
-    updateChunkAndChunkStep(mappingData.chunkId(), mappingData.stepId(), mappingSucceeded, numOfErrors);
 
     return new MappingComposite<>(mappingData, mappingResults);
   }
 
-  private List<MappingResult> getRecordMappingResults(List<MarcRecord> records) {
+  private Function<MarcRecord, MappingResult> getRecordMapping() {
     log.trace("process:: retrieving mapping metadata from cache");
     var mappingData = mappingMetadataProvider.getMappingData(entityType);
-    if (mappingData == null) {
-      return records.stream()
-        .map(sourceRecord -> asFailedMappingResult(sourceRecord, "Failed to fetch mapping metadata"))
-        .toList();
+    return mappingData == null
+      ? sourceRecord -> asFailedMappingResult(sourceRecord, "Failed to fetch mapping metadata")
+      : sourceData -> asRecordMappingResult(sourceData, mappingData);
+  }
+
+  /**
+   * Maps streamed records lazily, by windows of the fetch size, while the writer drains mapping results to chunk
+   * files. Only one window of source records and one window of mapping results are kept in memory.
+   */
+  private Stream<MappingResult> mapRecords(Stream<MarcRecord> records, Function<MarcRecord, MappingResult> mapping,
+                                           StageMetrics mappingMetrics) {
+    var windows = Iterators.partition(records.iterator(), props.getRecordsStreamingFetchSize());
+    return Streams.stream(windows)
+      .flatMap(window -> mapWindow(window, mapping, mappingMetrics).stream())
+      .onClose(records::close);
+  }
+
+  private List<MappingResult> mapWindow(List<MarcRecord> window, Function<MarcRecord, MappingResult> mapping,
+                                        StageMetrics mappingMetrics) {
+    var results = mappingMetrics.record(() -> mapRecords(window, mapping));
+    mappingMetrics.records(results.size());
+    return results;
+  }
+
+  /**
+   * Maps records of the chunk sequentially or, if pool allows, in parallel. Order of records is preserved.
+   */
+  private List<MappingResult> mapRecords(List<MarcRecord> records, Function<MarcRecord, MappingResult> mapping) {
+    if (recordsMappingPool.getParallelism() == 1 || records.size() < 2) {
+      return records.stream().map(mapping).toList();
     }
-    return records.stream()
-      .map(sourceData -> asRecordMappingResult(sourceData, mappingData))
-      .toList();
+    return recordsMappingPool.submit(() -> records.parallelStream().map(mapping).toList()).join();
   }
 
   private MappingResult asRecordMappingResult(MarcRecord sourceData,
                                               MappingMetadataProvider.MappingData mappingData) {
     try {
-      var marcSource = new JsonObject(sourceData.marc().toString());
+      var marcSource = asMarcSource(sourceData);
       return entityType == EntityType.AUTHORITY
              ? processAuthority(sourceData, mappingData, marcSource)
              : processInstance(sourceData, mappingData, marcSource);
@@ -97,6 +133,13 @@ public class MappingRecordsChunkProcessor
     }
   }
 
+  /**
+   * Decodes the raw record content straight into the map backing the {@link JsonObject} the mappers consume.
+   */
+  private JsonObject asMarcSource(MarcRecord sourceData) {
+    return new JsonObject(objectMapper.readValue(sourceData.marc(), MARC_CONTENT_TYPE));
+  }
+
   private MappingResult processInstance(MarcRecord sourceData,
                                         MappingMetadataProvider.MappingData mappingData,
                                         JsonObject marcSource) {
@@ -146,13 +189,4 @@ public class MappingRecordsChunkProcessor
       return NO_MARC_RECORD_JSON.formatted(marc.marcId(), marc.recordId(), marc.state(), marc.version());
     }
   }
-
-  private void updateChunkAndChunkStep(UUID chunkId, UUID stepId, boolean mappingSucceeded, int errorsCount) {
-    var stepStatus = mappingSucceeded ? StepStatus.COMPLETED : StepStatus.FAILED;
-    chunkStepJdbcService.updateChunkStep(stepId, stepStatus, Timestamp.from(Instant.now()), errorsCount);
-
-    var chunkStatus = mappingSucceeded ? OperationStatusType.DATA_MAPPING_COMPLETED
-                                       : OperationStatusType.DATA_MAPPING_FAILED;
-    chunkJdbcService.updateChunk(chunkId, chunkStatus);
-  }
 }
@@ -2,26 +2,32 @@ package org.folio.marc.migrations.services.batch.mapping;
 
 import static org.folio.marc.migrations.services.batch.support.JobConstants.JOB_FILES_PATH;
 import static org.folio.marc.migrations.services.batch.support.JobConstants.JobParameterNames.OPERATION_ID;
-import static org.folio.marc.migrations.services.batch.support.JobConstants.OPERATION_FILES_PATH;
 
 import java.io.File;
 import java.io.IOException;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
 import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
-import org.folio.marc.migrations.services.batch.support.FolioS3Service;
+import org.folio.marc.migrations.services.DistributedWorkerService;
+import org.folio.marc.migrations.services.batch.support.ChunkFilesUploader;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
 import org.folio.marc.migrations.services.domain.OperationTimeType;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.marc.migrations.services.jdbc.RecordsSnapshotJdbcService;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.listener.StepExecutionListener;
 import org.springframework.batch.core.step.StepExecution;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Log4j2
@@ -30,32 +36,53 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class MappingRecordsFileUploadStepListener implements StepExecutionListener {
 
-  private final FolioS3Service s3Service;
+  private final ChunkFilesUploader chunkFilesUploader;
   private final OperationJdbcService jdbcService;
+  private final OperationProgressCounters progressCounters;
   private final MigrationProperties props;
+  private final DistributedWorkerService workerService;
+  private final RecordsSnapshotJdbcService recordsSnapshotJdbcService;
+  @Setter
+  @Value("#{jobParameters['entityType']}")
+  private EntityType entityType;
 
-  @SneakyThrows
   @Override
   public ExitStatus afterStep(StepExecution stepExecution) {
-    var exitStatus = stepExecution.getExitStatus();
+    return afterStep(stepExecution, true);
+  }
+
+  /**
+   * Finishes the mapping part of the map and save step. Remaining files are uploaded the same way as after the
+   * mapping step, but only the mapping end time of the operation is recorded: the status of the operation is set
+   * when its saving is finished.
+   */
+  public ExitStatus afterMappingPart(StepExecution stepExecution) {
+    return afterStep(stepExecution, false);
+  }
+
+  @SneakyThrows
+  private ExitStatus afterStep(StepExecution stepExecution, boolean updateStatus) {
     var jobId = stepExecution.getJobExecution().getJobInstanceId();
     var operationId = stepExecution.getJobParameters().getString(OPERATION_ID);
     var filesPath = JOB_FILES_PATH.formatted(props.getS3LocalSubPath(), jobId);
+    chunkFilesUploader.awaitUploads(filesPath);
 
     if (operationId == null) {
       log.warn("No operationId found in job parameters for jobId {}", jobId);
       clearLocalFiles(filesPath);
       return new ExitStatus(ExitStatus.FAILED.getExitCode(), "No operationId in job params for jobId " + jobId);
     }
+    var exitStatus = flushProgress(operationId, stepExecution.getExitStatus());
     if (ExitStatus.FAILED.getExitCode().equals(exitStatus.getExitCode())) {
-      return processFaileExitStatus(jobId, operationId, exitStatus, filesPath);
+      workerService.hasOtherWorkers(stepExecution, operationId);
+      return processFaileExitStatus(jobId, operationId, exitStatus, filesPath, updateStatus);
     }
 
-    return uploadFilesAndFinishOperation(operationId, filesPath, exitStatus);
+    return uploadFilesAndFinishOperation(stepExecution, operationId, filesPath, exitStatus, updateStatus);
   }
 
-  private ExitStatus processFaileExitStatus(Long jobId, String operationId, ExitStatus exitStatus, String filesPath)
-    throws IOException {
+  private ExitStatus processFaileExitStatus(Long jobId, String operationId, ExitStatus exitStatus, String filesPath,
+                                            boolean updateStatus) throws IOException {
     log.warn("afterStep:: job {} failed for operation {}: {}", jobId, operationId, exitStatus.getExitDescription());
     try {
       log.warn("afterStep:: upload local files even if the job failed.");
@@ -63,30 +90,35 @@ public class MappingRecordsFileUploadStepListener implements StepExecutionListen
     } catch (Exception e) {
       log.error("afterStep:: Failed to upload local files for operation {}: {}", operationId, e.getMessage());
     }
-    finishOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED);
+    finishOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED, updateStatus);
     clearLocalFiles(filesPath);
     return exitStatus;
   }
 
-  private ExitStatus uploadFilesAndFinishOperation(String operationId, String filesPath,
-                                                   ExitStatus exitStatus) throws IOException {
+  private ExitStatus uploadFilesAndFinishOperation(StepExecution stepExecution, String operationId, String filesPath,
+                                                   ExitStatus exitStatus, boolean updateStatus) throws IOException {
     try {
       log.info("afterStep:: trying to upload and delete local files for operation {}", operationId);
       uploadLocalFiles(filesPath, operationId);
+      if (workerService.hasOtherWorkers(stepExecution, operationId)) {
+        log.info("afterStep:: operation {} is finalized by another instance", operationId);
+        return exitStatus;
+      }
 
       var operation = jdbcService.getOperation(operationId);
       if (!Objects.equals(operation.getTotalNumOfRecords(), operation.getMappedNumOfRecords())) {
         log.warn("afterStep:: operation.totalNumOfRecords: {}, operation.mappedNumOfRecords: {}",
           operation.getTotalNumOfRecords(), operation.getMappedNumOfRecords());
-        finishOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED);
+        finishOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED, updateStatus);
       } else {
-        finishOperation(operationId, OperationStatusType.DATA_MAPPING_COMPLETED);
+        finishOperation(operationId, OperationStatusType.DATA_MAPPING_COMPLETED, updateStatus);
+        deleteRecordsSnapshot(operationId);
       }
     } catch (Exception ex) {
       log.warn("afterStep:: file upload/delete failed for operation {}, reason {}",
         operationId, ex.getMessage());
 
-      finishOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED);
+      finishOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED, updateStatus);
       return new ExitStatus(ExitStatus.FAILED.getExitCode(), ex.getMessage());
     } finally {
       clearLocalFiles(filesPath);
@@ -94,25 +126,50 @@ public class MappingRecordsFileUploadStepListener implements StepExecutionListen
     return exitStatus;
   }
 
-  private void uploadLocalFiles(String filesPath, String operationId) {
-    var directory = new File(filesPath);
-    for (var file : directory.listFiles()) {
-      if (!file.isFile()) {
-        continue;
-      }
-
-      var localPath = file.getAbsolutePath();
-      var remotePath = OPERATION_FILES_PATH.formatted(props.getS3SubPath(), operationId) + file.getName();
-      s3Service.uploadFile(localPath, remotePath);
+  /**
+   * Adds accumulated progress numbers to the operation. A failure fails the step, so that the operation is finished
+   * as failed instead of being left in progress.
+   */
+  private ExitStatus flushProgress(String operationId, ExitStatus exitStatus) {
+    try {
+      progressCounters.flush(UUID.fromString(operationId));
+      return exitStatus;
+    } catch (Exception ex) {
+      log.warn("afterStep:: unable to add progress of operation {}: {}", operationId, ex.getMessage());
+      return new ExitStatus(ExitStatus.FAILED.getExitCode(), ex.getMessage());
     }
   }
 
+  private void uploadLocalFiles(String filesPath, String operationId) {
+    chunkFilesUploader.uploadAll(filesPath, UUID.fromString(operationId), entityType);
+  }
+
   private void clearLocalFiles(String directory) throws IOException {
     FileUtils.deleteDirectory(new File(directory));
   }
 
-  private void finishOperation(String operationId, OperationStatusType status) {
-    jdbcService.updateOperationStatus(operationId, status, OperationTimeType.MAPPING_END,
-      Timestamp.from(Instant.now()));
+  /**
+   * Records of completed mapping are not read again, saving and its retries read the mapped files.
+   * The snapshot of failed mapping is kept for retries.
+   */
+  private void deleteRecordsSnapshot(String operationId) {
+    if (!props.isRecordsSnapshotEnabled()) {
+      return;
+    }
+    try {
+      recordsSnapshotJdbcService.deleteSnapshot(UUID.fromString(operationId));
+    } catch (Exception ex) {
+      log.warn("afterStep:: unable to delete records snapshot of operation {}: {}", operationId, ex.getMessage());
+    }
+  }
+
+  private void finishOperation(String operationId, OperationStatusType status, boolean updateStatus) {
+    var mappingEnd = Timestamp.from(Instant.now());
+    if (updateStatus) {
+      jdbcService.updateOperationStatus(operationId, status, OperationTimeType.MAPPING_END, mappingEnd);
+    } else {
+      log.info("afterStep:: mapping of operation {} finished as {}", operationId, status);
+      jdbcService.updateOperationTime(operationId, OperationTimeType.MAPPING_END, mappingEnd);
+    }
   }
 }
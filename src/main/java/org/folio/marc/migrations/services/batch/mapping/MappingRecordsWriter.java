@@ -2,23 +2,45 @@ package org.folio.marc.migrations.services.batch.mapping;
 
 import static org.folio.marc.migrations.services.batch.support.JobConstants.JOB_FILES_PATH;
 
+import com.google.common.collect.Iterators;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.batch.support.ChunkFilesUploader;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.marc.migrations.services.domain.MappingComposite;
 import org.folio.marc.migrations.services.domain.MappingResult;
 import org.folio.marc.migrations.services.domain.RecordsMappingData;
+import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
+import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.annotation.AfterStep;
 import org.springframework.batch.core.annotation.BeforeStep;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.step.StepExecution;
 import org.springframework.batch.infrastructure.item.Chunk;
 import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Log4j2
@@ -27,97 +49,209 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class MappingRecordsWriter implements ItemWriter<MappingComposite<MappingResult>> {
   private String filePath;
+  private ChunkFileChannelWriter channelWriter;
   private final MigrationProperties props;
+  private final ChunkJdbcService chunkJdbcService;
+  private final ChunkStepJdbcService chunkStepJdbcService;
+  private final ChunkFilesUploader chunkFilesUploader;
+  private final MigrationMetrics metrics;
+  private final OperationProgressCounters progressCounters;
+  @Setter
+  @Value("#{jobParameters['entityType']}")
+  private EntityType entityType;
 
   @BeforeStep
   public void prepareFilesPath(StepExecution stepExecution) throws IOException {
     var jobExecution = stepExecution.getJobExecution();
     this.filePath = JOB_FILES_PATH.formatted(props.getS3LocalSubPath(), jobExecution.getJobInstanceId());
     Files.createDirectories(Paths.get(filePath));
+    if (props.getMappingFilesBufferSize() > 0) {
+      channelWriter = new ChunkFileChannelWriter(props.getMappingFilesBufferSize());
+    }
+  }
+
+  @AfterStep
+  public ExitStatus releaseFileWriter(StepExecution stepExecution) {
+    channelWriter = null;
+    return stepExecution.getExitStatus();
   }
 
+  /**
+   * Writes files of every operation chunk of the Spring Batch chunk and schedules their upload when chunk files are
+   * uploaded in background, then finishes their chunks and chunk steps in one batch per table.
+   * In distributed worker mode files are uploaded before the chunks are committed, as chunks completed by an
+   * instance that stops are not mapped again.
+   */
   @Override
   public void write(Chunk<? extends MappingComposite<MappingResult>> chunk) {
-    //only one because of step config with spring batch size 1
-    var composite = chunk.getItems().getFirst();
-    log.debug("write:: for operationId {}, chunkId {}",
-      composite.mappingData().operationId(), composite.mappingData().chunkId());
+    if (props.isDistributedWorkersEnabled()) {
+      writeAndUpload(chunk);
+      return;
+    }
+    write(chunk, chunkFilesUploader.isEnabled());
+  }
 
-    if (filePath == null) {
-      log.warn("Local filepath not set for operationId {}, chunkId {}",
+  /**
+   * Same as {@link #write(Chunk)}, but uploads chunk files before returning, so that mapped records can be saved
+   * by the same step.
+   */
+  public void writeAndUpload(Chunk<? extends MappingComposite<MappingResult>> chunk) {
+    write(chunk, false);
+    for (var composite : chunk) {
+      var operationId = composite.mappingData().operationId();
+      chunkFiles(composite.mappingData())
+        .forEach(path -> chunkFilesUploader.uploadAndDelete(path, operationId, entityType));
+    }
+  }
+
+  private void write(Chunk<? extends MappingComposite<MappingResult>> chunk, boolean uploadInBackground) {
+    var results = new ArrayList<ChunkStepResult>(chunk.size());
+    for (var composite : chunk) {
+      log.debug("write:: for operationId {}, chunkId {}",
         composite.mappingData().operationId(), composite.mappingData().chunkId());
-      throw new IllegalStateException(
-        "Local filepath not set for operationId " + composite.mappingData().operationId());
+
+      if (filePath == null) {
+        log.warn("Local filepath not set for operationId {}, chunkId {}",
+          composite.mappingData().operationId(), composite.mappingData().chunkId());
+        throw new IllegalStateException(
+          "Local filepath not set for operationId " + composite.mappingData().operationId());
+      }
+
+      var numOfErrors = writeRecords(composite);
+      if (uploadInBackground) {
+        uploadChunkFiles(composite.mappingData());
+      }
+      results.add(toChunkStepResult(composite.mappingData(), numOfErrors));
     }
+    metrics.stage(Stage.BOOKKEEPING, entityType).record(() -> {
+      chunkStepJdbcService.updateChunkSteps(results);
+      chunkJdbcService.updateChunks(results);
+    });
+  }
 
-    writeMappedRecords(composite);
-    writeEntityErrorRecords(composite);
-    writeErrors(composite);
+  private void uploadChunkFiles(RecordsMappingData mappingData) {
+    chunkFiles(mappingData)
+      .forEach(path -> chunkFilesUploader.upload(filePath, path, mappingData.operationId(), entityType));
   }
 
-  private void writeMappedRecords(MappingComposite<MappingResult> composite) {
-    var lines = composite.records().stream()
-      .map(MappingResult::mappedRecord)
+  private Stream<Path> chunkFiles(RecordsMappingData mappingData) {
+    return Stream.of(mappingData.entityChunkFile(), mappingData.entityErrorChunkFileName(),
+        mappingData.errorChunkFileName())
       .filter(Objects::nonNull)
-      .toList();
+      .map(this::localPath)
+      .filter(Files::exists);
+  }
 
-    if (lines.isEmpty()) {
-      log.warn("No valid entities for operation {}, chunk {}",
-        composite.mappingData().operationId(), composite.mappingData().chunkId());
-      return;
+  private ChunkStepResult toChunkStepResult(RecordsMappingData mappingData, int numOfErrors) {
+    var mappingSucceeded = numOfErrors == 0;
+    var chunkStatus = mappingSucceeded ? OperationStatusType.DATA_MAPPING_COMPLETED
+                                       : OperationStatusType.DATA_MAPPING_FAILED;
+    var stepStatus = mappingSucceeded ? StepStatus.COMPLETED : StepStatus.FAILED;
+    return new ChunkStepResult(mappingData.chunkId(), chunkStatus, mappingData.stepId(), stepStatus,
+      Timestamp.from(Instant.now()), numOfErrors);
+  }
+
+  /**
+   * Writes mapped records, invalid records and error causes of the operation chunk to its files.
+   *
+   * @return number of records that were not mapped
+   */
+  private int writeRecords(MappingComposite<MappingResult> composite) {
+    var mappingData = composite.mappingData();
+    var written = composite.isStreamed()
+                  ? writeStreamedRecords(composite)
+                  : writeRecords(mappingData, composite.records());
+    if (written.mapped() == 0) {
+      log.warn("No valid entities for operation {}, chunk {}", mappingData.operationId(), mappingData.chunkId());
     }
+    return written.failed();
+  }
 
-    log.trace("writeMappedRecords:: for operationId {}, chunkId {}",
-      composite.mappingData().operationId(), composite.mappingData().chunkId());
-    writeToFile(composite.mappingData(), composite.mappingData().entityChunkFile(), lines);
+  /**
+   * Drains streamed mapping results to the chunk files by windows of the fetch size, so that records of the chunk
+   * are never kept in memory all at once. Mapped records are counted in operation progress once they are written.
+   */
+  private WrittenRecords writeStreamedRecords(MappingComposite<MappingResult> composite) {
+    var mappingData = composite.mappingData();
+    var mapped = 0;
+    var failed = 0;
+    try (var mappingResults = composite.recordsStream().get()) {
+      var windows = Iterators.partition(mappingResults.iterator(), props.getRecordsStreamingFetchSize());
+      while (windows.hasNext()) {
+        var written = writeRecords(mappingData, windows.next());
+        mapped += written.mapped();
+        failed += written.failed();
+      }
+    }
+    if (mapped != 0) {
+      progressCounters.addProcessedRecords(mappingData.operationId(), mapped, 0);
+    }
+    return new WrittenRecords(mapped, failed);
   }
 
-  private void writeEntityErrorRecords(MappingComposite<MappingResult> composite) {
-    var lines = composite.records().stream()
-      .map(MappingResult::invalidMarcRecord)
+  private WrittenRecords writeRecords(RecordsMappingData mappingData, List<MappingResult> mappingResults) {
+    var mappedRecords = lines(mappingResults, MappingResult::mappedRecord);
+    writeLines(mappingData, mappingData.entityChunkFile(), mappedRecords);
+    writeLines(mappingData, mappingData.entityErrorChunkFileName(),
+      lines(mappingResults, MappingResult::invalidMarcRecord));
+    writeLines(mappingData, mappingData.errorChunkFileName(), lines(mappingResults, MappingResult::errorCause));
+    return new WrittenRecords(mappedRecords.size(), mappingResults.size() - mappedRecords.size());
+  }
+
+  private List<String> lines(List<MappingResult> mappingResults, Function<MappingResult, String> line) {
+    return mappingResults.stream()
+      .map(line)
       .filter(Objects::nonNull)
       .toList();
+  }
 
+  private void writeLines(RecordsMappingData mappingData, String fileName, List<String> lines) {
     if (lines.isEmpty()) {
-      log.trace("No invalid entities for operation {}, chunk {}",
-        composite.mappingData().operationId(), composite.mappingData().chunkId());
       return;
     }
-
-    log.trace("writeEntityErrorRecords:: for operationId {}, chunkId {}",
-      composite.mappingData().operationId(), composite.mappingData().chunkId());
-    writeToFile(composite.mappingData(), composite.mappingData().entityErrorChunkFileName(), lines);
+    log.trace("writeLines:: to file {} for operationId {}, chunkId {}", fileName, mappingData.operationId(),
+      mappingData.chunkId());
+    writeToFile(mappingData, fileName, lines);
   }
 
-  private void writeErrors(MappingComposite<MappingResult> composite) {
-    var lines = composite.records().stream()
-      .map(MappingResult::errorCause)
-      .filter(Objects::nonNull)
-      .toList();
+  private void writeToFile(RecordsMappingData mappingData, String fileName, List<String> lines) {
+    var path = localPath(fileName);
+    var localWrite = metrics.stage(Stage.LOCAL_WRITE, entityType);
+    try {
+      localWrite.record(() -> append(path, lines));
+      localWrite.records(lines.size());
+    } catch (Exception ex) {
+      log.warn("Unable to write file {} for operation {}, chunk {}: {}",
+        fileName, mappingData.operationId(), mappingData.chunkId(), ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
+  }
 
-    if (lines.isEmpty()) {
-      log.trace("No error causes for operation {}, chunk {}",
-        composite.mappingData().operationId(), composite.mappingData().chunkId());
-      return;
+  private void append(Path path, List<String> lines) {
+    try {
+      if (channelWriter != null) {
+        channelWriter.append(path, lines);
+      } else {
+        appendWithBufferedWriter(path, lines);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
     }
+  }
 
-    log.trace("writeErrors:: for operationId {}, chunkId {}",
-      composite.mappingData().operationId(), composite.mappingData().chunkId());
-    writeToFile(composite.mappingData(), composite.mappingData().errorChunkFileName(), lines);
+  private Path localPath(String fileName) {
+    return Paths.get(filePath, fileName.substring(fileName.lastIndexOf('/') + 1));
   }
 
-  private void writeToFile(RecordsMappingData mappingData, String fileName, List<String> lines) {
-    fileName = fileName.substring(fileName.lastIndexOf('/') + 1);
-    var path = Paths.get(filePath, fileName);
+  private void appendWithBufferedWriter(Path path, List<String> lines) throws IOException {
     try (var writer = Files.newBufferedWriter(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
       for (var line : lines) {
         writer.write(line);
         writer.newLine();
       }
-    } catch (Exception ex) {
-      log.warn("Unable to write file {} for operation {}, chunk {}: {}",
-        fileName, mappingData.operationId(), mappingData.chunkId(), ex.getMessage());
-      throw new IllegalStateException(ex);
     }
   }
+
+  private record WrittenRecords(int mapped, int failed) {
+  }
 }
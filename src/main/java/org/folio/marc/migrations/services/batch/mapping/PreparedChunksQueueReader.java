@@ -0,0 +1,29 @@
+package org.folio.marc.migrations.services.batch.mapping;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.services.batch.support.PreparedChunksQueue;
+import org.springframework.batch.infrastructure.item.ItemReader;
+
+/**
+ * Reads chunks from the queue filled by chunks preparation running in parallel with mapping.
+ * Partitions share the queue, so each chunk is read by exactly one of them.
+ */
+@Log4j2
+@RequiredArgsConstructor
+public class PreparedChunksQueueReader implements ItemReader<OperationChunk> {
+
+  private final String operationId;
+  private final PreparedChunksQueue queue;
+
+  @Override
+  public OperationChunk read() throws InterruptedException {
+    log.trace("read:: for operation {}.", operationId);
+    var chunk = queue.take();
+    if (chunk == null) {
+      log.info("read:: no more prepared chunks for operation {}.", operationId);
+    }
+    return chunk;
+  }
+}
@@ -0,0 +1,65 @@
+package org.folio.marc.migrations.services.batch.saving;
+
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.services.batch.mapping.MappingRecordsWriter;
+import org.folio.marc.migrations.services.domain.DataSavingResult;
+import org.folio.marc.migrations.services.domain.MappingComposite;
+import org.folio.marc.migrations.services.domain.MappingResult;
+import org.folio.marc.migrations.services.domain.RecordsMappingData;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.batch.infrastructure.item.Chunk;
+import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writer of the map and save job. Writes and uploads files of mapped operation chunks, then saves mapped records of
+ * every operation chunk with the bulk API, so that records are mapped and saved by the same partition.
+ */
+@Log4j2
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class MappingSavingRecordsWriter implements ItemWriter<MappingComposite<MappingResult>> {
+
+  private final MappingRecordsWriter mappingRecordsWriter;
+  private final SavingRecordsChunkProcessor savingRecordsProcessor;
+  private final SavingRecordsWriter savingRecordsWriter;
+
+  @BeforeStep
+  public void prepareFilesPath(StepExecution stepExecution) throws IOException {
+    mappingRecordsWriter.prepareFilesPath(stepExecution);
+  }
+
+  @AfterStep
+  public ExitStatus releaseFileWriter(StepExecution stepExecution) {
+    return mappingRecordsWriter.releaseFileWriter(stepExecution);
+  }
+
+  @Override
+  public void write(Chunk<? extends MappingComposite<MappingResult>> chunk) {
+    mappingRecordsWriter.writeAndUpload(chunk);
+    var saveResults = new Chunk<DataSavingResult>();
+    for (var composite : chunk) {
+      log.debug("write:: saving records of operationId {}, chunkId {}",
+        composite.mappingData().operationId(), composite.mappingData().chunkId());
+      saveResults.add(savingRecordsProcessor.process(toOperationChunk(composite.mappingData())));
+    }
+    savingRecordsWriter.write(saveResults);
+  }
+
+  private OperationChunk toOperationChunk(RecordsMappingData mappingData) {
+    return OperationChunk.builder()
+      .id(mappingData.chunkId())
+      .operationId(mappingData.operationId())
+      .entityChunkFileName(mappingData.entityChunkFile())
+      .numOfRecords(mappingData.numberOfRecords())
+      .build();
+  }
+}
@@ -0,0 +1,35 @@
+package org.folio.marc.migrations.services.batch.saving;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.services.batch.mapping.MappingRecordsFileUploadStepListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.listener.StepExecutionListener;
+import org.springframework.batch.core.step.StepExecution;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finishes the map and save step: uploads remaining files and records the end of mapping first, then finishes
+ * saving. Only saving sets the status of the operation, so it goes from data saving to one of its final statuses.
+ */
+@Log4j2
+@Component
+@StepScope
+@RequiredArgsConstructor
+public class MappingSavingStepListener implements StepExecutionListener {
+
+  private final MappingRecordsFileUploadStepListener mappingListener;
+  private final SavingRecordsStepListener savingListener;
+
+  @Override
+  public ExitStatus afterStep(StepExecution stepExecution) {
+    try {
+      stepExecution.setExitStatus(mappingListener.afterMappingPart(stepExecution));
+    } catch (Exception ex) {
+      log.warn("afterStep:: unable to finish mapping of the step: {}", ex.getMessage());
+      stepExecution.setExitStatus(new ExitStatus(ExitStatus.FAILED.getExitCode(), ex.getMessage()));
+    }
+    return savingListener.afterStep(stepExecution);
+  }
+}
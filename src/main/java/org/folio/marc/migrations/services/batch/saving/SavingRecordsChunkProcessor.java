@@ -12,6 +12,8 @@ import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.services.BulkStorageService;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
 import org.folio.marc.migrations.services.domain.DataSavingResult;
 import org.folio.marc.migrations.services.domain.RecordsSavingData;
 import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
@@ -36,12 +38,13 @@ public class SavingRecordsChunkProcessor implements ItemProcessor<OperationChunk
 
   private final BulkStorageService bulkStorageService;
   private final ChunkStepJdbcService chunkStepJdbcService;
+  private final MigrationMetrics metrics;
 
   @Override
   public DataSavingResult process(OperationChunk chunk) {
     log.trace("process:: for operation {} chunk {}", chunk.getOperationId(), chunk.getId());
 
-    var chunkStep = createChunkStep(chunk);
+    var chunkStep = metrics.stage(Stage.BOOKKEEPING, entityType).record(() -> createChunkStep(chunk));
     var recordsSavingData = new RecordsSavingData(chunk.getOperationId(), chunk.getId(), chunkStep.getId(),
         chunk.getNumOfRecords());
 
@@ -5,9 +5,12 @@ import static org.folio.marc.migrations.services.batch.support.JobConstants.JobP
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.DistributedWorkerService;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
 import org.folio.marc.migrations.services.domain.OperationTimeType;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
 import org.springframework.batch.core.ExitStatus;
@@ -23,10 +26,11 @@ import org.springframework.stereotype.Component;
 public class SavingRecordsStepListener implements StepExecutionListener {
 
   private final OperationJdbcService jdbcService;
+  private final OperationProgressCounters progressCounters;
+  private final DistributedWorkerService workerService;
 
   @Override
   public ExitStatus afterStep(StepExecution stepExecution) {
-    var exitStatus = stepExecution.getExitStatus();
     var jobId = stepExecution.getJobExecution().getJobInstanceId();
     var operationId = stepExecution.getJobParameters().getString(OPERATION_ID);
 
@@ -34,12 +38,36 @@ public class SavingRecordsStepListener implements StepExecutionListener {
       log.warn("No operationId found in job parameters for jobId {}", jobId);
       return new ExitStatus(ExitStatus.FAILED.getExitCode(), "No operationId in job params for jobId " + jobId);
     }
+    var exitStatus = flushProgress(operationId, stepExecution.getExitStatus());
+    var otherWorkers = workerService.hasOtherWorkers(stepExecution, operationId);
     if (ExitStatus.FAILED.getExitCode().equals(exitStatus.getExitCode())) {
       log.warn("afterStep:: job {} failed for operation {}: {}", jobId, operationId, exitStatus.getExitDescription());
       finishOperation(operationId, OperationStatusType.DATA_SAVING_FAILED);
       return exitStatus;
     }
+    if (otherWorkers) {
+      log.info("afterStep:: operation {} is finalized by another instance", operationId);
+      return exitStatus;
+    }
+
+    finishSavedOperation(operationId);
+    return exitStatus;
+  }
 
+  /**
+   * Adds accumulated saved numbers to the operation. If they can't be added, saving of the operation fails.
+   */
+  private ExitStatus flushProgress(String operationId, ExitStatus exitStatus) {
+    try {
+      progressCounters.flush(UUID.fromString(operationId));
+      return exitStatus;
+    } catch (Exception ex) {
+      log.warn("afterStep:: unable to add progress of operation {}: {}", operationId, ex.getMessage());
+      return new ExitStatus(ExitStatus.FAILED.getExitCode(), ex.getMessage());
+    }
+  }
+
+  private void finishSavedOperation(String operationId) {
     var operation = jdbcService.getOperation(operationId);
     if (!Objects.equals(operation.getTotalNumOfRecords(), operation.getSavedNumOfRecords())) {
       log.warn("afterStep::, operation.totalNumOfRecords: {}, operation.savedNumOfRecords: {}",
@@ -48,8 +76,6 @@ public class SavingRecordsStepListener implements StepExecutionListener {
     } else {
       finishOperation(operationId, OperationStatusType.DATA_SAVING_COMPLETED);
     }
-
-    return exitStatus;
   }
 
   private void finishOperation(String operationId, OperationStatusType status) {
@@ -2,19 +2,26 @@ package org.folio.marc.migrations.services.batch.saving;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.marc.migrations.services.domain.DataSavingResult;
 import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
 import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
-import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.infrastructure.item.Chunk;
 import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Log4j2
@@ -23,13 +30,31 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SavingRecordsWriter implements ItemWriter<DataSavingResult> {
 
-  private final OperationJdbcService jdbcService;
+  private final OperationProgressCounters progressCounters;
   private final ChunkJdbcService chunkJdbcService;
   private final ChunkStepJdbcService chunkStepJdbcService;
+  private final MigrationMetrics metrics;
+  @Setter
+  @Value("#{jobParameters['entityType']}")
+  private EntityType entityType;
 
+  /**
+   * Adds saved records of every operation chunk of the Spring Batch chunk, then finishes their chunks and chunk steps
+   * in one batch per table.
+   */
   @Override
   public void write(Chunk<? extends DataSavingResult> chunk) {
-    var saveResult = chunk.getItems().getFirst();
+    var results = new ArrayList<ChunkStepResult>(chunk.size());
+    for (var saveResult : chunk) {
+      results.add(toChunkStepResult(saveResult));
+    }
+    metrics.stage(Stage.BOOKKEEPING, entityType).record(() -> {
+      chunkStepJdbcService.updateChunkSteps(results);
+      chunkJdbcService.updateChunks(results);
+    });
+  }
+
+  private ChunkStepResult toChunkStepResult(DataSavingResult saveResult) {
     var operationId = saveResult.recordsSavingData().operationId();
     var chunkId = saveResult.recordsSavingData().chunkId();
     var stepId = saveResult.recordsSavingData().stepId();
@@ -37,8 +62,7 @@ public class SavingRecordsWriter implements ItemWriter<DataSavingResult> {
     log.debug("write:: for operationId {}, chunkId {}", operationId, chunkId);
 
     if (saveResult.saveResponse() == null) {
-      updateChunkAndChunkStep(chunkId, stepId, false, numberOfRecords, null, null);
-      return;
+      return toChunkStepResult(chunkId, stepId, false, numberOfRecords, null, null);
     }
 
     int errorsCount = Optional.ofNullable(saveResult.saveResponse().getErrorsNumber()).orElse(0);
@@ -46,23 +70,17 @@ public class SavingRecordsWriter implements ItemWriter<DataSavingResult> {
 
     log.debug("write:: for operationId {}, totalNumberOfRecords: {}, errorsCount: {}",
         operationId, numberOfRecords, errorsCount);
-    jdbcService.addProcessedOperationRecords(operationId, 0, numberOfRecords - errorsCount);
-    updateChunkAndChunkStep(chunkId, stepId, saveSucceeded, errorsCount,
+    progressCounters.addProcessedRecords(operationId, 0, numberOfRecords - errorsCount);
+    return toChunkStepResult(chunkId, stepId, saveSucceeded, errorsCount,
         saveResult.saveResponse().getErrorRecordsFileName(), saveResult.saveResponse().getErrorsFileName());
   }
 
-  private void updateChunkAndChunkStep(UUID chunkId, UUID stepId, boolean saveSucceeded, int errorsCount,
-                                       String entityErrorFileName, String errorFileName) {
+  private ChunkStepResult toChunkStepResult(UUID chunkId, UUID stepId, boolean saveSucceeded, int errorsCount,
+                                            String entityErrorFileName, String errorFileName) {
     var stepStatus = saveSucceeded ? StepStatus.COMPLETED : StepStatus.FAILED;
-    if (entityErrorFileName != null || errorFileName != null) {
-      chunkStepJdbcService.updateChunkStep(stepId, stepStatus, Timestamp.from(Instant.now()), errorsCount,
-          entityErrorFileName, errorFileName);
-    } else {
-      chunkStepJdbcService.updateChunkStep(stepId, stepStatus, Timestamp.from(Instant.now()), errorsCount);
-    }
-
     var chunkStatus =
         saveSucceeded ? OperationStatusType.DATA_SAVING_COMPLETED : OperationStatusType.DATA_SAVING_FAILED;
-    chunkJdbcService.updateChunk(chunkId, chunkStatus);
+    return new ChunkStepResult(chunkId, chunkStatus, stepId, stepStatus, Timestamp.from(Instant.now()), errorsCount,
+        entityErrorFileName, errorFileName);
   }
 }
@@ -2,12 +2,13 @@ package org.folio.marc.migrations.services.batch.saving;
 
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.marc.migrations.domain.entities.ChunkStep;
 import org.folio.marc.migrations.domain.entities.OperationChunk;
@@ -25,6 +26,9 @@ import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
 
 @Log4j2
 @Component()
@@ -32,6 +36,9 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SavingRetryRecordsChunkProcessor implements ItemProcessor<OperationChunk, DataSavingResult> {
 
+  private static final String ID_PROPERTY = "id";
+  private static final String ERROR_RECORD_ID_STRIP_CHARS = " \t\r\"'";
+
   @Setter
   @Value("#{jobParameters['entityType']}")
   private EntityType entityType;
@@ -44,6 +51,7 @@ public class SavingRetryRecordsChunkProcessor implements ItemProcessor<Operation
   private final ChunkStepJdbcService chunkStepJdbcService;
   private final OperationJdbcService operationJdbcService;
   private final FolioS3Service s3Service;
+  private final ObjectMapper objectMapper;
 
   @Override
   public DataSavingResult process(OperationChunk chunk) {
@@ -86,39 +94,88 @@ public class SavingRetryRecordsChunkProcessor implements ItemProcessor<Operation
     operationJdbcService.updateOperationSavedNumber(chunk.getOperationId(), reducedSavedNumOfRecords);
   }
 
+  /**
+   * Rewrites the entity chunk file with only the records listed in the error file. Both files are streamed: ids of
+   * failed records are collected into a set and each entity line is written back if its id is in the set.
+   */
   private boolean isChunkFileUpdated(OperationChunk chunk, String errorChunkFileName) {
     var entityChunkFileName = chunk.getEntityChunkFileName();
-
-    var entityLines = s3Service.readFile(entityChunkFileName);
-    log.debug("isChunkFileUpdated:: Read {} entity lines from chunk file: {}", entityLines.size(), entityChunkFileName);
-
-    var errorLines = s3Service.readFile(errorChunkFileName);
-    log.debug("isChunkFileUpdated:: Read {} error lines from chunk step file: {}", errorLines.size(),
+    var errorRecordIds = getErrorRecordIds(errorChunkFileName);
+    log.debug("isChunkFileUpdated:: Read {} error record ids from chunk step file: {}", errorRecordIds.size(),
         errorChunkFileName);
+    if (errorRecordIds.isEmpty()) {
+      return false;
+    }
 
-    if (CollectionUtils.isNotEmpty(entityLines) && CollectionUtils.isNotEmpty(errorLines)) {
-      var entityLinesForRetry = getEntityLinesForRetry(errorLines, entityLines);
-      if (CollectionUtils.isNotEmpty(entityLinesForRetry)) {
-        log.debug("isChunkFileUpdated:: Writing {} entity lines for retry to entity chunk file: {}",
-            entityLinesForRetry.size(),
-            entityChunkFileName);
-        s3Service.writeFile(entityChunkFileName, entityLinesForRetry);
-        return true;
-      }
-      log.warn("isChunkFileUpdated:: No entity lines found for retry in chunk file: {}", entityChunkFileName);
+    var retryLinesCount = s3Service.writeLines(entityChunkFileName,
+      retryLines -> writeEntityLinesForRetry(entityChunkFileName, errorRecordIds, retryLines));
+    if (retryLinesCount > 0) {
+      log.debug("isChunkFileUpdated:: Wrote {} entity lines for retry to entity chunk file: {}",
+          retryLinesCount, entityChunkFileName);
+      return true;
     }
+    log.warn("isChunkFileUpdated:: No entity lines found for retry in chunk file: {}", entityChunkFileName);
     return false;
   }
 
-  private List<String> getEntityLinesForRetry(List<String> errorLines, List<String> entityLines) {
-    var errorRecordIds = errorLines.stream()
-      .map(errorLine -> StringUtils.substringBefore(errorLine, ','))
-      .toList();
+  private Set<String> getErrorRecordIds(String errorChunkFileName) {
+    try (var errorLines = s3Service.readLines(errorChunkFileName)) {
+      return errorLines
+        .filter(StringUtils::isNotBlank)
+        .map(this::getErrorRecordId)
+        .collect(Collectors.toSet());
+    }
+  }
+
+  /**
+   * Reads the record id before the first comma of the error line, without surrounding whitespace and quotes.
+   */
+  private String getErrorRecordId(String errorLine) {
+    var recordId = StringUtils.strip(StringUtils.substringBefore(errorLine, ','), ERROR_RECORD_ID_STRIP_CHARS);
+    if (!isUuid(recordId)) {
+      log.warn("getErrorRecordId:: Record id of error line is not a UUID: {}", recordId);
+    }
+    return recordId;
+  }
 
-    return entityLines.stream()
-      .filter(str -> errorRecordIds.stream()
-        .anyMatch(str::contains))
-      .toList();
+  private static boolean isUuid(String value) {
+    try {
+      UUID.fromString(value);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private void writeEntityLinesForRetry(String entityChunkFileName, Set<String> errorRecordIds,
+                                        Consumer<String> retryLines) {
+    try (var entityLines = s3Service.readLines(entityChunkFileName)) {
+      entityLines
+        .filter(entityLine -> errorRecordIds.contains(getRecordId(entityLine)))
+        .forEach(retryLines);
+    }
+  }
+
+  /**
+   * Reads the top-level id of the entity without binding the whole record.
+   */
+  private String getRecordId(String entityLine) {
+    try (var parser = objectMapper.createParser(entityLine)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return null;
+      }
+      while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+        var propertyName = parser.currentName();
+        parser.nextToken();
+        if (ID_PROPERTY.equals(propertyName)) {
+          return parser.getValueAsString();
+        }
+        parser.skipChildren();
+      }
+    } catch (JacksonException e) {
+      log.warn("getRecordId:: Failed to read id of entity line: {}", e.getMessage());
+    }
+    return null;
   }
 
   private ChunkStep createChunkStep(OperationChunk chunk) {
@@ -0,0 +1,114 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Limits the number of parallel calls to a remote service with additive increase and multiplicative decrease of
+ * the limit. The limit starts at one and grows by one on a successful call made while at least half of the limit is
+ * in use. It is halved on a failure that indicates overload or on a call slower than the slow call threshold, once
+ * per calls started before the previous decrease. Callers over the limit wait for a free slot.
+ *
+ * <p>Registers {@code <name>.limit} and {@code <name>.in.flight} gauges and a {@code <name>.latency} timer tagged
+ * with call outcome.
+ */
+@Log4j2
+public class AdaptiveConcurrencyLimiter {
+
+  static final double BACKOFF_RATIO = 0.5;
+
+  private final String name;
+  private final int maxLimit;
+  private final long slowCallNanos;
+  private final Predicate<Throwable> overloadFailure;
+  private final Timer successLatency;
+  private final Timer failureLatency;
+  // lock instead of synchronized, so that waiting virtual threads of partitions do not pin carrier threads
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition slotReleased = lock.newCondition();
+  private volatile int limit = 1;
+  private volatile int inFlight;
+  private long lastDecreaseTime = System.nanoTime();
+
+  public AdaptiveConcurrencyLimiter(String name, Tags tags, int maxLimit, Duration slowCall,
+                                    Predicate<Throwable> overloadFailure, MeterRegistry meterRegistry) {
+    this.name = name + tags;
+    this.maxLimit = maxLimit;
+    this.slowCallNanos = slowCall.toNanos();
+    this.overloadFailure = overloadFailure;
+    Gauge.builder(name + ".limit", this, AdaptiveConcurrencyLimiter::getLimit).tags(tags).register(meterRegistry);
+    Gauge.builder(name + ".in.flight", this, AdaptiveConcurrencyLimiter::getInFlight).tags(tags)
+      .register(meterRegistry);
+    this.successLatency = Timer.builder(name + ".latency").tags(tags).tag("outcome", "success")
+      .register(meterRegistry);
+    this.failureLatency = Timer.builder(name + ".latency").tags(tags).tag("outcome", "failure")
+      .register(meterRegistry);
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * Runs the call once the number of calls in progress is below the limit and adjusts the limit by its outcome.
+   */
+  public <T> T execute(Supplier<T> call) {
+    acquire();
+    var startTime = System.nanoTime();
+    Throwable failure = null;
+    try {
+      return call.get();
+    } catch (RuntimeException | Error ex) {
+      failure = ex;
+      throw ex;
+    } finally {
+      release(startTime, failure);
+    }
+  }
+
+  private void acquire() {
+    lock.lock();
+    try {
+      while (inFlight >= limit) {
+        slotReleased.awaitUninterruptibly();
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long startTime, Throwable failure) {
+    var latency = System.nanoTime() - startTime;
+    (failure == null ? successLatency : failureLatency).record(latency, TimeUnit.NANOSECONDS);
+    var overloaded = failure != null ? overloadFailure.test(failure) : slowCallNanos > 0 && latency > slowCallNanos;
+    lock.lock();
+    try {
+      if (overloaded && startTime - lastDecreaseTime > 0) {
+        limit = Math.max(1, (int) (limit * BACKOFF_RATIO));
+        lastDecreaseTime = System.nanoTime();
+        log.debug("release:: {} limit decreased to {}, latency {} ms", name, limit,
+          TimeUnit.NANOSECONDS.toMillis(latency));
+      } else if (!overloaded && failure == null && inFlight * 2 >= limit && limit < maxLimit) {
+        limit++;
+      }
+      inFlight--;
+      slotReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import static org.folio.marc.migrations.services.batch.support.JobConstants.OPERATION_FILES_PATH;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.StageMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Uploads chunk files to S3 in background while mapping is running and deletes local copies once they are uploaded.
+ * Uploads are tracked per local job directory, so that the mapping step can wait for them before finishing the
+ * operation. Files whose upload failed are kept in the directory and uploaded with the rest of files at step end.
+ * Files larger than the multipart threshold are uploaded in parts. Upload throughput is logged per file and, for
+ * uploads at step end, for the whole directory.
+ */
+@Log4j2
+@Component
+public class ChunkFilesUploader {
+
+  private static final double BYTES_IN_MB = 1024 * 1024;
+
+  private final FolioS3Service s3Service;
+  private final MigrationProperties props;
+  private final MigrationMetrics metrics;
+  private final Executor executor;
+  private final Executor filesUploadExecutor;
+  private final Map<String, Queue<CompletableFuture<Void>>> pendingUploads = new ConcurrentHashMap<>();
+
+  public ChunkFilesUploader(FolioS3Service s3Service, MigrationProperties props, MigrationMetrics metrics,
+                            @Qualifier("chunkFilesUploadExecutor") Executor executor,
+                            @Qualifier("filesUploadExecutor") Executor filesUploadExecutor) {
+    this.s3Service = s3Service;
+    this.props = props;
+    this.metrics = metrics;
+    this.executor = executor;
+    this.filesUploadExecutor = filesUploadExecutor;
+  }
+
+  public boolean isEnabled() {
+    return props.getChunkFilesUploadConcurrency() > 0;
+  }
+
+  /**
+   * Schedules upload of a local chunk file of the job directory to the operation files path.
+   * Runs the upload in the calling thread when upload queue is full.
+   */
+  public void upload(String filesPath, Path localFile, UUID operationId, EntityType entityType) {
+    var uploads = pendingUploads.computeIfAbsent(filesPath, path -> new ConcurrentLinkedQueue<>());
+    var stageMetrics = metrics.stage(Stage.S3_UPLOAD, entityType);
+    var upload = CompletableFuture.runAsync(() -> uploadAndDelete(localFile, operationId, stageMetrics), executor);
+    uploads.add(upload);
+    upload.thenRun(() -> uploads.remove(upload));
+  }
+
+  /**
+   * Uploads a local chunk file to the operation files path in the calling thread and deletes it.
+   */
+  public void uploadAndDelete(Path localFile, UUID operationId, EntityType entityType) {
+    uploadAndDelete(localFile, operationId, metrics.stage(Stage.S3_UPLOAD, entityType));
+  }
+
+  /**
+   * Waits for uploads scheduled for the job directory. Failed uploads are logged, their files stay in the directory.
+   */
+  public void awaitUploads(String filesPath) {
+    var uploads = pendingUploads.remove(filesPath);
+    if (uploads == null) {
+      return;
+    }
+    log.info("awaitUploads:: waiting for {} chunk files uploads of {}", uploads.size(), filesPath);
+    for (var upload : uploads) {
+      try {
+        upload.join();
+      } catch (CompletionException ex) {
+        log.warn("awaitUploads:: chunk file upload failed, file is kept for upload at step end: {}",
+          ex.getCause().getMessage());
+      }
+    }
+  }
+
+  /**
+   * Uploads all files of the job directory to the operation files path in parallel and waits for them.
+   * Throws the failure of the first failed upload.
+   */
+  public void uploadAll(String filesPath, UUID operationId, EntityType entityType) {
+    var remotePath = OPERATION_FILES_PATH.formatted(props.getS3SubPath(), operationId);
+    var stageMetrics = metrics.stage(Stage.S3_UPLOAD, entityType);
+    var startTime = System.nanoTime();
+    var uploads = listFiles(filesPath).stream()
+      .map(file -> CompletableFuture.supplyAsync(
+        () -> uploadFile(file, remotePath + file.getFileName(), stageMetrics), filesUploadExecutor))
+      .toList();
+    try {
+      CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException ex) {
+      throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+    }
+    var bytes = uploads.stream().mapToLong(CompletableFuture::join).sum();
+    log.info("uploadAll:: uploaded {} files, {} bytes of {} in {} ms ({} MB/s)", uploads.size(), bytes, filesPath,
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), throughput(bytes, startTime));
+  }
+
+  private void uploadAndDelete(Path localFile, UUID operationId, StageMetrics stageMetrics) {
+    var remotePath = OPERATION_FILES_PATH.formatted(props.getS3SubPath(), operationId) + localFile.getFileName();
+    uploadFile(localFile, remotePath, stageMetrics);
+    try {
+      Files.deleteIfExists(localFile);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private List<Path> listFiles(String filesPath) {
+    try (var files = Files.list(Path.of(filesPath))) {
+      return files.filter(Files::isRegularFile).toList();
+    } catch (IOException ex) {
+      throw new IllegalStateException("Unable to list files of " + filesPath, ex);
+    }
+  }
+
+  /**
+   * Uploads the file, in parts if it is larger than the multipart threshold, and returns its size.
+   */
+  private long uploadFile(Path localFile, String remotePath, StageMetrics stageMetrics) {
+    var size = localFile.toFile().length();
+    var startTime = System.nanoTime();
+    var localPath = localFile.toAbsolutePath().toString();
+    var threshold = props.getMultipartUploadThreshold();
+    stageMetrics.record(() -> {
+      if (threshold > 0 && size > threshold) {
+        s3Service.uploadFileMultipart(localPath, remotePath, props.getMultipartUploadPartSize());
+      } else {
+        s3Service.uploadFile(localPath, remotePath);
+      }
+    });
+    stageMetrics.bytes(size);
+    log.debug("uploadFile:: uploaded {} bytes to {} in {} ms ({} MB/s)", size, remotePath,
+      TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), throughput(size, startTime));
+    return size;
+  }
+
+  private static String throughput(long bytes, long startTime) {
+    var seconds = Math.max(System.nanoTime() - startTime, 1) / 1e9;
+    return "%.2f".formatted(bytes / BYTES_IN_MB / seconds);
+  }
+}
@@ -2,11 +2,22 @@ package org.folio.marc.migrations.services.batch.support;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.s3.client.FolioS3Client;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
@@ -18,6 +29,7 @@ import org.springframework.stereotype.Component;
 public class FolioS3Service {
 
   private final FolioS3Client s3Client;
+  private final MigrationProperties props;
 
   @Retryable(
     retryFor = Exception.class,
@@ -27,6 +39,17 @@ public class FolioS3Service {
     s3Client.upload(localPath, remotePath);
   }
 
+  /**
+   * Uploads the local file in parts of the given size. The upload is aborted if any part fails.
+   */
+  @Retryable(
+    retryFor = Exception.class,
+    maxAttemptsExpression = "${folio.remote-storage.retryCount}",
+    backoff = @Backoff(delayExpression = "${folio.remote-storage.retryDelayMs}"))
+  public void uploadFileMultipart(String localPath, String remotePath, long partSize) {
+    multipartUpload(localPath, remotePath, partSize);
+  }
+
   @Retryable(
     retryFor = Exception.class,
     maxAttemptsExpression = "${folio.remote-storage.retryCount}",
@@ -37,6 +60,34 @@ public class FolioS3Service {
     s3Client.write(path, inputStream);
   }
 
+  /**
+   * Writes lines given by the producer to the remote file without keeping them in memory. Lines are spooled to a
+   * temporary local file, which is uploaded in parts if it is larger than the multipart upload threshold. The remote
+   * file is left untouched if the producer gives no lines. The producer is called again if the write is retried.
+   *
+   * @return number of written lines
+   */
+  @Retryable(
+    retryFor = Exception.class,
+    maxAttemptsExpression = "${folio.remote-storage.retryCount}",
+    backoff = @Backoff(delayExpression = "${folio.remote-storage.retryDelayMs}"))
+  public long writeLines(String remotePath, Consumer<Consumer<String>> producer) {
+    Path spoolFile = null;
+    try {
+      spoolFile = Files.createTempFile("s3-lines", null);
+      var linesCount = spoolLines(spoolFile, producer);
+      if (linesCount > 0) {
+        upload(spoolFile, remotePath);
+      }
+      return linesCount;
+    } catch (IOException | UncheckedIOException e) {
+      log.error("writeLines::Error writing file [filename: {}]", remotePath, e);
+      throw new IllegalStateException("Error writing file: " + remotePath, e);
+    } finally {
+      deleteSpoolFile(spoolFile);
+    }
+  }
+
   public List<String> readFile(String remotePath) {
     try (var inputStream = s3Client.read(remotePath);
          var reader = new BufferedReader(new InputStreamReader(inputStream))) {
@@ -46,4 +97,102 @@ public class FolioS3Service {
       throw new IllegalStateException("Error reading file: " + remotePath, e);
     }
   }
+
+  /**
+   * Reads the file line by line. The returned stream must be closed to release the remote connection.
+   */
+  public Stream<String> readLines(String remotePath) {
+    try {
+      var reader = new BufferedReader(new InputStreamReader(s3Client.read(remotePath), StandardCharsets.UTF_8));
+      return reader.lines().onClose(() -> closeReader(reader, remotePath));
+    } catch (Exception e) {
+      log.error("readLines::Error reading file [filename: {}]", remotePath, e);
+      throw new IllegalStateException("Error reading file: " + remotePath, e);
+    }
+  }
+
+  private void closeReader(BufferedReader reader, String remotePath) {
+    try {
+      reader.close();
+    } catch (IOException e) {
+      log.warn("readLines::Error closing file [filename: {}]", remotePath, e);
+    }
+  }
+
+  private long spoolLines(Path spoolFile, Consumer<Consumer<String>> producer) throws IOException {
+    var linesCount = new AtomicLong();
+    try (var writer = Files.newBufferedWriter(spoolFile, StandardCharsets.UTF_8)) {
+      producer.accept(line -> {
+        try {
+          if (linesCount.getAndIncrement() > 0) {
+            writer.newLine();
+          }
+          writer.write(line);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+    return linesCount.get();
+  }
+
+  private void upload(Path localFile, String remotePath) throws IOException {
+    var threshold = props.getMultipartUploadThreshold();
+    if (threshold > 0 && Files.size(localFile) > threshold) {
+      multipartUpload(localFile.toString(), remotePath, props.getMultipartUploadPartSize());
+    } else {
+      s3Client.upload(localFile.toString(), remotePath);
+    }
+  }
+
+  private void multipartUpload(String localPath, String remotePath, long partSize) {
+    var uploadId = s3Client.initiateMultipartUpload(remotePath);
+    try {
+      var partETags = uploadParts(localPath, remotePath, uploadId, partSize);
+      s3Client.completeMultipartUpload(remotePath, uploadId, partETags);
+    } catch (Exception e) {
+      log.warn("uploadFileMultipart::Error uploading file [filename: {}], aborting upload", remotePath);
+      s3Client.abortMultipartUpload(remotePath, uploadId);
+      throw new IllegalStateException("Error uploading file: " + remotePath, e);
+    }
+  }
+
+  private void deleteSpoolFile(Path spoolFile) {
+    if (spoolFile == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(spoolFile);
+    } catch (IOException e) {
+      log.warn("writeLines::Error deleting spool file {}", spoolFile, e);
+    }
+  }
+
+  /**
+   * Copies each part of the file to a temporary file, as the client uploads parts from local files.
+   */
+  private List<String> uploadParts(String localPath, String remotePath, String uploadId, long partSize)
+    throws IOException {
+    var partETags = new ArrayList<String>();
+    var partFile = Files.createTempFile("s3-part", null);
+    try (var channel = FileChannel.open(Path.of(localPath), StandardOpenOption.READ)) {
+      var size = channel.size();
+      for (long position = 0; position < size; position += partSize) {
+        copyPart(channel, position, Math.min(partSize, size - position), partFile);
+        partETags.add(s3Client.uploadMultipartPart(remotePath, uploadId, partETags.size() + 1, partFile.toString()));
+      }
+    } finally {
+      Files.deleteIfExists(partFile);
+    }
+    return partETags;
+  }
+
+  private void copyPart(FileChannel source, long position, long count, Path partFile) throws IOException {
+    try (var part = FileChannel.open(partFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      var copied = 0L;
+      while (copied < count) {
+        copied += source.transferTo(position + copied, count - copied, part);
+      }
+    }
+  }
 }
@@ -0,0 +1,106 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Locale;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records metrics of migration pipeline stages tagged with tenant, entity type and stage:
+ * <ul>
+ *   <li>{@code marc.migrations.stage.duration} timer of stage calls, additionally tagged with call outcome</li>
+ *   <li>{@code marc.migrations.stage.records} counter of records passed through the stage</li>
+ *   <li>{@code marc.migrations.stage.batch.size} summary of records per stage call</li>
+ *   <li>{@code marc.migrations.stage.bytes} summary of bytes per stage call</li>
+ * </ul>
+ * Operation ids are not used as tags, so that the number of series does not grow with every operation.
+ */
+@Component
+public class MigrationMetrics {
+
+  static final String DURATION_METRIC = "marc.migrations.stage.duration";
+  static final String RECORDS_METRIC = "marc.migrations.stage.records";
+  static final String BATCH_SIZE_METRIC = "marc.migrations.stage.batch.size";
+  static final String BYTES_METRIC = "marc.migrations.stage.bytes";
+  private static final String UNKNOWN = "unknown";
+
+  private final MeterRegistry meterRegistry;
+  private final FolioExecutionContext context;
+
+  public MigrationMetrics(MeterRegistry meterRegistry, FolioExecutionContext context) {
+    this.meterRegistry = meterRegistry;
+    this.context = context;
+  }
+
+  /**
+   * Returns metrics of the stage for the tenant of the current context. Tags are resolved right away, so the
+   * returned metrics can be used by other threads.
+   */
+  public StageMetrics stage(Stage stage, EntityType entityType) {
+    var tenantId = context.getTenantId();
+    return new StageMetrics(Tags.of(
+      "tenant", tenantId == null ? UNKNOWN : tenantId,
+      "entityType", entityType == null ? UNKNOWN : entityType.name().toLowerCase(Locale.ROOT),
+      "stage", stage.getValue()));
+  }
+
+  @Getter
+  public enum Stage {
+    SOURCE_FETCH("source-fetch"),
+    MAPPING("mapping"),
+    LOCAL_WRITE("local-write"),
+    S3_UPLOAD("s3-upload"),
+    BULK_SAVE("bulk-save"),
+    BOOKKEEPING("bookkeeping");
+
+    private final String value;
+
+    Stage(String value) {
+      this.value = value;
+    }
+  }
+
+  public final class StageMetrics {
+
+    private final Tags tags;
+
+    private StageMetrics(Tags tags) {
+      this.tags = tags;
+    }
+
+    public <T> T record(Supplier<T> call) {
+      var sample = Timer.start(meterRegistry);
+      var outcome = "failure";
+      try {
+        var result = call.get();
+        outcome = "success";
+        return result;
+      } finally {
+        sample.stop(Timer.builder(DURATION_METRIC).tags(tags).tag("outcome", outcome).register(meterRegistry));
+      }
+    }
+
+    public void record(Runnable call) {
+      record(() -> {
+        call.run();
+        return null;
+      });
+    }
+
+    public void records(long count) {
+      Counter.builder(RECORDS_METRIC).tags(tags).register(meterRegistry).increment(count);
+      DistributionSummary.builder(BATCH_SIZE_METRIC).tags(tags).register(meterRegistry).record(count);
+    }
+
+    public void bytes(long bytes) {
+      DistributionSummary.builder(BYTES_METRIC).baseUnit("bytes").tags(tags).register(meterRegistry).record(bytes);
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.services.TenantContextRunner;
+import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Accumulates numbers of mapped and saved records of operations in memory and adds them to the operation row
+ * periodically, so that parallel chunks do not update the same row on every chunk.
+ * When flush interval is not set, or in distributed worker mode, numbers are added to the operation row right away,
+ * so that numbers of an instance that stops are not lost.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class OperationProgressCounters {
+
+  private final OperationJdbcService jdbcService;
+  private final FolioExecutionContext context;
+  private final TenantContextRunner tenantContextRunner;
+  private final MigrationProperties props;
+  private final Map<UUID, Progress> progress = new ConcurrentHashMap<>();
+  private ScheduledExecutorService flushScheduler;
+
+  @PostConstruct
+  void startFlushing() {
+    var interval = props.getProgressFlushIntervalMs();
+    if (interval > 0 && props.isDistributedWorkersEnabled()) {
+      log.info("startFlushing:: numbers are added on every chunk in distributed worker mode");
+      return;
+    }
+    if (interval > 0) {
+      flushScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+        .name("operation-progress-flush").daemon().factory());
+      flushScheduler.scheduleWithFixedDelay(this::flushAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stopFlushing() {
+    if (flushScheduler != null) {
+      flushScheduler.shutdown();
+      flushAll();
+    }
+  }
+
+  public void addProcessedRecords(UUID operationId, int recordsMapped, int recordsSaved) {
+    if (flushScheduler == null) {
+      jdbcService.addProcessedOperationRecords(operationId, recordsMapped, recordsSaved);
+      return;
+    }
+    var tenantId = context.getTenantId();
+    Runnable accumulate = () -> accumulate(operationId, tenantId, recordsMapped, recordsSaved);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      // numbers of a chunk are counted only if its transaction is committed, as with direct update
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          accumulate.run();
+        }
+      });
+    } else {
+      accumulate.run();
+    }
+  }
+
+  /**
+   * Adds accumulated numbers of the operation to the operation row. Called at step end, so that completion checks
+   * see exact numbers. The progress is removed first, so numbers added meanwhile go to a new one, and written after
+   * a write of the scheduled flush that is in flight.
+   */
+  public void flush(UUID operationId) {
+    var operationProgress = progress.remove(operationId);
+    if (operationProgress == null) {
+      return;
+    }
+    synchronized (operationProgress) {
+      operationProgress.closed = true;
+      try {
+        write(operationId, operationProgress);
+      } catch (RuntimeException ex) {
+        // keep numbers for the next flush
+        accumulate(operationId, operationProgress.tenantId, operationProgress.mapped, operationProgress.saved);
+        throw ex;
+      }
+    }
+  }
+
+  void flushAll() {
+    progress.forEach((operationId, operationProgress) -> {
+      try {
+        synchronized (operationProgress) {
+          write(operationId, operationProgress);
+        }
+      } catch (Exception ex) {
+        log.warn("flushAll:: unable to flush progress of operation {}: {}", operationId, ex.getMessage());
+      }
+    });
+  }
+
+  private void accumulate(UUID operationId, String tenantId, long recordsMapped, long recordsSaved) {
+    // progress closed by a flush is already removed, so the next attempt gets a new one
+    while (!progress.computeIfAbsent(operationId, id -> new Progress(tenantId)).add(recordsMapped, recordsSaved)) {
+      log.trace("accumulate:: progress of operation {} is flushed, retrying", operationId);
+    }
+  }
+
+  /**
+   * Called with the lock of the progress held. Numbers are reset only when they are written.
+   */
+  private void write(UUID operationId, Progress operationProgress) {
+    var recordsMapped = (int) operationProgress.mapped;
+    var recordsSaved = (int) operationProgress.saved;
+    if (recordsMapped == 0 && recordsSaved == 0) {
+      return;
+    }
+    tenantContextRunner.runInContext(operationProgress.tenantId,
+      () -> jdbcService.addProcessedOperationRecords(operationId, recordsMapped, recordsSaved));
+    operationProgress.mapped = 0;
+    operationProgress.saved = 0;
+  }
+
+  private static final class Progress {
+
+    private final String tenantId;
+    private long mapped;
+    private long saved;
+    private boolean closed;
+
+    Progress(String tenantId) {
+      this.tenantId = tenantId;
+    }
+
+    synchronized boolean add(long recordsMapped, long recordsSaved) {
+      if (closed) {
+        return false;
+      }
+      mapped += recordsMapped;
+      saved += recordsSaved;
+      return true;
+    }
+  }
+}
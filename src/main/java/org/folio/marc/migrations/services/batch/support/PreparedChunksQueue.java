@@ -0,0 +1,60 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+
+/**
+ * Growing queue of operation chunks. Chunks preparation publishes chunks as soon as they are persisted and closes
+ * the queue when finished, mapping partitions take chunks until the queue is closed and drained.
+ */
+public class PreparedChunksQueue {
+
+  private static final long POLL_TIMEOUT_MS = 500;
+
+  private final BlockingQueue<OperationChunk> chunks = new LinkedBlockingQueue<>();
+  private volatile boolean closed;
+  private volatile Throwable failure;
+
+  public void publish(List<OperationChunk> preparedChunks) {
+    chunks.addAll(preparedChunks);
+  }
+
+  public void close() {
+    closed = true;
+  }
+
+  public void fail(Throwable cause) {
+    failure = cause;
+    closed = true;
+  }
+
+  /**
+   * Waits for the next prepared chunk.
+   *
+   * @return next chunk or {@code null} when preparation is finished and all chunks are taken
+   * @throws IllegalStateException if chunks preparation failed
+   */
+  public OperationChunk take() throws InterruptedException {
+    while (true) {
+      // closed flag is read before polling, so chunks published right before closing are not missed
+      var preparationFinished = closed;
+      checkFailure();
+      var chunk = chunks.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      if (chunk != null) {
+        return chunk;
+      }
+      if (preparationFinished) {
+        return null;
+      }
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      throw new IllegalStateException("Chunks preparation failed: " + failure.getMessage(), failure);
+    }
+  }
+}
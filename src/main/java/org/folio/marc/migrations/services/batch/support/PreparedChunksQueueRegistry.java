@@ -0,0 +1,36 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds prepared chunks queues of operations which are mapped while their chunks are still being prepared.
+ */
+@Log4j2
+@Component
+public class PreparedChunksQueueRegistry {
+
+  private final Map<String, PreparedChunksQueue> queues = new ConcurrentHashMap<>();
+
+  public PreparedChunksQueue open(String operationId) {
+    log.debug("open:: prepared chunks queue for operation {}", operationId);
+    var queue = new PreparedChunksQueue();
+    queues.put(operationId, queue);
+    return queue;
+  }
+
+  public PreparedChunksQueue get(String operationId) {
+    var queue = queues.get(operationId);
+    if (queue == null) {
+      throw new IllegalStateException("No prepared chunks queue for operation " + operationId);
+    }
+    return queue;
+  }
+
+  public void remove(String operationId) {
+    log.debug("remove:: prepared chunks queue for operation {}", operationId);
+    queues.remove(operationId);
+  }
+}
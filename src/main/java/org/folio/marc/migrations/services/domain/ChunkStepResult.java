@@ -0,0 +1,19 @@
+package org.folio.marc.migrations.services.domain;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
+
+/**
+ * Outcome of a chunk step to be written to chunk and chunk step. Error file names are kept as is when null.
+ */
+public record ChunkStepResult(UUID chunkId, OperationStatusType chunkStatus, UUID stepId, StepStatus stepStatus,
+                              Timestamp stepEndTime, int numOfErrors, String entityErrorChunkFileName,
+                              String errorChunkFileName) {
+
+  public ChunkStepResult(UUID chunkId, OperationStatusType chunkStatus, UUID stepId, StepStatus stepStatus,
+                         Timestamp stepEndTime, int numOfErrors) {
+    this(chunkId, chunkStatus, stepId, stepStatus, stepEndTime, numOfErrors, null, null);
+  }
+}
@@ -0,0 +1,27 @@
+package org.folio.marc.migrations.services.domain;
+
+import java.util.Optional;
+import lombok.Getter;
+
+@Getter
+public enum ErrorReportExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String mediaType;
+  private final String fileExtension;
+
+  ErrorReportExportFormat(String mediaType, String fileExtension) {
+    this.mediaType = mediaType;
+    this.fileExtension = fileExtension;
+  }
+
+  public static Optional<ErrorReportExportFormat> fromValue(String value) {
+    for (var format : values()) {
+      if (format.name().equalsIgnoreCase(value)) {
+        return Optional.of(format);
+      }
+    }
+    return Optional.empty();
+  }
+}
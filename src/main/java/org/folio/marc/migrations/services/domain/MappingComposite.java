@@ -1,6 +1,23 @@
 package org.folio.marc.migrations.services.domain;
 
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
-public record MappingComposite<T>(RecordsMappingData mappingData, List<T> records) {
+/**
+ * Records of one chunk together with its mapping data.
+ *
+ * @param records       records loaded at once
+ * @param recordsStream opens a cursor-backed stream of the chunk records, when records are not loaded at once
+ */
+public record MappingComposite<T>(RecordsMappingData mappingData, List<T> records,
+                                  Supplier<Stream<T>> recordsStream) {
+
+  public MappingComposite(RecordsMappingData mappingData, List<T> records) {
+    this(mappingData, records, null);
+  }
+
+  public boolean isStreamed() {
+    return recordsStream != null;
+  }
 }
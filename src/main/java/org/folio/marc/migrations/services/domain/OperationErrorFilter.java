@@ -0,0 +1,12 @@
+package org.folio.marc.migrations.services.domain;
+
+import org.folio.marc.migrations.domain.entities.types.OperationStep;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
+
+/**
+ * Filter of error report entries. Null values do not restrict the entries.
+ */
+public record OperationErrorFilter(OperationStep operationStep, StepStatus chunkStatus) {
+
+  public static final OperationErrorFilter ALL = new OperationErrorFilter(null, null);
+}
@@ -0,0 +1,13 @@
+package org.folio.marc.migrations.services.domain;
+
+import java.sql.Timestamp;
+
+/**
+ * Throughput of an operation computed from its record counters. Current throughput and estimations are provided
+ * only while a phase of the operation is running.
+ */
+public record OperationProgress(Long mappingElapsedMs, Double mappingRecordsPerSecond,
+                                Long savingElapsedMs, Double savingRecordsPerSecond,
+                                Double currentRecordsPerSecond, Long estimatedTimeRemainingMs,
+                                Timestamp estimatedCompletionTime) {
+}
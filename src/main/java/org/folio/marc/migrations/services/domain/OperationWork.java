@@ -0,0 +1,9 @@
+package org.folio.marc.migrations.services.domain;
+
+import java.util.UUID;
+
+/**
+ * Job of an operation processed by module instances in distributed worker mode.
+ */
+public record OperationWork(UUID operationId, String jobName) {
+}
@@ -2,6 +2,7 @@ package org.folio.marc.migrations.services.jdbc;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.spring.FolioExecutionContext;
@@ -52,14 +53,14 @@ public class AuthorityJdbcService extends JdbcService {
   private static final String GET_AUTHORITY_IDS_CHUNK = """
     SELECT marc_id
     FROM %s.marc_authority_view
-    %s
-    LIMIT %s;
+    WHERE marc_id > ?
+    LIMIT ?;
     """;
 
   private static final String GET_AUTHORITIES_CHUNK = """
     SELECT *
     FROM %s.marc_authority_view
-    WHERE marc_id >= '%s' and marc_id <= '%s';
+    WHERE marc_id >= ? and marc_id <= ?;
     """;
 
   private final BeanPropertyRowMapper<MarcRecord> recordsMapper;
@@ -81,13 +82,12 @@ public class AuthorityJdbcService extends JdbcService {
 
   public Integer countNumOfRecords() {
     log.info("countNumOfRecords::Counting number of records in 'marc_authority_view'");
-    return jdbcTemplate.queryForObject(COUNT_AUTHORITY_RECORDS.formatted(getSchemaName()), Integer.class);
+    return jdbcTemplate.queryForObject(qualify(COUNT_AUTHORITY_RECORDS), Integer.class);
   }
 
   public List<UUID> getAuthorityIdsChunk(UUID idFrom, Integer limit) {
-    var whereClause = idFrom == null ? "" : "WHERE marc_id > '%s'".formatted(idFrom);
-    var sql = GET_AUTHORITY_IDS_CHUNK.formatted(getSchemaName(), whereClause, limit);
-    return jdbcTemplate.queryForList(sql, UUID.class);
+    return jdbcTemplate.queryForList(qualify(GET_AUTHORITY_IDS_CHUNK), UUID.class, idFrom == null ? MIN_UUID : idFrom,
+      limit);
   }
 
   public List<UUID> getAuthorityIdsChunk(Integer limit) {
@@ -96,7 +96,11 @@ public class AuthorityJdbcService extends JdbcService {
 
   public List<MarcRecord> getAuthoritiesChunk(UUID from, UUID to) {
     log.debug("getAuthoritiesChunk:: from id {}, to id {}", from, to);
-    var sql = GET_AUTHORITIES_CHUNK.formatted(getSchemaName(), from, to);
-    return jdbcTemplate.query(sql, recordsMapper);
+    return jdbcTemplate.query(qualify(GET_AUTHORITIES_CHUNK), recordsMapper, from, to);
+  }
+
+  public Stream<MarcRecord> streamAuthoritiesChunk(UUID from, UUID to, int fetchSize) {
+    log.debug("streamAuthoritiesChunk:: from id {}, to id {}, fetch size {}", from, to, fetchSize);
+    return queryForStream(qualify(GET_AUTHORITIES_CHUNK), fetchSize, recordsMapper, from, to);
   }
 }
@@ -5,7 +5,9 @@ import java.util.List;
 import java.util.UUID;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.spring.FolioExecutionContext;
 import org.hibernate.type.SqlTypes;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
@@ -19,34 +21,74 @@ public class ChunkJdbcService extends JdbcService {
   private static final String GET_CHUNKS = """
     SELECT *
     FROM %s.operation_chunk
-    WHERE operation_id = '%s'
-      %s
+    WHERE operation_id = ?::uuid AND id > ? AND id <= ?
     ORDER BY id
-    LIMIT %s;
+    LIMIT ?;
     """;
 
   private static final String GET_CHUNKS_BY_IDS = """
       SELECT *
       FROM %s.operation_chunk
-      WHERE id IN (%s)
+      WHERE id = ANY(?)
       """;
 
   private static final String GET_CHUNK_RANGE_BOUNDARIES = """
       SELECT max(id::text)::uuid AS boundary
       FROM (
-        SELECT id, ntile(%s) OVER (ORDER BY id) AS bucket
+        SELECT id, ntile(?) OVER (ORDER BY id) AS bucket
         FROM %s.operation_chunk
-        WHERE operation_id = '%s'
+        WHERE operation_id = ?::uuid
       ) t
       GROUP BY bucket
       ORDER BY bucket;
       """;
 
-  private static final String UPDATE_CHUNK = """
-    UPDATE %s.operation_chunk
-    SET status = '%s'
-    WHERE id = '%s';
-    """;
+  private static final String CLAIM_CHUNKS = """
+      WITH claimed AS (
+        SELECT id, status
+        FROM %1$s.operation_chunk
+        WHERE operation_id = ?::uuid AND status = ANY(?::operationstatus[])
+        ORDER BY id
+        LIMIT ?
+        FOR UPDATE SKIP LOCKED
+      )
+      UPDATE %1$s.operation_chunk c
+      SET status = ?::operationstatus
+      FROM claimed
+      WHERE c.id = claimed.id
+      RETURNING c.id, c.operation_id, c.start_record_id, c.end_record_id, c.source_chunk_file_name,
+                c.marc_chunk_file_name, c.entity_chunk_file_name, claimed.status, c.num_of_records;
+      """;
+
+  private static final String CLAIM_CHUNKS_WITH_LEASE = """
+      WITH claimed AS (
+        SELECT c.id, c.status
+        FROM %1$s.operation_chunk c
+        WHERE c.operation_id = ?::uuid
+          AND (c.status = ANY(?::operationstatus[]) OR c.status = ?::operationstatus AND NOT EXISTS (
+            SELECT 1
+            FROM %1$s.operation_worker w
+            WHERE w.operation_id = c.operation_id AND w.instance_id = c.claimed_by AND NOT w.finished
+              AND w.heartbeat_time > now() - ? * interval '1 millisecond'))
+        ORDER BY c.id
+        LIMIT ?
+        FOR UPDATE OF c SKIP LOCKED
+      )
+      UPDATE %1$s.operation_chunk c
+      SET status = ?::operationstatus, claimed_by = ?
+      FROM claimed
+      WHERE c.id = claimed.id
+      RETURNING c.id, c.operation_id, c.start_record_id, c.end_record_id, c.source_chunk_file_name,
+                c.marc_chunk_file_name, c.entity_chunk_file_name, claimed.status, c.num_of_records;
+      """;
+
+  private static final String COUNT_PENDING_CHUNKS = """
+      SELECT count(*)
+      FROM %1$s.operation_chunk c
+      JOIN %1$s.operation o ON o.id = c.operation_id
+      WHERE c.operation_id = ?::uuid AND o.status IN ('DATA_MAPPING', 'DATA_SAVING')
+        AND c.status = ANY(?::operationstatus[]);
+      """;
 
   private static final String UPDATE_CHUNKS = """
       UPDATE %s.operation_chunk
@@ -59,6 +101,25 @@ public class ChunkJdbcService extends JdbcService {
     VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?)
     """;
 
+  private static final String CREATE_CHUNKS_FROM_RECORDS = """
+    INSERT INTO %1$s.operation_chunk (id, operation_id, start_record_id, end_record_id, source_chunk_file_name,
+                                      marc_chunk_file_name, entity_chunk_file_name, status, num_of_records)
+    SELECT c.id, ?, c.start_record_id, c.end_record_id, ?::text || c.id || '_source', ?::text || c.id || '_marc',
+           ?::text || c.id || '_entity', 'NEW', c.num_of_records
+    FROM (
+      SELECT gen_random_uuid() AS id, min(marc_id::text)::uuid AS start_record_id,
+             max(marc_id::text)::uuid AS end_record_id, count(*) AS num_of_records
+      FROM (
+        SELECT marc_id, (row_number() OVER (ORDER BY marc_id) - 1) / ? AS chunk_number
+        FROM %1$s.%2$s
+        %3$s
+      ) r
+      GROUP BY chunk_number
+    ) c;
+    """;
+
+  private static final UUID MAX_UUID = new UUID(-1L, -1L);
+
   private final BeanPropertyRowMapper<OperationChunk> mapper;
 
   public ChunkJdbcService(FolioExecutionContext context, BeanPropertyRowMapper<OperationChunk> mapper,
@@ -80,15 +141,8 @@ public class ChunkJdbcService extends JdbcService {
   public List<OperationChunk> getChunks(String operationId, UUID idFrom, UUID idTo, int count) {
     log.debug("getChunks:: for operationId {}, id to seek from {}, id to {}, count {}", operationId, idFrom, idTo,
       count);
-    var idFilter = "";
-    if (idFrom != null) {
-      idFilter += "AND id > '%s' ".formatted(idFrom);
-    }
-    if (idTo != null) {
-      idFilter += "AND id <= '%s' ".formatted(idTo);
-    }
-    var sql = GET_CHUNKS.formatted(getSchemaName(), operationId, idFilter, count);
-    return jdbcTemplate.query(sql, mapper);
+    return jdbcTemplate.query(qualify(GET_CHUNKS), mapper, operationId, idFrom == null ? MIN_UUID : idFrom,
+      idTo == null ? MAX_UUID : idTo, count);
   }
 
   public List<OperationChunk> getChunks(List<UUID> ids) {
@@ -97,11 +151,8 @@ public class ChunkJdbcService extends JdbcService {
       return List.of();
     }
     log.debug("getChunks:: fetching chunks for ids {}", ids);
-    var placeholders = String.join(",", ids.stream()
-        .map(id -> "?")
-        .toList());
-    var sql = GET_CHUNKS_BY_IDS.formatted(getSchemaName(), placeholders);
-    return jdbcTemplate.query(sql, mapper, ids.toArray());
+    return jdbcTemplate.query(qualify(GET_CHUNKS_BY_IDS),
+      ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())), mapper);
   }
 
   /**
@@ -110,10 +161,61 @@ public class ChunkJdbcService extends JdbcService {
    * {@code (boundary[k-1], boundary[k]]}. Returns fewer than {@code gridSize} entries when the operation has fewer
    * chunks than partitions, and an empty list when it has none.
    */
-  @SuppressWarnings("java:S2077")
   public List<UUID> getChunkRangeBoundaries(String operationId, int gridSize) {
-    var sql = GET_CHUNK_RANGE_BOUNDARIES.formatted(gridSize, getSchemaName(), operationId);
-    return jdbcTemplate.queryForList(sql, UUID.class);
+    return jdbcTemplate.queryForList(qualify(GET_CHUNK_RANGE_BOUNDARIES), UUID.class, gridSize, operationId);
+  }
+
+  /**
+   * Claims up to {@code count} chunks of the operation that are in one of {@code claimableStatuses} by moving them to
+   * {@code claimedStatus}. Rows locked by concurrent claims are skipped, so every chunk is claimed by exactly one
+   * worker. The claim is committed with the surrounding transaction.
+   *
+   * @return claimed chunks with the status they had before the claim
+   */
+  public List<OperationChunk> claimChunks(String operationId, List<OperationStatusType> claimableStatuses,
+                                          OperationStatusType claimedStatus, int count) {
+    log.debug("claimChunks:: for operationId {}, statuses {}, count {}", operationId, claimableStatuses, count);
+    var statuses = claimableStatuses.stream().map(Enum::name).toArray();
+    return jdbcTemplate.query(qualify(CLAIM_CHUNKS), ps -> {
+      ps.setObject(1, operationId);
+      ps.setArray(2, ps.getConnection().createArrayOf("text", statuses));
+      ps.setInt(3, count);
+      ps.setString(4, claimedStatus.name());
+    }, mapper);
+  }
+
+  /**
+   * Same as {@link #claimChunks(String, List, OperationStatusType, int)}, but claimed chunks are leased by the module
+   * instance: chunks in {@code claimedStatus} are claimed again when the instance that claimed them is no longer
+   * alive for the operation.
+   */
+  public List<OperationChunk> claimChunks(String operationId, List<OperationStatusType> claimableStatuses,
+                                          OperationStatusType claimedStatus, int count, String instanceId,
+                                          long leaseMs) {
+    log.debug("claimChunks:: for operationId {}, statuses {}, count {}, instance {}", operationId, claimableStatuses,
+      count, instanceId);
+    var statuses = claimableStatuses.stream().map(Enum::name).toArray();
+    return jdbcTemplate.query(qualify(CLAIM_CHUNKS_WITH_LEASE), ps -> {
+      ps.setObject(1, operationId);
+      ps.setArray(2, ps.getConnection().createArrayOf("text", statuses));
+      ps.setString(3, claimedStatus.name());
+      ps.setLong(4, leaseMs);
+      ps.setInt(5, count);
+      ps.setString(6, claimedStatus.name());
+      ps.setString(7, instanceId);
+    }, mapper);
+  }
+
+  /**
+   * Counts chunks of the running operation that are in one of {@code statuses}.
+   */
+  public long countPendingChunks(String operationId, List<OperationStatusType> statuses) {
+    var statusNames = statuses.stream().map(Enum::name).toArray();
+    var count = jdbcTemplate.query(qualify(COUNT_PENDING_CHUNKS), ps -> {
+      ps.setObject(1, operationId);
+      ps.setArray(2, ps.getConnection().createArrayOf("text", statusNames));
+    }, (rs, rowNum) -> rs.getLong(1));
+    return count.isEmpty() ? 0 : count.getFirst();
   }
 
   public void createChunks(List<OperationChunk> chunks) {
@@ -123,7 +225,7 @@ public class ChunkJdbcService extends JdbcService {
     }
     log.debug("createChunks::operationId {}, count {}", chunks.getFirst().getOperationId(), chunks.size());
 
-    var sql = CREATE_CHUNK.formatted(getSchemaName());
+    var sql = qualify(CREATE_CHUNK);
     try {
       jdbcTemplate.batchUpdate(sql, chunks, chunks.size(), (PreparedStatement ps, OperationChunk chunk) -> {
         ps.setObject(1, chunk.getId());
@@ -143,11 +245,71 @@ public class ChunkJdbcService extends JdbcService {
     }
   }
 
+  /**
+   * Creates all chunks of an operation in the database with a single statement: records of the entity view are
+   * numbered by {@code marc_id} and grouped by {@code chunkSize}, so record ids are never loaded by the module.
+   *
+   * @param filesPath prefix of chunk file names, chunk id and file type suffix are appended to it
+   * @return number of created chunks
+   */
+  @SuppressWarnings("java:S2077")
+  public int createChunks(UUID operationId, EntityType entityType, int chunkSize, String filesPath) {
+    log.debug("createChunks:: operationId {}, entityType {}, chunkSize {}", operationId, entityType, chunkSize);
+    var recordsView = entityType == EntityType.AUTHORITY ? "marc_authority_view" : "marc_bib_view";
+    var sql = CREATE_CHUNKS_FROM_RECORDS.formatted(getSchemaName(), recordsView, "");
+    try {
+      return jdbcTemplate.update(sql, operationId, filesPath, filesPath, filesPath, chunkSize);
+    } catch (Exception ex) {
+      log.warn("createChunks:: unable to create chunks for operation {}: {}", operationId, ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Same as {@link #createChunks(UUID, EntityType, int, String)}, but records are taken from the operation's
+   * records snapshot.
+   *
+   * @return number of created chunks
+   */
+  @SuppressWarnings("java:S2077")
+  public int createChunksFromSnapshot(UUID operationId, int chunkSize, String filesPath) {
+    log.debug("createChunksFromSnapshot:: operationId {}, chunkSize {}", operationId, chunkSize);
+    var sql = CREATE_CHUNKS_FROM_RECORDS.formatted(getSchemaName(), "operation_record_snapshot",
+      "WHERE operation_id = ?");
+    try {
+      return jdbcTemplate.update(sql, operationId, filesPath, filesPath, filesPath, chunkSize, operationId);
+    } catch (Exception ex) {
+      log.warn("createChunksFromSnapshot:: unable to create chunks for operation {}: {}", operationId,
+        ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
+  }
+
   public void updateChunk(UUID id, OperationStatusType status) {
     log.debug("updateChunk::For id {}: status {}", id, status);
+    jdbcTemplate.update(qualify(UPDATE_CHUNKS), status.name(), id);
+  }
+
+  /**
+   * Updates statuses of chunks of several chunk step results in one batch.
+   */
+  public void updateChunks(List<ChunkStepResult> results) {
+    if (results.isEmpty()) {
+      log.debug("updateChunks:: no chunks provided");
+      return;
+    }
+    log.debug("updateChunks:: updating status of {} chunks", results.size());
 
-    var sql = UPDATE_CHUNK.formatted(getSchemaName(), status, id);
-    jdbcTemplate.update(sql);
+    var sql = qualify(UPDATE_CHUNKS);
+    try {
+      jdbcTemplate.batchUpdate(sql, results, results.size(), (PreparedStatement ps, ChunkStepResult result) -> {
+        ps.setString(1, result.chunkStatus().name());
+        ps.setObject(2, result.chunkId());
+      });
+    } catch (Exception ex) {
+      log.warn("updateChunks:: failed to update status of {} chunks: {}", results.size(), ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
   }
 
   public void updateChunkStatus(List<UUID> ids, OperationStatusType status) {
@@ -157,7 +319,7 @@ public class ChunkJdbcService extends JdbcService {
     }
     log.debug("updateChunkStatus:: updating status to {} for ids {}", status, ids);
 
-    var sql = UPDATE_CHUNKS.formatted(getSchemaName());
+    var sql = qualify(UPDATE_CHUNKS);
     try {
       jdbcTemplate.batchUpdate(sql, ids, ids.size(), (PreparedStatement ps, UUID id) -> {
         ps.setString(1, status.name());
@@ -1,5 +1,6 @@
 package org.folio.marc.migrations.services.jdbc;
 
+import java.sql.PreparedStatement;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
@@ -7,6 +8,7 @@ import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.ChunkStep;
 import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.spring.FolioExecutionContext;
 import org.hibernate.type.SqlTypes;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
@@ -22,10 +24,40 @@ public class ChunkStepJdbcService extends JdbcService {
     VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?);
     """;
 
-  private static final String UPDATE_CHUNK_STEP = """
+  private static final String START_CHUNK_STEP = """
     UPDATE %s.operation_chunk_step
-    SET %s
-    WHERE id = '%s';
+    SET status = ?::stepstatus,
+        step_start_time = ?,
+        num_of_errors = 0
+    WHERE id = ?;
+    """;
+
+  private static final String END_CHUNK_STEP = """
+    UPDATE %s.operation_chunk_step
+    SET status = ?::stepstatus,
+        step_end_time = ?,
+        num_of_errors = ?
+    WHERE id = ?;
+    """;
+
+  private static final String END_CHUNK_STEP_WITH_ERROR_FILES = """
+    UPDATE %s.operation_chunk_step
+    SET status = ?::stepstatus,
+        entity_error_chunk_file_name = ?,
+        error_chunk_file_name = ?,
+        step_end_time = ?,
+        num_of_errors = ?
+    WHERE id = ?;
+    """;
+
+  private static final String UPDATE_CHUNK_STEPS = """
+    UPDATE %s.operation_chunk_step
+    SET status = ?::stepstatus,
+        step_end_time = ?,
+        num_of_errors = ?,
+        entity_error_chunk_file_name = COALESCE(?, entity_error_chunk_file_name),
+        error_chunk_file_name = COALESCE(?, error_chunk_file_name)
+    WHERE id = ?;
     """;
 
   private static final String GET_CHUNK_STEP = """
@@ -34,6 +66,11 @@ public class ChunkStepJdbcService extends JdbcService {
       AND operation_step = ?::operationstep;
       """;
 
+  private static final String GET_CHUNK_STEPS_BY_STATUS = """
+      SELECT * FROM %s.operation_chunk_step
+      WHERE operation_id = ? AND status = ?::stepstatus;
+      """;
+
   private final BeanPropertyRowMapper<ChunkStep> mapper;
 
   public ChunkStepJdbcService(FolioExecutionContext context, JdbcTemplate jdbcTemplate,
@@ -46,7 +83,7 @@ public class ChunkStepJdbcService extends JdbcService {
     log.debug("createChunkStep::Id {}: operationId {}, chunkId {}, stepStartTime {}",
       chunkStep.getId(), chunkStep.getOperationId(), chunkStep.getOperationChunkId(), chunkStep.getStepStartTime());
 
-    var sql = CREATE_CHUNK_STEP.formatted(getSchemaName());
+    var sql = qualify(CREATE_CHUNK_STEP);
     var params = new Object[]{chunkStep.getId(), chunkStep.getOperationId(),
       chunkStep.getOperationChunkId(), chunkStep.getOperationStep(), chunkStep.getEntityErrorChunkFileName(),
       chunkStep.getErrorChunkFileName(), chunkStep.getStatus(), chunkStep.getStepStartTime(),
@@ -60,13 +97,7 @@ public class ChunkStepJdbcService extends JdbcService {
     log.debug("updateChunkStep::For step {}: status {}, stepEndTime {}, numOfErrors {}",
       id, status, stepEndTime, numOfErrors);
 
-    var setFields = """
-        status = '%s',
-        step_end_time = '%s',
-        num_of_errors = %s
-        """.formatted(status, stepEndTime, numOfErrors);
-    var sql = UPDATE_CHUNK_STEP.formatted(getSchemaName(), setFields, id);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(END_CHUNK_STEP), status.name(), stepEndTime, numOfErrors, id);
   }
 
   public void updateChunkStep(UUID id, StepStatus status, Timestamp stepEndTime, int numOfErrors,
@@ -75,41 +106,49 @@ public class ChunkStepJdbcService extends JdbcService {
               + "entityErrorChunkFileName {}, errorChunkFileName {}",
         id, status, stepEndTime, numOfErrors, entityErrorChunkFileName, errorChunkFileName);
 
-    var setFields = """
-        status = '%s',
-        entity_error_chunk_file_name = '%s',
-        error_chunk_file_name = '%s',
-        step_end_time = '%s',
-        num_of_errors = %s
-        """.formatted(status, entityErrorChunkFileName, errorChunkFileName, stepEndTime, numOfErrors);
-    var sql = UPDATE_CHUNK_STEP.formatted(getSchemaName(), setFields, id);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(END_CHUNK_STEP_WITH_ERROR_FILES), status.name(), entityErrorChunkFileName,
+        errorChunkFileName, stepEndTime, numOfErrors, id);
+  }
+
+  /**
+   * Finishes chunk steps of several chunk step results in one batch.
+   */
+  public void updateChunkSteps(List<ChunkStepResult> results) {
+    if (results.isEmpty()) {
+      log.debug("updateChunkSteps:: no chunk steps provided");
+      return;
+    }
+    log.debug("updateChunkSteps:: updating {} chunk steps", results.size());
+
+    var sql = qualify(UPDATE_CHUNK_STEPS);
+    try {
+      jdbcTemplate.batchUpdate(sql, results, results.size(), (PreparedStatement ps, ChunkStepResult result) -> {
+        ps.setString(1, result.stepStatus().name());
+        ps.setTimestamp(2, result.stepEndTime());
+        ps.setInt(3, result.numOfErrors());
+        ps.setString(4, result.entityErrorChunkFileName());
+        ps.setString(5, result.errorChunkFileName());
+        ps.setObject(6, result.stepId());
+      });
+    } catch (Exception ex) {
+      log.warn("updateChunkSteps:: failed to update {} chunk steps: {}", results.size(), ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
   }
 
   public void updateChunkStep(UUID id, StepStatus status, Timestamp stepStartTime) {
     log.debug("updateChunkStep::For step {}: status {}, stepStartTime {}", id, status, stepStartTime);
-    var setFields = """
-        status = '%s',
-        step_start_time = '%s',
-        num_of_errors = 0
-        """.formatted(status, stepStartTime);
-    var sql = UPDATE_CHUNK_STEP.formatted(getSchemaName(), setFields, id);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(START_CHUNK_STEP), status.name(), stepStartTime, id);
   }
 
   public List<ChunkStep> getChunkStepsByOperationIdAndStatus(UUID operationId, StepStatus status) {
     log.debug("getChunkStepsByOperationId::For operationId {}, status {}", operationId, status);
-    var sql = """
-        SELECT * FROM %s.operation_chunk_step
-        WHERE operation_id = ? AND status = ?::stepstatus;
-        """.formatted(getSchemaName());
-    return jdbcTemplate.query(sql, mapper, operationId, status.name());
+    return jdbcTemplate.query(qualify(GET_CHUNK_STEPS_BY_STATUS), mapper, operationId, status.name());
   }
 
   public ChunkStep getChunkStepByChunkIdAndOperationStep(UUID chunkId, OperationStep step) {
     log.debug("getChunkStepByChunkIdAndOperationStep::For chunkId {}, operation step {}", chunkId, step);
-    var sql = GET_CHUNK_STEP.formatted(getSchemaName());
-    var results = jdbcTemplate.query(sql, mapper, chunkId, step.name());
+    var results = jdbcTemplate.query(qualify(GET_CHUNK_STEP), mapper, chunkId, step.name());
     if (results.isEmpty()) {
       log.warn("getChunkStepByChunkIdAndOperationStep:: No ChunkStep found for chunkId {} and operation step {}",
           chunkId, step);
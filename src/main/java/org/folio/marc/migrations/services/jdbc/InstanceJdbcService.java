@@ -2,6 +2,7 @@ package org.folio.marc.migrations.services.jdbc;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.spring.FolioExecutionContext;
@@ -41,14 +42,14 @@ public class InstanceJdbcService extends JdbcService {
   private static final String GET_INSTANCE_IDS_CHUNK = """
     SELECT marc_id
     FROM %s.marc_bib_view
-    %s
-    LIMIT %s;
+    WHERE marc_id > ?
+    LIMIT ?;
     """;
 
   private static final String GET_INSTANCES_CHUNK = """
     SELECT *
     FROM %s.marc_bib_view
-    WHERE marc_id >= '%s' and marc_id <= '%s';
+    WHERE marc_id >= ? and marc_id <= ?;
     """;
 
   private final BeanPropertyRowMapper<MarcRecord> recordsMapper;
@@ -61,7 +62,7 @@ public class InstanceJdbcService extends JdbcService {
 
   public Integer countNumOfRecords() {
     log.info("countNumOfRecords::Counting number of records in 'marc_bib_view'");
-    return jdbcTemplate.queryForObject(COUNT_INSTANCE_RECORDS.formatted(getSchemaName()), Integer.class);
+    return jdbcTemplate.queryForObject(qualify(COUNT_INSTANCE_RECORDS), Integer.class);
   }
 
   public void initViews(String tenantId) {
@@ -75,14 +76,17 @@ public class InstanceJdbcService extends JdbcService {
   }
 
   public List<UUID> getInstanceIdsChunk(UUID idFrom, Integer limit) {
-    var whereClause = idFrom == null ? "" : "WHERE marc_id > '%s'".formatted(idFrom);
-    var sql = GET_INSTANCE_IDS_CHUNK.formatted(getSchemaName(), whereClause, limit);
-    return jdbcTemplate.queryForList(sql, UUID.class);
+    return jdbcTemplate.queryForList(qualify(GET_INSTANCE_IDS_CHUNK), UUID.class, idFrom == null ? MIN_UUID : idFrom,
+      limit);
   }
 
   public List<MarcRecord> getInstancesChunk(UUID from, UUID to) {
     log.debug("getInstancesChunk:: from id {}, to id {}", from, to);
-    var sql = GET_INSTANCES_CHUNK.formatted(getSchemaName(), from, to);
-    return jdbcTemplate.query(sql, recordsMapper);
+    return jdbcTemplate.query(qualify(GET_INSTANCES_CHUNK), recordsMapper, from, to);
+  }
+
+  public Stream<MarcRecord> streamInstancesChunk(UUID from, UUID to, int fetchSize) {
+    log.debug("streamInstancesChunk:: from id {}, to id {}, fetch size {}", from, to, fetchSize);
+    return queryForStream(qualify(GET_INSTANCES_CHUNK), fetchSize, recordsMapper, from, to);
   }
 }
@@ -1,16 +1,29 @@
 package org.folio.marc.migrations.services.jdbc;
 
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.folio.spring.FolioExecutionContext;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 
 @Log4j2
 @RequiredArgsConstructor
 public abstract class JdbcService {
 
+  /**
+   * Lower bound for keyset seeks without a cursor, so that the same statement serves the first and the next pages.
+   */
+  protected static final UUID MIN_UUID = new UUID(0L, 0L);
+
   protected final JdbcTemplate jdbcTemplate;
   private final FolioExecutionContext context;
+  private final Map<String, Map<String, String>> statements = new ConcurrentHashMap<>();
 
   protected String getSchemaName() {
     var schemaName = context.getFolioModuleMetadata().getDBSchemaName(context.getTenantId());
@@ -24,6 +37,30 @@ public abstract class JdbcService {
     return schemaName;
   }
 
+  /**
+   * Qualifies the statement template with the schema of the current tenant. Templates take the schema name as the only
+   * format argument and bind all values, so every call for a tenant sends the same SQL text, and the driver reuses
+   * its server-side prepared statement and plan. Qualified statements are cached per schema.
+   */
+  protected String qualify(String template) {
+    var schemaName = getSchemaName();
+    return statements.computeIfAbsent(schemaName, schema -> new ConcurrentHashMap<>())
+      .computeIfAbsent(template, sql -> sql.formatted(schemaName));
+  }
+
+  /**
+   * Streams query rows from a server-side cursor, fetching {@code fetchSize} rows per round trip.
+   * PostgreSQL driver uses the cursor only when called inside a transaction. Returned stream must be closed.
+   */
+  protected <T> Stream<T> queryForStream(String sql, int fetchSize, RowMapper<T> rowMapper, Object... args) {
+    return jdbcTemplate.queryForStream(connection -> {
+      var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(fetchSize);
+      new ArgumentPreparedStatementSetter(args).setValues(statement);
+      return statement;
+    }, rowMapper);
+  }
+
   protected void createView(String tenantId, String query) {
     log.info("createView:: Attempting to create view [tenant: {}, query: {}]", tenantId, query);
     jdbcTemplate.execute(query);
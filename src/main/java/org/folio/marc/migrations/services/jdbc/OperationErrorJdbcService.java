@@ -1,14 +1,23 @@
 package org.folio.marc.migrations.services.jdbc;
 
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.domain.entities.OperationError;
 import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.domain.OperationErrorFilter;
 import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.data.OffsetRequest;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +25,39 @@ import org.springframework.stereotype.Service;
 @Service
 public class OperationErrorJdbcService extends JdbcService {
 
+  private static final String GET_OPERATION_ERRORS = """
+    SELECT id, report_id, operation_chunk_id, operation_step, chunk_status, record_id, error_message
+    FROM %s.operation_error
+    WHERE report_id = ?
+      AND (?::text IS NULL OR operation_step = ?::operationstep)
+      AND (?::text IS NULL OR chunk_status = ?::stepstatus)
+    ORDER BY id
+    OFFSET ? LIMIT ?;
+    """;
+
+  private static final String GET_OPERATION_ERRORS_AFTER = """
+    SELECT id, report_id, operation_chunk_id, operation_step, chunk_status, record_id, error_message
+    FROM %s.operation_error
+    WHERE report_id = ?
+      AND (?::text IS NULL OR operation_step = ?::operationstep)
+      AND (?::text IS NULL OR chunk_status = ?::stepstatus)
+      AND id > ?
+    ORDER BY id
+    LIMIT ?;
+    """;
+
+  private static final String STREAM_OPERATION_ERRORS = """
+    SELECT id, report_id, operation_chunk_id, operation_step, chunk_status, record_id, error_message
+    FROM %s.operation_error
+    WHERE report_id = ?
+      AND (?::text IS NULL OR operation_step = ?::operationstep)
+      AND (?::text IS NULL OR chunk_status = ?::stepstatus)
+    ORDER BY id;
+    """;
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+  private static final String COPY_NULL = "\\N";
+
   public OperationErrorJdbcService(FolioExecutionContext context, JdbcTemplate jdbcTemplate) {
     super(jdbcTemplate, context);
   }
@@ -42,28 +84,66 @@ public class OperationErrorJdbcService extends JdbcService {
       });
   }
 
-  public List<OperationError> getOperationErrors(UUID operationId, OffsetRequest offsetRequest) {
+  /**
+   * Loads operation errors with {@code COPY FROM STDIN} in the text format. Rows are encoded into a buffer that is
+   * sent to the server each time it fills up, so errors are consumed from the iterator without being collected.
+   *
+   * @return number of loaded errors
+   */
+  public long copyOperationErrors(Iterator<OperationError> operationErrors, String tenantId) {
+    var sql = """
+      COPY %s.operation_error
+      (id, report_id, operation_chunk_id, operation_step, chunk_status, record_id, error_message)
+      FROM STDIN
+      """.formatted(getSchemaName(tenantId));
+    var copiedErrors = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+      try {
+        var rows = copyRows(copyIn, operationErrors);
+        copyIn.endCopy();
+        return rows;
+      } finally {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+      }
+    });
+    log.debug("copyOperationErrors:: Copied {} operation errors", copiedErrors);
+    return copiedErrors == null ? 0 : copiedErrors;
+  }
+
+  public List<OperationError> getOperationErrors(UUID operationId, OperationErrorFilter filter,
+                                                OffsetRequest offsetRequest) {
     var offset = offsetRequest.getOffset();
     var limit = offsetRequest.getPageSize();
-    log.debug("getOperationErrors:: For operationId {}, offset {}, limit {}", operationId, offset, limit);
-    var sql = """
-      SELECT id, report_id, operation_chunk_id, operation_step, chunk_status, record_id, error_message
-      FROM %s.operation_error
-      WHERE report_id = ?
-      ORDER BY id
-      OFFSET ? LIMIT ?;
-      """.formatted(getSchemaName());
-    return jdbcTemplate.query(sql, (rs, rowNum) -> {
-      var operationError = new OperationError();
-      operationError.setId(rs.getObject("id", UUID.class));
-      operationError.setReportId(rs.getObject("report_id", UUID.class));
-      operationError.setChunkId(rs.getObject("operation_chunk_id", UUID.class));
-      operationError.setOperationStep(Enum.valueOf(OperationStep.class, rs.getString("operation_step")));
-      operationError.setChunkStatus(Enum.valueOf(StepStatus.class, rs.getString("chunk_status")));
-      operationError.setRecordId(rs.getString("record_id"));
-      operationError.setErrorMessage(rs.getString("error_message"));
-      return operationError;
-    }, operationId, offset, limit);
+    log.debug("getOperationErrors:: For operationId {}, filter {}, offset {}, limit {}", operationId, filter, offset,
+      limit);
+    return jdbcTemplate.query(qualify(GET_OPERATION_ERRORS), OperationErrorJdbcService::mapOperationError,
+      filterArgs(operationId, filter, offset, limit));
+  }
+
+  /**
+   * Returns errors of the report following the given error id in id order. Seeks by the (report_id, id) index, so
+   * every page costs the same regardless of how deep it is.
+   */
+  public List<OperationError> getOperationErrorsAfter(UUID operationId, OperationErrorFilter filter, UUID afterId,
+                                                      int limit) {
+    log.debug("getOperationErrorsAfter:: For operationId {}, filter {}, after {}, limit {}", operationId, filter,
+      afterId, limit);
+    return jdbcTemplate.query(qualify(GET_OPERATION_ERRORS_AFTER), OperationErrorJdbcService::mapOperationError,
+      filterArgs(operationId, filter, afterId == null ? MIN_UUID : afterId, limit));
+  }
+
+  /**
+   * Streams all errors of the report in id order from a server-side cursor. Must be called inside a transaction,
+   * and the returned stream must be closed.
+   */
+  public Stream<OperationError> streamOperationErrors(UUID operationId, OperationErrorFilter filter, int fetchSize) {
+    log.debug("streamOperationErrors:: For operationId {}, filter {}, fetch size {}", operationId, filter, fetchSize);
+    var step = filter.operationStep() == null ? null : filter.operationStep().name();
+    var status = filter.chunkStatus() == null ? null : filter.chunkStatus().name();
+    return queryForStream(qualify(STREAM_OPERATION_ERRORS), fetchSize, OperationErrorJdbcService::mapOperationError,
+      operationId, step, step, status, status);
   }
 
   public void deleteOperationErrorsByReportId(UUID reportId) {
@@ -74,4 +154,77 @@ public class OperationErrorJdbcService extends JdbcService {
         """.formatted(getSchemaName());
     jdbcTemplate.update(sql, reportId);
   }
+
+  private static Object[] filterArgs(UUID operationId, OperationErrorFilter filter, Object position, int limit) {
+    var step = filter.operationStep() == null ? null : filter.operationStep().name();
+    var status = filter.chunkStatus() == null ? null : filter.chunkStatus().name();
+    return new Object[] {operationId, step, step, status, status, position, limit};
+  }
+
+  private static OperationError mapOperationError(ResultSet rs, int rowNum) throws SQLException {
+    var operationError = new OperationError();
+    operationError.setId(rs.getObject("id", UUID.class));
+    operationError.setReportId(rs.getObject("report_id", UUID.class));
+    operationError.setChunkId(rs.getObject("operation_chunk_id", UUID.class));
+    operationError.setOperationStep(Enum.valueOf(OperationStep.class, rs.getString("operation_step")));
+    operationError.setChunkStatus(Enum.valueOf(StepStatus.class, rs.getString("chunk_status")));
+    operationError.setRecordId(rs.getString("record_id"));
+    operationError.setErrorMessage(rs.getString("error_message"));
+    return operationError;
+  }
+
+  private long copyRows(CopyIn copyIn, Iterator<OperationError> operationErrors) throws SQLException {
+    var buffer = new StringBuilder(COPY_BUFFER_SIZE);
+    var rows = 0L;
+    while (operationErrors.hasNext()) {
+      appendRow(buffer, operationErrors.next());
+      rows++;
+      if (buffer.length() >= COPY_BUFFER_SIZE) {
+        flush(copyIn, buffer);
+      }
+    }
+    flush(copyIn, buffer);
+    return rows;
+  }
+
+  private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+    if (buffer.isEmpty()) {
+      return;
+    }
+    var bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+    copyIn.writeToCopy(bytes, 0, bytes.length);
+    buffer.setLength(0);
+  }
+
+  private static void appendRow(StringBuilder buffer, OperationError operationError) {
+    appendValue(buffer, operationError.getId()).append('\t');
+    appendValue(buffer, operationError.getReportId()).append('\t');
+    appendValue(buffer, operationError.getChunkId()).append('\t');
+    appendValue(buffer, operationError.getOperationStep()).append('\t');
+    appendValue(buffer, operationError.getChunkStatus()).append('\t');
+    appendValue(buffer, operationError.getRecordId()).append('\t');
+    appendValue(buffer, operationError.getErrorMessage()).append('\n');
+  }
+
+  /**
+   * Appends the value escaped for the text format of COPY: backslash and the delimiter, row and carriage return
+   * characters are backslash sequences, null is {@code \N}.
+   */
+  private static StringBuilder appendValue(StringBuilder buffer, Object value) {
+    if (value == null) {
+      return buffer.append(COPY_NULL);
+    }
+    var text = value.toString();
+    for (int i = 0; i < text.length(); i++) {
+      var ch = text.charAt(i);
+      switch (ch) {
+        case '\\' -> buffer.append("\\\\");
+        case '\t' -> buffer.append("\\t");
+        case '\n' -> buffer.append("\\n");
+        case '\r' -> buffer.append("\\r");
+        default -> buffer.append(ch);
+      }
+    }
+    return buffer;
+  }
 }
@@ -17,39 +17,51 @@ public class OperationJdbcService extends JdbcService {
 
   private static final String UPDATE_OPERATION_STATUS = """
     UPDATE %s.operation
-    SET status = '%s',
-        %s = '%s'
-    WHERE id = '%s';
+    SET status = ?::operationstatus,
+        %s = ?
+    WHERE id = ?::uuid;
+    """;
+
+  private static final String UPDATE_OPERATION_TIME = """
+    UPDATE %s.operation
+    SET %s = ?
+    WHERE id = ?::uuid;
     """;
 
   private static final String UPDATE_OPERATION_RECORDS = """
     UPDATE %s.operation
-    SET mapped_num_of_records = mapped_num_of_records + %s,
-        saved_num_of_records = saved_num_of_records + %s
-    WHERE id = '%s';
+    SET mapped_num_of_records = mapped_num_of_records + ?,
+        saved_num_of_records = saved_num_of_records + ?
+    WHERE id = ?;
     """;
 
   private static final String UPDATE_OPERATION_MAPPED_NUM = """
     UPDATE %s.operation
-    SET mapped_num_of_records = mapped_num_of_records - %s
-    WHERE id = '%s';
+    SET mapped_num_of_records = mapped_num_of_records - ?
+    WHERE id = ?;
     """;
 
   private static final String UPDATE_OPERATION_SAVED_NUM = """
     UPDATE %s.operation
-    SET saved_num_of_records = saved_num_of_records - %s
-    WHERE id = '%s';
+    SET saved_num_of_records = saved_num_of_records - ?
+    WHERE id = ?;
+    """;
+
+  private static final String UPDATE_OPERATION_TOTAL_NUM = """
+    UPDATE %s.operation
+    SET total_num_of_records = ?
+    WHERE id = ?;
     """;
 
   private static final String GET_OPERATION = """
     SELECT *
     FROM %s.operation
-    WHERE id = '%s'
+    WHERE id = ?::uuid
     """;
 
   private static final String DELETE_OPERATIONS_OLDER_THAN = """
     DELETE FROM %s.operation
-    WHERE start_time_mapping < '%s'
+    WHERE start_time_mapping < ?
     """;
 
   private final BeanPropertyRowMapper<Operation> mapper;
@@ -66,8 +78,7 @@ public class OperationJdbcService extends JdbcService {
       return null;
     }
 
-    var sql = GET_OPERATION.formatted(getSchemaName(), id);
-    return this.jdbcTemplate.queryForObject(sql, mapper);
+    return this.jdbcTemplate.queryForObject(qualify(GET_OPERATION), mapper, id);
   }
 
   public void updateOperationStatus(String id, OperationStatusType status, OperationTimeType operationTimeType,
@@ -75,34 +86,41 @@ public class OperationJdbcService extends JdbcService {
     log.info("updateOperationStatus::For operation {}: status {}, {} {}",
       id, status, operationTimeType.name(), operationTimestamp);
 
-    var sql = UPDATE_OPERATION_STATUS.formatted(getSchemaName(), status, operationTimeType.getDbColumnName(),
-      operationTimestamp, id);
-    jdbcTemplate.update(sql);
+    var sql = UPDATE_OPERATION_STATUS.formatted(getSchemaName(), operationTimeType.getDbColumnName());
+    jdbcTemplate.update(sql, status.name(), operationTimestamp, id);
+  }
+
+  public void updateOperationTime(String id, OperationTimeType operationTimeType, Timestamp operationTimestamp) {
+    log.info("updateOperationTime::For operation {}: {} {}", id, operationTimeType.name(), operationTimestamp);
+
+    var sql = UPDATE_OPERATION_TIME.formatted(getSchemaName(), operationTimeType.getDbColumnName());
+    jdbcTemplate.update(sql, operationTimestamp, id);
   }
 
   public void addProcessedOperationRecords(UUID id, int recordsMapped, int recordsSaved) {
     log.info("addProcessedOperationRecords::For operation {}: recordsMapped {}, recordsSaved {}",
       id, recordsMapped, recordsSaved);
 
-    var sql = UPDATE_OPERATION_RECORDS.formatted(getSchemaName(), recordsMapped, recordsSaved, id);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(UPDATE_OPERATION_RECORDS), recordsMapped, recordsSaved, id);
   }
 
   public void updateOperationMappedNumber(UUID id, int recordsReduced) {
     log.info("updateOperationMappedNumber::Reduced mapped records by {} for operation {}", recordsReduced, id);
-    var sql = UPDATE_OPERATION_MAPPED_NUM.formatted(getSchemaName(), recordsReduced, id);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(UPDATE_OPERATION_MAPPED_NUM), recordsReduced, id);
   }
 
   public void updateOperationSavedNumber(UUID id, int recordsReduced) {
     log.info("updateOperationSavedNumber::Reduced saved records by {} for operation {}", recordsReduced, id);
-    var sql = UPDATE_OPERATION_SAVED_NUM.formatted(getSchemaName(), recordsReduced, id);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(UPDATE_OPERATION_SAVED_NUM), recordsReduced, id);
+  }
+
+  public void updateOperationTotalNumber(UUID id, int totalNumOfRecords) {
+    log.info("updateOperationTotalNumber::Set total records to {} for operation {}", totalNumOfRecords, id);
+    jdbcTemplate.update(qualify(UPDATE_OPERATION_TOTAL_NUM), totalNumOfRecords, id);
   }
 
   public void deleteOperationsOlderThan(Timestamp date) {
     log.info("deleteOperationsOlderThan::Deleting operations older than '{}'", date);
-    var sql = DELETE_OPERATIONS_OLDER_THAN.formatted(getSchemaName(), date);
-    jdbcTemplate.update(sql);
+    jdbcTemplate.update(qualify(DELETE_OPERATIONS_OLDER_THAN), date);
   }
 }
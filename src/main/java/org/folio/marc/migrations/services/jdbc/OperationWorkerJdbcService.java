@@ -0,0 +1,149 @@
+package org.folio.marc.migrations.services.jdbc;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.domain.OperationWork;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.FolioModuleMetadata;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps track of module instances processing chunks of operations in distributed worker mode.
+ * An instance is alive for an operation job while its heartbeat is not older than the lease.
+ */
+@Log4j2
+@Service
+public class OperationWorkerJdbcService extends JdbcService {
+
+  private static final String TENANT_PROBE = "t";
+
+  private static final String GET_MODULE_SCHEMAS = """
+    SELECT nspname
+    FROM pg_namespace
+    WHERE nspname LIKE ?
+    """;
+
+  private static final String REGISTER_WORKER = """
+    INSERT INTO %s.operation_worker (operation_id, job_name, instance_id, heartbeat_time, finished)
+    VALUES (?::uuid, ?, ?, now(), false)
+    ON CONFLICT (operation_id, job_name, instance_id)
+    DO UPDATE SET heartbeat_time = now(), finished = false;
+    """;
+
+  private static final String HEARTBEAT = """
+    UPDATE %s.operation_worker
+    SET heartbeat_time = now()
+    WHERE operation_id = ?::uuid AND job_name = ? AND instance_id = ? AND NOT finished;
+    """;
+
+  private static final String LOCK_OPERATION = """
+    SELECT status
+    FROM %s.operation
+    WHERE id = ?::uuid
+    FOR UPDATE;
+    """;
+
+  private static final String FINISH_WORKER = """
+    UPDATE %s.operation_worker
+    SET finished = true
+    WHERE operation_id = ?::uuid AND job_name = ? AND instance_id = ?;
+    """;
+
+  private static final String COUNT_LIVE_WORKERS = """
+    SELECT count(*)
+    FROM %s.operation_worker
+    WHERE operation_id = ?::uuid AND job_name = ? AND NOT finished
+      AND heartbeat_time > now() - ? * interval '1 millisecond';
+    """;
+
+  private static final String DELETE_WORKERS = """
+    DELETE FROM %s.operation_worker
+    WHERE operation_id = ?::uuid AND job_name = ?;
+    """;
+
+  private static final String GET_JOINABLE_WORK = """
+    SELECT w.operation_id, w.job_name
+    FROM %1$s.operation_worker w
+    JOIN %1$s.operation o ON o.id = w.operation_id
+    WHERE o.status IN ('DATA_MAPPING', 'DATA_SAVING')
+      AND (NOT EXISTS (
+             SELECT 1
+             FROM %1$s.operation_worker own
+             WHERE own.operation_id = w.operation_id AND own.job_name = w.job_name AND own.instance_id = ?)
+           OR NOT EXISTS (
+             SELECT 1
+             FROM %1$s.operation_worker live
+             WHERE live.operation_id = w.operation_id AND live.job_name = w.job_name AND NOT live.finished
+               AND live.heartbeat_time > now() - ? * interval '1 millisecond'))
+    GROUP BY w.operation_id, w.job_name;
+    """;
+
+  private final FolioModuleMetadata moduleMetadata;
+
+  public OperationWorkerJdbcService(JdbcTemplate jdbcTemplate, FolioExecutionContext context,
+                                    FolioModuleMetadata moduleMetadata) {
+    super(jdbcTemplate, context);
+    this.moduleMetadata = moduleMetadata;
+  }
+
+  /**
+   * Returns tenants that have the module schema. Does not need the tenant context.
+   */
+  public List<String> getTenantIds() {
+    var schemaSuffix = moduleMetadata.getDBSchemaName(TENANT_PROBE).substring(TENANT_PROBE.length());
+    return jdbcTemplate.queryForList(GET_MODULE_SCHEMAS, String.class, "%" + schemaSuffix.replace("_", "\\_"))
+      .stream()
+      .map(schema -> schema.substring(0, schema.length() - schemaSuffix.length()))
+      .toList();
+  }
+
+  /**
+   * Registers the instance as a worker of the operation job.
+   */
+  public void registerWorker(String operationId, String jobName, String instanceId) {
+    log.info("registerWorker:: operation {}, job {}, instance {}", operationId, jobName, instanceId);
+    jdbcTemplate.update(qualify(REGISTER_WORKER), operationId, jobName, instanceId);
+  }
+
+  public void heartbeat(String operationId, String jobName, String instanceId) {
+    log.trace("heartbeat:: operation {}, job {}, instance {}", operationId, jobName, instanceId);
+    jdbcTemplate.update(qualify(HEARTBEAT), operationId, jobName, instanceId);
+  }
+
+  /**
+   * Marks the instance finished with the operation job. Finishing instances are serialized by the lock of the
+   * operation row, so exactly one of them sees no other alive workers and removes workers of the job. Workers are
+   * removed as well when the operation is not running anymore.
+   *
+   * @return {@code true} if the instance is the last alive worker of the job and the operation is still running
+   */
+  @Transactional
+  public boolean finishWorker(String operationId, String jobName, String instanceId, long leaseMs) {
+    var status = jdbcTemplate.queryForObject(qualify(LOCK_OPERATION), String.class, operationId);
+    var finished = jdbcTemplate.update(qualify(FINISH_WORKER), operationId, jobName, instanceId);
+    var liveWorkers = jdbcTemplate.queryForObject(qualify(COUNT_LIVE_WORKERS), Long.class, operationId, jobName,
+      leaseMs);
+    log.info("finishWorker:: operation {} in status {}, job {}, instance {}, other alive workers {}", operationId,
+      status, jobName, instanceId, liveWorkers);
+    var running = OperationStatusType.DATA_MAPPING.name().equals(status)
+                  || OperationStatusType.DATA_SAVING.name().equals(status);
+    if (running && (finished == 0 || liveWorkers == null || liveWorkers > 0)) {
+      return false;
+    }
+    jdbcTemplate.update(qualify(DELETE_WORKERS), operationId, jobName);
+    return running;
+  }
+
+  /**
+   * Returns running operation jobs the instance does not work on yet, and jobs that have no alive workers.
+   */
+  public List<OperationWork> getJoinableWork(String instanceId, long leaseMs) {
+    return jdbcTemplate.query(qualify(GET_JOINABLE_WORK),
+      (rs, rowNum) -> new OperationWork(rs.getObject("operation_id", UUID.class), rs.getString("job_name")),
+      instanceId, leaseMs);
+  }
+}
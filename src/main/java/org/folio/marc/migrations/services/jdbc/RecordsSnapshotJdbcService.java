@@ -0,0 +1,120 @@
+package org.folio.marc.migrations.services.jdbc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.extern.log4j.Log4j2;
+import org.folio.marc.migrations.domain.entities.MarcRecord;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+/**
+ * Per-operation snapshot of records to migrate. Candidate records are selected from the entity view once, so chunks
+ * preparation and mapping see the same set of records and read it by the snapshot primary key.
+ */
+@Log4j2
+@Service
+public class RecordsSnapshotJdbcService extends JdbcService {
+
+  private static final String DELETE_SNAPSHOT = """
+    DELETE FROM %s.operation_record_snapshot
+    WHERE operation_id = ?;
+    """;
+
+  private static final String CREATE_SNAPSHOT = """
+    INSERT INTO %1$s.operation_record_snapshot (operation_id, marc_id, external_id, version)
+    SELECT ?, marc_id, %3$s, version
+    FROM %1$s.%2$s;
+    """;
+
+  private static final String GET_RECORD_IDS_CHUNK = """
+    SELECT marc_id
+    FROM %s.operation_record_snapshot
+    WHERE operation_id = ? AND marc_id > ?
+    ORDER BY marc_id
+    LIMIT ?;
+    """;
+
+  private static final String GET_RECORDS_CHUNK = """
+    SELECT s.marc_id, s.external_id AS %2$s, mr.content AS marc, 'ACTUAL' AS state, s.version
+    FROM %1$s.operation_record_snapshot s
+    LEFT JOIN %1$s.marc_records_lb_view mr ON mr.id = s.marc_id
+    WHERE s.operation_id = ? AND s.marc_id >= ? AND s.marc_id <= ?
+    ORDER BY s.marc_id;
+    """;
+
+  private final RowMapper<MarcRecord> authorityRecordsMapper;
+  private final RowMapper<MarcRecord> instanceRecordsMapper;
+
+  public RecordsSnapshotJdbcService(JdbcTemplate jdbcTemplate, FolioExecutionContext context,
+                                    @Qualifier("marcAuthorityRawMapper") RowMapper<MarcRecord> authorityRecordsMapper,
+                                    @Qualifier("marcBibRawMapper") RowMapper<MarcRecord> instanceRecordsMapper) {
+    super(jdbcTemplate, context);
+    this.authorityRecordsMapper = authorityRecordsMapper;
+    this.instanceRecordsMapper = instanceRecordsMapper;
+  }
+
+  /**
+   * Captures records of the entity view for the operation, replacing the previous snapshot of the operation if any.
+   *
+   * @return number of records in the snapshot
+   */
+  @SuppressWarnings("java:S2077")
+  public int createSnapshot(UUID operationId, EntityType entityType) {
+    log.info("createSnapshot:: for operation {}, entityType {}", operationId, entityType);
+    var schemaName = getSchemaName();
+    var sql = CREATE_SNAPSHOT.formatted(schemaName, recordsView(entityType), externalIdColumn(entityType));
+    try {
+      jdbcTemplate.update(DELETE_SNAPSHOT.formatted(schemaName), operationId);
+      var count = jdbcTemplate.update(sql, operationId);
+      log.info("createSnapshot:: captured {} records for operation {}", count, operationId);
+      return count;
+    } catch (Exception ex) {
+      log.warn("createSnapshot:: unable to capture records for operation {}: {}", operationId, ex.getMessage());
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Deletes the snapshot of the operation once its records are mapped.
+   */
+  public void deleteSnapshot(UUID operationId) {
+    log.info("deleteSnapshot:: for operation {}", operationId);
+    jdbcTemplate.update(qualify(DELETE_SNAPSHOT), operationId);
+  }
+
+  public List<UUID> getRecordIdsChunk(UUID operationId, UUID idFrom, int limit) {
+    return jdbcTemplate.queryForList(qualify(GET_RECORD_IDS_CHUNK), UUID.class, operationId,
+      idFrom == null ? MIN_UUID : idFrom, limit);
+  }
+
+  public List<MarcRecord> getRecordsChunk(UUID operationId, EntityType entityType, UUID from, UUID to) {
+    log.debug("getRecordsChunk:: operation {}, from id {}, to id {}", operationId, from, to);
+    var sql = GET_RECORDS_CHUNK.formatted(getSchemaName(), externalIdColumn(entityType));
+    return jdbcTemplate.query(sql, recordsMapper(entityType), operationId, from, to);
+  }
+
+  public Stream<MarcRecord> streamRecordsChunk(UUID operationId, EntityType entityType, UUID from, UUID to,
+                                               int fetchSize) {
+    log.debug("streamRecordsChunk:: operation {}, from id {}, to id {}, fetch size {}", operationId, from, to,
+      fetchSize);
+    var sql = GET_RECORDS_CHUNK.formatted(getSchemaName(), externalIdColumn(entityType));
+    return queryForStream(sql, fetchSize, recordsMapper(entityType), operationId, from, to);
+  }
+
+  private RowMapper<MarcRecord> recordsMapper(EntityType entityType) {
+    return entityType == EntityType.AUTHORITY ? authorityRecordsMapper : instanceRecordsMapper;
+  }
+
+  private static String recordsView(EntityType entityType) {
+    return entityType == EntityType.AUTHORITY ? "marc_authority_view" : "marc_bib_view";
+  }
+
+  private static String externalIdColumn(EntityType entityType) {
+    return entityType == EntityType.AUTHORITY ? "authority_id" : "instance_id";
+  }
+}
@@ -7,6 +7,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.folio.marc.migrations.config.MigrationProperties;
@@ -17,6 +18,8 @@ import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.services.jdbc.AuthorityJdbcService;
 import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
 import org.folio.marc.migrations.services.jdbc.InstanceJdbcService;
+import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.marc.migrations.services.jdbc.RecordsSnapshotJdbcService;
 import org.springframework.stereotype.Service;
 
 @Log4j2
@@ -30,38 +33,93 @@ public class ChunkService {
   private final AuthorityJdbcService authorityJdbcService;
   private final ChunkJdbcService chunkJdbcService;
   private final InstanceJdbcService instanceJdbcService;
+  private final OperationJdbcService operationJdbcService;
+  private final RecordsSnapshotJdbcService recordsSnapshotJdbcService;
 
   public void prepareChunks(Operation operation) {
+    prepareChunks(operation, persistedChunks -> { });
+  }
+
+  /**
+   * Prepares chunks of the operation. When records snapshot is enabled, records are captured first and total number
+   * of records of the operation is updated to the snapshot size.
+   *
+   * @param chunksConsumer receives each batch of chunks right after it is persisted; not called when chunks are
+   *                       prepared server side
+   */
+  public void prepareChunks(Operation operation, Consumer<List<OperationChunk>> chunksConsumer) {
     log.info("prepareChunks:: starting for operation {}", operation.getId());
+    if (props.isRecordsSnapshotEnabled()) {
+      createRecordsSnapshot(operation);
+    }
+    if (props.isChunkServerSidePreparation()) {
+      prepareChunksServerSide(operation);
+    } else {
+      prepareChunksByRecordIds(operation, chunksConsumer);
+    }
+    log.info("prepareChunks:: finished for operation {}", operation.getId());
+  }
+
+  public void updateChunkStatus(List<UUID> ids, OperationStatusType status) {
+    chunkJdbcService.updateChunkStatus(ids, status);
+  }
+
+  private void createRecordsSnapshot(Operation operation) {
+    var recordsCount = recordsSnapshotJdbcService.createSnapshot(operation.getId(), operation.getEntityType());
+    operationJdbcService.updateOperationTotalNumber(operation.getId(), recordsCount);
+    operation.setTotalNumOfRecords(recordsCount);
+  }
+
+  private void prepareChunksServerSide(Operation operation) {
+    var filesPath = OPERATION_FILES_PATH.formatted(props.getS3SubPath(), operation.getId());
+    var chunksCount = props.isRecordsSnapshotEnabled()
+                      ? chunkJdbcService.createChunksFromSnapshot(operation.getId(), props.getChunkSize(), filesPath)
+                      : chunkJdbcService.createChunks(operation.getId(), operation.getEntityType(),
+                        props.getChunkSize(), filesPath);
+    log.info("prepareChunks:: created {} chunks for operation {}", chunksCount, operation.getId());
+  }
+
+  private void prepareChunksByRecordIds(Operation operation, Consumer<List<OperationChunk>> chunksConsumer) {
     var chunks = new LinkedList<OperationChunk>();
 
-    var recordIds = (operation.getEntityType() == EntityType.AUTHORITY)
-        ? authorityJdbcService.getAuthorityIdsChunk(props.getChunkFetchIdsCount()) :
-          instanceJdbcService.getInstanceIdsChunk(props.getChunkFetchIdsCount());
+    var recordIds = getRecordIds(operation, null);
     addChunksForRecordIds(operation, chunks, recordIds);
     var idFrom = Optional.ofNullable(chunks.peekLast()).map(OperationChunk::getEndRecordId).orElse(null);
 
     while (recordIds.size() == props.getChunkFetchIdsCount()) {
-      recordIds = (operation.getEntityType() == EntityType.AUTHORITY)
-          ? authorityJdbcService.getAuthorityIdsChunk(idFrom, props.getChunkFetchIdsCount()) :
-            instanceJdbcService.getInstanceIdsChunk(idFrom, props.getChunkFetchIdsCount());
+      recordIds = getRecordIds(operation, idFrom);
       addChunksForRecordIds(operation, chunks, recordIds);
 
       idFrom = Optional.ofNullable(chunks.peekLast()).map(OperationChunk::getEndRecordId).orElse(null);
       if (chunks.size() >= props.getChunkPersistCount()) {
-        chunkJdbcService.createChunks(chunks);
-        chunks.clear();
+        persistChunks(chunks, chunksConsumer);
       }
     }
 
     if (!chunks.isEmpty()) {
-      chunkJdbcService.createChunks(chunks);
+      persistChunks(chunks, chunksConsumer);
     }
-    log.info("prepareChunks:: finished for operation {}", operation.getId());
   }
 
-  public void updateChunkStatus(List<UUID> ids, OperationStatusType status) {
-    chunkJdbcService.updateChunkStatus(ids, status);
+  private List<UUID> getRecordIds(Operation operation, UUID idFrom) {
+    var limit = props.getChunkFetchIdsCount();
+    if (props.isRecordsSnapshotEnabled()) {
+      return recordsSnapshotJdbcService.getRecordIdsChunk(operation.getId(), idFrom, limit);
+    }
+    if (operation.getEntityType() == EntityType.AUTHORITY) {
+      return idFrom == null
+             ? authorityJdbcService.getAuthorityIdsChunk(limit)
+             : authorityJdbcService.getAuthorityIdsChunk(idFrom, limit);
+    }
+    return idFrom == null
+           ? instanceJdbcService.getInstanceIdsChunk(limit)
+           : instanceJdbcService.getInstanceIdsChunk(idFrom, limit);
+  }
+
+  private void persistChunks(List<OperationChunk> chunks, Consumer<List<OperationChunk>> chunksConsumer) {
+    chunkJdbcService.createChunks(chunks);
+    chunksConsumer.accept(List.copyOf(chunks));
+    chunks.clear();
   }
 
   private void addChunksForRecordIds(Operation operation, List<OperationChunk> chunks, List<UUID> recordIds) {
@@ -1,14 +1,13 @@
 package org.folio.marc.migrations.services.operations;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiFunction;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.folio.marc.migrations.domain.entities.ChunkStep;
 import org.folio.marc.migrations.domain.entities.Operation;
@@ -20,19 +19,20 @@ import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.domain.repositories.OperationErrorReportRepository;
 import org.folio.marc.migrations.services.TenantContextRunner;
 import org.folio.marc.migrations.services.batch.support.FolioS3Service;
+import org.folio.marc.migrations.services.domain.OperationErrorFilter;
 import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
 import org.folio.marc.migrations.services.jdbc.OperationErrorJdbcService;
 import org.folio.spring.data.OffsetRequest;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Log4j2
 @Service
 public class OperationErrorReportService {
 
-  private static final Pattern UUID_PATTERN =
-    Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}",
-      Pattern.CASE_INSENSITIVE);
+  private static final int UUID_LENGTH = 36;
   private static final String UNKNOWN_RECORD_ID = "<unknown>";
   private static final String ERROR_FILE_NOT_FOUND = "Error file not found for chunk";
   private static final String ERROR_PROCESSING_MESSAGE = "Error while processing error report for chunk step ";
@@ -42,16 +42,19 @@ public class OperationErrorReportService {
   private final OperationErrorJdbcService operationErrorJdbcService;
   private final OperationErrorReportRepository errorReportRepository;
   private final TenantContextRunner tenantContextRunner;
+  private final ExecutorService errorReportExecutor;
 
   public OperationErrorReportService(FolioS3Service s3Service, ChunkStepJdbcService chunkStepJdbcService,
                                      OperationErrorJdbcService operationErrorJdbcService,
                                      OperationErrorReportRepository errorReportRepository,
-                                     TenantContextRunner tenantContextRunner) {
+                                     TenantContextRunner tenantContextRunner,
+                                     @Qualifier("errorReportExecutor") ExecutorService errorReportExecutor) {
     this.s3Service = s3Service;
     this.chunkStepJdbcService = chunkStepJdbcService;
     this.operationErrorJdbcService = operationErrorJdbcService;
     this.errorReportRepository = errorReportRepository;
     this.tenantContextRunner = tenantContextRunner;
+    this.errorReportExecutor = errorReportExecutor;
   }
 
   public OperationErrorReport createErrorReport(@NonNull Operation operation) {
@@ -90,7 +93,7 @@ public class OperationErrorReportService {
       // Process each failed chunk in parallel
       List<CompletableFuture<Void>> futures = failedChunks.stream()
         .map(chunkStep -> CompletableFuture.runAsync(() -> tenantContextRunner.runInContext(tenantId,
-            buildErrorReportRunnable(operation, chunkStep, tenantId)))
+            buildErrorReportRunnable(operation, chunkStep, tenantId)), errorReportExecutor)
           .handle(errorHandler(chunkStep.getId())))
         .toList();
 
@@ -106,8 +109,26 @@ public class OperationErrorReportService {
     return errorReportRepository.findById(operationId);
   }
 
-  public List<OperationError> getErrorReportEntries(UUID operationId, OffsetRequest offsetRequest) {
-    return operationErrorJdbcService.getOperationErrors(operationId, offsetRequest);
+  public List<OperationError> getErrorReportEntries(UUID operationId, OperationErrorFilter filter,
+                                                    OffsetRequest offsetRequest) {
+    return operationErrorJdbcService.getOperationErrors(operationId, filter, offsetRequest);
+  }
+
+  public List<OperationError> getErrorReportEntriesAfter(UUID operationId, OperationErrorFilter filter, UUID afterId,
+                                                         int limit) {
+    return operationErrorJdbcService.getOperationErrorsAfter(operationId, filter, afterId, limit);
+  }
+
+  /**
+   * Passes all entries of the report to the consumer while reading them from a database cursor, so that the report
+   * is not kept in memory. The transaction holds the cursor open until the last entry is consumed.
+   */
+  @Transactional(readOnly = true)
+  public void exportErrorReportEntries(UUID operationId, OperationErrorFilter filter, int fetchSize,
+                                       Consumer<OperationError> consumer) {
+    try (var operationErrors = operationErrorJdbcService.streamOperationErrors(operationId, filter, fetchSize)) {
+      operationErrors.forEach(consumer);
+    }
   }
 
   private CompletableFuture<Void> completeOperationAndUpdateStatus(Operation operation, String tenantId,
@@ -133,22 +154,30 @@ public class OperationErrorReportService {
 
   private Runnable buildErrorReportRunnable(Operation operation, ChunkStep chunkStep, String tenantId) {
     return () -> {
-      List<OperationError> operationErrors = new ArrayList<>();
       if (StringUtils.isEmpty(chunkStep.getErrorChunkFileName())) {
-        operationErrors.add(createErrorForMissingFile(chunkStep, operation));
-      } else {
-        var errorFileLines = s3Service.readFile(chunkStep.getErrorChunkFileName());
-        if (CollectionUtils.isEmpty(errorFileLines)) {
-          log.warn("initiateErrorReport::No error file lines found for chunk step: {}", chunkStep.getId());
-          return;
-        }
-        errorFileLines.forEach(line ->
-          operationErrors.add(createOperationErrorFromLine(line, chunkStep, operation)));
+        operationErrorJdbcService.saveOperationErrors(List.of(createErrorForMissingFile(chunkStep, operation)),
+          tenantId);
+        return;
+      }
+      var savedErrors = saveErrorFileLines(operation, chunkStep, tenantId);
+      if (savedErrors == 0) {
+        log.warn("initiateErrorReport::No error file lines found for chunk step: {}", chunkStep.getId());
       }
-      operationErrorJdbcService.saveOperationErrors(operationErrors, tenantId);
     };
   }
 
+  /**
+   * Streams the error file of the chunk step into the report with COPY, so that the file is not kept in memory.
+   */
+  private long saveErrorFileLines(Operation operation, ChunkStep chunkStep, String tenantId) {
+    try (var errorFileLines = s3Service.readLines(chunkStep.getErrorChunkFileName())) {
+      var operationErrors = errorFileLines
+        .map(line -> createOperationErrorFromLine(line, chunkStep, operation))
+        .iterator();
+      return operationErrorJdbcService.copyOperationErrors(operationErrors, tenantId);
+    }
+  }
+
   private boolean isOperationCompleted(Operation operation) {
     return operation.getStatus() == OperationStatusType.DATA_MAPPING_COMPLETED
            || operation.getStatus() == OperationStatusType.DATA_SAVING_COMPLETED;
@@ -164,17 +193,34 @@ public class OperationErrorReportService {
     return prepareOperationError(operation, chunkStep, UNKNOWN_RECORD_ID, ERROR_FILE_NOT_FOUND);
   }
 
+  /**
+   * Splits the line into the record id and the error message at the first comma. Lines not starting with an id are
+   * kept whole as the error message of an unknown record.
+   */
   private OperationError createOperationErrorFromLine(String errorLine, ChunkStep chunkStep, Operation operation) {
-    var errorMessage = errorLine;
-    var recordId = StringUtils.substringBefore(errorLine, ',');
-    if (StringUtils.isBlank(recordId) || !UUID_PATTERN.matcher(recordId).matches()) {
-      recordId = UNKNOWN_RECORD_ID;
-    } else {
-      errorMessage = StringUtils.substringAfter(errorLine, ',');
+    var separatorIndex = errorLine.indexOf(',');
+    var recordId = separatorIndex < 0 ? errorLine : errorLine.substring(0, separatorIndex);
+    if (!isUuid(recordId)) {
+      return prepareOperationError(operation, chunkStep, UNKNOWN_RECORD_ID, errorLine);
     }
+    var errorMessage = separatorIndex < 0 ? "" : errorLine.substring(separatorIndex + 1);
     return prepareOperationError(operation, chunkStep, recordId, errorMessage);
   }
 
+  static boolean isUuid(String value) {
+    if (value.length() != UUID_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      var ch = value.charAt(i);
+      var valid = i == 8 || i == 13 || i == 18 || i == 23 ? ch == '-' : Character.digit(ch, 16) >= 0;
+      if (!valid) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   private OperationError prepareOperationError(Operation operation, ChunkStep chunkStep, String recordId,
                                                String errorMessage) {
     var error = new OperationError();
@@ -0,0 +1,119 @@
+package org.folio.marc.migrations.services.operations;
+
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.domain.OperationProgress;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes throughput and estimated completion of operations from their record counters and phase timestamps.
+ * Current throughput of a running phase is computed from the counters observed by previous requests within the
+ * window, so it does not depend on which module instance runs the job.
+ */
+@Component
+public class OperationProgressEstimator {
+
+  private final MigrationProperties props;
+  private final LongSupplier currentTimeMillis;
+  private final Map<UUID, Deque<Observation>> observations = new HashMap<>();
+
+  @Autowired
+  public OperationProgressEstimator(MigrationProperties props) {
+    this(props, System::currentTimeMillis);
+  }
+
+  OperationProgressEstimator(MigrationProperties props, LongSupplier currentTimeMillis) {
+    this.props = props;
+    this.currentTimeMillis = currentTimeMillis;
+  }
+
+  public OperationProgress estimate(Operation operation) {
+    var now = currentTimeMillis.getAsLong();
+    var status = operation.getStatus();
+    var mappingElapsed = elapsedMs(operation.getStartTimeMapping(), operation.getEndTimeMapping(),
+      status == OperationStatusType.DATA_MAPPING, now);
+    var savingElapsed = elapsedMs(operation.getStartTimeSaving(), operation.getEndTimeSaving(),
+      status == OperationStatusType.DATA_SAVING, now);
+    var mappingRate = perSecond(operation.getMappedNumOfRecords(), mappingElapsed);
+    var savingRate = perSecond(operation.getSavedNumOfRecords(), savingElapsed);
+    var progress = new OperationProgress(mappingElapsed, mappingRate, savingElapsed, savingRate, null, null, null);
+    if (status == OperationStatusType.DATA_MAPPING && mappingRate != null) {
+      return withEstimation(progress, operation, operation.getMappedNumOfRecords(), mappingRate, now);
+    }
+    if (status == OperationStatusType.DATA_SAVING && savingRate != null) {
+      return withEstimation(progress, operation, operation.getSavedNumOfRecords(), savingRate, now);
+    }
+    forget(operation.getId());
+    return progress;
+  }
+
+  private OperationProgress withEstimation(OperationProgress progress, Operation operation, int processed,
+                                           double averageRate, long now) {
+    var currentRate = currentRate(operation.getId(), operation.getStatus(), processed, now, averageRate);
+    Long remainingMs = null;
+    Timestamp completionTime = null;
+    if (currentRate > 0) {
+      var remainingRecords = Math.max(operation.getTotalNumOfRecords() - processed, 0);
+      remainingMs = Math.round(remainingRecords * 1000.0 / currentRate);
+      completionTime = new Timestamp(now + remainingMs);
+    }
+    return new OperationProgress(progress.mappingElapsedMs(), progress.mappingRecordsPerSecond(),
+      progress.savingElapsedMs(), progress.savingRecordsPerSecond(), currentRate, remainingMs, completionTime);
+  }
+
+  /**
+   * Adds the observation of the counter and computes the rate since the oldest observation within the window.
+   * Observations of another phase are dropped, as they are of another counter. Windows of operations that were not
+   * observed within the window are dropped as well.
+   */
+  private synchronized double currentRate(UUID operationId, OperationStatusType status, int processed, long now,
+                                          double averageRate) {
+    var windowStart = now - props.getProgressRateWindowMs();
+    observations.values().removeIf(window -> window.getLast().timeMs() < windowStart);
+    var window = observations.computeIfAbsent(operationId, id -> new ArrayDeque<>());
+    window.removeIf(observation -> observation.status() != status || observation.timeMs() < windowStart);
+    window.addLast(new Observation(status, now, processed));
+    var oldest = window.getFirst();
+    if (oldest.timeMs() >= now || oldest.processed() > processed) {
+      return averageRate;
+    }
+    return round((processed - oldest.processed()) * 1000.0 / (now - oldest.timeMs()));
+  }
+
+  private synchronized void forget(UUID operationId) {
+    observations.remove(operationId);
+  }
+
+  private static Long elapsedMs(Timestamp start, Timestamp end, boolean running, long now) {
+    if (start == null) {
+      return null;
+    }
+    if (running || end == null || end.before(start)) {
+      return running ? Math.max(now - start.getTime(), 0) : null;
+    }
+    return end.getTime() - start.getTime();
+  }
+
+  private static Double perSecond(Integer records, Long elapsedMs) {
+    if (records == null || elapsedMs == null) {
+      return null;
+    }
+    return elapsedMs == 0 ? 0 : round(records * 1000.0 / elapsedMs);
+  }
+
+  private static double round(double rate) {
+    return Math.round(rate * 100) / 100.0;
+  }
+
+  private record Observation(OperationStatusType status, long timeMs, int processed) {
+  }
+}
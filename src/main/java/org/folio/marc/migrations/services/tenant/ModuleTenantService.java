@@ -5,6 +5,7 @@ import org.folio.marc.migrations.services.jdbc.AuthorityJdbcService;
 import org.folio.marc.migrations.services.jdbc.InstanceJdbcService;
 import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.liquibase.FolioSpringLiquibase;
+import org.folio.spring.service.PrepareSystemUserService;
 import org.folio.spring.service.TenantService;
 import org.folio.tenant.domain.dto.TenantAttributes;
 import org.springframework.context.annotation.Primary;
@@ -18,15 +19,18 @@ public class ModuleTenantService extends TenantService {
 
   private final AuthorityJdbcService authorityJdbcService;
   private final InstanceJdbcService instanceJdbcService;
+  private final PrepareSystemUserService prepareSystemUserService;
 
   public ModuleTenantService(JdbcTemplate jdbcTemplate,
                              FolioExecutionContext context,
                              FolioSpringLiquibase folioSpringLiquibase,
                              AuthorityJdbcService authorityJdbcService,
-                             InstanceJdbcService instanceJdbcService) {
+                             InstanceJdbcService instanceJdbcService,
+                             PrepareSystemUserService prepareSystemUserService) {
     super(jdbcTemplate, context, folioSpringLiquibase);
     this.authorityJdbcService = authorityJdbcService;
     this.instanceJdbcService = instanceJdbcService;
+    this.prepareSystemUserService = prepareSystemUserService;
   }
 
   @Override
@@ -35,6 +39,7 @@ public class ModuleTenantService extends TenantService {
     super.afterTenantUpdate(tenantAttributes);
     authorityJdbcService.initViews(context.getTenantId());
     instanceJdbcService.initViews(context.getTenantId());
+    prepareSystemUserService.setupSystemUser();
     log.info("afterTenantUpdate::Completed additional setup [tenant: {}]", context.getTenantId());
   }
 }
@@ -0,0 +1,44 @@
+package org.folio.marc.migrations.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.SneakyThrows;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class AsyncConfigTest {
+
+  private final AsyncConfig asyncConfig = new AsyncConfig();
+
+  @Test
+  @SneakyThrows
+  void chunksPreparationExecutor_positive_preparationsRunAtSameTime() {
+    var props = new MigrationProperties();
+    props.setMigrationConcurrency(2);
+    var executor = asyncConfig.chunksPreparationExecutor(props);
+    var started = new CountDownLatch(2);
+    var finished = new CountDownLatch(2);
+    Runnable preparation = () -> {
+      started.countDown();
+      try {
+        if (started.await(5, TimeUnit.SECONDS)) {
+          finished.countDown();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    };
+
+    try {
+      executor.execute(preparation);
+      executor.execute(preparation);
+
+      assertThat(finished.await(10, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -21,6 +21,7 @@ import static org.folio.marc.migrations.domain.dto.OperationType.REMAPPING;
 import static org.folio.marc.migrations.domain.entities.types.StepStatus.COMPLETED;
 import static org.folio.marc.migrations.domain.entities.types.StepStatus.FAILED;
 import static org.folio.support.DatabaseHelper.OPERATION_TABLE;
+import static org.folio.support.TestConstants.MAPPER;
 import static org.folio.support.TestConstants.TENANT_ID;
 import static org.folio.support.TestConstants.USER_ID;
 import static org.folio.support.TestConstants.marcMigrationEndpoint;
@@ -36,7 +37,10 @@ import static org.hamcrest.Matchers.oneOf;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
@@ -52,11 +56,13 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.folio.marc.migrations.domain.dto.EntityType;
+import org.folio.marc.migrations.domain.dto.ErrorReportCollection;
 import org.folio.marc.migrations.domain.dto.ErrorReportStatus;
 import org.folio.marc.migrations.domain.dto.MigrationOperation;
 import org.folio.marc.migrations.domain.dto.MigrationOperationCollection;
@@ -128,7 +134,9 @@ class MarcMigrationsControllerIT extends IntegrationTestBase {
     doGetUntilMatches(marcMigrationEndpoint(operationId), operationStatus(DATA_MAPPING_COMPLETED));
     doGet(marcMigrationEndpoint(operationId))
       .andExpect(status().isOk())
-      .andExpect(mappedRecords(expectedTotalRecords));
+      .andExpect(mappedRecords(expectedTotalRecords))
+      .andExpect(jsonPath("progress.mappingElapsedMs", notNullValue()))
+      .andExpect(jsonPath("progress.mappingRecordsPerSecond", notNullValue()));
 
     assertChunksInDatabase(operationId, 9, OperationStatusType.DATA_MAPPING_COMPLETED);
     assertChunkStepsInDatabase(operationId, 9, COMPLETED);
@@ -567,6 +575,24 @@ class MarcMigrationsControllerIT extends IntegrationTestBase {
       .andExpect(jsonPath("errorReports[1].recordId", anyOf(is(recordId1), is(recordId2))))
       .andExpect(jsonPath("errorReports[1].errorMessage", anyOf(is("error1"), is("error2"))));
 
+    var firstPage = doGet(marcMigrationEndpoint(operationId) + "/error-report/errors?limit=2&stage=DATA_SAVING")
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("next", notNullValue()))
+      .andReturn();
+    var next = contentAsObj(firstPage, ErrorReportCollection.class).getNext();
+    doGet(marcMigrationEndpoint(operationId) + "/error-report/errors?limit=2&stage=DATA_SAVING&after=" + next)
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("errorReports", hasSize(2)))
+      .andExpect(jsonPath("errorReports[0].stage", is("DATA_SAVING")));
+
+    var export = tryGet(marcMigrationEndpoint(operationId) + "/error-report/errors/export?format=csv")
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    mockMvc.perform(asyncDispatch(export))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith("text/csv"))
+      .andExpect(content().string(containsString(recordId1 + ",error1")));
+
     okapi.wireMockServer().removeStubMapping(stub);
   }
 
@@ -827,7 +853,8 @@ class MarcMigrationsControllerIT extends IntegrationTestBase {
   private String getErrorFile(UUID operationId, OperationChunk errorChunk) {
     var fileNames = s3Client.list(OPERATION_PATH.formatted(operationId) + errorChunk.getId() + "_entity");
     var entityList = readFile(fileNames.getFirst());
-    return writeToFile(List.of(entityList.getFirst()));
+    var entityId = MAPPER.readValue(entityList.getFirst(), Map.class).get("id");
+    return writeToFile(List.of(" \"" + entityId + "\", error"));
   }
 
   private UUID getOperationId(MvcResult result) {
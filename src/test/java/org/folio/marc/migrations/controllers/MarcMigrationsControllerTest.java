@@ -3,26 +3,34 @@ package org.folio.marc.migrations.controllers;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
 import java.util.UUID;
 import org.folio.marc.migrations.controllers.delegates.MarcMigrationsService;
 import org.folio.marc.migrations.domain.dto.EntityType;
+import org.folio.marc.migrations.domain.dto.ErrorReportChunkStatus;
 import org.folio.marc.migrations.domain.dto.ErrorReportCollection;
+import org.folio.marc.migrations.domain.dto.ErrorReportStage;
 import org.folio.marc.migrations.domain.dto.ErrorReportStatus;
 import org.folio.marc.migrations.domain.dto.MigrationOperation;
 import org.folio.marc.migrations.domain.dto.MigrationOperationCollection;
 import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
 import org.folio.marc.migrations.domain.dto.SaveMigrationOperation;
+import org.folio.marc.migrations.exceptions.ApiValidationException;
 import org.folio.marc.migrations.services.ExpirationService;
+import org.folio.marc.migrations.services.domain.ErrorReportExportFormat;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
@@ -137,16 +145,50 @@ class MarcMigrationsControllerTest {
     // Arrange
     UUID operationId = UUID.randomUUID();
     ErrorReportCollection errorReportCollection = new ErrorReportCollection();
-    when(migrationsService.getErrorReportEntries(operationId, 0, 100)).thenReturn(errorReportCollection);
+    when(migrationsService.getErrorReportEntries(operationId, 0, 100, "token", ErrorReportStage.DATA_SAVING,
+      ErrorReportChunkStatus.FAILED)).thenReturn(errorReportCollection);
 
     // Act
-    var response = migrationsController.getMigrationErrors(operationId, TENANT_ID, 0, 100);
+    var response = migrationsController.getMigrationErrors(operationId, TENANT_ID, 0, 100, "token",
+      ErrorReportStage.DATA_SAVING, ErrorReportChunkStatus.FAILED);
 
     // Assert
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(errorReportCollection, response.getBody());
   }
 
+  @Test
+  void exportMigrationErrors_ReturnsStreamingResponse() {
+    // Arrange
+    UUID operationId = UUID.randomUUID();
+    StreamingResponseBody body = outputStream -> { };
+    when(migrationsService.exportErrorReportEntries(operationId, TENANT_ID, ErrorReportExportFormat.CSV,
+      ErrorReportStage.DATA_MAPPING, null)).thenReturn(body);
+
+    // Act
+    var response = migrationsController.exportMigrationErrors(operationId, TENANT_ID, "csv",
+      ErrorReportStage.DATA_MAPPING, null);
+
+    // Assert
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(body, response.getBody());
+    assertEquals(MediaType.parseMediaType("text/csv"), response.getHeaders().getContentType());
+    assertEquals("attachment; filename=\"" + operationId + "-errors.csv\"",
+      response.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+  }
+
+  @Test
+  void exportMigrationErrors_InvalidFormat_ThrowsApiValidationException() {
+    // Arrange
+    UUID operationId = UUID.randomUUID();
+
+    // Act & Assert
+    var exception = assertThrows(ApiValidationException.class,
+      () -> migrationsController.exportMigrationErrors(operationId, TENANT_ID, "xml", null, null));
+    assertEquals("format", exception.getFieldName());
+    verifyNoInteractions(migrationsService);
+  }
+
   @Test
   void retryMarcMigrations_ReturnsCreatedResponse() {
     // Arrange
@@ -2,24 +2,35 @@ package org.folio.marc.migrations.controllers.delegates;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.marc.migrations.controllers.delegates.MarcMigrationsService.NOT_FOUND_MSG;
+import static org.folio.support.TestConstants.TENANT_ID;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import lombok.SneakyThrows;
 import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.controllers.mappers.MarcMigrationMapper;
 import org.folio.marc.migrations.domain.dto.EntityType;
+import org.folio.marc.migrations.domain.dto.ErrorReport;
+import org.folio.marc.migrations.domain.dto.ErrorReportChunkStatus;
+import org.folio.marc.migrations.domain.dto.ErrorReportStage;
 import org.folio.marc.migrations.domain.dto.MigrationOperation;
 import org.folio.marc.migrations.domain.dto.MigrationOperationCollection;
+import org.folio.marc.migrations.domain.dto.MigrationOperationProgress;
 import org.folio.marc.migrations.domain.dto.MigrationOperationStatus;
 import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
 import org.folio.marc.migrations.domain.dto.OperationType;
@@ -33,8 +44,13 @@ import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.exceptions.ApiValidationException;
 import org.folio.marc.migrations.services.MigrationOrchestrator;
+import org.folio.marc.migrations.services.TenantContextRunner;
+import org.folio.marc.migrations.services.domain.ErrorReportExportFormat;
+import org.folio.marc.migrations.services.domain.OperationErrorFilter;
+import org.folio.marc.migrations.services.domain.OperationProgress;
 import org.folio.marc.migrations.services.jdbc.OperationErrorJdbcService;
 import org.folio.marc.migrations.services.operations.OperationErrorReportService;
+import org.folio.marc.migrations.services.operations.OperationProgressEstimator;
 import org.folio.marc.migrations.services.operations.OperationsService;
 import org.folio.spring.data.OffsetRequest;
 import org.folio.spring.exception.NotFoundException;
@@ -44,8 +60,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageImpl;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
@@ -57,6 +76,9 @@ class MarcMigrationsServiceTest {
   private @Mock OperationErrorReportService errorReportsService;
   private @Mock MigrationProperties props;
   private @Mock OperationErrorJdbcService operationErrorJdbcService;
+  private @Mock OperationProgressEstimator progressEstimator;
+  private @Mock TenantContextRunner tenantContextRunner;
+  private @Spy ObjectMapper objectMapper = JsonMapper.builder().build();
   private @InjectMocks MarcMigrationsService migrationsService;
 
   @Test
@@ -79,6 +101,28 @@ class MarcMigrationsServiceTest {
     verify(migrationOrchestrator).submitMappingTask(operation);
   }
 
+  @Test
+  void createNewMigration_MapAndSave_SubmitsMappingAndSavingTask() {
+    // Arrange
+    var validOperation = new NewMigrationOperation()
+      .operationType(OperationType.REMAPPING)
+      .entityType(EntityType.INSTANCE)
+      .mapAndSave(true)
+      .publishEvents(false);
+    var operation = new Operation();
+    when(mapper.toEntity(validOperation)).thenReturn(operation);
+    when(operationsService.createOperation(operation)).thenReturn(operation);
+    when(mapper.toDto(operation)).thenReturn(new MigrationOperation());
+
+    // Act
+    var result = migrationsService.createNewMigration(validOperation);
+
+    // Assert
+    assertNotNull(result);
+    verify(migrationOrchestrator).submitMappingAndSavingTask(operation, false);
+    verify(migrationOrchestrator, never()).submitMappingTask(operation);
+  }
+
   @Test
   void createNewMigration_InvalidOperationType_ThrowsApiValidationException() {
     // Arrange
@@ -96,14 +140,19 @@ class MarcMigrationsServiceTest {
     var operationId = UUID.randomUUID();
     var fetchedOperation = new Operation();
     var operationDto = new MigrationOperation();
+    var progress = new OperationProgress(1000L, 10.0, null, null, 12.5, 2000L, null);
+    var progressDto = new MigrationOperationProgress().currentRecordsPerSecond(12.5);
     when(operationsService.getOperation(operationId)).thenReturn(Optional.of(fetchedOperation));
     when(mapper.toDto(fetchedOperation)).thenReturn(operationDto);
+    when(progressEstimator.estimate(fetchedOperation)).thenReturn(progress);
+    when(mapper.toDto(progress)).thenReturn(progressDto);
 
     // Act
     var result = migrationsService.getMarcMigrationById(operationId);
 
     // Assert
     assertEquals(operationDto, result);
+    assertEquals(progressDto, result.getProgress());
     verify(operationsService).getOperation(operationId);
   }
 
@@ -266,11 +315,11 @@ class MarcMigrationsServiceTest {
     operationError.setRecordId("record1");
     operationError.setErrorMessage("Test error");
 
-    when(errorReportsService.getErrorReportEntries(eq(operationId), any(OffsetRequest.class)))
-      .thenReturn(List.of(operationError));
+    when(errorReportsService.getErrorReportEntries(eq(operationId), eq(OperationErrorFilter.ALL),
+      any(OffsetRequest.class))).thenReturn(List.of(operationError));
 
     // Act
-    var result = migrationsService.getErrorReportEntries(operationId, offset, limit);
+    var result = migrationsService.getErrorReportEntries(operationId, offset, limit, null, null, null);
 
     // Assert
     assertNotNull(result);
@@ -283,6 +332,113 @@ class MarcMigrationsServiceTest {
     assertEquals(operationError.getErrorMessage(), errorReport.getErrorMessage());
   }
 
+  @Test
+  void getErrorReportEntries_positive_nextTokenContinuesFromLastEntry() {
+    var operationId = UUID.randomUUID();
+    var filter = new OperationErrorFilter(OperationStep.DATA_SAVING, StepStatus.FAILED);
+    var first = operationError(UUID.randomUUID());
+    var second = operationError(UUID.randomUUID());
+    when(errorReportsService.getErrorReportEntries(eq(operationId), eq(filter), any(OffsetRequest.class)))
+      .thenReturn(List.of(first));
+    when(errorReportsService.getErrorReportEntriesAfter(operationId, filter, first.getId(), 1))
+      .thenReturn(List.of(second));
+
+    var firstPage = migrationsService.getErrorReportEntries(operationId, 0, 1, null,
+      ErrorReportStage.DATA_SAVING, ErrorReportChunkStatus.FAILED);
+    var secondPage = migrationsService.getErrorReportEntries(operationId, 0, 1, firstPage.getNext(),
+      ErrorReportStage.DATA_SAVING, ErrorReportChunkStatus.FAILED);
+
+    assertThat(firstPage.getNext()).isNotNull();
+    assertThat(secondPage.getErrorReports()).hasSize(1);
+    assertThat(secondPage.getNext()).isNotNull();
+  }
+
+  @Test
+  void getErrorReportEntries_positive_noNextTokenOnLastPage() {
+    var operationId = UUID.randomUUID();
+    when(errorReportsService.getErrorReportEntriesAfter(eq(operationId), eq(OperationErrorFilter.ALL),
+      any(UUID.class), eq(10))).thenReturn(List.of(operationError(UUID.randomUUID())));
+
+    var result = migrationsService.getErrorReportEntries(operationId, null, 10, "AAAAAAAAAAAAAAAAAAAAAA",
+      null, null);
+
+    assertThat(result.getErrorReports()).hasSize(1);
+    assertThat(result.getNext()).isNull();
+  }
+
+  @Test
+  void getErrorReportEntries_negative_invalidAfterToken() {
+    var operationId = UUID.randomUUID();
+
+    var exception = assertThrows(ApiValidationException.class,
+      () -> migrationsService.getErrorReportEntries(operationId, 0, 10, "not a token", null, null));
+
+    assertThat(exception.getFieldName()).isEqualTo("after");
+    verifyNoInteractions(errorReportsService);
+  }
+
+  @Test
+  void getErrorReportEntries_negative_afterTokenWithOffset() {
+    var operationId = UUID.randomUUID();
+
+    var exception = assertThrows(ApiValidationException.class,
+      () -> migrationsService.getErrorReportEntries(operationId, 5, 10, "AAAAAAAAAAAAAAAAAAAAAA", null, null));
+
+    assertThat(exception.getFieldName()).isEqualTo("offset");
+    verifyNoInteractions(errorReportsService);
+  }
+
+  @Test
+  @SneakyThrows
+  void exportErrorReportEntries_positive_ndjson() {
+    var operationId = UUID.randomUUID();
+    var operationError = operationError(UUID.randomUUID());
+    operationError.setRecordId("record1");
+    operationError.setErrorMessage("Test error");
+    mockErrorReportExport(operationId, OperationErrorFilter.ALL, List.of(operationError));
+
+    var output = export(operationId, ErrorReportExportFormat.NDJSON, null, null);
+
+    var lines = output.lines().toList();
+    assertThat(lines).hasSize(1);
+    var errorReport = objectMapper.readValue(lines.getFirst(), ErrorReport.class);
+    assertEquals(operationError.getReportId(), errorReport.getOperationId());
+    assertEquals(operationError.getChunkId().toString(), errorReport.getChunkId());
+    assertEquals("DATA_SAVING", errorReport.getStage());
+    assertEquals("record1", errorReport.getRecordId());
+    assertEquals("Test error", errorReport.getErrorMessage());
+  }
+
+  @Test
+  @SneakyThrows
+  void exportErrorReportEntries_positive_csvWithFilter() {
+    var operationId = UUID.randomUUID();
+    var filter = new OperationErrorFilter(OperationStep.DATA_SAVING, StepStatus.FAILED);
+    var operationError = operationError(UUID.randomUUID());
+    operationError.setRecordId("record1");
+    operationError.setErrorMessage("Field \"001\" is missing,\nskipped");
+    mockErrorReportExport(operationId, filter, List.of(operationError));
+
+    var output = export(operationId, ErrorReportExportFormat.CSV, ErrorReportStage.DATA_SAVING,
+      ErrorReportChunkStatus.FAILED);
+
+    assertThat(output).isEqualTo(ErrorReportExportWriter.CSV_HEADER + "\n"
+      + operationError.getReportId() + "," + operationError.getChunkId()
+      + ",DATA_SAVING,FAILED,record1,\"Field \"\"001\"\" is missing,\nskipped\"\n");
+  }
+
+  @Test
+  void exportErrorReportEntries_negative_reportNotFound() {
+    var operationId = UUID.randomUUID();
+    when(errorReportsService.getErrorReport(operationId)).thenReturn(Optional.empty());
+
+    var exception = assertThrows(NotFoundException.class, () -> migrationsService.exportErrorReportEntries(
+      operationId, TENANT_ID, ErrorReportExportFormat.NDJSON, null, null));
+
+    assertThat(exception).hasMessage(NOT_FOUND_MSG, operationId);
+    verifyNoInteractions(tenantContextRunner);
+  }
+
   @Test
   void retryMarcMigration_ValidInput_ReturnsMigrationOperation() {
     // Arrange
@@ -446,4 +602,36 @@ class MarcMigrationsServiceTest {
     verifyNoInteractions(operationErrorJdbcService);
     verifyNoInteractions(migrationOrchestrator);
   }
+
+  private OperationError operationError(UUID id) {
+    var operationError = new OperationError();
+    operationError.setId(id);
+    operationError.setReportId(UUID.randomUUID());
+    operationError.setChunkId(UUID.randomUUID());
+    operationError.setOperationStep(OperationStep.DATA_SAVING);
+    operationError.setChunkStatus(StepStatus.FAILED);
+    return operationError;
+  }
+
+  private void mockErrorReportExport(UUID operationId, OperationErrorFilter filter, List<OperationError> errors) {
+    when(errorReportsService.getErrorReport(operationId)).thenReturn(Optional.of(new OperationErrorReport()));
+    when(props.getErrorReportExportFetchSize()).thenReturn(100);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return null;
+    }).when(tenantContextRunner).runInContext(eq(TENANT_ID), any());
+    doAnswer(invocation -> {
+      errors.forEach(invocation.<Consumer<OperationError>>getArgument(3));
+      return null;
+    }).when(errorReportsService).exportErrorReportEntries(eq(operationId), eq(filter), eq(100), any());
+  }
+
+  @SneakyThrows
+  private String export(UUID operationId, ErrorReportExportFormat format, ErrorReportStage stage,
+                        ErrorReportChunkStatus chunkStatus) {
+    var body = migrationsService.exportErrorReportEntries(operationId, TENANT_ID, format, stage, chunkStatus);
+    var output = new ByteArrayOutputStream();
+    body.writeTo(output);
+    return output.toString(StandardCharsets.UTF_8);
+  }
 }
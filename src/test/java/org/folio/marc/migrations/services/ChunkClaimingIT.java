@@ -0,0 +1,67 @@
+package org.folio.marc.migrations.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.marc.migrations.domain.dto.EntityType.AUTHORITY;
+import static org.folio.marc.migrations.domain.dto.MigrationOperationStatus.DATA_MAPPING_COMPLETED;
+import static org.folio.marc.migrations.domain.dto.MigrationOperationStatus.DATA_SAVING;
+import static org.folio.marc.migrations.domain.dto.MigrationOperationStatus.DATA_SAVING_COMPLETED;
+import static org.folio.marc.migrations.domain.dto.OperationType.REMAPPING;
+import static org.folio.support.DatabaseHelper.OPERATION_TABLE;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.folio.support.TestConstants.marcMigrationEndpoint;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import org.folio.marc.migrations.domain.dto.MigrationOperation;
+import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
+import org.folio.marc.migrations.domain.dto.SaveMigrationOperation;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.spring.testing.extension.DatabaseCleanup;
+import org.folio.spring.testing.type.IntegrationTest;
+import org.folio.support.IntegrationTestBase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs migration operations with chunks claimed by partition workers instead of fixed id ranges.
+ */
+@IntegrationTest
+@DatabaseCleanup(tables = {OPERATION_TABLE})
+@TestPropertySource(properties = {
+  "folio.migration.chunk-claiming-enabled=true",
+  "folio.migration.chunk-processing-max-parallelism=4"
+})
+class ChunkClaimingIT extends IntegrationTestBase {
+
+  @BeforeAll
+  static void beforeAll() {
+    setUpTenant();
+  }
+
+  @Test
+  void createAndSaveMigrationAuthority_positive_chunksClaimed() throws Exception {
+    var migrationOperation = new NewMigrationOperation().operationType(REMAPPING).entityType(AUTHORITY);
+    var result = doPost(marcMigrationEndpoint(), migrationOperation).andReturn();
+    var operationId = contentAsObj(result, MigrationOperation.class).getId();
+
+    awaitUntilAsserted(() -> doGet(marcMigrationEndpoint(operationId))
+      .andExpect(jsonPath("status", is(DATA_MAPPING_COMPLETED.getValue())))
+      .andExpect(jsonPath("mappedNumOfRecords", is(81))));
+    assertChunks(operationId, OperationStatusType.DATA_MAPPING_COMPLETED);
+
+    tryPut(marcMigrationEndpoint(operationId), new SaveMigrationOperation().status(DATA_SAVING))
+      .andExpect(status().isNoContent());
+    awaitUntilAsserted(() -> doGet(marcMigrationEndpoint(operationId))
+      .andExpect(jsonPath("status", is(DATA_SAVING_COMPLETED.getValue())))
+      .andExpect(jsonPath("savedNumOfRecords", is(81))));
+    assertChunks(operationId, OperationStatusType.DATA_SAVING_COMPLETED);
+  }
+
+  private void assertChunks(UUID operationId, OperationStatusType status) {
+    assertThat(databaseHelper.getOperationChunks(TENANT_ID, operationId)).hasSize(9)
+      .allMatch(chunk -> chunk.getStatus() == status);
+  }
+}
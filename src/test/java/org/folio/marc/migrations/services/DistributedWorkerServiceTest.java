@@ -0,0 +1,126 @@
+package org.folio.marc.migrations.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.services.jdbc.OperationWorkerJdbcService;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.JobInstance;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.step.StepExecution;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class DistributedWorkerServiceTest {
+
+  private static final String JOB_NAME = "remappingJob";
+  private static final String INSTANCE_ID = "instance1";
+
+  private final MigrationProperties props = new MigrationProperties();
+  private @Mock OperationWorkerJdbcService jdbcService;
+  private @Mock TenantContextRunner tenantContextRunner;
+  private @Mock FolioExecutionContext context;
+  private String operationId;
+  private DistributedWorkerService service;
+
+  @BeforeEach
+  void setUp() {
+    props.setDistributedWorkersEnabled(true);
+    props.setWorkerInstanceId(INSTANCE_ID);
+    operationId = UUID.randomUUID().toString();
+    service = new DistributedWorkerService(props, jdbcService, tenantContextRunner, context);
+  }
+
+  @Test
+  void register_positive() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+
+    service.register(operationId, JOB_NAME);
+
+    verify(jdbcService).registerWorker(operationId, JOB_NAME, INSTANCE_ID);
+    assertThat(service.isRegistered(TENANT_ID, operationId, JOB_NAME)).isTrue();
+  }
+
+  @Test
+  void register_negative_disabled() {
+    props.setDistributedWorkersEnabled(false);
+
+    service.register(operationId, JOB_NAME);
+
+    verifyNoInteractions(jdbcService);
+    assertThat(service.isRegistered(TENANT_ID, operationId, JOB_NAME)).isFalse();
+  }
+
+  @Test
+  void instanceId_positive_randomWhenBlank() {
+    props.setWorkerInstanceId(" ");
+
+    var first = new DistributedWorkerService(props, jdbcService, tenantContextRunner, context);
+    var second = new DistributedWorkerService(props, jdbcService, tenantContextRunner, context);
+
+    assertThat(first.getInstanceId()).isNotBlank().isNotEqualTo(second.getInstanceId());
+  }
+
+  @Test
+  void hasOtherWorkers_positive_decisionKeptForStep() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    when(jdbcService.finishWorker(operationId, JOB_NAME, INSTANCE_ID, props.getWorkerLeaseMs())).thenReturn(false);
+    service.register(operationId, JOB_NAME);
+    var stepExecution = stepExecution();
+
+    assertThat(service.hasOtherWorkers(stepExecution, operationId)).isTrue();
+    assertThat(service.hasOtherWorkers(stepExecution, operationId)).isTrue();
+
+    verify(jdbcService).finishWorker(operationId, JOB_NAME, INSTANCE_ID, props.getWorkerLeaseMs());
+    assertThat(service.isRegistered(TENANT_ID, operationId, JOB_NAME)).isFalse();
+  }
+
+  @Test
+  void hasOtherWorkers_positive_lastWorker() {
+    when(jdbcService.finishWorker(operationId, JOB_NAME, INSTANCE_ID, props.getWorkerLeaseMs())).thenReturn(true);
+
+    assertThat(service.hasOtherWorkers(stepExecution(), operationId)).isFalse();
+  }
+
+  @Test
+  void hasOtherWorkers_negative_disabled() {
+    props.setDistributedWorkersEnabled(false);
+
+    assertThat(service.hasOtherWorkers(stepExecution(), operationId)).isFalse();
+    verifyNoInteractions(jdbcService);
+  }
+
+  @Test
+  void heartbeat_positive() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return null;
+    }).when(tenantContextRunner).runInContext(eq(TENANT_ID), any());
+    service.register(operationId, JOB_NAME);
+
+    service.heartbeat();
+
+    verify(jdbcService).heartbeat(operationId, JOB_NAME, INSTANCE_ID);
+  }
+
+  private StepExecution stepExecution() {
+    var jobExecution = new JobExecution(1L, new JobInstance(1L, JOB_NAME), new JobParameters());
+    return new StepExecution(1L, "testStep", jobExecution);
+  }
+}
@@ -0,0 +1,132 @@
+package org.folio.marc.migrations.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.folio.marc.migrations.domain.dto.EntityType.AUTHORITY;
+import static org.folio.marc.migrations.domain.dto.MigrationOperationStatus.DATA_MAPPING_COMPLETED;
+import static org.folio.marc.migrations.domain.dto.OperationType.REMAPPING;
+import static org.folio.support.DatabaseHelper.OPERATION_TABLE;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.folio.support.TestConstants.marcMigrationEndpoint;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.folio.marc.migrations.MarcMigrationsApplication;
+import org.folio.marc.migrations.domain.dto.MigrationOperation;
+import org.folio.marc.migrations.domain.dto.NewMigrationOperation;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.spring.testing.extension.DatabaseCleanup;
+import org.folio.spring.testing.type.IntegrationTest;
+import org.folio.support.IntegrationTestBase;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the module in distributed worker mode with a second application context connected to the same database.
+ */
+@IntegrationTest
+@DatabaseCleanup(tables = {OPERATION_TABLE})
+@TestPropertySource(properties = {
+  "folio.migration.distributed-workers-enabled=true",
+  "folio.migration.worker-instance-id=" + DistributedWorkersIT.INSTANCE_1,
+  "folio.migration.worker-lease-ms=2000",
+  "folio.migration.worker-poll-interval-ms=200",
+  "folio.migration.chunk-processing-max-parallelism=1",
+  "folio.migration.chunk-size=1"
+})
+class DistributedWorkersIT extends IntegrationTestBase {
+
+  static final String INSTANCE_1 = "instance1";
+  private static final String INSTANCE_2 = "instance2";
+  private static final String STOPPED_INSTANCE = "instance3";
+  private static final int TOTAL_RECORDS = 81;
+
+  private static ConfigurableApplicationContext secondInstance;
+
+  @BeforeAll
+  static void beforeAll() {
+    setUpTenant();
+    // command line arguments, as default properties do not override the test profile
+    secondInstance = new SpringApplicationBuilder(MarcMigrationsApplication.class)
+      .profiles("test")
+      .run("--server.port=0",
+        "--folio.okapi-url=" + okapi.getOkapiUrl(),
+        "--folio.migration.distributed-workers-enabled=true",
+        "--folio.migration.worker-instance-id=" + INSTANCE_2,
+        "--folio.migration.worker-lease-ms=2000",
+        "--folio.migration.worker-poll-interval-ms=200",
+        "--folio.migration.chunk-processing-max-parallelism=1",
+        "--folio.migration.chunk-size=1");
+  }
+
+  @AfterAll
+  static void afterAll() {
+    if (secondInstance != null) {
+      secondInstance.close();
+    }
+  }
+
+  @DynamicPropertySource
+  static void okapiUrl(DynamicPropertyRegistry registry) {
+    registry.add("folio.okapi-url", () -> okapi.getOkapiUrl());
+  }
+
+  @Test
+  void createNewMigrationAuthority_positive_processedByInstances() throws Exception {
+    var operationId = createOperationAndAwaitMapping();
+
+    var chunks = databaseHelper.getOperationChunks(TENANT_ID, operationId);
+    assertThat(chunks).hasSize(TOTAL_RECORDS)
+      .allMatch(chunk -> chunk.getStatus() == OperationStatusType.DATA_MAPPING_COMPLETED);
+    assertThat(databaseHelper.getChunkClaimers(TENANT_ID, operationId))
+      .containsExactlyInAnyOrder(INSTANCE_1, INSTANCE_2);
+    assertThat(databaseHelper.countOperationWorkers(TENANT_ID, operationId)).isZero();
+  }
+
+  @Test
+  void createNewMigrationAuthority_positive_chunkOfStoppedInstanceReclaimed() throws Exception {
+    var operationId = createOperationAndAwaitMapping();
+    var chunk = databaseHelper.getOperationChunks(TENANT_ID, operationId).getFirst();
+
+    // the stopped instance claimed the chunk, and its worker has no heartbeats since then
+    databaseHelper.claimChunk(TENANT_ID, chunk.getId(), OperationStatusType.DATA_MAPPING.name(), STOPPED_INSTANCE);
+    databaseHelper.updateOperation(TENANT_ID, operationId, OperationStatusType.DATA_MAPPING.name(),
+      TOTAL_RECORDS - chunk.getNumOfRecords());
+    databaseHelper.saveOperationWorker(TENANT_ID, operationId, "remappingJob", STOPPED_INSTANCE,
+      Timestamp.from(Instant.now().minusSeconds(60)));
+
+    awaitMapping(operationId);
+    var reclaimedChunk = databaseHelper.getOperationChunks(TENANT_ID, operationId).stream()
+      .filter(operationChunk -> operationChunk.getId().equals(chunk.getId()))
+      .findFirst()
+      .orElseThrow();
+    assertThat(reclaimedChunk.getStatus()).isEqualTo(OperationStatusType.DATA_MAPPING_COMPLETED);
+    assertThat(databaseHelper.getChunkClaimers(TENANT_ID, operationId)).doesNotContain(STOPPED_INSTANCE);
+    assertThat(databaseHelper.countOperationWorkers(TENANT_ID, operationId)).isZero();
+  }
+
+  private UUID createOperationAndAwaitMapping() throws Exception {
+    var migrationOperation = new NewMigrationOperation().operationType(REMAPPING).entityType(AUTHORITY);
+    var result = doPost(marcMigrationEndpoint(), migrationOperation).andReturn();
+    var operationId = contentAsObj(result, MigrationOperation.class).getId();
+    awaitMapping(operationId);
+    return operationId;
+  }
+
+  private void awaitMapping(UUID operationId) {
+    await().pollInterval(Duration.ofMillis(200)).atMost(Duration.ofSeconds(30)).untilAsserted(() ->
+      doGet(marcMigrationEndpoint(operationId))
+        .andExpect(jsonPath("status", is(DATA_MAPPING_COMPLETED.getValue())))
+        .andExpect(jsonPath("mappedNumOfRecords", is(TOTAL_RECORDS))));
+  }
+}
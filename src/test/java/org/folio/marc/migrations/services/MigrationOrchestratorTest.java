@@ -1,6 +1,7 @@
 package org.folio.marc.migrations.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.folio.marc.migrations.services.batch.support.JobConstants.JobParameterNames.ENTITY_TYPE;
 import static org.folio.marc.migrations.services.batch.support.JobConstants.JobParameterNames.OPERATION_ID;
 import static org.folio.marc.migrations.services.batch.support.JobConstants.JobParameterNames.PUBLISH_EVENTS_FLAG;
@@ -14,18 +15,24 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import lombok.SneakyThrows;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.dto.MigrationOperationStatus;
 import org.folio.marc.migrations.domain.dto.SaveMigrationOperation;
 import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
 import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.services.batch.support.JobConstants;
+import org.folio.marc.migrations.services.batch.support.PreparedChunksQueueRegistry;
 import org.folio.marc.migrations.services.domain.OperationTimeType;
+import org.folio.marc.migrations.services.domain.OperationWork;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
 import org.folio.marc.migrations.services.jdbc.SpringBatchExecutionParamsJdbcService;
 import org.folio.marc.migrations.services.operations.ChunkService;
@@ -36,6 +43,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.job.Job;
 import org.springframework.batch.core.job.parameters.JobParameter;
@@ -50,8 +58,12 @@ class MigrationOrchestratorTest {
   private @Mock OperationJdbcService jdbcService;
   private @Mock JobOperator jobOperator;
   private @Mock Job job;
-  private @Mock FolioExecutor remappingExecutor;
+  private @Mock TenantFairExecutor remappingExecutor;
+  private @Mock FolioExecutor chunksPreparationExecutor;
   private @Mock SpringBatchExecutionParamsJdbcService executionParamsJdbcService;
+  private @Mock MigrationProperties props;
+  private @Spy PreparedChunksQueueRegistry preparedChunksQueueRegistry;
+  private @Mock DistributedWorkerService workerService;
   private @InjectMocks MigrationOrchestrator service;
 
   @Test
@@ -146,6 +158,102 @@ class MigrationOrchestratorTest {
     verifyNoMoreInteractions(jdbcService);
   }
 
+  @Test
+  @SneakyThrows
+  void submitMappingAndSavingTask_positive() {
+    // Arrange
+    var operation = prepareOperation(OperationStatusType.NEW, EntityType.INSTANCE);
+    var operationId = operation.getId().toString();
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(remappingExecutor).execute(any());
+
+    // Act
+    service.submitMappingAndSavingTask(operation, false).get(200, TimeUnit.MILLISECONDS);
+
+    // Assert
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING),
+      eq(OperationTimeType.MAPPING_START), notNull());
+    verify(chunkService).prepareChunks(operation);
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_SAVING),
+      eq(OperationTimeType.SAVING_START), notNull());
+    verify(jobOperator).start(job, new JobParameters(
+      Set.of(
+        new JobParameter<>(OPERATION_ID, operationId, String.class),
+        new JobParameter<>(ENTITY_TYPE, operation.getEntityType(), EntityType.class),
+        new JobParameter<>(PUBLISH_EVENTS_FLAG, false, Boolean.class)
+      )));
+    verifyNoMoreInteractions(jdbcService);
+  }
+
+  @Test
+  @SneakyThrows
+  void submitMappingAndSavingTask_negative_shouldFailAndUpdateOperationStatus_whenPreparationFails() {
+    // Arrange
+    var operation = prepareOperation(OperationStatusType.NEW, EntityType.AUTHORITY);
+    var operationId = operation.getId().toString();
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(remappingExecutor).execute(any());
+    doThrow(new IllegalStateException()).when(chunkService).prepareChunks(operation);
+
+    // Act
+    service.submitMappingAndSavingTask(operation, true).get(200, TimeUnit.MILLISECONDS);
+
+    // Assert
+    verify(jdbcService).updateOperationStatus(eq(operationId),
+      eq(OperationStatusType.DATA_MAPPING_FAILED), eq(OperationTimeType.MAPPING_END), notNull());
+    verifyNoInteractions(jobOperator);
+  }
+
+  @Test
+  @SneakyThrows
+  @SuppressWarnings("unchecked")
+  void submitMappingTask_positive_chunkPreparationPipelined() {
+    // Arrange
+    var operation = prepareOperation(OperationStatusType.DATA_MAPPING, EntityType.AUTHORITY);
+    var operationId = operation.getId().toString();
+    var chunk = OperationChunk.builder().id(UUID.randomUUID()).build();
+    var mappedChunks = new ArrayList<OperationChunk>();
+    when(props.isChunkPreparationPipelined()).thenReturn(true);
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(remappingExecutor).execute(any());
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(chunksPreparationExecutor).execute(any());
+    doAnswer(invocation -> {
+      ((Consumer<List<OperationChunk>>) invocation.getArgument(1)).accept(List.of(chunk));
+      return null;
+    }).when(chunkService).prepareChunks(eq(operation), any());
+    when(jobOperator.start(any(Job.class), any(JobParameters.class))).thenAnswer(invocation -> {
+      var queue = preparedChunksQueueRegistry.get(operationId);
+      for (var next = queue.take(); next != null; next = queue.take()) {
+        mappedChunks.add(next);
+      }
+      return null;
+    });
+
+    // Act
+    service.submitMappingTask(operation).get(2, TimeUnit.SECONDS);
+
+    // Assert
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING),
+      eq(OperationTimeType.MAPPING_START), notNull());
+    verify(jobOperator).start(job, new JobParameters(
+      Set.of(
+        new JobParameter<>(OPERATION_ID, operationId, String.class),
+        new JobParameter<>(ENTITY_TYPE, operation.getEntityType(), EntityType.class)
+      )));
+    assertThat(mappedChunks).containsExactly(chunk);
+    verify(preparedChunksQueueRegistry).remove(operationId);
+    verifyNoMoreInteractions(jdbcService);
+  }
+
   @Test
   @SneakyThrows
   void submitMappingSaveTask_positive() {
@@ -337,6 +445,66 @@ class MigrationOrchestratorTest {
     assertThat(capturedTimestamp).isInstanceOf(String.class);
   }
 
+  @Test
+  @SneakyThrows
+  void joinOperation_positive() {
+    // Arrange
+    var operation = prepareOperation(OperationStatusType.DATA_SAVING, EntityType.AUTHORITY);
+    var operationId = operation.getId().toString();
+    when(job.getName()).thenReturn("remappingSaveJob");
+    when(jdbcService.getOperation(operationId)).thenReturn(operation);
+    when(executionParamsJdbcService.getBatchExecutionParam(PUBLISH_EVENTS_FLAG, operationId)).thenReturn("false");
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(remappingExecutor).execute(any());
+    var jobParametersCaptor = ArgumentCaptor.forClass(JobParameters.class);
+
+    // Act
+    var work = new OperationWork(operation.getId(), "remappingSaveJob");
+    service.joinOperation(work).get(200, TimeUnit.MILLISECONDS);
+
+    // Assert
+    verify(workerService).register(operationId, "remappingSaveJob");
+    verify(jobOperator).start(eq(job), jobParametersCaptor.capture());
+    var capturedParameters = jobParametersCaptor.getValue();
+    assertThat(capturedParameters.getString(OPERATION_ID)).isEqualTo(operationId);
+    assertThat(capturedParameters.getParameter(PUBLISH_EVENTS_FLAG).value()).isEqualTo(false);
+    assertThat(capturedParameters.getParameter(JobConstants.JobParameterNames.TIMESTAMP)).isNotNull();
+  }
+
+  @Test
+  @SneakyThrows
+  void joinOperation_negative_leavesWhenBatchJobFails() {
+    // Arrange
+    var operation = prepareOperation(OperationStatusType.DATA_MAPPING, EntityType.AUTHORITY);
+    var operationId = operation.getId().toString();
+    when(job.getName()).thenReturn("remappingJob");
+    when(jdbcService.getOperation(operationId)).thenReturn(operation);
+    doAnswer(invocation -> {
+      ((Runnable) invocation.getArgument(0)).run();
+      return null;
+    }).when(remappingExecutor).execute(any());
+    doThrow(new IllegalStateException()).when(jobOperator).start(any(Job.class), any(JobParameters.class));
+
+    // Act
+    var future = service.joinOperation(new OperationWork(operation.getId(), "remappingJob"));
+
+    // Assert
+    assertThat(future).isCompletedExceptionally();
+    verify(workerService).register(operationId, "remappingJob");
+    verify(workerService).leave(operationId, "remappingJob");
+  }
+
+  @Test
+  void joinOperation_negative_unknownJob() {
+    when(job.getName()).thenReturn("remappingJob");
+    var work = new OperationWork(UUID.randomUUID(), "remappingRetryJob");
+
+    assertThatThrownBy(() -> service.joinOperation(work)).isInstanceOf(IllegalArgumentException.class);
+    verifyNoInteractions(jobOperator);
+  }
+
   private Operation prepareOperation(OperationStatusType dataSaving, EntityType authority) {
     var operation = new Operation();
     operation.setId(UUID.randomUUID());
@@ -0,0 +1,119 @@
+package org.folio.marc.migrations.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.SneakyThrows;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.scope.FolioExecutionContextSetter;
+import org.folio.spring.scope.FolioExecutionScopeExecutionContextManager;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class TenantFairExecutorTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private @Mock FolioExecutionContext context;
+  private TenantFairExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  void execute_positive_limitedByConcurrency() {
+    executor = new TenantFairExecutor(2, 2, context);
+    when(context.getTenantId()).thenReturn("tenant1", "tenant2", "tenant3");
+
+    executor.execute(this::awaitRelease);
+    executor.execute(this::awaitRelease);
+    executor.execute(this::awaitRelease);
+
+    assertThat(executor.runningTasks()).isEqualTo(2);
+    assertThat(executor.queuedTasks()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_positive_limitedByTenantConcurrency() {
+    executor = new TenantFairExecutor(2, 1, context);
+    when(context.getTenantId()).thenReturn("tenant1", "tenant1", "tenant2");
+
+    executor.execute(this::awaitRelease);
+    executor.execute(this::awaitRelease);
+    assertThat(executor.runningTasks()).isEqualTo(1);
+
+    executor.execute(this::awaitRelease);
+    assertThat(executor.runningTasks()).isEqualTo(2);
+    assertThat(executor.queuedTasks()).isEqualTo(1);
+  }
+
+  @Test
+  @SneakyThrows
+  void execute_positive_tenantsTakeSlotsInTurns() {
+    executor = new TenantFairExecutor(1, 1, context);
+    when(context.getTenantId()).thenReturn("tenant1", "tenant1", "tenant1", "tenant2");
+    List<String> completed = new CopyOnWriteArrayList<>();
+    var done = new CountDownLatch(3);
+
+    executor.execute(this::awaitRelease);
+    executor.execute(() -> complete("tenant1-1", completed, done));
+    executor.execute(() -> complete("tenant1-2", completed, done));
+    executor.execute(() -> complete("tenant2-1", completed, done));
+    release.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(completed).containsExactly("tenant1-1", "tenant2-1", "tenant1-2");
+  }
+
+  @Test
+  @SneakyThrows
+  void execute_positive_runsInSubmittingContext() {
+    executor = new TenantFairExecutor(1, 1, context);
+    when(context.getTenantId()).thenReturn("tenant1");
+    var taskContext = new AtomicReference<FolioExecutionContext>();
+    var done = new CountDownLatch(1);
+
+    try (var fec = new FolioExecutionContextSetter(context)) {
+      executor.execute(() -> {
+        taskContext.set(FolioExecutionScopeExecutionContextManager.getFolioExecutionContext());
+        done.countDown();
+      });
+    }
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(taskContext.get().getTenantId()).isEqualTo("tenant1");
+  }
+
+  @Test
+  void execute_negative_rejectedAfterShutdown() {
+    executor = new TenantFairExecutor(1, 1, context);
+    executor.shutdown();
+
+    assertThatThrownBy(() -> executor.execute(this::awaitRelease)).isInstanceOf(RejectedExecutionException.class);
+  }
+
+  @SneakyThrows
+  private void awaitRelease() {
+    release.await(5, TimeUnit.SECONDS);
+  }
+
+  private void complete(String task, List<String> completed, CountDownLatch done) {
+    completed.add(task);
+    done.countDown();
+  }
+}
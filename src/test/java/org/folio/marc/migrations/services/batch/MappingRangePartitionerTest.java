@@ -14,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.infrastructure.item.ExecutionContext;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
@@ -96,4 +97,14 @@ class MappingRangePartitionerTest {
     assertThat(only.containsKey(MappingRangePartitioner.FROM_ID_KEY)).isFalse();
     assertThat(only.getString(MappingRangePartitioner.TO_ID_KEY)).isEqualTo(b0.toString());
   }
+
+  @Test
+  void partition_chunkClaimingCreatesPartitionsWithoutBounds() {
+    when(jdbcService.getChunkRangeBoundaries(operationId, 4)).thenReturn(List.of(UUID.randomUUID(), UUID.randomUUID()));
+
+    var partitions = new MappingRangePartitioner(operationId, jdbcService, true).partition(4);
+
+    assertThat(partitions).hasSize(2);
+    assertThat(partitions.values()).allMatch(ExecutionContext::isEmpty);
+  }
 }
@@ -0,0 +1,94 @@
+package org.folio.marc.migrations.services.batch.mapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ClaimingChunkReaderTest {
+
+  private static final List<OperationStatusType> CLAIMABLE = List.of(OperationStatusType.NEW);
+  private static final List<OperationStatusType> PENDING =
+    List.of(OperationStatusType.NEW, OperationStatusType.DATA_MAPPING);
+
+  private @Mock ChunkJdbcService jdbcService;
+  private @Mock TransactionTemplate transactionTemplate;
+  private String operationId;
+  private ClaimingChunkReader reader;
+
+  @BeforeEach
+  void setUp() {
+    operationId = UUID.randomUUID().toString();
+    reader = new ClaimingChunkReader(operationId, CLAIMABLE, OperationStatusType.DATA_MAPPING, 2, jdbcService);
+  }
+
+  @Test
+  @SneakyThrows
+  void read_positive_claimsUntilNoChunksRemain() {
+    var firstClaim = chunks(2);
+    var secondClaim = chunks(1);
+    when(jdbcService.claimChunks(operationId, CLAIMABLE, OperationStatusType.DATA_MAPPING, 2))
+      .thenReturn(firstClaim, secondClaim, List.of());
+
+    var actualChunks = new LinkedList<OperationChunk>();
+    for (var chunk = reader.read(); chunk != null; chunk = reader.read()) {
+      actualChunks.add(chunk);
+    }
+
+    assertThat(actualChunks).containsExactlyElementsOf(Stream.concat(firstClaim.stream(), secondClaim.stream())
+      .toList());
+    verify(jdbcService, times(3)).claimChunks(operationId, CLAIMABLE, OperationStatusType.DATA_MAPPING, 2);
+  }
+
+  @Test
+  @SneakyThrows
+  void read_negative_noChunksToClaim() {
+    when(jdbcService.claimChunks(operationId, CLAIMABLE, OperationStatusType.DATA_MAPPING, 2))
+      .thenReturn(List.of());
+
+    assertThat(reader.read()).isNull();
+  }
+
+  @Test
+  @SneakyThrows
+  void read_positive_withLease_waitsForChunksClaimedByOtherInstances() {
+    var lease = new ClaimingChunkReader.Lease("instance1", 60_000, 1, transactionTemplate);
+    reader = new ClaimingChunkReader(operationId, CLAIMABLE, OperationStatusType.DATA_MAPPING, 2, jdbcService, lease);
+    var reclaimed = chunks(1);
+    when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+      invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    when(jdbcService.claimChunks(operationId, CLAIMABLE, OperationStatusType.DATA_MAPPING, 2, "instance1", 60_000))
+      .thenReturn(List.of(), reclaimed, List.of());
+    when(jdbcService.countPendingChunks(operationId, PENDING)).thenReturn(1L, 0L);
+
+    assertThat(reader.read()).isEqualTo(reclaimed.getFirst());
+    assertThat(reader.read()).isNull();
+    verify(jdbcService, times(2)).countPendingChunks(operationId, PENDING);
+  }
+
+  private List<OperationChunk> chunks(int count) {
+    return Stream.generate(() -> OperationChunk.builder().id(UUID.randomUUID()).build())
+      .limit(count)
+      .toList();
+  }
+}
@@ -6,10 +6,12 @@ import static org.folio.marc.migrations.domain.entities.types.EntityType.INSTANC
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.List;
@@ -24,17 +26,21 @@ import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
 import org.folio.marc.migrations.services.domain.RecordsMappingData;
 import org.folio.marc.migrations.services.jdbc.AuthorityJdbcService;
 import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
 import org.folio.marc.migrations.services.jdbc.InstanceJdbcService;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.marc.migrations.services.jdbc.RecordsSnapshotJdbcService;
+import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @UnitTest
@@ -49,7 +55,10 @@ class MappingRecordsChunkPreProcessorTest {
   private @Mock ChunkStepJdbcService chunkStepJdbcService;
   private @Mock InstanceJdbcService instanceJdbcService;
   private @Mock OperationJdbcService operationJdbcService;
+  private @Mock RecordsSnapshotJdbcService recordsSnapshotJdbcService;
   private @Mock MigrationProperties props;
+  private @Spy MigrationMetrics metrics =
+    new MigrationMetrics(new SimpleMeterRegistry(), mock(FolioExecutionContext.class));
   private @InjectMocks MappingRecordsChunkPreProcessor processor;
 
   @Test
@@ -66,6 +75,22 @@ class MappingRecordsChunkPreProcessorTest {
     process_positive(chunk, marcRecords);
   }
 
+  @Test
+  void processInstance_positive_fromRecordsSnapshot() {
+    int numOfRecords = 5;
+    var chunk = chunk(numOfRecords, INSTANCE_OPERATION_ID);
+    var marcRecords = marcRecords(numOfRecords);
+
+    when(props.isRecordsSnapshotEnabled()).thenReturn(true);
+    when(recordsSnapshotJdbcService.getRecordsChunk(INSTANCE_OPERATION_ID, INSTANCE, chunk.getStartRecordId(),
+      chunk.getEndRecordId())).thenReturn(marcRecords);
+    when(props.getS3SubPath()).thenReturn(S3_SUB_PATH);
+    processor.setEntityType(INSTANCE);
+
+    process_positive(chunk, marcRecords);
+    verify(instanceJdbcService, never()).getInstancesChunk(any(), any());
+  }
+
   @Test
   void processInstance_positive() {
     int numOfRecords = 5;
@@ -80,6 +105,62 @@ class MappingRecordsChunkPreProcessorTest {
     process_positive(chunk, marcRecords);
   }
 
+  @Test
+  void processInstance_positive_streamed() {
+    int numOfRecords = 5;
+    var chunk = chunk(numOfRecords, INSTANCE_OPERATION_ID);
+    var marcRecords = marcRecords(numOfRecords);
+
+    when(props.isRecordsStreamingEnabled()).thenReturn(true);
+    when(props.getRecordsStreamingFetchSize()).thenReturn(2);
+    when(props.getS3SubPath()).thenReturn(S3_SUB_PATH);
+    when(instanceJdbcService.streamInstancesChunk(chunk.getStartRecordId(), chunk.getEndRecordId(), 2))
+      .thenReturn(marcRecords.stream());
+    processor.setEntityType(INSTANCE);
+
+    var actual = processor.process(chunk);
+
+    assertThat(actual.isStreamed()).isTrue();
+    assertThat(actual.records()).isEmpty();
+    verify(instanceJdbcService, never()).getInstancesChunk(any(), any());
+    var stepCaptor = ArgumentCaptor.forClass(ChunkStep.class);
+    verify(chunkStepJdbcService).createChunkStep(stepCaptor.capture());
+    assertMappingData(chunk, stepCaptor.getValue(), actual.mappingData());
+    assertThat(actual.recordsStream().get()).containsExactlyElementsOf(marcRecords);
+  }
+
+  @Test
+  void process_positive_streamedRetryReducesMappedNumOfStreamedRecords() {
+    var chunk = getOperationChunk();
+    var existingChunkStep = ChunkStep.builder()
+      .id(UUID.randomUUID())
+      .operationId(chunk.getOperationId())
+      .operationChunkId(chunk.getId())
+      .operationStep(OperationStep.DATA_MAPPING)
+      .status(StepStatus.IN_PROGRESS)
+      .numOfErrors(1)
+      .build();
+    var marcRecords = marcRecords(3);
+
+    when(props.isRecordsStreamingEnabled()).thenReturn(true);
+    when(props.getRecordsStreamingFetchSize()).thenReturn(2);
+    when(chunkStepJdbcService.getChunkStepByChunkIdAndOperationStep(chunk.getId(), OperationStep.DATA_MAPPING))
+      .thenReturn(existingChunkStep);
+    when(authorityJdbcService.streamAuthoritiesChunk(chunk.getStartRecordId(), chunk.getEndRecordId(), 2))
+      .thenReturn(marcRecords.stream());
+    processor.setEntityType(EntityType.AUTHORITY);
+
+    var actual = processor.process(chunk);
+
+    assert actual != null;
+    verify(operationJdbcService, never()).updateOperationMappedNumber(any(), anyInt());
+    try (var records = actual.recordsStream().get()) {
+      assertThat(records).containsExactlyElementsOf(marcRecords);
+    }
+    verify(chunkStepJdbcService, never()).createChunkStep(any());
+    verify(operationJdbcService).updateOperationMappedNumber(chunk.getOperationId(), marcRecords.size() - 1);
+  }
+
   @Test
   void process_UpdatesExistingChunkStepForDataMappingStatus() {
     // Arrange
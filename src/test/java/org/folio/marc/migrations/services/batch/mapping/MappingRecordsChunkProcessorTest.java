@@ -1,40 +1,44 @@
 package org.folio.marc.migrations.services.batch.mapping;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.marc.migrations.domain.entities.types.EntityType.AUTHORITY;
 import static org.folio.marc.migrations.domain.entities.types.EntityType.INSTANCE;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.json.JsonObject;
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.marc.migrations.domain.entities.types.EntityType;
-import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
-import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.services.batch.support.MappingMetadataProvider;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
 import org.folio.marc.migrations.services.domain.MappingComposite;
 import org.folio.marc.migrations.services.domain.MappingResult;
 import org.folio.marc.migrations.services.domain.RecordsMappingData;
-import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
-import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
-import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
 import org.folio.processing.mapping.defaultmapper.processor.parameters.MappingParameters;
+import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -47,10 +51,11 @@ class MappingRecordsChunkProcessorTest {
 
   private @Spy ObjectMapper objectMapper;
   private @Mock MappingMetadataProvider mappingMetadataProvider;
-  private @Mock OperationJdbcService jdbcService;
-  private @Mock ChunkJdbcService chunkJdbcService;
-  private @Mock ChunkStepJdbcService chunkStepJdbcService;
-  private @InjectMocks MappingRecordsChunkProcessor mapper;
+  private @Mock OperationProgressCounters progressCounters;
+  private final MigrationProperties props = new MigrationProperties();
+  private final MigrationMetrics metrics =
+    new MigrationMetrics(new SimpleMeterRegistry(), mock(FolioExecutionContext.class));
+  private MappingRecordsChunkProcessor mapper;
 
   private RecordsMappingData mappingData;
 
@@ -63,6 +68,7 @@ class MappingRecordsChunkProcessorTest {
     var chunkId = UUID.randomUUID();
     var chunkStepId = UUID.randomUUID();
     mappingData = new RecordsMappingData(UUID.randomUUID(), chunkId, chunkStepId, null, 2, null, null);
+    mapper = processor(new ForkJoinPool(1));
   }
 
   @Test
@@ -96,10 +102,87 @@ class MappingRecordsChunkProcessorTest {
       assertThat(actual.records().stream()
         .anyMatch(mappingResult -> mappingResult.mappedRecord().contains(authorityId)))
         .isTrue());
-    verify(jdbcService).addProcessedOperationRecords(mappingData.operationId(), records.size(), 0);
-    verify(chunkStepJdbcService)
-      .updateChunkStep(eq(mappingData.stepId()), eq(StepStatus.COMPLETED), any(Timestamp.class), eq(0));
-    verify(chunkJdbcService).updateChunk(mappingData.chunkId(), OperationStatusType.DATA_MAPPING_COMPLETED);
+    verify(progressCounters).addProcessedRecords(mappingData.operationId(), records.size(), 0);
+  }
+
+  @Test
+  void processInstance_positive_parallel() {
+    var records = IntStream.range(0, 100)
+      .mapToObj(i -> new MarcRecord(null, UUID.randomUUID(), "{}".getBytes(UTF_8), null, 1))
+      .toList();
+    mapper = processor(new ForkJoinPool(4));
+    mapper.setEntityType(INSTANCE);
+
+    var actual = mapper.process(new MappingComposite<>(mappingData, records));
+
+    assertThat(actual.records()).hasSize(records.size());
+    IntStream.range(0, records.size()).forEach(i ->
+      assertThat(actual.records().get(i).mappedRecord()).contains(records.get(i).recordId().toString()));
+    verify(progressCounters).addProcessedRecords(mappingData.operationId(), records.size(), 0);
+  }
+
+  @Test
+  void processInstance_positive_streamed() {
+    mapper.setEntityType(INSTANCE);
+    process_positive_streamed();
+  }
+
+  @Test
+  void processInstance_positive_streamedParallel() {
+    props.setRecordsStreamingFetchSize(3);
+    mapper = processor(new ForkJoinPool(4));
+    mapper.setEntityType(INSTANCE);
+    process_positive_streamed();
+  }
+
+  void process_positive_streamed() {
+    var records = IntStream.range(0, 10)
+      .mapToObj(i -> new MarcRecord(null, UUID.randomUUID(), "{}".getBytes(UTF_8), null, 1))
+      .toList();
+    var streamClosed = new AtomicBoolean();
+    var composite = new MappingComposite<>(mappingData, List.of(),
+      () -> records.stream().onClose(() -> streamClosed.set(true)));
+
+    var actual = mapper.process(composite);
+
+    assertThat(actual.isStreamed()).isTrue();
+    assertThat(actual.records()).isEmpty();
+    List<MappingResult> results;
+    try (var mappingResults = actual.recordsStream().get()) {
+      results = mappingResults.toList();
+    }
+    assertThat(streamClosed).isTrue();
+    assertThat(results).hasSize(records.size());
+    IntStream.range(0, records.size()).forEach(i ->
+      assertThat(results.get(i).mappedRecord()).contains(records.get(i).recordId().toString()));
+    verifyNoInteractions(progressCounters);
+  }
+
+  @Test
+  void processInstance_positive_largeStreamedChunkNotMaterialized() {
+    var fetchSize = 100;
+    props.setRecordsStreamingFetchSize(fetchSize);
+    mapper = processor(new ForkJoinPool(4));
+    mapper.setEntityType(INSTANCE);
+    var fetched = new AtomicInteger();
+    var composite = new MappingComposite<>(mappingData, List.of(), () -> Stream
+      .generate(() -> new MarcRecord(null, UUID.randomUUID(), "{}".getBytes(UTF_8), null, 1))
+      .limit(100_000)
+      .peek(marcRecord -> fetched.incrementAndGet()));
+
+    var actual = mapper.process(composite);
+
+    assertThat(fetched).hasValue(0);
+    var consumed = 0;
+    var maxFetchedAhead = 0;
+    try (var mappingResults = actual.recordsStream().get()) {
+      for (var iterator = mappingResults.iterator(); iterator.hasNext(); consumed++) {
+        assertThat(iterator.next().mappedRecord()).isNotNull();
+        maxFetchedAhead = Math.max(maxFetchedAhead, fetched.get() - consumed);
+      }
+    }
+    assertThat(consumed).isEqualTo(100_000);
+    assertThat(maxFetchedAhead).isLessThanOrEqualTo(fetchSize);
   }
 
   @Test
@@ -121,10 +204,7 @@ class MappingRecordsChunkProcessorTest {
           .orElse(mappingResult.invalidMarcRecord())
           .contains(authorityId)))
         .isTrue());
-    verify(jdbcService).addProcessedOperationRecords(mappingData.operationId(), records.size() - 1, 0);
-    verify(chunkStepJdbcService)
-      .updateChunkStep(eq(mappingData.stepId()), eq(StepStatus.FAILED), any(Timestamp.class), eq(1));
-    verify(chunkJdbcService).updateChunk(mappingData.chunkId(), OperationStatusType.DATA_MAPPING_FAILED);
+    verify(progressCounters).addProcessedRecords(mappingData.operationId(), records.size() - 1, 0);
   }
 
   @Test
@@ -135,6 +215,27 @@ class MappingRecordsChunkProcessorTest {
     process_negative("Failed to fetch mapping metadata", "\"version\":1");
   }
 
+  @Test
+  void process_negative_noMappingMetadata_rawContentKept() {
+    when(mappingMetadataProvider.getMappingData(AUTHORITY))
+      .thenReturn(null);
+
+    process_negative("Failed to fetch mapping metadata", "\"content\":{}");
+  }
+
+  @Test
+  void process_negative_invalidContent() {
+    var marcRecord = new MarcRecord(null, UUID.randomUUID(), "{\"leader\"".getBytes(UTF_8), null, 1);
+    mapper.setEntityType(INSTANCE);
+
+    var actual = mapper.process(new MappingComposite<>(mappingData, List.of(marcRecord)));
+
+    assertThat(actual.records()).singleElement().matches(result ->
+      result.mappedRecord() == null
+      && result.errorCause().startsWith(marcRecord.recordId().toString())
+      && result.invalidMarcRecord().contains(marcRecord.recordId().toString()));
+  }
+
   @Test
   @SneakyThrows
   void process_negative_noMappingMetadata_jsonException() {
@@ -210,14 +311,16 @@ class MappingRecordsChunkProcessorTest {
       assertThat(actual.records().stream()
         .anyMatch(mappingResult -> mappingResult.invalidMarcRecord().contains(authorityId)))
         .isTrue());
-    verify(chunkStepJdbcService)
-      .updateChunkStep(eq(mappingData.stepId()), eq(StepStatus.FAILED), any(Timestamp.class), eq(records.size()));
-    verify(chunkJdbcService).updateChunk(mappingData.chunkId(), OperationStatusType.DATA_MAPPING_FAILED);
+  }
+
+  private MappingRecordsChunkProcessor processor(ForkJoinPool recordsMappingPool) {
+    return new MappingRecordsChunkProcessor(objectMapper, mappingMetadataProvider, progressCounters,
+      recordsMappingPool, props, metrics);
   }
 
   private List<MarcRecord> records() {
     return Stream.iterate(0, i -> i < 2, i -> ++i)
-      .map(i -> new MarcRecord(null, UUID.randomUUID(), "{}", null, 1))
+      .map(i -> new MarcRecord(null, UUID.randomUUID(), "{}".getBytes(UTF_8), null, 1))
       .toList();
   }
 }
@@ -6,7 +6,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -18,10 +20,14 @@ import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
-import org.folio.marc.migrations.services.batch.support.FolioS3Service;
+import org.folio.marc.migrations.services.DistributedWorkerService;
+import org.folio.marc.migrations.services.batch.support.ChunkFilesUploader;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
 import org.folio.marc.migrations.services.domain.OperationTimeType;
 import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.marc.migrations.services.jdbc.RecordsSnapshotJdbcService;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -44,17 +50,20 @@ class MappingRecordsFileUploadStepListenerTest {
   private final Long jobId = 5L;
   private final String jobFilesDirectory = "mod-marc-migrations/" + jobId;
   private final String defaultFilePath = "mod-marc-migrations";
-  private final String s3SubPath = "mock-s3-subpath";
 
-  private @Mock FolioS3Service s3Service;
+  private @Mock ChunkFilesUploader chunkFilesUploader;
   private @Mock OperationJdbcService jdbcService;
+  private @Mock OperationProgressCounters progressCounters;
   private @Mock MigrationProperties props;
+  private @Mock DistributedWorkerService workerService;
+  private @Mock RecordsSnapshotJdbcService recordsSnapshotJdbcService;
   private @InjectMocks MappingRecordsFileUploadStepListener listener;
 
   @BeforeEach
   @SneakyThrows
   void setUpFilesStorage() {
     when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    listener.setEntityType(EntityType.AUTHORITY);
     var directory = Path.of(jobFilesDirectory);
     Files.createDirectories(directory);
   }
@@ -73,7 +82,6 @@ class MappingRecordsFileUploadStepListenerTest {
     operation.setTotalNumOfRecords(10);
     operation.setMappedNumOfRecords(10);
     when(jdbcService.getOperation(operationId)).thenReturn(operation);
-    when(props.getS3SubPath()).thenReturn(s3SubPath);
     var jobExecution = new JobExecution(1L, new JobInstance(jobId, "testJob"),
       new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
     var stepExecution = new StepExecution(0L, "testStep", jobExecution);
@@ -86,22 +94,92 @@ class MappingRecordsFileUploadStepListenerTest {
     var actual = listener.afterStep(stepExecution);
 
     assertThat(actual).isEqualTo(stepExecution.getExitStatus());
-    var formattedPath = String.format("%s/operation/%s", s3SubPath, operationId);
-    verify(s3Service).uploadFile(path1.toFile().getAbsolutePath(), formattedPath + "/test1");
-    verify(s3Service).uploadFile(path2.toFile().getAbsolutePath(), formattedPath + "/test2");
     verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING_COMPLETED),
       eq(OperationTimeType.MAPPING_END), notNull());
+    verify(progressCounters).flush(UUID.fromString(operationId));
+    verify(chunkFilesUploader).awaitUploads(jobFilesDirectory);
+    verify(chunkFilesUploader).uploadAll(jobFilesDirectory, UUID.fromString(operationId), EntityType.AUTHORITY);
     verify(jdbcService).getOperation(operationId);
     assertThat(Files.exists(Path.of(jobFilesDirectory))).isFalse();
   }
 
+  @Test
+  @SneakyThrows
+  void afterStep_positive_deletesRecordsSnapshot() {
+    var operationId = UUID.randomUUID().toString();
+    var operation = new Operation();
+    operation.setTotalNumOfRecords(10);
+    operation.setMappedNumOfRecords(10);
+    when(jdbcService.getOperation(operationId)).thenReturn(operation);
+    when(props.isRecordsSnapshotEnabled()).thenReturn(true);
+    var jobExecution = new JobExecution(1L, new JobInstance(jobId, "testJob"),
+      new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
+    var stepExecution = new StepExecution(0L, "testStep", jobExecution);
+    stepExecution.setExitStatus(ExitStatus.COMPLETED);
+
+    listener.afterStep(stepExecution);
+
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING_COMPLETED),
+      eq(OperationTimeType.MAPPING_END), notNull());
+    verify(recordsSnapshotJdbcService).deleteSnapshot(UUID.fromString(operationId));
+  }
+
+  @Test
+  @SneakyThrows
+  void afterMappingPart_positive_statusNotUpdated() {
+    var operationId = UUID.randomUUID().toString();
+    var stepExecution = prepareStepExecution(operationId);
+    Files.createFile(Path.of(jobFilesDirectory, "test1"));
+
+    var actual = listener.afterMappingPart(stepExecution);
+
+    assertThat(actual).isEqualTo(stepExecution.getExitStatus());
+    verify(chunkFilesUploader).uploadAll(jobFilesDirectory, UUID.fromString(operationId), EntityType.AUTHORITY);
+    verify(jdbcService).updateOperationTime(eq(operationId), eq(OperationTimeType.MAPPING_END), notNull());
+    verify(jdbcService, never()).updateOperationStatus(any(), any(), any(), any());
+    assertThat(Files.exists(Path.of(jobFilesDirectory))).isFalse();
+  }
+
+  @Test
+  @SneakyThrows
+  void afterMappingPart_negative_jobFailed() {
+    var operationId = UUID.randomUUID().toString();
+    var jobExecution = new JobExecution(1L, new JobInstance(jobId, "testJob"),
+      new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
+    var stepExecution = new StepExecution(0L, "testStep", jobExecution);
+    stepExecution.setExitStatus(ExitStatus.FAILED);
+
+    var actual = listener.afterMappingPart(stepExecution);
+
+    assertThat(actual).isEqualTo(stepExecution.getExitStatus());
+    verify(jdbcService).updateOperationTime(eq(operationId), eq(OperationTimeType.MAPPING_END), notNull());
+    verify(jdbcService, never()).updateOperationStatus(any(), any(), any(), any());
+  }
+
+  @Test
+  @SneakyThrows
+  void afterStep_positive_operationFinalizedByOtherWorker() {
+    var operationId = UUID.randomUUID().toString();
+    var jobExecution = new JobExecution(1L, new JobInstance(jobId, "testJob"),
+      new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
+    var stepExecution = new StepExecution(0L, "testStep", jobExecution);
+    stepExecution.setExitStatus(ExitStatus.COMPLETED);
+    when(workerService.hasOtherWorkers(stepExecution, operationId)).thenReturn(true);
+
+    var actual = listener.afterStep(stepExecution);
+
+    assertThat(actual).isEqualTo(stepExecution.getExitStatus());
+    verify(chunkFilesUploader).uploadAll(jobFilesDirectory, UUID.fromString(operationId), EntityType.AUTHORITY);
+    verifyNoInteractions(jdbcService);
+    assertThat(Files.exists(Path.of(jobFilesDirectory))).isFalse();
+  }
+
   @Test
   @SneakyThrows
   void afterStepWithConfigurableStoragePath_positive() {
     String customFilePath = "custom";
     String customDirectory = customFilePath + "/" + jobId;
     when(props.getS3LocalSubPath()).thenReturn(customFilePath);
-    when(props.getS3SubPath()).thenReturn(s3SubPath);
     var directory = Path.of(customDirectory);
     Files.createDirectories(directory);
 
@@ -115,9 +193,7 @@ class MappingRecordsFileUploadStepListenerTest {
     var actual = listener.afterStep(stepExecution);
 
     assertThat(actual).isEqualTo(stepExecution.getExitStatus());
-    var formattedPath = String.format("%s/operation/%s", s3SubPath, operationId);
-    verify(s3Service).uploadFile(path1.toFile().getAbsolutePath(), formattedPath + "/test1");
-    verify(s3Service).uploadFile(path2.toFile().getAbsolutePath(), formattedPath + "/test2");
+    verify(chunkFilesUploader).uploadAll(customDirectory, UUID.fromString(operationId), EntityType.AUTHORITY);
     verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING_COMPLETED),
       eq(OperationTimeType.MAPPING_END), notNull());
     verify(jdbcService).getOperation(operationId);
@@ -164,7 +240,7 @@ class MappingRecordsFileUploadStepListenerTest {
     var path1 = Path.of(jobFilesDirectory, "test1");
     Files.createFile(path1);
     var failMessage = "fail";
-    doThrow(new IllegalStateException(failMessage)).when(s3Service).uploadFile(any(), any());
+    doThrow(new IllegalStateException(failMessage)).when(chunkFilesUploader).uploadAll(any(), any(), any());
 
     var actual = listener.afterStep(stepExecution);
 
@@ -176,6 +252,27 @@ class MappingRecordsFileUploadStepListenerTest {
     assertThat(Files.exists(Path.of(jobFilesDirectory))).isFalse();
   }
 
+  @Test
+  @SneakyThrows
+  void afterStep_negative_progressFlushFailed() {
+    var operationId = UUID.randomUUID().toString();
+    var jobExecution = new JobExecution(1L, new JobInstance(jobId, "testJob"),
+      new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
+    var stepExecution = new StepExecution(0L, "testStep", jobExecution);
+    stepExecution.setExitStatus(ExitStatus.COMPLETED);
+    var failMessage = "flush failed";
+    doThrow(new IllegalStateException(failMessage)).when(progressCounters).flush(UUID.fromString(operationId));
+
+    var actual = listener.afterStep(stepExecution);
+
+    assertThat(actual.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+    assertThat(actual.getExitDescription()).isEqualTo(failMessage);
+    verify(chunkFilesUploader).uploadAll(jobFilesDirectory, UUID.fromString(operationId), EntityType.AUTHORITY);
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING_FAILED),
+      eq(OperationTimeType.MAPPING_END), notNull());
+    assertThat(Files.exists(Path.of(jobFilesDirectory))).isFalse();
+  }
+
   @Test
   @SneakyThrows
   void afterStep_negative_jobFailed_withFileUpload() {
@@ -185,7 +282,6 @@ class MappingRecordsFileUploadStepListenerTest {
       new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
     var stepExecution = new StepExecution(0L, "testStep", jobExecution);
     stepExecution.setExitStatus(ExitStatus.FAILED);
-    when(props.getS3SubPath()).thenReturn(s3SubPath);
     var path1 = Path.of(jobFilesDirectory, "test1");
     var path2 = Path.of(jobFilesDirectory, "test2");
     Files.createFile(path1);
@@ -196,9 +292,7 @@ class MappingRecordsFileUploadStepListenerTest {
 
     // Assert
     assertThat(actual).isEqualTo(stepExecution.getExitStatus());
-    var formattedPath = String.format("%s/operation/%s", s3SubPath, operationId);
-    verify(s3Service).uploadFile(path1.toFile().getAbsolutePath(), formattedPath + "/test1");
-    verify(s3Service).uploadFile(path2.toFile().getAbsolutePath(), formattedPath + "/test2");
+    verify(chunkFilesUploader).uploadAll(jobFilesDirectory, UUID.fromString(operationId), EntityType.AUTHORITY);
     verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_MAPPING_FAILED),
       eq(OperationTimeType.MAPPING_END), notNull());
     assertThat(Files.exists(Path.of(jobFilesDirectory))).isFalse();
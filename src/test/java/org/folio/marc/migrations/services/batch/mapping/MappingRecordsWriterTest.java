@@ -1,9 +1,15 @@
 package org.folio.marc.migrations.services.batch.mapping;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -11,19 +17,32 @@ import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import org.apache.commons.io.FileUtils;
 import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.batch.support.ChunkFilesUploader;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.marc.migrations.services.domain.MappingComposite;
 import org.folio.marc.migrations.services.domain.MappingResult;
 import org.folio.marc.migrations.services.domain.RecordsMappingData;
+import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
+import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
+import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.job.JobExecution;
 import org.springframework.batch.core.job.JobInstance;
@@ -43,6 +62,12 @@ class MappingRecordsWriterTest {
     new JobParameters());
   private final StepExecution stepExecution = new StepExecution(0L, "testStep", jobExecution);
   private @Mock MigrationProperties props;
+  private @Mock ChunkJdbcService chunkJdbcService;
+  private @Mock ChunkStepJdbcService chunkStepJdbcService;
+  private @Mock ChunkFilesUploader chunkFilesUploader;
+  private @Mock OperationProgressCounters progressCounters;
+  private @Spy MigrationMetrics metrics =
+    new MigrationMetrics(new SimpleMeterRegistry(), mock(FolioExecutionContext.class));
   private @InjectMocks MappingRecordsWriter writer;
 
   @AfterEach
@@ -143,6 +168,128 @@ class MappingRecordsWriterTest {
     }
   }
 
+  @Test
+  @SneakyThrows
+  void write_positive_severalChunks() {
+    when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    writer.prepareFilesPath(stepExecution);
+    var mapped = composite(records(2, 0));
+    var failed = composite(records(1, 1));
+    var chunk = new Chunk<>(mapped, failed);
+
+    writer.write(chunk);
+
+    assertThat(FileUtils.readLines(new File(jobFilesDirectory + "/entity"), StandardCharsets.UTF_8)).hasSize(3);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ChunkStepResult>> resultsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(chunkStepJdbcService).updateChunkSteps(resultsCaptor.capture());
+    verify(chunkJdbcService).updateChunks(resultsCaptor.getValue());
+    assertThat(resultsCaptor.getValue())
+      .extracting(ChunkStepResult::chunkId, ChunkStepResult::chunkStatus, ChunkStepResult::stepStatus,
+        ChunkStepResult::numOfErrors)
+      .containsExactly(
+        tuple(mapped.mappingData().chunkId(), OperationStatusType.DATA_MAPPING_COMPLETED, StepStatus.COMPLETED, 0),
+        tuple(failed.mappingData().chunkId(), OperationStatusType.DATA_MAPPING_FAILED, StepStatus.FAILED, 1));
+  }
+
+  @Test
+  @SneakyThrows
+  void write_positive_largeStreamedChunkWrittenByWindows() {
+    var fetchSize = 100;
+    var numOfRecords = 10_000;
+    when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    when(props.getRecordsStreamingFetchSize()).thenReturn(fetchSize);
+    writer.prepareFilesPath(stepExecution);
+    var maxGeneratedAhead = new AtomicInteger();
+    var mappingResults = Stream.iterate(0, i -> i < numOfRecords, i -> ++i)
+      .peek(i -> maxGeneratedAhead.accumulateAndGet(i - writtenLines(), Math::max))
+      .map(i -> i % 10 == 0 ? new MappingResult(null, "invalid", "error") : new MappingResult("mapped", null, null));
+    var composite = streamedComposite(mappingResults);
+
+    writer.write(new Chunk<>(composite));
+
+    assertThat(maxGeneratedAhead).hasValueLessThanOrEqualTo(fetchSize);
+    assertThat(FileUtils.readLines(new File(jobFilesDirectory + "/entity"), StandardCharsets.UTF_8)).hasSize(9_000);
+    assertThat(FileUtils.readLines(new File(jobFilesDirectory + "/error"), StandardCharsets.UTF_8)).hasSize(1_000);
+    var operationId = composite.mappingData().operationId();
+    verify(progressCounters).addProcessedRecords(operationId, 9_000, 0);
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<ChunkStepResult>> resultsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(chunkStepJdbcService).updateChunkSteps(resultsCaptor.capture());
+    assertThat(resultsCaptor.getValue())
+      .extracting(ChunkStepResult::chunkStatus, ChunkStepResult::numOfErrors)
+      .containsExactly(tuple(OperationStatusType.DATA_MAPPING_FAILED, 1_000));
+  }
+
+  @Test
+  @SneakyThrows
+  void write_positive_fileChannelWriter() {
+    when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    when(props.getMappingFilesBufferSize()).thenReturn(1);
+    writer.prepareFilesPath(stepExecution);
+    var line = "\u0437\u0430\u043f\u0438\u0441-record-".repeat(100);
+    var records = Stream.generate(() -> new MappingResult(line, null, null)).limit(50).toList();
+    var chunk = new Chunk<>(composite(records), composite(records));
+
+    writer.write(chunk);
+    writer.releaseFileWriter(stepExecution);
+
+    var lines = FileUtils.readLines(new File(jobFilesDirectory + "/entity"), StandardCharsets.UTF_8);
+    assertThat(lines).hasSize(100).containsOnly(line);
+  }
+
+  @Test
+  @SneakyThrows
+  void write_positive_uploadsChunkFiles() {
+    when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    when(chunkFilesUploader.isEnabled()).thenReturn(true);
+    writer.prepareFilesPath(stepExecution);
+    writer.setEntityType(EntityType.INSTANCE);
+    var composite = composite(records(2, 0));
+
+    writer.write(new Chunk<>(composite));
+
+    var operationId = composite.mappingData().operationId();
+    verify(chunkFilesUploader).upload(jobFilesDirectory, Path.of(jobFilesDirectory, "entity"), operationId,
+      EntityType.INSTANCE);
+    verify(chunkFilesUploader, never()).upload(jobFilesDirectory, Path.of(jobFilesDirectory, "error"), operationId,
+      EntityType.INSTANCE);
+  }
+
+  @Test
+  @SneakyThrows
+  void writeAndUpload_positive_uploadsChunkFilesRightAway() {
+    when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    writer.prepareFilesPath(stepExecution);
+    writer.setEntityType(EntityType.INSTANCE);
+    var composite = composite(records(2, 1));
+
+    writer.writeAndUpload(new Chunk<>(composite));
+
+    var operationId = composite.mappingData().operationId();
+    verify(chunkFilesUploader).uploadAndDelete(Path.of(jobFilesDirectory, "entity"), operationId, EntityType.INSTANCE);
+    verify(chunkFilesUploader).uploadAndDelete(Path.of(jobFilesDirectory, "entityError"), operationId,
+      EntityType.INSTANCE);
+    verify(chunkFilesUploader).uploadAndDelete(Path.of(jobFilesDirectory, "error"), operationId, EntityType.INSTANCE);
+    verify(chunkFilesUploader, never()).upload(any(), any(), any(), any());
+  }
+
+  @Test
+  @SneakyThrows
+  void write_positive_distributedWorkersUploadChunkFilesRightAway() {
+    when(props.getS3LocalSubPath()).thenReturn(defaultFilePath);
+    when(props.isDistributedWorkersEnabled()).thenReturn(true);
+    writer.prepareFilesPath(stepExecution);
+    writer.setEntityType(EntityType.INSTANCE);
+    var composite = composite(records(2, 0));
+
+    writer.write(new Chunk<>(composite));
+
+    var operationId = composite.mappingData().operationId();
+    verify(chunkFilesUploader).uploadAndDelete(Path.of(jobFilesDirectory, "entity"), operationId, EntityType.INSTANCE);
+    verify(chunkFilesUploader, never()).upload(any(), any(), any(), any());
+  }
+
   @Test
   void write_negative_localFilepathNotSet() {
     var records = records(2, 2);
@@ -168,6 +315,22 @@ class MappingRecordsWriterTest {
     assertThat(ex).hasMessage("java.nio.file.NoSuchFileException: mod-marc-migrations/5/entity");
   }
 
+  private MappingComposite<MappingResult> streamedComposite(Stream<MappingResult> mappingResults) {
+    var mappingData = new RecordsMappingData(UUID.randomUUID(), UUID.randomUUID(), null, "path/entity",
+      10_000, "path/entityError", "path/error");
+    return new MappingComposite<>(mappingData, List.of(), () -> mappingResults);
+  }
+
+  private int writtenLines() {
+    return writtenLines("entity", "mapped") + writtenLines("entityError", "invalid");
+  }
+
+  @SneakyThrows
+  private int writtenLines(String fileName, String line) {
+    var file = Path.of(jobFilesDirectory, fileName);
+    return Files.exists(file) ? (int) (Files.size(file) / (line + System.lineSeparator()).length()) : 0;
+  }
+
   private MappingComposite<MappingResult> composite(List<MappingResult> records) {
     var mappingData = new RecordsMappingData(UUID.randomUUID(), UUID.randomUUID(), null, "path/entity",
       5, "path/entityError", "path/error");
@@ -0,0 +1,61 @@
+package org.folio.marc.migrations.services.batch.saving;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import org.folio.marc.migrations.client.BulkClient.BulkResponse;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.services.batch.mapping.MappingRecordsWriter;
+import org.folio.marc.migrations.services.domain.DataSavingResult;
+import org.folio.marc.migrations.services.domain.MappingComposite;
+import org.folio.marc.migrations.services.domain.MappingResult;
+import org.folio.marc.migrations.services.domain.RecordsMappingData;
+import org.folio.marc.migrations.services.domain.RecordsSavingData;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.infrastructure.item.Chunk;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class MappingSavingRecordsWriterTest {
+
+  private @Mock MappingRecordsWriter mappingRecordsWriter;
+  private @Mock SavingRecordsChunkProcessor savingRecordsProcessor;
+  private @Mock SavingRecordsWriter savingRecordsWriter;
+  private @InjectMocks MappingSavingRecordsWriter writer;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void write_positive_savesMappedChunksAfterUpload() throws Exception {
+    var mappingData = new RecordsMappingData(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+      "path/entity", 5, "path/entityError", "path/error");
+    var chunk = new Chunk<>(new MappingComposite<>(mappingData, List.of(new MappingResult("mapped", null, null))));
+    var saveResult = new DataSavingResult(
+      new RecordsSavingData(mappingData.operationId(), mappingData.chunkId(), UUID.randomUUID(), 5),
+      new BulkResponse());
+    when(savingRecordsProcessor.process(any())).thenReturn(saveResult);
+
+    writer.write(chunk);
+
+    var operationChunkCaptor = ArgumentCaptor.forClass(OperationChunk.class);
+    var saveResultsCaptor = ArgumentCaptor.forClass(Chunk.class);
+    var inOrder = inOrder(mappingRecordsWriter, savingRecordsProcessor, savingRecordsWriter);
+    inOrder.verify(mappingRecordsWriter).writeAndUpload(chunk);
+    inOrder.verify(savingRecordsProcessor).process(operationChunkCaptor.capture());
+    inOrder.verify(savingRecordsWriter).write(saveResultsCaptor.capture());
+    assertThat(operationChunkCaptor.getValue())
+      .extracting(OperationChunk::getId, OperationChunk::getOperationId, OperationChunk::getEntityChunkFileName,
+        OperationChunk::getNumOfRecords)
+      .containsExactly(mappingData.chunkId(), mappingData.operationId(), "path/entity", 5);
+    assertThat(saveResultsCaptor.getValue().getItems()).containsExactly(saveResult);
+  }
+}
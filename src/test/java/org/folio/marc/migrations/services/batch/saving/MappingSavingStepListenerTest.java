@@ -0,0 +1,53 @@
+package org.folio.marc.migrations.services.batch.saving;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.folio.marc.migrations.services.batch.mapping.MappingRecordsFileUploadStepListener;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.JobInstance;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.step.StepExecution;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class MappingSavingStepListenerTest {
+
+  private final StepExecution stepExecution = new StepExecution(0L, "testStep",
+    new JobExecution(1L, new JobInstance(5L, "testJob"), new JobParameters()));
+  private @Mock MappingRecordsFileUploadStepListener mappingListener;
+  private @Mock SavingRecordsStepListener savingListener;
+  private @InjectMocks MappingSavingStepListener listener;
+
+  @Test
+  void afterStep_positive_savingSetsStatus() {
+    var mappingExitStatus = new ExitStatus(ExitStatus.COMPLETED.getExitCode(), "mapped");
+    when(mappingListener.afterMappingPart(stepExecution)).thenReturn(mappingExitStatus);
+    when(savingListener.afterStep(stepExecution)).thenReturn(ExitStatus.COMPLETED);
+
+    var actual = listener.afterStep(stepExecution);
+
+    assertThat(actual).isEqualTo(ExitStatus.COMPLETED);
+    assertThat(stepExecution.getExitStatus()).isEqualTo(mappingExitStatus);
+    verify(savingListener).afterStep(stepExecution);
+  }
+
+  @Test
+  void afterStep_negative_mappingPartFailed() {
+    when(mappingListener.afterMappingPart(stepExecution)).thenThrow(new IllegalStateException("upload failed"));
+    when(savingListener.afterStep(stepExecution)).thenAnswer(invocation -> stepExecution.getExitStatus());
+
+    var actual = listener.afterStep(stepExecution);
+
+    assertThat(actual.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+    assertThat(actual.getExitDescription()).isEqualTo("upload failed");
+  }
+}
@@ -0,0 +1,80 @@
+package org.folio.marc.migrations.services.batch.saving;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.marc.migrations.services.batch.support.JobConstants.JobParameterNames.OPERATION_ID;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.notNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.UUID;
+import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.services.DistributedWorkerService;
+import org.folio.marc.migrations.services.batch.support.OperationProgressCounters;
+import org.folio.marc.migrations.services.domain.OperationTimeType;
+import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.job.JobExecution;
+import org.springframework.batch.core.job.JobInstance;
+import org.springframework.batch.core.job.parameters.JobParameter;
+import org.springframework.batch.core.job.parameters.JobParameters;
+import org.springframework.batch.core.step.StepExecution;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class SavingRecordsStepListenerTest {
+
+  private @Mock OperationJdbcService jdbcService;
+  private @Mock OperationProgressCounters progressCounters;
+  private @Mock DistributedWorkerService workerService;
+  private @InjectMocks SavingRecordsStepListener listener;
+  private String operationId;
+  private StepExecution stepExecution;
+
+  @BeforeEach
+  void setUp() {
+    operationId = UUID.randomUUID().toString();
+    var jobExecution = new JobExecution(1L, new JobInstance(5L, "testJob"),
+      new JobParameters(Set.of(new JobParameter<>(OPERATION_ID, operationId, String.class))));
+    stepExecution = new StepExecution(0L, "testStep", jobExecution);
+    stepExecution.setExitStatus(ExitStatus.COMPLETED);
+  }
+
+  @Test
+  void afterStep_positive() {
+    var operation = new Operation();
+    operation.setTotalNumOfRecords(10);
+    operation.setSavedNumOfRecords(10);
+    when(jdbcService.getOperation(operationId)).thenReturn(operation);
+
+    var actual = listener.afterStep(stepExecution);
+
+    assertThat(actual).isEqualTo(ExitStatus.COMPLETED);
+    verify(progressCounters).flush(UUID.fromString(operationId));
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_SAVING_COMPLETED),
+      eq(OperationTimeType.SAVING_END), notNull());
+  }
+
+  @Test
+  void afterStep_negative_progressFlushFailed() {
+    var failMessage = "flush failed";
+    doThrow(new IllegalStateException(failMessage)).when(progressCounters).flush(UUID.fromString(operationId));
+
+    var actual = listener.afterStep(stepExecution);
+
+    assertThat(actual.getExitCode()).isEqualTo(ExitStatus.FAILED.getExitCode());
+    assertThat(actual.getExitDescription()).isEqualTo(failMessage);
+    verify(jdbcService).updateOperationStatus(eq(operationId), eq(OperationStatusType.DATA_SAVING_FAILED),
+      eq(OperationTimeType.SAVING_END), notNull());
+  }
+}
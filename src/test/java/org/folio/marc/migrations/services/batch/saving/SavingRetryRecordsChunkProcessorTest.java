@@ -11,8 +11,10 @@ import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import org.assertj.core.api.SoftAssertions;
 import org.folio.marc.migrations.client.BulkClient;
@@ -37,18 +39,25 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
 class SavingRetryRecordsChunkProcessorTest {
   private static final UUID AUTHORITY_OPERATION_ID = UUID.randomUUID();
   private static final UUID INSTANCE_OPERATION_ID = UUID.randomUUID();
+  private static final String ENTITY_LINE_1 = "{\"hrid\":\"record2\",\"id\":\"record1\"}";
+  private static final String ENTITY_LINE_2 = "{\"notes\":[{\"id\":\"record1\"}],\"id\":\"record2\"}";
+  private static final String ENTITY_LINE_3 = "{\"id\":\"record3\"}";
 
   private @Mock BulkStorageService bulkStorageService;
   private @Mock ChunkStepJdbcService chunkStepJdbcService;
   private @Mock FolioS3Service s3Service;
   private @Mock OperationJdbcService operationJdbcService;
+  private @Spy ObjectMapper objectMapper = JsonMapper.builder().build();
   private @InjectMocks SavingRetryRecordsChunkProcessor processor;
 
   @BeforeEach
@@ -94,8 +103,9 @@ class SavingRetryRecordsChunkProcessorTest {
     var entityChunkFileName = chunk.getEntityChunkFileName();
 
     // Mock S3 service behavior
-    when(s3Service.readFile(entityChunkFileName)).thenReturn(List.of("record1", "record2", "record3"));
-    when(s3Service.readFile(errorChunkFileName)).thenReturn(List.of("record1,error"));
+    when(s3Service.readLines(entityChunkFileName)).thenReturn(Stream.of(ENTITY_LINE_1, ENTITY_LINE_2, ENTITY_LINE_3));
+    when(s3Service.readLines(errorChunkFileName)).thenReturn(Stream.of("record1,error"));
+    var writtenLines = captureWrittenLines(entityChunkFileName);
 
     processor.setEntityType(entityType);
     processor.setPublishEventsFlag(Boolean.TRUE);
@@ -107,7 +117,7 @@ class SavingRetryRecordsChunkProcessorTest {
     assertThat(result).isNotNull();
     verify(chunkStepJdbcService).updateChunkStep(eq(existingChunkStep.getId()), eq(StepStatus.IN_PROGRESS),
       any(Timestamp.class));
-    verify(s3Service).writeFile(entityChunkFileName, List.of("record1"));
+    assertThat(writtenLines).containsExactly(ENTITY_LINE_1);
     verify(bulkStorageService).saveEntities(chunk.getEntityChunkFileName(), entityType, Boolean.TRUE);
   }
 
@@ -147,8 +157,9 @@ class SavingRetryRecordsChunkProcessorTest {
     var entityChunkFileName = chunk.getEntityChunkFileName();
 
     // Mock S3 service behavior
-    when(s3Service.readFile(entityChunkFileName)).thenReturn(List.of("record1", "record2", "record3"));
-    when(s3Service.readFile(errorChunkFileName)).thenReturn(List.of("record1,error"));
+    when(s3Service.readLines(entityChunkFileName)).thenReturn(Stream.of(ENTITY_LINE_1, ENTITY_LINE_2, ENTITY_LINE_3));
+    when(s3Service.readLines(errorChunkFileName)).thenReturn(Stream.of("record1,error"));
+    var writtenLines = captureWrittenLines(entityChunkFileName);
     when(bulkStorageService.saveEntities(entityChunkFileName, entityType, Boolean.TRUE)).thenReturn(null);
 
     processor.setEntityType(entityType);
@@ -167,10 +178,50 @@ class SavingRetryRecordsChunkProcessorTest {
 
     verify(chunkStepJdbcService).updateChunkStep(eq(existingChunkStep.getId()), eq(StepStatus.IN_PROGRESS),
       any(Timestamp.class));
-    verify(s3Service).writeFile(entityChunkFileName, List.of("record1"));
+    assertThat(writtenLines).containsExactly(ENTITY_LINE_1);
     verify(bulkStorageService).saveEntities(chunk.getEntityChunkFileName(), entityType, Boolean.TRUE);
   }
 
+  @Test
+  void process_retry_shouldRetryAllRecords_whenNoEntityLinesMatchErrors() {
+    var chunk = chunk(5, AUTHORITY_OPERATION_ID, OperationStatusType.DATA_SAVING_FAILED);
+    var existingChunkStep = createChunkStep(chunk);
+    when(chunkStepJdbcService.getChunkStepByChunkIdAndOperationStep(chunk.getId(), OperationStep.DATA_SAVING))
+      .thenReturn(existingChunkStep);
+    when(s3Service.readLines(chunk.getEntityChunkFileName())).thenReturn(Stream.of(ENTITY_LINE_3, "not json"));
+    when(s3Service.readLines(existingChunkStep.getErrorChunkFileName())).thenReturn(Stream.of("record1,error"));
+    var writtenLines = captureWrittenLines(chunk.getEntityChunkFileName());
+    processor.setEntityType(AUTHORITY);
+    processor.setPublishEventsFlag(Boolean.TRUE);
+
+    var result = processor.process(chunk);
+
+    assertThat(result.recordsSavingData().numberOfRecords()).isEqualTo(5);
+    assertThat(writtenLines).isEmpty();
+    verify(operationJdbcService).updateOperationSavedNumber(AUTHORITY_OPERATION_ID, 4);
+  }
+
+  @ParameterizedTest
+  @MethodSource("errorLineArguments")
+  void process_retry_shouldReadRecordIdsOfErrorLineFormats(String errorLine) {
+    var recordId = "8f8c2a3e-5d2b-4b8e-9f5e-0c6a1b2d3e4f";
+    var entityLine = "{\"id\":\"" + recordId + "\"}";
+    var chunk = chunk(5, AUTHORITY_OPERATION_ID, OperationStatusType.DATA_SAVING_FAILED);
+    var existingChunkStep = createChunkStep(chunk);
+    when(chunkStepJdbcService.getChunkStepByChunkIdAndOperationStep(chunk.getId(), OperationStep.DATA_SAVING))
+      .thenReturn(existingChunkStep);
+    when(s3Service.readLines(chunk.getEntityChunkFileName())).thenReturn(Stream.of(ENTITY_LINE_3, entityLine));
+    when(s3Service.readLines(existingChunkStep.getErrorChunkFileName()))
+      .thenReturn(Stream.of(errorLine.formatted(recordId)));
+    var writtenLines = captureWrittenLines(chunk.getEntityChunkFileName());
+    processor.setEntityType(AUTHORITY);
+    processor.setPublishEventsFlag(Boolean.TRUE);
+
+    processor.process(chunk);
+
+    assertThat(writtenLines).containsExactly(entityLine);
+  }
+
   void save_positive(OperationChunk chunk, EntityType entityType) {
     var actual = processor.process(chunk);
     assertThat(actual).isNotNull();
@@ -241,9 +292,26 @@ class SavingRetryRecordsChunkProcessorTest {
       .build();
   }
 
+  private List<String> captureWrittenLines(String remotePath) {
+    var writtenLines = new ArrayList<String>();
+    when(s3Service.writeLines(eq(remotePath), any())).thenAnswer(invocation -> {
+      invocation.<Consumer<Consumer<String>>>getArgument(1).accept(writtenLines::add);
+      return (long) writtenLines.size();
+    });
+    return writtenLines;
+  }
+
   private static Stream<Arguments> chunkArguments() {
     return Stream.of(
       Arguments.of(AUTHORITY_OPERATION_ID, AUTHORITY),
       Arguments.of(INSTANCE_OPERATION_ID, INSTANCE));
   }
+
+  private static Stream<Arguments> errorLineArguments() {
+    return Stream.of(
+      Arguments.of("%s,error"),
+      Arguments.of("\"%s\", error"),
+      Arguments.of("  %s ,error"),
+      Arguments.of("'%s'"));
+  }
 }
@@ -0,0 +1,132 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.SneakyThrows;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class AdaptiveConcurrencyLimiterTest {
+
+  private static final String NAME = "test.calls";
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void execute_positive_limitGrowsWhileInUse() {
+    var limiter = limiter(10, Duration.ZERO);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(limiter.execute(() -> "ok")).isEqualTo("ok");
+    }
+
+    // sequential calls use one slot, so the limit grows only while it is not above two
+    assertThat(limiter.getLimit()).isEqualTo(3);
+    assertThat(limiter.getInFlight()).isZero();
+    assertThat(meterRegistry.get(NAME + ".limit").gauge().value()).isEqualTo(3);
+    assertThat(meterRegistry.get(NAME + ".latency").tag("outcome", "success").timer().count()).isEqualTo(5);
+  }
+
+  @Test
+  void execute_positive_limitDoesNotExceedMax() {
+    var limiter = limiter(1, Duration.ZERO);
+
+    limiter.execute(() -> "ok");
+    limiter.execute(() -> "ok");
+
+    assertThat(limiter.getLimit()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_negative_limitDecreasedOnFailure() {
+    var limiter = limiter(10, Duration.ZERO);
+    limiter.execute(() -> "ok");
+    limiter.execute(() -> "ok");
+
+    assertThatThrownBy(() -> limiter.execute(() -> {
+      throw new IllegalStateException("overloaded");
+    })).isInstanceOf(IllegalStateException.class).hasMessage("overloaded");
+
+    assertThat(limiter.getLimit()).isEqualTo(1);
+    assertThat(limiter.getInFlight()).isZero();
+    assertThat(meterRegistry.get(NAME + ".latency").tag("outcome", "failure").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void execute_negative_limitKeptOnNotOverloadFailure() {
+    var limiter = new AdaptiveConcurrencyLimiter(NAME, Tags.empty(), 10, Duration.ZERO,
+      failure -> !(failure instanceof IllegalArgumentException), meterRegistry);
+    limiter.execute(() -> "ok");
+
+    assertThatThrownBy(() -> limiter.execute(() -> {
+      throw new IllegalArgumentException("bad request");
+    })).isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  @Test
+  void execute_negative_limitDecreasedOnSlowCall() {
+    var limiter = limiter(10, Duration.ofMillis(1));
+    limiter.execute(() -> "ok");
+    limiter.execute(() -> "ok");
+    var limit = limiter.getLimit();
+
+    limiter.execute(() -> {
+      sleep(20);
+      return "slow";
+    });
+
+    assertThat(limiter.getLimit()).isLessThan(limit);
+  }
+
+  @Test
+  @SneakyThrows
+  void execute_positive_callsOverLimitWait() {
+    var limiter = limiter(1, Duration.ZERO);
+    var firstCallStarted = new CountDownLatch(1);
+    var firstCallReleased = new CountDownLatch(1);
+    var secondCallStarted = new AtomicBoolean();
+    var firstCall = CompletableFuture.supplyAsync(() -> limiter.execute(() -> {
+      firstCallStarted.countDown();
+      await(firstCallReleased);
+      return "first";
+    }));
+    firstCallStarted.await(1, TimeUnit.SECONDS);
+
+    var secondCall = CompletableFuture.supplyAsync(() -> limiter.execute(() -> {
+      secondCallStarted.set(true);
+      return "second";
+    }));
+    sleep(100);
+    assertThat(secondCallStarted).isFalse();
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+    firstCallReleased.countDown();
+
+    assertThat(firstCall.get(1, TimeUnit.SECONDS)).isEqualTo("first");
+    assertThat(secondCall.get(1, TimeUnit.SECONDS)).isEqualTo("second");
+  }
+
+  private AdaptiveConcurrencyLimiter limiter(int maxLimit, Duration slowCall) {
+    return new AdaptiveConcurrencyLimiter(NAME, Tags.empty(), maxLimit, slowCall, failure -> true, meterRegistry);
+  }
+
+  @SneakyThrows
+  private static void sleep(long millis) {
+    Thread.sleep(millis);
+  }
+
+  @SneakyThrows
+  private static void await(CountDownLatch latch) {
+    latch.await(1, TimeUnit.SECONDS);
+  }
+}
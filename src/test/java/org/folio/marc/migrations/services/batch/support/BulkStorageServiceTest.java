@@ -1,20 +1,23 @@
 package org.folio.marc.migrations.services.batch.support;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.support.TestConstants.TENANT_ID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.folio.marc.migrations.client.BulkClient;
 import org.folio.marc.migrations.client.BulkClient.BulkResponse;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.services.BulkStorageService;
+import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -24,13 +27,18 @@ class BulkStorageServiceTest {
   private static final String FILE_NAME = "test";
 
   private @Mock BulkClient bulkClient;
-  private @InjectMocks BulkStorageService bulkStorageService;
+  private @Mock FolioExecutionContext context;
+  private final MigrationProperties props = new MigrationProperties();
+  private final SimpleMeterRegistry stageMeterRegistry = new SimpleMeterRegistry();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private BulkStorageService bulkStorageService;
 
   private final BulkResponse bulkResponse = new BulkResponse();
 
   @BeforeEach
   void setUp() {
     bulkResponse.setErrorsNumber(0);
+    bulkStorageService = new BulkStorageService(bulkClient, props, metrics(), meterRegistry);
   }
 
   @Test
@@ -57,12 +65,41 @@ class BulkStorageServiceTest {
     assertThat(response).isEqualTo(bulkResponse);
   }
 
+  @Test
+  void shouldRecordBulkSaveStageMetrics() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    when(bulkClient.saveBulk(any(), any())).thenThrow(new IllegalStateException("storage is down"));
+
+    var response = bulkStorageService.saveEntities(FILE_NAME, EntityType.AUTHORITY, Boolean.TRUE);
+
+    assertThat(response).isNull();
+    var timer = stageMeterRegistry.get(MigrationMetrics.DURATION_METRIC)
+      .tags("tenant", TENANT_ID, "entityType", "authority", "stage", "bulk-save", "outcome", "failure")
+      .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
   @Test
   void shouldReturnNullIfFileNameBlank() {
     var response = bulkStorageService.saveEntities("", EntityType.AUTHORITY, Boolean.TRUE);
     assertThat(response).isNull();
   }
 
+  @Test
+  void shouldSaveBulkThroughAdaptiveLimiter() {
+    props.setBulkSaveMaxConcurrency(4);
+    bulkStorageService = new BulkStorageService(bulkClient, props, metrics(), meterRegistry);
+    when(bulkClient.saveBulk(any(), any())).thenReturn(bulkResponse);
+
+    var response = bulkStorageService.saveEntities(FILE_NAME, EntityType.INSTANCE, Boolean.TRUE);
+
+    assertThat(response).isEqualTo(bulkResponse);
+    assertThat(meterRegistry.get("marc.migrations.bulk.save.limit").tag("entityType", "instance").gauge().value())
+      .isEqualTo(2);
+    assertThat(meterRegistry.get("marc.migrations.bulk.save.latency").tag("entityType", "instance")
+      .tag("outcome", "success").timer().count()).isEqualTo(1);
+  }
+
   @Test
   void shouldReturnNullIfErrorDuringBulkSave() {
     when(bulkClient.saveBulk(any(), any()))
@@ -71,4 +108,8 @@ class BulkStorageServiceTest {
     var response = bulkStorageService.saveEntities(FILE_NAME, EntityType.AUTHORITY, Boolean.TRUE);
     assertThat(response).isNull();
   }
+
+  private MigrationMetrics metrics() {
+    return new MigrationMetrics(stageMeterRegistry, context);
+  }
 }
@@ -0,0 +1,120 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class ChunkFilesUploaderTest {
+
+  private static final UUID OPERATION_ID = UUID.randomUUID();
+
+  private @Mock FolioS3Service s3Service;
+  private @Mock MigrationProperties props;
+  private @Mock FolioExecutionContext context;
+  private @TempDir Path filesPath;
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private ChunkFilesUploader uploader;
+
+  @BeforeEach
+  void setUp() {
+    var metrics = new MigrationMetrics(meterRegistry, context);
+    uploader = new ChunkFilesUploader(s3Service, props, metrics, Runnable::run, Runnable::run);
+  }
+
+  @Test
+  void isEnabled_positive() {
+    when(props.getChunkFilesUploadConcurrency()).thenReturn(2);
+
+    assertThat(uploader.isEnabled()).isTrue();
+  }
+
+  @Test
+  @SneakyThrows
+  void upload_positive_fileUploadedAndDeleted() {
+    when(props.getS3SubPath()).thenReturn("mod-marc-migrations");
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    var localFile = Files.writeString(filesPath.resolve("entity"), "content");
+
+    uploader.upload(filesPath.toString(), localFile, OPERATION_ID, EntityType.INSTANCE);
+    uploader.awaitUploads(filesPath.toString());
+
+    verify(s3Service).uploadFile(localFile.toAbsolutePath().toString(),
+      "mod-marc-migrations/operation/" + OPERATION_ID + "/entity");
+    assertThat(localFile).doesNotExist();
+    var bytes = meterRegistry.get(MigrationMetrics.BYTES_METRIC)
+      .tags("tenant", TENANT_ID, "entityType", "instance", "stage", "s3-upload")
+      .summary();
+    assertThat(bytes.totalAmount()).isEqualTo(7);
+    assertThat(meterRegistry.get(MigrationMetrics.DURATION_METRIC).tag("outcome", "success").timer().count())
+      .isEqualTo(1);
+  }
+
+  @Test
+  @SneakyThrows
+  void awaitUploads_negative_failedFileKept() {
+    when(props.getS3SubPath()).thenReturn("mod-marc-migrations");
+    var localFile = Files.createFile(filesPath.resolve("error"));
+    doThrow(new IllegalStateException("s3 is down"))
+      .when(s3Service).uploadFile(localFile.toAbsolutePath().toString(),
+        "mod-marc-migrations/operation/" + OPERATION_ID + "/error");
+
+    uploader.upload(filesPath.toString(), localFile, OPERATION_ID, EntityType.INSTANCE);
+    uploader.awaitUploads(filesPath.toString());
+
+    assertThat(localFile).exists();
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadAll_positive_largeFileUploadedInParts() {
+    when(props.getS3SubPath()).thenReturn("mod-marc-migrations");
+    when(props.getMultipartUploadThreshold()).thenReturn(10L);
+    when(props.getMultipartUploadPartSize()).thenReturn(5L);
+    var smallFile = Files.writeString(filesPath.resolve("entity"), "small");
+    var largeFile = Files.writeString(filesPath.resolve("error"), "large file content");
+    Files.createDirectory(filesPath.resolve("nested"));
+
+    uploader.uploadAll(filesPath.toString(), OPERATION_ID, EntityType.INSTANCE);
+
+    var remotePath = "mod-marc-migrations/operation/" + OPERATION_ID + "/";
+    verify(s3Service).uploadFile(smallFile.toAbsolutePath().toString(), remotePath + "entity");
+    verify(s3Service).uploadFileMultipart(largeFile.toAbsolutePath().toString(), remotePath + "error", 5L);
+    verifyNoMoreInteractions(s3Service);
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadAll_negative_uploadFailed() {
+    when(props.getS3SubPath()).thenReturn("mod-marc-migrations");
+    Files.createFile(filesPath.resolve("entity"));
+    doThrow(new IllegalStateException("s3 is down")).when(s3Service).uploadFile(any(), any());
+
+    var directory = filesPath.toString();
+    assertThatThrownBy(() -> uploader.uploadAll(directory, OPERATION_ID, EntityType.INSTANCE))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("s3 is down");
+  }
+}
@@ -3,17 +3,27 @@ package org.folio.marc.migrations.services.batch.support;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.NONE;
 
 import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.SneakyThrows;
+import org.folio.marc.migrations.config.MigrationProperties;
 import org.folio.marc.migrations.config.RemoteStorageConfig;
 import org.folio.s3.client.FolioS3Client;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
@@ -30,6 +40,7 @@ class FolioS3ServiceTest {
   private static final List<String> LINES = List.of("line1", "line2", "line3");
 
   private @MockitoBean FolioS3Client s3Client;
+  private @MockitoBean MigrationProperties props;
   private @Autowired FolioS3Service service;
 
   @Test
@@ -43,6 +54,36 @@ class FolioS3ServiceTest {
     verify(s3Client, times(2)).upload(any(), any());
   }
 
+  @Test
+  @SneakyThrows
+  void uploadFileMultipart_shouldUploadFileInParts(@TempDir Path tempDir) {
+    var localFile = Files.writeString(tempDir.resolve("file"), "part1part2end");
+    when(s3Client.initiateMultipartUpload(PATH)).thenReturn("uploadId");
+    when(s3Client.uploadMultipartPart(eq(PATH), eq("uploadId"), anyInt(), any()))
+      .thenReturn("etag1", "etag2", "etag3");
+
+    service.uploadFileMultipart(localFile.toString(), PATH, 5);
+
+    verify(s3Client, times(3)).uploadMultipartPart(eq(PATH), eq("uploadId"), anyInt(), any());
+    verify(s3Client).completeMultipartUpload(PATH, "uploadId", List.of("etag1", "etag2", "etag3"));
+  }
+
+  @Test
+  @SneakyThrows
+  void uploadFileMultipart_shouldAbortUploadOnException(@TempDir Path tempDir) {
+    var localFile = Files.writeString(tempDir.resolve("file"), "part1part2end");
+    when(s3Client.initiateMultipartUpload(PATH)).thenReturn("uploadId");
+    when(s3Client.uploadMultipartPart(eq(PATH), eq("uploadId"), anyInt(), any()))
+      .thenThrow(new RuntimeException("S3 error"));
+    var localPath = localFile.toString();
+
+    assertThatThrownBy(() -> service.uploadFileMultipart(localPath, PATH, 5))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Error uploading file: test-path");
+
+    verify(s3Client, times(3)).abortMultipartUpload(PATH, "uploadId");
+  }
+
   @Test
   void readFile_shouldReturnFileContent() {
     String content = "line1\nline2\nline3";
@@ -64,6 +105,81 @@ class FolioS3ServiceTest {
       .hasMessageContaining("Error reading file: test-path");
   }
 
+  @Test
+  void readLines_shouldStreamFileContentAndCloseIt() {
+    var closed = new AtomicBoolean();
+    var inputStream = new ByteArrayInputStream("line1\nline2\nline3".getBytes()) {
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    when(s3Client.read(PATH)).thenReturn(inputStream);
+
+    try (var lines = service.readLines(PATH)) {
+      assertThat(lines).containsExactly("line1", "line2", "line3");
+    }
+
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  void readLines_shouldThrowException_whenReadFails() {
+    when(s3Client.read(any())).thenThrow(new RuntimeException("S3 error"));
+
+    assertThatThrownBy(() -> service.readLines(PATH))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageContaining("Error reading file: test-path");
+  }
+
+  @Test
+  void writeLines_shouldUploadProducedLines() {
+    var uploadedLines = new ArrayList<String>();
+    when(s3Client.upload(any(), eq(PATH))).thenAnswer(invocation -> {
+      uploadedLines.addAll(Files.readAllLines(Path.of(invocation.<String>getArgument(0))));
+      return "";
+    });
+
+    var result = service.writeLines(PATH, LINES::forEach);
+
+    assertThat(result).isEqualTo(3);
+    assertThat(uploadedLines).isEqualTo(LINES);
+  }
+
+  @Test
+  void writeLines_shouldUploadInParts_whenAboveThreshold() {
+    when(props.getMultipartUploadThreshold()).thenReturn(5L);
+    when(props.getMultipartUploadPartSize()).thenReturn(5L);
+    when(s3Client.initiateMultipartUpload(PATH)).thenReturn("uploadId");
+    when(s3Client.uploadMultipartPart(eq(PATH), eq("uploadId"), anyInt(), any()))
+      .thenReturn("etag1", "etag2", "etag3", "etag4");
+
+    service.writeLines(PATH, LINES::forEach);
+
+    verify(s3Client, times(4)).uploadMultipartPart(eq(PATH), eq("uploadId"), anyInt(), any());
+    verify(s3Client).completeMultipartUpload(PATH, "uploadId", List.of("etag1", "etag2", "etag3", "etag4"));
+    verify(s3Client, never()).upload(any(), any());
+  }
+
+  @Test
+  void writeLines_shouldNotUpload_whenNoLinesProduced() {
+    var result = service.writeLines(PATH, lines -> { });
+
+    assertThat(result).isZero();
+    verify(s3Client, never()).upload(any(), any());
+  }
+
+  @Test
+  void writeLines_shouldRetryOnException() {
+    when(s3Client.upload(any(), any()))
+      .thenThrow(new RuntimeException("S3 error"))
+      .thenReturn("");
+
+    service.writeLines(PATH, LINES::forEach);
+
+    verify(s3Client, times(2)).upload(any(), eq(PATH));
+  }
+
   @Test
   void writeFile_shouldWriteContentSuccessfully() {
     // Act
@@ -0,0 +1,86 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.marc.migrations.services.batch.support.MigrationMetrics.Stage;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class MigrationMetricsTest {
+
+  private static final Tags MAPPING_TAGS = Tags.of("tenant", TENANT_ID, "entityType", "authority", "stage", "mapping");
+
+  private @Mock FolioExecutionContext context;
+  private SimpleMeterRegistry meterRegistry;
+  private MigrationMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new MigrationMetrics(meterRegistry, context);
+  }
+
+  @Test
+  void record_positive_timedWithTenantEntityTypeAndStage() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+
+    var result = metrics.stage(Stage.MAPPING, EntityType.AUTHORITY).record(() -> "mapped");
+
+    assertThat(result).isEqualTo("mapped");
+    var timer = meterRegistry.get(MigrationMetrics.DURATION_METRIC).tags(MAPPING_TAGS).tag("outcome", "success")
+      .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  void record_negative_timedWithFailureOutcome() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    var stageMetrics = metrics.stage(Stage.MAPPING, EntityType.AUTHORITY);
+
+    assertThatThrownBy(() -> stageMetrics.record(() -> {
+      throw new IllegalStateException("mapping failed");
+    })).isInstanceOf(IllegalStateException.class);
+
+    var timer = meterRegistry.get(MigrationMetrics.DURATION_METRIC).tags(MAPPING_TAGS).tag("outcome", "failure")
+      .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  void records_positive_countedAndSummarized() {
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    var stageMetrics = metrics.stage(Stage.MAPPING, EntityType.AUTHORITY);
+
+    stageMetrics.records(10);
+    stageMetrics.records(30);
+
+    assertThat(meterRegistry.get(MigrationMetrics.RECORDS_METRIC).tags(MAPPING_TAGS).counter().count())
+      .isEqualTo(40);
+    var batchSize = meterRegistry.get(MigrationMetrics.BATCH_SIZE_METRIC).tags(MAPPING_TAGS).summary();
+    assertThat(batchSize.count()).isEqualTo(2);
+    assertThat(batchSize.max()).isEqualTo(30);
+  }
+
+  @Test
+  void stage_positive_unknownTagsWithoutTenantAndEntityType() {
+    metrics.stage(Stage.S3_UPLOAD, null).bytes(100);
+
+    var bytes = meterRegistry.get(MigrationMetrics.BYTES_METRIC)
+      .tags("tenant", "unknown", "entityType", "unknown", "stage", "s3-upload")
+      .summary();
+    assertThat(bytes.totalAmount()).isEqualTo(100);
+  }
+}
@@ -0,0 +1,142 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.services.TenantContextRunner;
+import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OperationProgressCountersTest {
+
+  private static final UUID OPERATION_ID = UUID.randomUUID();
+
+  private @Mock OperationJdbcService jdbcService;
+  private @Mock FolioExecutionContext context;
+  private @Mock TenantContextRunner tenantContextRunner;
+  private @Mock MigrationProperties props;
+  private @InjectMocks OperationProgressCounters counters;
+
+  @AfterEach
+  void tearDown() {
+    counters.stopFlushing();
+  }
+
+  @Test
+  void addProcessedRecords_positive_withoutFlushInterval() {
+    when(props.getProgressFlushIntervalMs()).thenReturn(0L);
+    counters.startFlushing();
+
+    counters.addProcessedRecords(OPERATION_ID, 5, 0);
+
+    verify(jdbcService).addProcessedOperationRecords(OPERATION_ID, 5, 0);
+    verifyNoInteractions(tenantContextRunner);
+  }
+
+  @Test
+  void addProcessedRecords_positive_distributedWorkers() {
+    when(props.getProgressFlushIntervalMs()).thenReturn(60_000L);
+    when(props.isDistributedWorkersEnabled()).thenReturn(true);
+    counters.startFlushing();
+
+    counters.addProcessedRecords(OPERATION_ID, 5, 0);
+
+    verify(jdbcService).addProcessedOperationRecords(OPERATION_ID, 5, 0);
+    verifyNoInteractions(tenantContextRunner);
+  }
+
+  @Test
+  void flush_positive_addsAccumulatedRecords() {
+    startAccumulating();
+
+    counters.addProcessedRecords(OPERATION_ID, 5, 0);
+    counters.addProcessedRecords(OPERATION_ID, 3, 2);
+    verifyNoInteractions(jdbcService);
+    counters.flush(OPERATION_ID);
+    counters.flush(OPERATION_ID);
+
+    verify(tenantContextRunner).runInContext(eq(TENANT_ID), any());
+    verify(jdbcService).addProcessedOperationRecords(OPERATION_ID, 8, 2);
+  }
+
+  @Test
+  void flushAll_negative_recordsKeptForNextFlush() {
+    startAccumulating();
+    doThrow(new IllegalStateException("db is down")).doNothing()
+      .when(jdbcService).addProcessedOperationRecords(OPERATION_ID, 4, 0);
+
+    counters.addProcessedRecords(OPERATION_ID, 4, 0);
+    counters.flushAll();
+    counters.flush(OPERATION_ID);
+
+    verify(jdbcService, times(2)).addProcessedOperationRecords(OPERATION_ID, 4, 0);
+  }
+
+  @Test
+  void flush_positive_concurrentWithFlushAllAndAdditions() throws Exception {
+    startAccumulating();
+    var written = new AtomicLong();
+    doAnswer(invocation -> {
+      Thread.sleep(1);
+      return written.addAndGet(invocation.<Integer>getArgument(1));
+    }).when(jdbcService).addProcessedOperationRecords(eq(OPERATION_ID), anyInt(), anyInt());
+    var adding = new AtomicBoolean(true);
+
+    try (var executor = Executors.newFixedThreadPool(5)) {
+      var flushing = CompletableFuture.runAsync(() -> {
+        while (adding.get()) {
+          counters.flushAll();
+          counters.flush(OPERATION_ID);
+        }
+      }, executor);
+      var additions = new CompletableFuture<?>[4];
+      for (int i = 0; i < additions.length; i++) {
+        additions[i] = CompletableFuture.runAsync(() -> {
+          for (int j = 0; j < 1000; j++) {
+            counters.addProcessedRecords(OPERATION_ID, 1, 0);
+          }
+        }, executor);
+      }
+      CompletableFuture.allOf(additions).get();
+      adding.set(false);
+      flushing.get();
+    }
+    counters.flush(OPERATION_ID);
+
+    assertThat(written).hasValue(4000);
+  }
+
+  private void startAccumulating() {
+    when(props.getProgressFlushIntervalMs()).thenReturn(60_000L);
+    when(context.getTenantId()).thenReturn(TENANT_ID);
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(1).run();
+      return null;
+    }).when(tenantContextRunner).runInContext(eq(TENANT_ID), any());
+    counters.startFlushing();
+  }
+}
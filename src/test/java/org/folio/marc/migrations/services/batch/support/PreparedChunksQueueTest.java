@@ -0,0 +1,60 @@
+package org.folio.marc.migrations.services.batch.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class PreparedChunksQueueTest {
+
+  private final PreparedChunksQueue queue = new PreparedChunksQueue();
+
+  @Test
+  @SneakyThrows
+  void take_positive_returnsPublishedChunksUntilClosed() {
+    var first = chunk();
+    var second = chunk();
+    queue.publish(List.of(first, second));
+    queue.close();
+
+    assertThat(queue.take()).isEqualTo(first);
+    assertThat(queue.take()).isEqualTo(second);
+    assertThat(queue.take()).isNull();
+  }
+
+  @Test
+  @SneakyThrows
+  void take_positive_waitsForChunksPublishedLater() {
+    var chunk = chunk();
+    var publisher = new Thread(() -> {
+      queue.publish(List.of(chunk));
+      queue.close();
+    });
+
+    publisher.start();
+
+    assertThat(queue.take()).isEqualTo(chunk);
+    assertThat(queue.take()).isNull();
+    publisher.join();
+  }
+
+  @Test
+  void take_negative_preparationFailed() {
+    queue.publish(List.of(chunk()));
+    queue.fail(new IllegalStateException("db is down"));
+
+    assertThatThrownBy(queue::take)
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("Chunks preparation failed: db is down");
+  }
+
+  private OperationChunk chunk() {
+    return OperationChunk.builder().id(UUID.randomUUID()).build();
+  }
+}
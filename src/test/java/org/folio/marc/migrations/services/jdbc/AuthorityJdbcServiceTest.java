@@ -5,12 +5,18 @@ import static org.folio.support.TestConstants.TENANT_ID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.SneakyThrows;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.Test;
@@ -21,6 +27,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.PreparedStatementCreator;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +42,7 @@ class AuthorityJdbcServiceTest extends JdbcServiceTestBase {
     var id = UUID.randomUUID();
     var limit = 5;
     var chunksMock = List.of(UUID.randomUUID(), UUID.randomUUID());
-    when(jdbcTemplate.queryForList(any(), eq(UUID.class))).thenReturn(chunksMock);
+    when(jdbcTemplate.queryForList(any(), eq(UUID.class), eq(id), eq(limit))).thenReturn(chunksMock);
 
     // Act
     var chunks = service.getAuthorityIdsChunk(id, limit);
@@ -43,9 +50,9 @@ class AuthorityJdbcServiceTest extends JdbcServiceTestBase {
     // Assert
     assertThat(chunks).isEqualTo(chunksMock);
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(UUID.class));
+    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(UUID.class), eq(id), eq(limit));
     assertThat(sqlCaptor.getValue())
-      .contains(id.toString(), String.valueOf(limit), TENANT_ID);
+      .contains("marc_id > ?", "LIMIT ?", TENANT_ID);
   }
 
   @Test
@@ -53,7 +60,8 @@ class AuthorityJdbcServiceTest extends JdbcServiceTestBase {
     // Arrange
     var limit = 5;
     var chunksMock = List.of(UUID.randomUUID(), UUID.randomUUID());
-    when(jdbcTemplate.queryForList(any(), eq(UUID.class))).thenReturn(chunksMock);
+    var minId = new UUID(0L, 0L);
+    when(jdbcTemplate.queryForList(any(), eq(UUID.class), eq(minId), eq(limit))).thenReturn(chunksMock);
 
     // Act
     var chunks = service.getAuthorityIdsChunk(null, limit);
@@ -61,11 +69,9 @@ class AuthorityJdbcServiceTest extends JdbcServiceTestBase {
     // Assert
     assertThat(chunks).isEqualTo(chunksMock);
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(UUID.class));
+    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(UUID.class), eq(minId), eq(limit));
     assertThat(sqlCaptor.getValue())
-      .doesNotContain("WHERE");
-    assertThat(sqlCaptor.getValue())
-      .contains(String.valueOf(limit), TENANT_ID);
+      .contains(TENANT_ID);
   }
 
   @Test
@@ -91,7 +97,8 @@ class AuthorityJdbcServiceTest extends JdbcServiceTestBase {
     var idTo = UUID.randomUUID();
     var chunkMock = List.of(new MarcRecord(UUID.randomUUID(), null, null, null, null),
       new MarcRecord(UUID.randomUUID(), null, null, null, null));
-    when(jdbcTemplate.query(any(String.class), ArgumentMatchers.<BeanPropertyRowMapper<MarcRecord>>any()))
+    when(jdbcTemplate.query(any(String.class), ArgumentMatchers.<BeanPropertyRowMapper<MarcRecord>>any(),
+      eq(idFrom), eq(idTo)))
       .thenReturn(chunkMock);
 
     // Act
@@ -100,8 +107,40 @@ class AuthorityJdbcServiceTest extends JdbcServiceTestBase {
     // Assert
     assertThat(chunk).isEqualTo(chunkMock);
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<MarcRecord>>any());
+    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<MarcRecord>>any(),
+      eq(idFrom), eq(idTo));
+    assertThat(sqlCaptor.getValue())
+      .contains("marc_id >= ? and marc_id <= ?", TENANT_ID);
+  }
+
+  @Test
+  @SneakyThrows
+  void streamAuthoritiesChunk_positive() {
+    // Arrange
+    var idFrom = UUID.randomUUID();
+    var idTo = UUID.randomUUID();
+    var fetchSize = 25;
+    var chunkMock = List.of(new MarcRecord(UUID.randomUUID(), null, null, null, null));
+    when(jdbcTemplate.queryForStream(any(PreparedStatementCreator.class), eq(recordsMapper)))
+      .thenReturn(chunkMock.stream());
+    var connection = mock(Connection.class);
+    var statement = mock(PreparedStatement.class);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    when(connection.prepareStatement(sqlCaptor.capture(), eq(ResultSet.TYPE_FORWARD_ONLY),
+      eq(ResultSet.CONCUR_READ_ONLY))).thenReturn(statement);
+
+    // Act
+    try (Stream<MarcRecord> chunk = service.streamAuthoritiesChunk(idFrom, idTo, fetchSize)) {
+      // Assert
+      assertThat(chunk).containsExactlyElementsOf(chunkMock);
+    }
+    var creatorCaptor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+    verify(jdbcTemplate).queryForStream(creatorCaptor.capture(), eq(recordsMapper));
+    assertThat(creatorCaptor.getValue().createPreparedStatement(connection)).isEqualTo(statement);
+    verify(statement).setFetchSize(fetchSize);
+    verify(statement).setObject(1, idFrom);
+    verify(statement).setObject(2, idTo);
     assertThat(sqlCaptor.getValue())
-      .contains(idFrom.toString(), idTo.toString(), TENANT_ID);
+      .contains("marc_id >= ? and marc_id <= ?", TENANT_ID);
   }
 }
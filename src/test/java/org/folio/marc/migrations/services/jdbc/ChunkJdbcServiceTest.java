@@ -6,15 +6,25 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import lombok.SneakyThrows;
 import org.folio.marc.migrations.domain.entities.MarcRecord;
 import org.folio.marc.migrations.domain.entities.OperationChunk;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,6 +34,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.PreparedStatementSetter;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
@@ -40,16 +51,18 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
     var limit = 5;
     var chunksMock = List.of(OperationChunk.builder().id(UUID.randomUUID()).build(),
       OperationChunk.builder().id(UUID.randomUUID()).build());
-    when(jdbcTemplate.query(any(String.class), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any()))
+    when(jdbcTemplate.query(any(String.class), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any(),
+      eq(operationId), eq(idFrom), eq(idTo), eq(limit)))
       .thenReturn(chunksMock);
 
     var chunks = service.getChunks(operationId, idFrom, idTo, limit);
 
     assertThat(chunks).isEqualTo(chunksMock);
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any());
+    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any(),
+      eq(operationId), eq(idFrom), eq(idTo), eq(limit));
     assertThat(sqlCaptor.getValue())
-      .contains(operationId, idFrom.toString(), idTo.toString(), String.valueOf(limit), TENANT_ID);
+      .contains("operation_id = ?::uuid", "id > ?", "id <= ?", "LIMIT ?", TENANT_ID);
   }
 
   @Test
@@ -58,18 +71,19 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
     var limit = 5;
     var chunksMock = List.of(OperationChunk.builder().id(UUID.randomUUID()).build(),
       OperationChunk.builder().id(UUID.randomUUID()).build());
-    when(jdbcTemplate.query(any(String.class), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any()))
+    var minId = new UUID(0L, 0L);
+    var maxId = new UUID(-1L, -1L);
+    when(jdbcTemplate.query(any(String.class), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any(),
+      eq(operationId), eq(minId), eq(maxId), eq(limit)))
       .thenReturn(chunksMock);
 
     var chunks = service.getChunks(operationId, null, null, limit);
 
     assertThat(chunks).isEqualTo(chunksMock);
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any());
-    assertThat(sqlCaptor.getValue())
-      .doesNotContain("AND id >")
-      .doesNotContain("AND id <=")
-      .contains(String.valueOf(limit), TENANT_ID);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any(),
+      eq(operationId), eq(minId), eq(maxId), eq(limit));
+    assertThat(sqlCaptor.getValue()).contains(TENANT_ID);
   }
 
   @Test
@@ -77,16 +91,16 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
     var operationId = UUID.randomUUID().toString();
     var gridSize = 4;
     var boundaries = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
-    when(jdbcTemplate.queryForList(any(String.class), eq(UUID.class)))
+    when(jdbcTemplate.queryForList(any(String.class), eq(UUID.class), eq(gridSize), eq(operationId)))
       .thenReturn(boundaries);
 
     var result = service.getChunkRangeBoundaries(operationId, gridSize);
 
     assertThat(result).isEqualTo(boundaries);
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(UUID.class));
+    verify(jdbcTemplate).queryForList(sqlCaptor.capture(), eq(UUID.class), eq(gridSize), eq(operationId));
     assertThat(sqlCaptor.getValue())
-      .contains("ntile(" + gridSize + ")", operationId, TENANT_ID, "bucket");
+      .contains("ntile(?)", "operation_id = ?::uuid", TENANT_ID, "bucket");
   }
 
   @Test
@@ -129,6 +143,59 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
       .contains(TENANT_ID);
   }
 
+  @Test
+  void createChunksFromRecords_positive() {
+    // Arrange
+    var operationId = UUID.randomUUID();
+    var filesPath = "sub-path/operation/%s/".formatted(operationId);
+    when(jdbcTemplate.update(anyString(), eq(operationId), eq(filesPath), eq(filesPath), eq(filesPath), eq(50)))
+      .thenReturn(3);
+
+    // Act
+    var actual = service.createChunks(operationId, EntityType.AUTHORITY, 50, filesPath);
+
+    // Assert
+    assertThat(actual).isEqualTo(3);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(operationId), eq(filesPath), eq(filesPath), eq(filesPath),
+      eq(50));
+    assertThat(sqlCaptor.getValue())
+      .contains("INSERT INTO " + TENANT_ID + ".operation_chunk", TENANT_ID + ".marc_authority_view", "row_number()");
+  }
+
+  @Test
+  void createChunksFromSnapshot_positive() {
+    // Arrange
+    var operationId = UUID.randomUUID();
+    var filesPath = "sub-path/operation/%s/".formatted(operationId);
+    when(jdbcTemplate.update(anyString(), eq(operationId), eq(filesPath), eq(filesPath), eq(filesPath), eq(50),
+      eq(operationId))).thenReturn(2);
+
+    // Act
+    var actual = service.createChunksFromSnapshot(operationId, 50, filesPath);
+
+    // Assert
+    assertThat(actual).isEqualTo(2);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(operationId), eq(filesPath), eq(filesPath), eq(filesPath),
+      eq(50), eq(operationId));
+    assertThat(sqlCaptor.getValue())
+      .contains(TENANT_ID + ".operation_record_snapshot", "WHERE operation_id = ?");
+  }
+
+  @Test
+  void createChunksFromRecords_negative_updateException() {
+    // Arrange
+    var operationId = UUID.randomUUID();
+    when(jdbcTemplate.update(anyString(), any(Object[].class)))
+      .thenThrow(new IllegalArgumentException("insert failed"));
+
+    // Act & Assert
+    var exception = assertThrows(IllegalStateException.class,
+      () -> service.createChunks(operationId, EntityType.INSTANCE, 50, "path"));
+    assertThat(exception.getMessage()).contains("insert failed");
+  }
+
   @Test
   void updateChunk_positive() {
     var id = UUID.randomUUID();
@@ -137,12 +204,13 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
     service.updateChunk(id, status);
 
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(status.name()), eq(id));
     assertThat(sqlCaptor.getValue())
-      .contains(id.toString(), status.name(), TENANT_ID);
+      .contains("status = ?::operationstatus", TENANT_ID);
   }
 
   @Test
+  @SneakyThrows
   void getChunks_ReturnsExpectedResult() {
     // Arrange
     var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
@@ -153,8 +221,8 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
           .id(UUID.randomUUID())
           .build());
 
-    when(jdbcTemplate.query(anyString(), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any(),
-        eq(ids.toArray())))
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class),
+        ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any()))
       .thenReturn(expectedChunks);
 
     // Act
@@ -162,11 +230,104 @@ class ChunkJdbcServiceTest extends JdbcServiceTestBase {
 
     // Assert
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).query(sqlCaptor.capture(), ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any(),
-        eq(ids.toArray()));
+    var setterCaptor = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), setterCaptor.capture(),
+        ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any());
     assertThat(sqlCaptor.getValue()).contains("operation_chunk")
-      .contains("id IN");
+      .contains("id = ANY(?)");
     assertThat(result).isEqualTo(expectedChunks);
+
+    var statement = mock(PreparedStatement.class);
+    var connection = mock(Connection.class);
+    var idsArray = mock(Array.class);
+    when(statement.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf("uuid", ids.toArray())).thenReturn(idsArray);
+    setterCaptor.getValue().setValues(statement);
+    verify(statement).setArray(1, idsArray);
+  }
+
+  @Test
+  @SneakyThrows
+  void claimChunks_positive() {
+    var operationId = UUID.randomUUID().toString();
+    var claimedChunks = List.of(OperationChunk.builder().id(UUID.randomUUID()).build());
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class),
+        ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any()))
+      .thenReturn(claimedChunks);
+
+    var result = service.claimChunks(operationId, List.of(OperationStatusType.NEW), OperationStatusType.DATA_MAPPING,
+      2);
+
+    assertThat(result).isEqualTo(claimedChunks);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    var setterCaptor = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), setterCaptor.capture(),
+        ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any());
+    assertThat(sqlCaptor.getValue())
+      .contains(TENANT_ID + ".operation_chunk", "FOR UPDATE SKIP LOCKED", "RETURNING", "claimed.status");
+
+    var statement = mock(PreparedStatement.class);
+    var connection = mock(Connection.class);
+    var statusesArray = mock(Array.class);
+    when(statement.getConnection()).thenReturn(connection);
+    when(connection.createArrayOf("text", new Object[] {"NEW"})).thenReturn(statusesArray);
+    setterCaptor.getValue().setValues(statement);
+    verify(statement).setObject(1, operationId);
+    verify(statement).setArray(2, statusesArray);
+    verify(statement).setInt(3, 2);
+    verify(statement).setString(4, "DATA_MAPPING");
+  }
+
+  @Test
+  @SneakyThrows
+  void claimChunks_positive_withLease() {
+    var operationId = UUID.randomUUID().toString();
+    var claimedChunks = List.of(OperationChunk.builder().id(UUID.randomUUID()).build());
+    when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class),
+        ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any()))
+      .thenReturn(claimedChunks);
+
+    var result = service.claimChunks(operationId, List.of(OperationStatusType.NEW), OperationStatusType.DATA_MAPPING,
+      2, "instance1", 60_000);
+
+    assertThat(result).isEqualTo(claimedChunks);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    var setterCaptor = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), setterCaptor.capture(),
+        ArgumentMatchers.<BeanPropertyRowMapper<OperationChunk>>any());
+    assertThat(sqlCaptor.getValue())
+      .contains(TENANT_ID + ".operation_worker", "FOR UPDATE OF c SKIP LOCKED", "claimed_by = ?");
+
+    var statement = mock(PreparedStatement.class);
+    var connection = mock(Connection.class);
+    when(statement.getConnection()).thenReturn(connection);
+    setterCaptor.getValue().setValues(statement);
+    verify(statement).setLong(4, 60_000);
+    verify(statement).setInt(5, 2);
+    verify(statement).setString(6, "DATA_MAPPING");
+    verify(statement).setString(7, "instance1");
+  }
+
+  @Test
+  void updateChunks_positive() {
+    var results = List.of(
+      new ChunkStepResult(UUID.randomUUID(), OperationStatusType.DATA_MAPPING_COMPLETED, UUID.randomUUID(),
+        StepStatus.COMPLETED, Timestamp.from(Instant.now()), 0),
+      new ChunkStepResult(UUID.randomUUID(), OperationStatusType.DATA_MAPPING_FAILED, UUID.randomUUID(),
+        StepStatus.FAILED, Timestamp.from(Instant.now()), 2));
+
+    service.updateChunks(results);
+
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).batchUpdate(sqlCaptor.capture(), eq(results), eq(results.size()), any());
+    assertThat(sqlCaptor.getValue()).contains(TENANT_ID + ".operation_chunk", "status =", "id =");
+  }
+
+  @Test
+  void updateChunks_negative_emptyResults() {
+    service.updateChunks(List.of());
+
+    verifyNoInteractions(jdbcTemplate);
   }
 
   @Test
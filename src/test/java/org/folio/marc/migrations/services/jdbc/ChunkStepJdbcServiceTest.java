@@ -2,6 +2,8 @@ package org.folio.marc.migrations.services.jdbc;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.support.TestConstants.TENANT_ID;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -12,8 +14,10 @@ import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import org.folio.marc.migrations.domain.entities.ChunkStep;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.domain.entities.types.OperationStep;
 import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.domain.ChunkStepResult;
 import org.folio.spring.testing.type.UnitTest;
 import org.hibernate.type.SqlTypes;
 import org.junit.jupiter.api.Test;
@@ -61,9 +65,34 @@ class ChunkStepJdbcServiceTest extends JdbcServiceTestBase {
     service.updateChunkStep(id, status, stepEndTime, numOfErrors);
 
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(status.name()), eq(stepEndTime), eq(numOfErrors), eq(id));
     assertThat(sqlCaptor.getValue())
-      .contains(id.toString(), status.name(), stepEndTime.toString(), String.valueOf(numOfErrors), TENANT_ID);
+      .contains("status = ?::stepstatus", "step_end_time = ?", "num_of_errors = ?", TENANT_ID);
+  }
+
+  @Test
+  void updateChunkSteps_positive() {
+    var results = List.of(new ChunkStepResult(UUID.randomUUID(), OperationStatusType.DATA_SAVING_COMPLETED,
+      UUID.randomUUID(), StepStatus.COMPLETED, Timestamp.from(Instant.now()), 0));
+
+    service.updateChunkSteps(results);
+
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).batchUpdate(sqlCaptor.capture(), eq(results), eq(results.size()), any());
+    assertThat(sqlCaptor.getValue())
+      .contains(TENANT_ID + ".operation_chunk_step", "status = ?::stepstatus", "COALESCE(?, error_chunk_file_name)");
+  }
+
+  @Test
+  void updateChunkSteps_negative_batchUpdateException() {
+    var results = List.of(new ChunkStepResult(UUID.randomUUID(), OperationStatusType.DATA_SAVING_FAILED,
+      UUID.randomUUID(), StepStatus.FAILED, Timestamp.from(Instant.now()), 1, "entityError", "error"));
+    when(jdbcTemplate.batchUpdate(anyString(), eq(results), eq(results.size()), any()))
+      .thenThrow(new IllegalArgumentException("exception"));
+
+    var ex = assertThrows(IllegalStateException.class, () -> service.updateChunkSteps(results));
+
+    assertThat(ex.getMessage()).isEqualTo("java.lang.IllegalArgumentException: exception");
   }
 
   @Test
@@ -109,11 +138,11 @@ class ChunkStepJdbcServiceTest extends JdbcServiceTestBase {
 
     // Assert
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(status.name()), eq(stepEndTime), eq(id));
     assertThat(sqlCaptor.getValue())
-      .contains(id.toString())
-      .contains(status.name())
-      .contains(stepEndTime.toString());
+      .contains(TENANT_ID)
+      .contains("step_start_time = ?")
+      .contains("num_of_errors = 0");
   }
 
   @Test
@@ -0,0 +1,190 @@
+package org.folio.marc.migrations.services.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.UUID;
+import lombok.SneakyThrows;
+import org.folio.marc.migrations.domain.entities.OperationError;
+import org.folio.marc.migrations.domain.entities.types.OperationStep;
+import org.folio.marc.migrations.domain.entities.types.StepStatus;
+import org.folio.marc.migrations.services.domain.OperationErrorFilter;
+import org.folio.spring.data.OffsetRequest;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OperationErrorJdbcServiceTest extends JdbcServiceTestBase {
+
+  private @Mock Connection connection;
+  private @Mock PGConnection pgConnection;
+  private @Mock CopyManager copyManager;
+  private @Mock CopyIn copyIn;
+  private @InjectMocks OperationErrorJdbcService service;
+
+  @Test
+  @SneakyThrows
+  void copyOperationErrors_positive() {
+    var copied = mockCopy();
+    var first = operationError("record1", "error message");
+    var second = operationError(null, "line1\nline2\ttab\\");
+
+    var result = service.copyOperationErrors(List.of(first, second).iterator(), TENANT_ID);
+
+    assertThat(result).isEqualTo(2);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(copyManager).copyIn(sqlCaptor.capture());
+    assertThat(sqlCaptor.getValue()).contains("COPY " + TENANT_ID + ".operation_error", "FROM STDIN");
+    assertThat(copied.toString(StandardCharsets.UTF_8)).isEqualTo(
+      row(first, "record1\terror message") + row(second, "\\N\tline1\\nline2\\ttab\\\\"));
+    verify(copyIn).endCopy();
+    verify(copyIn, never()).cancelCopy();
+  }
+
+  @Test
+  @SneakyThrows
+  void copyOperationErrors_negative_cancelsCopyOnFailure() {
+    mockCopy();
+    when(copyIn.isActive()).thenReturn(true);
+    when(copyIn.endCopy()).thenThrow(new IllegalStateException("copy failed"));
+    var errors = List.of(operationError("record1", "error message")).iterator();
+
+    assertThatThrownBy(() -> service.copyOperationErrors(errors, TENANT_ID))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessage("copy failed");
+
+    verify(copyIn).cancelCopy();
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getOperationErrors_positive_filtersByStepAndStatus() {
+    var operationId = UUID.randomUUID();
+    var filter = new OperationErrorFilter(OperationStep.DATA_SAVING, StepStatus.FAILED);
+    var expected = List.of(operationError("record1", "error message"));
+    when(jdbcTemplate.query(any(String.class), any(RowMapper.class), any(Object[].class))).thenReturn(expected);
+
+    var result = service.getOperationErrors(operationId, filter, new OffsetRequest(20, 10));
+
+    assertThat(result).isEqualTo(expected);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), any(RowMapper.class),
+      eq(operationId), eq("DATA_SAVING"), eq("DATA_SAVING"), eq("FAILED"), eq("FAILED"), eq(20L), eq(10));
+    assertThat(sqlCaptor.getValue()).contains("FROM " + TENANT_ID + ".operation_error", "OFFSET ? LIMIT ?");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getOperationErrorsAfter_positive_seeksAfterGivenId() {
+    var operationId = UUID.randomUUID();
+    var afterId = UUID.randomUUID();
+
+    service.getOperationErrorsAfter(operationId, OperationErrorFilter.ALL, afterId, 10);
+
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), any(RowMapper.class),
+      eq(operationId), isNull(), isNull(), isNull(), isNull(), eq(afterId), eq(10));
+    assertThat(sqlCaptor.getValue()).contains("id > ?", "ORDER BY id").doesNotContain("OFFSET");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void getOperationErrorsAfter_positive_startsFromFirstEntryWithoutId() {
+    var operationId = UUID.randomUUID();
+
+    service.getOperationErrorsAfter(operationId, OperationErrorFilter.ALL, null, 10);
+
+    verify(jdbcTemplate).query(any(String.class), any(RowMapper.class),
+      eq(operationId), isNull(), isNull(), isNull(), isNull(), eq(JdbcService.MIN_UUID), eq(10));
+  }
+
+  @Test
+  @SneakyThrows
+  @SuppressWarnings("unchecked")
+  void streamOperationErrors_positive() {
+    var operationId = UUID.randomUUID();
+    var filter = new OperationErrorFilter(OperationStep.DATA_SAVING, StepStatus.FAILED);
+    var errors = List.of(operationError("record1", "error message"));
+    when(jdbcTemplate.queryForStream(any(PreparedStatementCreator.class), any(RowMapper.class)))
+      .thenReturn(errors.stream());
+    var statement = mock(PreparedStatement.class);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    when(connection.prepareStatement(sqlCaptor.capture(), eq(ResultSet.TYPE_FORWARD_ONLY),
+      eq(ResultSet.CONCUR_READ_ONLY))).thenReturn(statement);
+
+    try (var result = service.streamOperationErrors(operationId, filter, 500)) {
+      assertThat(result).containsExactlyElementsOf(errors);
+    }
+
+    var creatorCaptor = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+    verify(jdbcTemplate).queryForStream(creatorCaptor.capture(), any(RowMapper.class));
+    assertThat(creatorCaptor.getValue().createPreparedStatement(connection)).isEqualTo(statement);
+    verify(statement).setFetchSize(500);
+    verify(statement).setObject(1, operationId);
+    verify(statement).setString(2, "DATA_SAVING");
+    verify(statement).setString(5, "FAILED");
+    assertThat(sqlCaptor.getValue()).contains("FROM " + TENANT_ID + ".operation_error", "ORDER BY id")
+      .doesNotContain("LIMIT");
+  }
+
+  @SneakyThrows
+  @SuppressWarnings("unchecked")
+  private ByteArrayOutputStream mockCopy() {
+    var copied = new ByteArrayOutputStream();
+    when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+      .thenAnswer(invocation -> invocation.<ConnectionCallback<Long>>getArgument(0).doInConnection(connection));
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    when(copyManager.copyIn(any(String.class))).thenReturn(copyIn);
+    doAnswer(invocation -> {
+      copied.write(invocation.<byte[]>getArgument(0), 0, invocation.<Integer>getArgument(2));
+      return null;
+    }).when(copyIn).writeToCopy(any(byte[].class), eq(0), anyInt());
+    return copied;
+  }
+
+  private OperationError operationError(String recordId, String errorMessage) {
+    var error = new OperationError();
+    error.setId(UUID.randomUUID());
+    error.setReportId(UUID.randomUUID());
+    error.setChunkId(UUID.randomUUID());
+    error.setOperationStep(OperationStep.DATA_MAPPING);
+    error.setChunkStatus(StepStatus.FAILED);
+    error.setRecordId(recordId);
+    error.setErrorMessage(errorMessage);
+    return error;
+  }
+
+  private String row(OperationError error, String recordIdAndMessage) {
+    return String.join("\t", error.getId().toString(), error.getReportId().toString(),
+      error.getChunkId().toString(), "DATA_MAPPING", "FAILED", recordIdAndMessage) + "\n";
+  }
+}
@@ -2,11 +2,15 @@ package org.folio.marc.migrations.services.jdbc;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.UUID;
+import org.folio.marc.migrations.domain.entities.Operation;
 import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.services.domain.OperationTimeType;
 import org.folio.spring.testing.type.UnitTest;
@@ -14,12 +18,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
 
 @UnitTest
 @ExtendWith(MockitoExtension.class)
 class OperationJdbcServiceTest extends JdbcServiceTestBase {
 
+  private @Mock BeanPropertyRowMapper<Operation> mapper;
   private @InjectMocks OperationJdbcService service;
 
   @Test
@@ -32,9 +39,23 @@ class OperationJdbcServiceTest extends JdbcServiceTestBase {
     service.updateOperationStatus(id, status, timeType, timestamp);
 
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(status.name()), eq(timestamp), eq(id));
     assertThat(sqlCaptor.getValue())
-      .contains(id, status.name(), "end_time_mapping", timestamp.toString(), TENANT_ID);
+      .contains("status = ?::operationstatus", "end_time_mapping = ?", "id = ?::uuid", TENANT_ID);
+  }
+
+  @Test
+  void updateOperationTime_positive() {
+    var id = UUID.randomUUID().toString();
+    var timestamp = Timestamp.from(Instant.now());
+
+    service.updateOperationTime(id, OperationTimeType.MAPPING_END, timestamp);
+
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(timestamp), eq(id));
+    assertThat(sqlCaptor.getValue())
+      .contains("end_time_mapping = ?", "id = ?::uuid", TENANT_ID)
+      .doesNotContain("status");
   }
 
   @Test
@@ -46,9 +67,9 @@ class OperationJdbcServiceTest extends JdbcServiceTestBase {
     service.addProcessedOperationRecords(id, recordsMapped, recordsSaved);
 
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(recordsMapped), eq(recordsSaved), eq(id));
     assertThat(sqlCaptor.getValue())
-      .contains(id.toString(), String.valueOf(recordsMapped), String.valueOf(recordsSaved), TENANT_ID);
+      .contains("mapped_num_of_records + ?", "saved_num_of_records + ?", TENANT_ID);
   }
 
   @Test
@@ -58,9 +79,9 @@ class OperationJdbcServiceTest extends JdbcServiceTestBase {
     service.deleteOperationsOlderThan(timestamp);
 
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(timestamp));
     assertThat(sqlCaptor.getValue())
-      .contains("DELETE FROM", "operation", timestamp.toString(), TENANT_ID);
+      .contains("DELETE FROM", "operation", "start_time_mapping < ?", TENANT_ID);
   }
 
   @Test
@@ -74,8 +95,36 @@ class OperationJdbcServiceTest extends JdbcServiceTestBase {
 
     // Assert
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
-    assertThat(sqlCaptor.getValue()).contains(id.toString(), String.valueOf(recordsMapped));
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(recordsMapped), eq(id));
+    assertThat(sqlCaptor.getValue()).contains("mapped_num_of_records - ?", TENANT_ID);
+  }
+
+  @Test
+  void getOperation_positive() {
+    var id = UUID.randomUUID().toString();
+    var operation = new Operation();
+    when(jdbcTemplate.queryForObject(anyString(), eq(mapper), eq(id))).thenReturn(operation);
+
+    var actual = service.getOperation(id);
+
+    assertThat(actual).isSameAs(operation);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).queryForObject(sqlCaptor.capture(), eq(mapper), eq(id));
+    assertThat(sqlCaptor.getValue()).contains(TENANT_ID + ".operation", "id = ?::uuid");
+  }
+
+  @Test
+  void updateOperationTotalNumber_positive() {
+    // Arrange
+    var id = UUID.randomUUID();
+
+    // Act
+    service.updateOperationTotalNumber(id, 10);
+
+    // Assert
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(10), eq(id));
+    assertThat(sqlCaptor.getValue()).contains(TENANT_ID + ".operation", "total_num_of_records = ?");
   }
 
   @Test
@@ -89,8 +138,8 @@ class OperationJdbcServiceTest extends JdbcServiceTestBase {
 
     // Assert
     var sqlCaptor = ArgumentCaptor.forClass(String.class);
-    verify(jdbcTemplate).update(sqlCaptor.capture());
+    verify(jdbcTemplate).update(sqlCaptor.capture(), eq(recordsReduced), eq(id));
     assertThat(sqlCaptor.getValue())
-        .contains(id.toString(), String.valueOf(recordsReduced));
+        .contains("saved_num_of_records - ?", TENANT_ID);
   }
 }
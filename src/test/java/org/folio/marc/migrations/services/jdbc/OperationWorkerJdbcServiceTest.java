@@ -0,0 +1,80 @@
+package org.folio.marc.migrations.services.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class OperationWorkerJdbcServiceTest extends JdbcServiceTestBase {
+
+  private static final String JOB_NAME = "remappingJob";
+  private static final String INSTANCE_ID = "instance1";
+
+  private @InjectMocks OperationWorkerJdbcService service;
+
+  @Test
+  void finishWorker_positive_lastAliveWorker() {
+    var operationId = UUID.randomUUID().toString();
+    mockFinishWorker(operationId, "DATA_MAPPING", 0L);
+
+    var result = service.finishWorker(operationId, JOB_NAME, INSTANCE_ID, 60_000);
+
+    assertThat(result).isTrue();
+    verify(jdbcTemplate).update(contains("DELETE FROM " + TENANT_ID + ".operation_worker"), eq(operationId),
+      eq(JOB_NAME));
+  }
+
+  @Test
+  void finishWorker_negative_otherAliveWorkers() {
+    var operationId = UUID.randomUUID().toString();
+    mockFinishWorker(operationId, "DATA_MAPPING", 1L);
+
+    var result = service.finishWorker(operationId, JOB_NAME, INSTANCE_ID, 60_000);
+
+    assertThat(result).isFalse();
+    verify(jdbcTemplate, never()).update(contains("DELETE FROM"), eq(operationId), eq(JOB_NAME));
+  }
+
+  @Test
+  void finishWorker_negative_operationFinalized() {
+    var operationId = UUID.randomUUID().toString();
+    mockFinishWorker(operationId, "DATA_MAPPING_FAILED", 1L);
+
+    var result = service.finishWorker(operationId, JOB_NAME, INSTANCE_ID, 60_000);
+
+    assertThat(result).isFalse();
+    verify(jdbcTemplate).update(contains("DELETE FROM " + TENANT_ID + ".operation_worker"), eq(operationId),
+      eq(JOB_NAME));
+  }
+
+  @Test
+  void getTenantIds_positive() {
+    when(metadata.getDBSchemaName("t")).thenReturn("t_mod_marc_migrations");
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("%\\_mod\\_marc\\_migrations")))
+      .thenReturn(List.of("tenant1_mod_marc_migrations", "tenant2_mod_marc_migrations"));
+
+    assertThat(service.getTenantIds()).containsExactly("tenant1", "tenant2");
+  }
+
+  private void mockFinishWorker(String operationId, String status, long liveWorkers) {
+    when(jdbcTemplate.queryForObject(contains("FOR UPDATE"), eq(String.class), eq(operationId))).thenReturn(status);
+    when(jdbcTemplate.update(contains("SET finished = true"), eq(operationId), eq(JOB_NAME), eq(INSTANCE_ID)))
+      .thenReturn(1);
+    when(jdbcTemplate.queryForObject(contains("count(*)"), eq(Long.class), eq(operationId), eq(JOB_NAME),
+      eq(60_000L))).thenReturn(liveWorkers);
+  }
+}
@@ -0,0 +1,116 @@
+package org.folio.marc.migrations.services.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.folio.support.TestConstants.TENANT_ID;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import org.folio.marc.migrations.domain.entities.MarcRecord;
+import org.folio.marc.migrations.domain.entities.types.EntityType;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class RecordsSnapshotJdbcServiceTest extends JdbcServiceTestBase {
+
+  private @Mock RowMapper<MarcRecord> authorityRecordsMapper;
+  private @Mock RowMapper<MarcRecord> instanceRecordsMapper;
+  private RecordsSnapshotJdbcService service;
+
+  @BeforeEach
+  void initService() {
+    service = new RecordsSnapshotJdbcService(jdbcTemplate, context, authorityRecordsMapper, instanceRecordsMapper);
+  }
+
+  @Test
+  void createSnapshot_positive() {
+    // Arrange
+    var operationId = UUID.randomUUID();
+    when(jdbcTemplate.update(anyString(), eq(operationId))).thenReturn(0, 7);
+
+    // Act
+    var actual = service.createSnapshot(operationId, EntityType.AUTHORITY);
+
+    // Assert
+    assertThat(actual).isEqualTo(7);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, times(2)).update(sqlCaptor.capture(), eq(operationId));
+    assertThat(sqlCaptor.getAllValues().get(0))
+      .contains("DELETE FROM " + TENANT_ID + ".operation_record_snapshot");
+    assertThat(sqlCaptor.getAllValues().get(1))
+      .contains("INSERT INTO " + TENANT_ID + ".operation_record_snapshot", "authority_id",
+        TENANT_ID + ".marc_authority_view");
+  }
+
+  @Test
+  void createSnapshot_negative_updateException() {
+    var operationId = UUID.randomUUID();
+    when(jdbcTemplate.update(anyString(), eq(operationId))).thenThrow(new IllegalArgumentException("exception"));
+
+    var ex = assertThrows(IllegalStateException.class,
+      () -> service.createSnapshot(operationId, EntityType.INSTANCE));
+
+    assertThat(ex.getMessage()).isEqualTo("java.lang.IllegalArgumentException: exception");
+  }
+
+  @Test
+  void deleteSnapshot_positive() {
+    var operationId = UUID.randomUUID();
+
+    service.deleteSnapshot(operationId);
+
+    verify(jdbcTemplate).update("""
+      DELETE FROM %s.operation_record_snapshot
+      WHERE operation_id = ?;
+      """.formatted(TENANT_ID), operationId);
+  }
+
+  @Test
+  void getRecordIdsChunk_positive_withoutSeek() {
+    // Arrange
+    var operationId = UUID.randomUUID();
+    var idsMock = List.of(UUID.randomUUID());
+    when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), eq(operationId), eq(new UUID(0L, 0L)), eq(5)))
+      .thenReturn(idsMock);
+
+    // Act
+    var actual = service.getRecordIdsChunk(operationId, null, 5);
+
+    // Assert
+    assertThat(actual).isEqualTo(idsMock);
+  }
+
+  @Test
+  void getRecordsChunk_positive() {
+    // Arrange
+    var operationId = UUID.randomUUID();
+    var from = UUID.randomUUID();
+    var to = UUID.randomUUID();
+    var recordsMock = List.of(new MarcRecord(from, UUID.randomUUID(), null, null, null));
+    when(jdbcTemplate.query(anyString(), eq(instanceRecordsMapper), eq(operationId), eq(from), eq(to)))
+      .thenReturn(recordsMock);
+
+    // Act
+    var actual = service.getRecordsChunk(operationId, EntityType.INSTANCE, from, to);
+
+    // Assert
+    assertThat(actual).isEqualTo(recordsMock);
+    var sqlCaptor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).query(sqlCaptor.capture(), eq(instanceRecordsMapper), eq(operationId), eq(from), eq(to));
+    assertThat(sqlCaptor.getValue())
+      .contains(TENANT_ID + ".operation_record_snapshot", "AS instance_id", TENANT_ID + ".marc_records_lb_view");
+  }
+}
@@ -4,10 +4,12 @@ import static java.util.Collections.emptyList;
 import static org.folio.marc.migrations.domain.entities.types.OperationStatusType.NEW;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.Lists;
@@ -24,6 +26,8 @@ import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
 import org.folio.marc.migrations.services.jdbc.AuthorityJdbcService;
 import org.folio.marc.migrations.services.jdbc.ChunkJdbcService;
 import org.folio.marc.migrations.services.jdbc.InstanceJdbcService;
+import org.folio.marc.migrations.services.jdbc.OperationJdbcService;
+import org.folio.marc.migrations.services.jdbc.RecordsSnapshotJdbcService;
 import org.folio.spring.testing.type.UnitTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -40,6 +44,8 @@ class ChunkServiceTest {
   private @Mock AuthorityJdbcService authorityJdbcService;
   private @Mock InstanceJdbcService instanceJdbcService;
   private @Mock ChunkJdbcService chunkJdbcService;
+  private @Mock OperationJdbcService operationJdbcService;
+  private @Mock RecordsSnapshotJdbcService recordsSnapshotJdbcService;
   private @InjectMocks ChunkService service;
 
   @BeforeEach
@@ -94,6 +100,80 @@ class ChunkServiceTest {
     prepareChunks_positive(EntityType.INSTANCE, recordIdsMock);
   }
 
+  @Test
+  void prepareChunks_positive_publishesPersistedChunks() {
+    var recordIdsMock = getRecordIdsMocks();
+    when(authorityJdbcService.getAuthorityIdsChunk(any()))
+      .thenReturn(recordIdsMock.get(0));
+    when(authorityJdbcService.getAuthorityIdsChunk(any(), any()))
+      .thenReturn(recordIdsMock.get(1), recordIdsMock.get(2), emptyList());
+    var operation = new Operation();
+    operation.setId(UUID.randomUUID());
+    operation.setEntityType(EntityType.AUTHORITY);
+    var publishedBatches = new LinkedList<List<OperationChunk>>();
+
+    service.prepareChunks(operation, publishedBatches::add);
+
+    verify(chunkJdbcService, times(2)).createChunks(any());
+    assertEquals(2, publishedBatches.size());
+    assertEquals(4, publishedBatches.get(0).size());
+    assertEquals(1, publishedBatches.get(1).size());
+  }
+
+  @Test
+  void prepareChunks_positive_serverSide() {
+    var operation = new Operation();
+    operation.setId(UUID.randomUUID());
+    operation.setEntityType(EntityType.INSTANCE);
+    when(props.isChunkServerSidePreparation()).thenReturn(true);
+    when(props.getS3SubPath()).thenReturn("sub-path");
+
+    service.prepareChunks(operation);
+
+    verify(chunkJdbcService).createChunks(operation.getId(), EntityType.INSTANCE, 2,
+      "sub-path/operation/%s/".formatted(operation.getId()));
+    verifyNoInteractions(instanceJdbcService, authorityJdbcService);
+  }
+
+  @Test
+  void prepareChunks_positive_fromRecordsSnapshot() {
+    var recordIdsMock = getRecordIdsMocks();
+    var operation = new Operation();
+    operation.setId(UUID.randomUUID());
+    operation.setEntityType(EntityType.AUTHORITY);
+    operation.setTotalNumOfRecords(100);
+    when(props.isRecordsSnapshotEnabled()).thenReturn(true);
+    when(recordsSnapshotJdbcService.createSnapshot(operation.getId(), EntityType.AUTHORITY)).thenReturn(10);
+    when(recordsSnapshotJdbcService.getRecordIdsChunk(eq(operation.getId()), any(), eq(4)))
+      .thenReturn(recordIdsMock.get(0), recordIdsMock.get(1), recordIdsMock.get(2));
+
+    service.prepareChunks(operation);
+
+    verify(operationJdbcService).updateOperationTotalNumber(operation.getId(), 10);
+    verify(recordsSnapshotJdbcService).getRecordIdsChunk(operation.getId(), null, 4);
+    verify(chunkJdbcService, times(2)).createChunks(any());
+    verifyNoInteractions(instanceJdbcService, authorityJdbcService);
+    assertEquals(10, operation.getTotalNumOfRecords());
+  }
+
+  @Test
+  void prepareChunks_positive_serverSideFromRecordsSnapshot() {
+    var operation = new Operation();
+    operation.setId(UUID.randomUUID());
+    operation.setEntityType(EntityType.INSTANCE);
+    when(props.isRecordsSnapshotEnabled()).thenReturn(true);
+    when(props.isChunkServerSidePreparation()).thenReturn(true);
+    when(props.getS3SubPath()).thenReturn("sub-path");
+    when(recordsSnapshotJdbcService.createSnapshot(operation.getId(), EntityType.INSTANCE)).thenReturn(3);
+
+    service.prepareChunks(operation);
+
+    verify(operationJdbcService).updateOperationTotalNumber(operation.getId(), 3);
+    verify(chunkJdbcService).createChunksFromSnapshot(operation.getId(), 2,
+      "sub-path/operation/%s/".formatted(operation.getId()));
+    verifyNoInteractions(instanceJdbcService, authorityJdbcService);
+  }
+
   @Test
   void updateChunkStatus_CallsJdbcServiceWithCorrectArguments() {
     // Arrange
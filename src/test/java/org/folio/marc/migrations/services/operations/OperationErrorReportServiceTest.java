@@ -1,7 +1,10 @@
 package org.folio.marc.migrations.services.operations;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -13,9 +16,13 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 import org.folio.marc.migrations.domain.entities.ChunkStep;
 import org.folio.marc.migrations.domain.entities.Operation;
 import org.folio.marc.migrations.domain.entities.OperationError;
@@ -27,6 +34,7 @@ import org.folio.marc.migrations.domain.entities.types.StepStatus;
 import org.folio.marc.migrations.domain.repositories.OperationErrorReportRepository;
 import org.folio.marc.migrations.services.TenantContextRunner;
 import org.folio.marc.migrations.services.batch.support.FolioS3Service;
+import org.folio.marc.migrations.services.domain.OperationErrorFilter;
 import org.folio.marc.migrations.services.jdbc.ChunkStepJdbcService;
 import org.folio.marc.migrations.services.jdbc.OperationErrorJdbcService;
 import org.folio.spring.data.OffsetRequest;
@@ -61,7 +69,8 @@ class OperationErrorReportServiceTest {
       chunkStepJdbcService,
       operationErrorJdbcService,
       errorReportRepository,
-      tenantContextRunner
+      tenantContextRunner,
+      ForkJoinPool.commonPool()
     );
   }
 
@@ -117,7 +126,7 @@ class OperationErrorReportServiceTest {
 
     when(chunkStepJdbcService.getChunkStepsByOperationIdAndStatus(operationId, StepStatus.FAILED))
       .thenReturn(List.of(failedChunk));
-    when(s3Service.readFile(anyString())).thenReturn(List.of("record1,error message"));
+    when(s3Service.readLines(anyString())).thenReturn(Stream.of("record1,error message"));
     doAnswer(invocation -> {
       Runnable runnable = invocation.getArgument(1);
       runnable.run();
@@ -128,7 +137,45 @@ class OperationErrorReportServiceTest {
 
     assertNotNull(result);
     verify(errorReportRepository).updateStatusById(ErrorReportStatus.IN_PROGRESS, operationId);
-    await().untilAsserted(() -> verify(operationErrorJdbcService).saveOperationErrors(any(), anyString()));
+    await().untilAsserted(() -> verify(operationErrorJdbcService).copyOperationErrors(any(), anyString()));
+  }
+
+  @Test
+  void initiateErrorReport_CopiesParsedErrorFileLines() {
+    var operationId = UUID.randomUUID();
+    var operation = prepareOperation(operationId, OperationStatusType.DATA_MAPPING_FAILED);
+    var failedChunk = prepareFailedChunk(operationId, "error.txt");
+    var recordId = UUID.randomUUID().toString();
+    var copiedErrors = new ArrayList<OperationError>();
+
+    when(chunkStepJdbcService.getChunkStepsByOperationIdAndStatus(operationId, StepStatus.FAILED))
+      .thenReturn(List.of(failedChunk));
+    when(s3Service.readLines("error.txt"))
+      .thenReturn(Stream.of(recordId + ",error, with comma", "record1,error message", recordId));
+    when(operationErrorJdbcService.copyOperationErrors(any(), anyString())).thenAnswer(invocation -> {
+      invocation.<Iterator<OperationError>>getArgument(0).forEachRemaining(copiedErrors::add);
+      return (long) copiedErrors.size();
+    });
+    doAnswer(invocation -> {
+      Runnable runnable = invocation.getArgument(1);
+      runnable.run();
+      return null;
+    }).when(tenantContextRunner).runInContext(anyString(), any(Runnable.class));
+
+    service.initiateErrorReport(operation, "testTenant");
+
+    await().untilAsserted(() -> assertThat(copiedErrors)
+      .extracting(OperationError::getRecordId, OperationError::getErrorMessage)
+      .containsExactly(tuple(recordId, "error, with comma"), tuple("<unknown>", "record1,error message"),
+        tuple(recordId, "")));
+  }
+
+  @Test
+  void isUuid_positive() {
+    assertTrue(OperationErrorReportService.isUuid(UUID.randomUUID().toString().toUpperCase()));
+    assertFalse(OperationErrorReportService.isUuid("record1"));
+    assertFalse(OperationErrorReportService.isUuid("0000000g-0000-0000-0000-000000000000"));
+    assertFalse(OperationErrorReportService.isUuid("00000000-0000-0000-0000+000000000000"));
   }
 
   @Test
@@ -230,14 +277,43 @@ class OperationErrorReportServiceTest {
     var operationId = UUID.randomUUID();
     var offsetRequest = mock(OffsetRequest.class);
     var expectedErrors = List.of(new OperationError());
-    when(operationErrorJdbcService.getOperationErrors(operationId, offsetRequest))
+    when(operationErrorJdbcService.getOperationErrors(operationId, OperationErrorFilter.ALL, offsetRequest))
       .thenReturn(expectedErrors);
 
-    var result = service.getErrorReportEntries(operationId, offsetRequest);
+    var result = service.getErrorReportEntries(operationId, OperationErrorFilter.ALL, offsetRequest);
 
     assertNotNull(result);
     assertEquals(expectedErrors, result);
-    verify(operationErrorJdbcService).getOperationErrors(operationId, offsetRequest);
+    verify(operationErrorJdbcService).getOperationErrors(operationId, OperationErrorFilter.ALL, offsetRequest);
+  }
+
+  @Test
+  void exportErrorReportEntries_positive_passesAllEntriesAndClosesStream() {
+    var operationId = UUID.randomUUID();
+    var errors = List.of(new OperationError(), new OperationError());
+    var closed = new ArrayList<Boolean>();
+    when(operationErrorJdbcService.streamOperationErrors(operationId, OperationErrorFilter.ALL, 100))
+      .thenReturn(errors.stream().onClose(() -> closed.add(true)));
+    var exported = new ArrayList<OperationError>();
+
+    service.exportErrorReportEntries(operationId, OperationErrorFilter.ALL, 100, exported::add);
+
+    assertThat(exported).isEqualTo(errors);
+    assertThat(closed).containsExactly(true);
+  }
+
+  @Test
+  void getErrorReportEntriesAfter_Success() {
+    var operationId = UUID.randomUUID();
+    var afterId = UUID.randomUUID();
+    var filter = new OperationErrorFilter(OperationStep.DATA_SAVING, StepStatus.FAILED);
+    var expectedErrors = List.of(new OperationError());
+    when(operationErrorJdbcService.getOperationErrorsAfter(operationId, filter, afterId, 10))
+      .thenReturn(expectedErrors);
+
+    var result = service.getErrorReportEntriesAfter(operationId, filter, afterId, 10);
+
+    assertEquals(expectedErrors, result);
   }
 
   private ChunkStep prepareFailedChunk(UUID operationId, String errorChunkFileName) {
@@ -0,0 +1,126 @@
+package org.folio.marc.migrations.services.operations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.folio.marc.migrations.config.MigrationProperties;
+import org.folio.marc.migrations.domain.entities.Operation;
+import org.folio.marc.migrations.domain.entities.types.OperationStatusType;
+import org.folio.spring.testing.type.UnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+@UnitTest
+class OperationProgressEstimatorTest {
+
+  private static final long START = 1_700_000_000_000L;
+
+  private final AtomicLong now = new AtomicLong(START);
+  private final MigrationProperties props = new MigrationProperties();
+  private OperationProgressEstimator estimator;
+
+  @BeforeEach
+  void setUp() {
+    props.setProgressRateWindowMs(60_000);
+    estimator = new OperationProgressEstimator(props, now::get);
+  }
+
+  @Test
+  void estimate_positive_firstObservationUsesAverageRate() {
+    now.set(START + 10_000);
+    var operation = operation(OperationStatusType.DATA_MAPPING, 1000, 100, 0);
+
+    var progress = estimator.estimate(operation);
+
+    assertThat(progress.mappingElapsedMs()).isEqualTo(10_000);
+    assertThat(progress.mappingRecordsPerSecond()).isEqualTo(10.0);
+    assertThat(progress.currentRecordsPerSecond()).isEqualTo(10.0);
+    assertThat(progress.estimatedTimeRemainingMs()).isEqualTo(90_000);
+    assertThat(progress.estimatedCompletionTime()).isEqualTo(new Timestamp(START + 100_000));
+    assertThat(progress.savingElapsedMs()).isNull();
+  }
+
+  @Test
+  void estimate_positive_currentRateWithinWindow() {
+    var operation = operation(OperationStatusType.DATA_MAPPING, 1000, 100, 0);
+    now.set(START + 10_000);
+    estimator.estimate(operation);
+
+    now.set(START + 20_000);
+    operation.setMappedNumOfRecords(400);
+    var progress = estimator.estimate(operation);
+
+    assertThat(progress.mappingRecordsPerSecond()).isEqualTo(20.0);
+    assertThat(progress.currentRecordsPerSecond()).isEqualTo(30.0);
+    assertThat(progress.estimatedTimeRemainingMs()).isEqualTo(20_000);
+  }
+
+  @Test
+  void estimate_positive_observationsOutsideWindowIgnored() {
+    var operation = operation(OperationStatusType.DATA_MAPPING, 1000, 100, 0);
+    now.set(START + 10_000);
+    estimator.estimate(operation);
+
+    now.set(START + 100_000);
+    operation.setMappedNumOfRecords(500);
+    var progress = estimator.estimate(operation);
+
+    assertThat(progress.currentRecordsPerSecond()).isEqualTo(progress.mappingRecordsPerSecond()).isEqualTo(5.0);
+  }
+
+  @Test
+  void estimate_positive_savingPhaseUsesSavedRecords() {
+    var operation = operation(OperationStatusType.DATA_SAVING, 1000, 1000, 200);
+    operation.setEndTimeMapping(new Timestamp(START + 50_000));
+    operation.setStartTimeSaving(new Timestamp(START + 60_000));
+    now.set(START + 80_000);
+
+    var progress = estimator.estimate(operation);
+
+    assertThat(progress.mappingElapsedMs()).isEqualTo(50_000);
+    assertThat(progress.mappingRecordsPerSecond()).isEqualTo(20.0);
+    assertThat(progress.savingElapsedMs()).isEqualTo(20_000);
+    assertThat(progress.savingRecordsPerSecond()).isEqualTo(10.0);
+    assertThat(progress.estimatedTimeRemainingMs()).isEqualTo(80_000);
+  }
+
+  @Test
+  void estimate_positive_noEstimationForCompletedPhase() {
+    var operation = operation(OperationStatusType.DATA_MAPPING_COMPLETED, 1000, 1000, 0);
+    operation.setEndTimeMapping(new Timestamp(START + 40_000));
+    now.set(START + 100_000);
+
+    var progress = estimator.estimate(operation);
+
+    assertThat(progress.mappingElapsedMs()).isEqualTo(40_000);
+    assertThat(progress.mappingRecordsPerSecond()).isEqualTo(25.0);
+    assertThat(progress.currentRecordsPerSecond()).isNull();
+    assertThat(progress.estimatedTimeRemainingMs()).isNull();
+    assertThat(progress.estimatedCompletionTime()).isNull();
+  }
+
+  @Test
+  void estimate_positive_notStartedOperation() {
+    var operation = operation(OperationStatusType.NEW, 1000, 0, 0);
+    operation.setStartTimeMapping(null);
+
+    var progress = estimator.estimate(operation);
+
+    assertThat(progress.mappingElapsedMs()).isNull();
+    assertThat(progress.mappingRecordsPerSecond()).isNull();
+    assertThat(progress.estimatedTimeRemainingMs()).isNull();
+  }
+
+  private Operation operation(OperationStatusType status, int total, int mapped, int saved) {
+    var operation = new Operation();
+    operation.setId(UUID.randomUUID());
+    operation.setStatus(status);
+    operation.setTotalNumOfRecords(total);
+    operation.setMappedNumOfRecords(mapped);
+    operation.setSavedNumOfRecords(saved);
+    operation.setStartTimeMapping(new Timestamp(START));
+    return operation;
+  }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.when;
 import org.folio.marc.migrations.services.jdbc.AuthorityJdbcService;
 import org.folio.marc.migrations.services.jdbc.InstanceJdbcService;
 import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.service.PrepareSystemUserService;
 import org.folio.spring.testing.type.UnitTest;
 import org.folio.tenant.domain.dto.TenantAttributes;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ class ModuleTenantServiceTest {
   private @Mock FolioExecutionContext context;
   private @Mock AuthorityJdbcService authorityJdbcService;
   private @Mock InstanceJdbcService instanceJdbcService;
+  private @Mock PrepareSystemUserService prepareSystemUserService;
 
   private @InjectMocks ModuleTenantService moduleTenantService;
 
@@ -33,5 +35,6 @@ class ModuleTenantServiceTest {
 
     verify(authorityJdbcService).initViews(TENANT_ID);
     verify(instanceJdbcService).initViews(TENANT_ID);
+    verify(prepareSystemUserService).setupSystemUser();
   }
 }
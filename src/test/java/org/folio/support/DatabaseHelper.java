@@ -1,5 +1,6 @@
 package org.folio.support;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ public class DatabaseHelper {
   public static final String OPERATION_TABLE = "operation";
   public static final String CHUNKS_TABLE = "operation_chunk";
   public static final String CHUNK_STEPS_TABLE = "operation_chunk_step";
+  public static final String WORKERS_TABLE = "operation_worker";
   private static final BeanPropertyRowMapper<Operation> OPERATION_MAPPER =
       new BeanPropertyRowMapper<>(Operation.class);
   private static final BeanPropertyRowMapper<OperationChunk> CHUNKS_MAPPER =
@@ -43,4 +45,34 @@ public class DatabaseHelper {
     var sql = "SELECT * from " + getDbPath(tenant, CHUNK_STEPS_TABLE) + " where operation_id = '" + operationId + "'";
     return jdbcTemplate.query(sql, CHUNK_STEPS_MAPPER);
   }
+
+  public Integer countOperationWorkers(String tenant, UUID operationId) {
+    var sql = "SELECT count(*) from " + getDbPath(tenant, WORKERS_TABLE) + " where operation_id = '" + operationId
+              + "'";
+    return jdbcTemplate.queryForObject(sql, Integer.class);
+  }
+
+  public List<String> getChunkClaimers(String tenant, UUID operationId) {
+    var sql = "SELECT DISTINCT claimed_by from " + getDbPath(tenant, CHUNKS_TABLE) + " where operation_id = ?";
+    return jdbcTemplate.queryForList(sql, String.class, operationId);
+  }
+
+  public void updateOperation(String tenant, UUID operationId, String status, int mappedNumOfRecords) {
+    var sql = "UPDATE " + getDbPath(tenant, OPERATION_TABLE)
+              + " SET status = ?::operationstatus, mapped_num_of_records = ? where id = ?";
+    jdbcTemplate.update(sql, status, mappedNumOfRecords, operationId);
+  }
+
+  public void claimChunk(String tenant, UUID chunkId, String status, String instanceId) {
+    var sql = "UPDATE " + getDbPath(tenant, CHUNKS_TABLE)
+              + " SET status = ?::operationstatus, claimed_by = ? where id = ?";
+    jdbcTemplate.update(sql, status, instanceId, chunkId);
+  }
+
+  public void saveOperationWorker(String tenant, UUID operationId, String jobName, String instanceId,
+                                  Timestamp heartbeatTime) {
+    var sql = "INSERT INTO " + getDbPath(tenant, WORKERS_TABLE)
+              + " (operation_id, job_name, instance_id, heartbeat_time, finished) VALUES (?, ?, ?, ?, false)";
+    jdbcTemplate.update(sql, operationId, jobName, instanceId, heartbeatTime);
+  }
 }